@@ -0,0 +1,210 @@
+/*
+ * Copyright 2020-2026 Hichem BOURADA and other authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jeeware.cloud.lock4j.benchmark;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.flapdoodle.embed.mongo.commands.ServerAddress;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import io.github.jeeware.cloud.lock4j.DistributedLockRegistry;
+import io.github.jeeware.cloud.lock4j.LockRepository;
+import io.github.jeeware.cloud.lock4j.file.FileLockRepository;
+import io.github.jeeware.cloud.lock4j.jdbc.JdbcInitializingLockRepository;
+import io.github.jeeware.cloud.lock4j.jdbc.SQLDialects;
+import io.github.jeeware.cloud.lock4j.memory.MemoryLockRepository;
+import io.github.jeeware.cloud.lock4j.mongo.IdentityExceptionTranslator;
+import io.github.jeeware.cloud.lock4j.mongo.MongoLockRepository;
+import io.github.jeeware.cloud.lock4j.redis.RedisLockRepository;
+import io.github.jeeware.cloud.lock4j.redis.connection.RedisConnectionFactory;
+import io.github.jeeware.cloud.lock4j.redis.connection.jedis.JedisConnectionFactory;
+import io.github.jeeware.cloud.lock4j.redis.connection.lettuce.LettuceConnectionFactory;
+import io.github.jeeware.cloud.lock4j.redis.script.DefaultRedisLockScripts;
+import io.github.jeeware.cloud.lock4j.spring.redis.RedisConnectionFactoryAdapter;
+import io.github.jeeware.cloud.lock4j.support.SimpleRetryer;
+import io.lettuce.core.RedisURI;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPoolConfig;
+import redis.embedded.RedisServer;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.UUID;
+
+/**
+ * Benchmarked lock repositories with their embedded database servers.
+ *
+ * @author hbourada
+ */
+public enum Backend {
+
+    MEMORY {
+        @Override
+        LockRepository start(Resources resources) {
+            final MemoryLockRepository repository = resources.add(new MemoryLockRepository());
+            repository.start();
+            return repository;
+        }
+    },
+    FILE {
+        @Override
+        LockRepository start(Resources resources) {
+            try {
+                final Path path = Files.createTempFile("lock4j-benchmark", ".lock");
+                resources.add(() -> Files.deleteIfExists(path));
+                final FileLockRepository repository = resources.add(new FileLockRepository(path));
+                repository.start();
+                return repository;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    },
+    HSQLDB {
+        @Override
+        LockRepository start(Resources resources) {
+            return jdbcRepository(new SimpleDriverDataSource(new org.hsqldb.jdbc.JDBCDriver(),
+                    "jdbc:hsqldb:mem:" + UUID.randomUUID(), "sa", ""), SQLDialects.HSQLDB);
+        }
+    },
+    REDIS_JEDIS {
+        @Override
+        LockRepository start(Resources resources) {
+            final int port = resources.startRedis();
+            final JedisPoolConfig poolConfig = new JedisPoolConfig();
+            poolConfig.setMaxTotal(64);
+            final JedisPool jedisPool = resources.add(new JedisPool(poolConfig, "localhost", port));
+            return redisRepository(resources, JedisConnectionFactory.of(jedisPool));
+        }
+    },
+    REDIS_LETTUCE {
+        @Override
+        LockRepository start(Resources resources) {
+            final int port = resources.startRedis();
+            final LettuceConnectionFactory connectionFactory = resources.add(
+                    LettuceConnectionFactory.createStandalone(RedisURI.create("localhost", port)));
+            return redisRepository(resources, connectionFactory);
+        }
+    },
+    REDIS_LETTUCE_BATCHING {
+        @Override
+        LockRepository start(Resources resources) {
+            final int port = resources.startRedis();
+            final LettuceConnectionFactory connectionFactory = resources.add(
+                    LettuceConnectionFactory.createStandalone(RedisURI.create("localhost", port)));
+            connectionFactory.setScriptBatching(true);
+            return redisRepository(resources, connectionFactory);
+        }
+    },
+    REDIS_SPRING {
+        @Override
+        LockRepository start(Resources resources) {
+            final int port = resources.startRedis();
+            final org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory springFactory =
+                    new org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory(
+                            new RedisStandaloneConfiguration("localhost", port));
+            springFactory.afterPropertiesSet();
+            resources.add(springFactory::destroy);
+            return redisRepository(resources, new RedisConnectionFactoryAdapter(springFactory, 0));
+        }
+    },
+    MONGO {
+        @Override
+        LockRepository start(Resources resources) {
+            final TransitionWalker.ReachedState<RunningMongodProcess> mongod = resources.add(
+                    Mongod.instance().start(Version.Main.V6_0));
+            final ServerAddress address = mongod.current().getServerAddress();
+            final MongoClient client = resources.add(MongoClients.create("mongodb://" + address));
+            final MongoLockRepository repository = resources.add(new MongoLockRepository(
+                    client.getDatabase("benchmark"), "locks", new IdentityExceptionTranslator()));
+            repository.start();
+            return repository;
+        }
+    };
+
+    static final Duration DEAD_LOCK_TIMEOUT = Duration.ofSeconds(30);
+
+    abstract LockRepository start(Resources resources);
+
+    static DistributedLockRegistry newRegistry(LockRepository repository) {
+        return DistributedLockRegistry.builder()
+                .repository(repository)
+                .retryer(SimpleRetryer.builder().maxRetry(3).build())
+                .build();
+    }
+
+    private static LockRepository jdbcRepository(DataSource dataSource, SQLDialects dialect) {
+        final JdbcInitializingLockRepository repository = new JdbcInitializingLockRepository(dataSource, dialect,
+                "locks", null);
+        repository.initialize();
+        return repository;
+    }
+
+    private static LockRepository redisRepository(Resources resources, RedisConnectionFactory connectionFactory) {
+        final RedisLockRepository repository = resources.add(new RedisLockRepository(new DefaultRedisLockScripts(),
+                connectionFactory, DEAD_LOCK_TIMEOUT, "lock"));
+        repository.start();
+        return repository;
+    }
+
+    /**
+     * Resources opened by a backend, closed in reverse order.
+     */
+    static final class Resources implements AutoCloseable {
+
+        private final Deque<AutoCloseable> closeables = new ArrayDeque<>();
+
+        <T extends AutoCloseable> T add(T closeable) {
+            closeables.push(closeable);
+            return closeable;
+        }
+
+        int startRedis() {
+            try {
+                final int port = freePort();
+                final RedisServer redisServer = new RedisServer(port);
+                redisServer.start();
+                add(redisServer::stop);
+                return port;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private static int freePort() throws IOException {
+            try (ServerSocket socket = new ServerSocket(0)) {
+                return socket.getLocalPort();
+            }
+        }
+
+        @Override
+        public void close() throws Exception {
+            while (!closeables.isEmpty()) {
+                closeables.pop().close();
+            }
+        }
+    }
+
+}
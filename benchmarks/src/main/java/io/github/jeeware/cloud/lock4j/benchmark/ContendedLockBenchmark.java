@@ -0,0 +1,99 @@
+/*
+ * Copyright 2020-2026 Hichem BOURADA and other authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jeeware.cloud.lock4j.benchmark;
+
+import io.github.jeeware.cloud.lock4j.DistributedLock;
+import io.github.jeeware.cloud.lock4j.DistributedLockRegistry;
+import io.github.jeeware.cloud.lock4j.LockRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contended path of {@link DistributedLockRegistry}: every thread owns its registry (as if it was a distinct
+ * instance) and all of them compete for the same lock id, exercising the release notification and wait path.
+ *
+ * @author hbourada
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@Threads(4)
+public class ContendedLockBenchmark {
+
+    static final String LOCK_ID = "benchmark.contended";
+
+    @State(Scope.Benchmark)
+    public static class RepositoryState {
+
+        @Param({"MEMORY", "FILE", "HSQLDB", "REDIS_JEDIS", "REDIS_LETTUCE", "REDIS_SPRING", "MONGO"})
+        Backend backend;
+
+        Backend.Resources resources;
+
+        LockRepository repository;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            resources = new Backend.Resources();
+            repository = backend.start(resources);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws Exception {
+            resources.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class InstanceState {
+
+        DistributedLockRegistry registry;
+
+        DistributedLock lock;
+
+        @Setup(Level.Trial)
+        public void setUp(RepositoryState repositoryState) {
+            registry = Backend.newRegistry(repositoryState.repository);
+            lock = registry.getLock(LOCK_ID);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            registry.close();
+        }
+    }
+
+    @Benchmark
+    public void lockUnlock(InstanceState state) {
+        state.lock.lock();
+        state.lock.unlock();
+    }
+
+}
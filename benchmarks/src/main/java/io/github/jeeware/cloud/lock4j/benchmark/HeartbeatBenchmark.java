@@ -0,0 +1,99 @@
+/*
+ * Copyright 2020-2026 Hichem BOURADA and other authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jeeware.cloud.lock4j.benchmark;
+
+import io.github.jeeware.cloud.lock4j.LockRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Heartbeat cost for an instance holding many locks: one batched
+ * {@link LockRepository#refreshActiveLocks(java.util.Collection, String)} against one
+ * {@link LockRepository#refreshActiveLock(String, String)} per held lock.
+ *
+ * @author hbourada
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HeartbeatBenchmark {
+
+    @Param({"MEMORY", "FILE", "HSQLDB", "REDIS_JEDIS", "REDIS_LETTUCE", "REDIS_SPRING", "MONGO"})
+    Backend backend;
+
+    @Param({"10", "100", "1000"})
+    int heldLocks;
+
+    Backend.Resources resources;
+
+    LockRepository repository;
+
+    String instanceId;
+
+    List<String> lockIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        resources = new Backend.Resources();
+        repository = backend.start(resources);
+        instanceId = UUID.randomUUID().toString();
+        lockIds = new ArrayList<>(heldLocks);
+
+        for (int i = 0; i < heldLocks; i++) {
+            final String lockId = "benchmark.heartbeat." + i;
+            if (!repository.acquireLock(lockId, instanceId)) {
+                throw new IllegalStateException("Cannot acquire lock " + lockId);
+            }
+            lockIds.add(lockId);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        lockIds.forEach(lockId -> repository.releaseLock(lockId, instanceId));
+        resources.close();
+    }
+
+    @Benchmark
+    public void batchedRefresh() {
+        repository.refreshActiveLocks(lockIds, instanceId);
+    }
+
+    @Benchmark
+    public void perLockRefresh() {
+        for (String lockId : lockIds) {
+            repository.refreshActiveLock(lockId, instanceId);
+        }
+    }
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2020-2026 Hichem BOURADA and other authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jeeware.cloud.lock4j.benchmark;
+
+import io.github.jeeware.cloud.lock4j.DistributedLock;
+import io.github.jeeware.cloud.lock4j.DistributedLockRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Uncontended hot path of {@link DistributedLockRegistry}: each thread acquires and releases its own lock,
+ * so the measure is the cost of a remote acquire plus a remote release on the given backend.
+ *
+ * @author hbourada
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@Threads(4)
+public class RegistryBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class RegistryState {
+
+        @Param({"MEMORY", "FILE", "HSQLDB", "REDIS_JEDIS", "REDIS_LETTUCE", "REDIS_SPRING", "MONGO"})
+        Backend backend;
+
+        Backend.Resources resources;
+
+        DistributedLockRegistry registry;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            resources = new Backend.Resources();
+            registry = resources.add(Backend.newRegistry(backend.start(resources)));
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws Exception {
+            resources.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class LockState {
+
+        DistributedLock lock;
+
+        @Setup(Level.Trial)
+        public void setUp(RegistryState registryState) {
+            lock = registryState.registry.getLock("benchmark." + UUID.randomUUID());
+        }
+    }
+
+    @Benchmark
+    public boolean tryLockUnlock(LockState state) {
+        final boolean acquired = state.lock.tryLock();
+        if (acquired) {
+            state.lock.unlock();
+        }
+        return acquired;
+    }
+
+}
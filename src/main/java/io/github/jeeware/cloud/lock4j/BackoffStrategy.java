@@ -23,8 +23,30 @@ package io.github.jeeware.cloud.lock4j;
  */
 public interface BackoffStrategy {
 
-    BackoffStrategy NO_BACKOFF = context -> {
+    BackoffStrategy NO_BACKOFF = new BackoffStrategy() {
+        @Override
+        public void sleep(Retryer.Context context) {
+            // no pause
+        }
+
+        @Override
+        public long delayMillis(Retryer.Context context) {
+            return 0;
+        }
     };
 
     void sleep(Retryer.Context context) throws InterruptedException;
+
+    /**
+     * Pause before the next retry scheduled by asynchronous retries instead of sleeping.
+     * Default implementation returns a negative value as the pause is only known by
+     * {@link #sleep(Retryer.Context)}, which is then executed by an executor thread.
+     *
+     * @param context the retry context
+     * @return the pause in milliseconds or a negative value if unknown
+     * @since 1.0.4
+     */
+    default long delayMillis(Retryer.Context context) {
+        return -1;
+    }
 }
@@ -13,6 +13,9 @@
 
 package io.github.jeeware.cloud.lock4j;
 
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 
@@ -35,4 +38,52 @@ public interface DistributedLock extends Lock {
      * @return {@code true} if the lock was acquired, {@code false} otherwise
      */
     boolean tryLockWithClockSkew(long clockSkew, TimeUnit unit);
+
+    /**
+     * @return the fencing token of the current lock acquisition, strictly increasing between acquisitions,
+     * or {@code 0} if the lock is not held by the current process or the repository does not support
+     * fencing tokens
+     * @see LockRepository#getFencingToken(String, String)
+     * @since 1.0.4
+     */
+    default long getFencingToken() {
+        return 0;
+    }
+
+    /**
+     * @return the remaining time before the repository may release the lock if it is not renewed, tracked with a
+     * monotonic clock, or {@link Duration#ZERO} if the lock is not held by the current process. Work guarded by
+     * the lock should be aborted before the lease lapses.
+     * @since 1.0.4
+     */
+    default Duration remainingLease() {
+        return Duration.ZERO;
+    }
+
+    /**
+     * Acquires the lock without blocking the caller thread. Waiting for the lock release is driven by the
+     * repository events and timers, the returned future is completed when the lock is acquired or
+     * exceptionally by {@link DistributedLockException.CannotAcquire}.
+     * <p>
+     * The lock is held by the returned {@link LockHandle} and not by a thread, so it is not reentrant.
+     *
+     * @return a future completed by the lock handle
+     * @since 1.0.4
+     */
+    default CompletableFuture<LockHandle> lockAsync() {
+        throw new UnsupportedOperationException("lockAsync not supported");
+    }
+
+    /**
+     * Acquires the lock if it is released within the given timeout without blocking the caller thread.
+     *
+     * @param timeout the maximum time to wait for the lock
+     * @param unit    the time unit of the timeout
+     * @return a future completed by the lock handle or empty if timeout elapsed before the lock is acquired
+     * @see #lockAsync()
+     * @since 1.0.4
+     */
+    default CompletableFuture<Optional<LockHandle>> tryLockAsync(long timeout, TimeUnit unit) {
+        throw new UnsupportedOperationException("tryLockAsync not supported");
+    }
 }
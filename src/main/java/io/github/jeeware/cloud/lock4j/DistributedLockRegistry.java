@@ -16,9 +16,13 @@ package io.github.jeeware.cloud.lock4j;
 
 import io.github.jeeware.cloud.lock4j.DistributedLockException.CannotAcquire;
 import io.github.jeeware.cloud.lock4j.DistributedLockException.CannotRelease;
+import io.github.jeeware.cloud.lock4j.LockMetricsListener.Operation;
 import io.github.jeeware.cloud.lock4j.Retryer.Context;
 import io.github.jeeware.cloud.lock4j.support.DisabledShutdownScheduler;
 import io.github.jeeware.cloud.lock4j.support.LoggingErrorTask;
+import io.github.jeeware.cloud.lock4j.support.TimingWheel;
+import io.github.jeeware.cloud.lock4j.util.Utils;
+import io.github.jeeware.cloud.lock4j.util.VirtualThreads;
 import lombok.Builder;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
@@ -27,12 +31,22 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -40,11 +54,16 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import static io.github.jeeware.cloud.lock4j.util.Utils.defaultIfNull;
 import static io.github.jeeware.cloud.lock4j.util.Utils.getIfNull;
 import static io.github.jeeware.cloud.lock4j.util.Utils.validateNullOrPositive;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.stream.Collectors.toList;
 
 /**
  * Registry for {@link DistributedLock}
@@ -60,16 +79,65 @@ public class DistributedLockRegistry implements AutoCloseable {
 
     private static final Duration DEFAULT_DEADLOCK_TIMEOUT = Duration.ofMillis(30000);
 
+    /**
+     * Lease of the instance releasing dead locks when {@link DistributedLockRegistryBuilder#sweeperElection(boolean)}
+     * is enabled, stored as a lock in the repository.
+     */
+    public static final String SWEEPER_LEASE_ID = "lock4j.dead-locks-sweeper";
+
     private final Map<String, DistributedLockImpl> locks;
 
+    private final Map<List<String>, MultiLockImpl> multiLocks;
+
+    private final Map<String, ReadWriteLockImpl> readWriteLocks;
+
+    private final Set<String> heldReadLockIds;
+
+    private final Map<String, SemaphoreImpl> semaphores;
+
+    private final Set<String> heldSemaphoreIds;
+
+    /**
+     * Ids of the locks held by this instance with the {@link System#nanoTime()} start of their current lease.
+     */
+    private final Map<String, Long> heldLocks;
+
+    private final Set<AsyncLockHandle> asyncHandles;
+
     private final LockRepository repository;
 
     private final ScheduledExecutorService scheduler;
 
     private final DistributedLockRetryer retryer;
 
+    private final LockMetricsListener metricsListener;
+
+    private final Executor asyncExecutor;
+
+    private final ExecutorService ownedAsyncExecutor;
+
     private final AtomicBoolean started;
 
+    private final boolean sweeperElection;
+
+    /**
+     * Maximum consecutive handoffs of a remote lock to the threads of this process waiting for it, without
+     * releasing it in the repository, 0 to disable local handoffs. Handed off locks keep their fencing token.
+     */
+    private final int maxLocalHandoffs;
+
+    /**
+     * Maximum time a remote lock is kept by local handoffs since its acquisition, the refresh interval by default.
+     */
+    private final long maxLocalHoldTimeNanos;
+
+    /**
+     * Remaining lease below which the heartbeat renews a held lock, -1 to renew all held locks at each heartbeat.
+     */
+    private final long leaseRenewalThresholdNanos;
+
+    private volatile boolean sweeper;
+
     private String instanceId;
 
     private long refreshLockInterval;
@@ -78,34 +146,190 @@ public class DistributedLockRegistry implements AutoCloseable {
 
     private ScheduledFuture<?> unlockDeadLocksFuture;
 
+    private ScheduledFuture<?> refreshLocksFuture;
+
     @Deprecated
     public DistributedLockRegistry(LockRepository repository, ScheduledExecutorService scheduler, Retryer retryer) {
-        this(repository, scheduler, retryer, null, null, null);
+        this(repository, scheduler, retryer, null, null, null, null, null, false, false, 0, null, null);
     }
 
     @Builder
     protected DistributedLockRegistry(LockRepository repository, ScheduledExecutorService scheduler,
                                       Retryer retryer, String instanceId,
-                                      Duration refreshLockInterval, Duration deadLockTimeout) {
+                                      Duration refreshLockInterval, Duration deadLockTimeout,
+                                      LockMetricsListener metricsListener, Executor asyncExecutor,
+                                      boolean virtualThreads, boolean sweeperElection,
+                                      int maxLocalHandoffs, Duration maxLocalHoldTime,
+                                      Duration leaseRenewalThreshold) {
         this.repository = Objects.requireNonNull(repository, "repository is null");
-        this.scheduler = getIfNull(DisabledShutdownScheduler.of(scheduler), () -> Executors.newScheduledThreadPool(1));
+        final boolean virtual = virtualThreads && checkVirtualThreadsSupported();
+        this.scheduler = getIfNull(DisabledShutdownScheduler.of(scheduler), () -> virtual
+                ? new TimingWheel(VirtualThreads.threadFactory("lock4j-scheduler-"))
+                : new TimingWheel(task -> new Thread(task, "lock4j-scheduler")));
         this.retryer = new DistributedLockRetryer(retryer);
+        this.metricsListener = defaultIfNull(metricsListener, LockMetricsListener.NONE);
+        this.ownedAsyncExecutor = asyncExecutor == null && virtual
+                ? VirtualThreads.newThreadPerTaskExecutor(VirtualThreads.threadFactory("lock4j-async-")) : null;
+        this.asyncExecutor = asyncExecutor != null ? asyncExecutor
+                : getIfNull(ownedAsyncExecutor, ForkJoinPool::commonPool);
         this.instanceId = getIfNull(instanceId, () -> UUID.randomUUID().toString());
         this.refreshLockInterval = defaultIfNull(validateNullOrPositive(refreshLockInterval, "refreshLockInterval"),
                 DEFAULT_REFRESH_INTERVAL).toMillis();
         this.deadLockTimeout = defaultIfNull(validateNullOrPositive(deadLockTimeout, "deadLockTimeout"),
                 DEFAULT_DEADLOCK_TIMEOUT).toMillis();
         this.locks = new ConcurrentHashMap<>();
+        this.multiLocks = new ConcurrentHashMap<>();
+        this.readWriteLocks = new ConcurrentHashMap<>();
+        this.heldReadLockIds = ConcurrentHashMap.newKeySet();
+        this.semaphores = new ConcurrentHashMap<>();
+        this.heldSemaphoreIds = ConcurrentHashMap.newKeySet();
+        this.heldLocks = new ConcurrentHashMap<>();
+        this.asyncHandles = ConcurrentHashMap.newKeySet();
         this.started = new AtomicBoolean();
+        this.sweeperElection = sweeperElection;
+        Validate.isTrue(maxLocalHandoffs >= 0, "maxLocalHandoffs must be positive or zero: %d", maxLocalHandoffs);
+        this.maxLocalHandoffs = maxLocalHandoffs;
+        this.maxLocalHoldTimeNanos = defaultIfNull(validateNullOrPositive(maxLocalHoldTime, "maxLocalHoldTime"),
+                Duration.ofMillis(this.refreshLockInterval)).toNanos();
+        if (leaseRenewalThreshold != null) {
+            final long threshold = leaseRenewalThreshold.toMillis();
+            Validate.isTrue(threshold > this.refreshLockInterval && threshold < this.deadLockTimeout,
+                    "leaseRenewalThreshold must be between refreshLockInterval and deadLockTimeout: %s",
+                    leaseRenewalThreshold);
+            this.leaseRenewalThresholdNanos = leaseRenewalThreshold.toNanos();
+        } else {
+            this.leaseRenewalThresholdNanos = -1;
+        }
+    }
+
+    private static boolean checkVirtualThreadsSupported() {
+        if (VirtualThreads.isSupported()) {
+            return true;
+        }
+        LOGGER.warn("Virtual threads are not supported by Java {} => fallback to platform threads",
+                System.getProperty("java.version"));
+        return false;
     }
 
     public DistributedLock getLock(String id) {
+        start();
+        return locks.computeIfAbsent(id, DistributedLockImpl::new);
+    }
+
+    /**
+     * Lock of several ids acquired all together or none of them, with a single repository call when supported
+     * (see {@link LockRepository#acquireLocks(List, String)}), e.g. to lock both accounts of a transfer
+     * without risk of distributed deadlock. Ids are sorted, so multi-locks of the same ids are the same lock
+     * whatever the order of the ids. Clock skew and asynchronous acquisitions are not supported.
+     *
+     * @param ids the lock identifiers
+     * @return the lock of all the ids, or the lock of the id if all the ids are equal
+     * @since 1.0.4
+     */
+    public DistributedLock getMultiLock(String... ids) {
+        Validate.noNullElements(Validate.notEmpty(ids, "ids is empty"), "ids contains null id");
+        final List<String> lockIds = Arrays.stream(ids).distinct().sorted().collect(toList());
+        if (lockIds.size() == 1) {
+            return getLock(lockIds.get(0));
+        }
+        start();
+        return multiLocks.computeIfAbsent(lockIds, MultiLockImpl::new);
+    }
+
+    /**
+     * Read-write lock whose read lock is shared by the processes, e.g. to guard a read-mostly resource. The id
+     * must not be used by {@link #getLock(String)} or {@link #getMultiLock(String...)}. Read-write locks are
+     * cached by the registry, and their read holds are refreshed by the registry heartbeat. Clock skew and
+     * asynchronous acquisitions are not supported.
+     *
+     * @param id the lock identifier
+     * @return the read-write lock
+     * @see LockRepository#acquireReadLock(String, String)
+     * @see LockRepository#acquireWriteLock(String, String)
+     * @since 1.0.4
+     */
+    public DistributedReadWriteLock getReadWriteLock(String id) {
+        start();
+        return readWriteLocks.computeIfAbsent(id, ReadWriteLockImpl::new);
+    }
+
+    /**
+     * Counting semaphore shared by the processes, whose permits are acquired and released by a single repository
+     * call. The id must not be used by the other locks. Semaphores are cached by the registry, and their held
+     * permits are refreshed by the registry heartbeat.
+     *
+     * @param id      the semaphore identifier
+     * @param permits the total number of permits, the same for all the processes
+     * @return the semaphore
+     * @see LockRepository#acquirePermits(String, String, int, int)
+     * @since 1.0.4
+     */
+    public DistributedSemaphore getSemaphore(String id, int permits) {
+        Validate.isTrue(permits > 0, "permits must be positive: %d", permits);
+        start();
+        final SemaphoreImpl semaphore = semaphores.computeIfAbsent(id, k -> new SemaphoreImpl(k, permits));
+        Validate.isTrue(semaphore.permits == permits, "Semaphore id=%s has %d permits", id, semaphore.permits);
+        return semaphore;
+    }
+
+    /**
+     * Acquires the lock of the given id without blocking the caller thread.
+     *
+     * @param id the lock identifier
+     * @return a future completed by the lock handle
+     * @see DistributedLock#lockAsync()
+     * @since 1.0.4
+     */
+    public CompletableFuture<LockHandle> lockAsync(String id) {
+        start();
+        final CompletableFuture<Optional<LockHandle>> acquisition = new AsyncAcquisition(id, -1, 0).start();
+        return Utils.cancelOnCancel(acquisition.thenApply(Optional::get), acquisition);
+    }
+
+    /**
+     * Acquires the lock of the given id if it is released within the given timeout without blocking the
+     * caller thread.
+     *
+     * @param id      the lock identifier
+     * @param timeout the maximum time to wait for the lock
+     * @return a future completed by the lock handle or empty if timeout elapsed before the lock is acquired
+     * @see DistributedLock#tryLockAsync(long, TimeUnit)
+     * @since 1.0.4
+     */
+    public CompletableFuture<Optional<LockHandle>> tryLockAsync(String id, Duration timeout) {
+        start();
+        return new AsyncAcquisition(id, Math.max(0, timeout.toNanos()), 0).start();
+    }
+
+    /**
+     * Attempts once to acquire the lock of the given id with a clock skew without blocking the caller thread.
+     *
+     * @param id        the lock identifier
+     * @param clockSkew clock skew or time difference between instances
+     * @return a future completed by the lock handle or empty if the lock was not acquired
+     * @see DistributedLock#tryLockWithClockSkew(long, TimeUnit)
+     * @since 1.0.4
+     */
+    public CompletableFuture<Optional<LockHandle>> tryLockWithClockSkewAsync(String id, Duration clockSkew) {
+        start();
+        return new AsyncAcquisition(id, 0, clockSkew.toMillis()).start();
+    }
+
+    /**
+     * @return the executor of the asynchronous repository calls, where the continuations of asynchronous
+     * acquisitions can run instead of the timer or the I/O threads completing them
+     * @since 1.0.4
+     */
+    public Executor getAsyncExecutor() {
+        return asyncExecutor;
+    }
+
+    private void start() {
         if (started.compareAndSet(false, true)) {
             unlockDeadLocksFuture = schedulePeriodically(this::releaseDeadLocks, 0, deadLockTimeout);
+            refreshLocksFuture = schedulePeriodically(this::refreshActiveLocks, refreshLockInterval, refreshLockInterval);
             LOGGER.info("Scheduled tasks for registry {} created.", this);
         }
-
-        return locks.computeIfAbsent(id, DistributedLockImpl::new);
     }
 
     private ScheduledFuture<?> schedulePeriodically(Runnable task, long initialDelayMillis, long delayMillis) {
@@ -113,21 +337,191 @@ public class DistributedLockRegistry implements AutoCloseable {
     }
 
     private void releaseDeadLocks() {
-        repository.releaseDeadLocks(deadLockTimeout);
+        if (sweeperElection && !electSweeper()) {
+            return;
+        }
+        timed(Operation.RELEASE_DEAD_LOCKS, null, () -> repository.releaseDeadLocks(deadLockTimeout));
+    }
+
+    /**
+     * Acquire or renew the sweeper lease at each sweep, it expires after two sweeps periods without renewal
+     * so that another instance takes over the sweep of a dead sweeper.
+     */
+    private boolean electSweeper() {
+        final boolean elected;
+        try {
+            elected = timed(Operation.ACQUIRE_LEASE, SWEEPER_LEASE_ID,
+                    () -> repository.acquireLease(SWEEPER_LEASE_ID, instanceId, 2 * deadLockTimeout));
+        } catch (RuntimeException e) {
+            sweeper = false;
+            throw e;
+        }
+        if (elected != sweeper) {
+            LOGGER.info("Instance {} {} dead locks sweeper", instanceId, elected ? "is elected" : "is no more");
+            sweeper = elected;
+        }
+        return elected;
+    }
+
+    /**
+     * Single heartbeat task of the registry: refresh all locks held by this instance in one batch
+     * instead of scheduling a refresh task per held lock. In lease mode, only the locks whose remaining
+     * lease is below the renewal threshold are refreshed, so short critical sections cause no heartbeat.
+     */
+    private void refreshActiveLocks() {
+        if (!heldLocks.isEmpty()) {
+            final long now = System.nanoTime();
+            final List<String> lockIds = new ArrayList<>(heldLocks.size());
+            heldLocks.forEach((lockId, leaseStartNanos) -> {
+                if (leaseRenewalThresholdNanos < 0
+                        || remainingLeaseNanos(leaseStartNanos, now) < leaseRenewalThresholdNanos) {
+                    lockIds.add(lockId);
+                }
+            });
+            if (!lockIds.isEmpty()) {
+                timed(Operation.REFRESH_ACTIVE_LOCKS, null, () -> repository.refreshActiveLocks(lockIds, instanceId));
+                // renewed leases start at the latest when the refresh started
+                lockIds.forEach(lockId -> heldLocks.computeIfPresent(lockId, (k, start) -> Math.max(start, now)));
+            }
+        }
+        if (!heldReadLockIds.isEmpty()) {
+            timed(Operation.REFRESH_ACTIVE_LOCKS, null,
+                    () -> repository.refreshReadLocks(new ArrayList<>(heldReadLockIds), instanceId));
+        }
+        if (!heldSemaphoreIds.isEmpty()) {
+            timed(Operation.REFRESH_ACTIVE_LOCKS, null,
+                    () -> repository.refreshPermits(new ArrayList<>(heldSemaphoreIds), instanceId));
+        }
+    }
+
+    /**
+     * The lease of a lock is the dead lock timeout, after which the repository releases it if not refreshed.
+     */
+    private long remainingLeaseNanos(long leaseStartNanos, long nowNanos) {
+        return Math.max(0, MILLISECONDS.toNanos(deadLockTimeout) - (nowNanos - leaseStartNanos));
+    }
+
+    private void timed(Operation operation, String lockId, Runnable call) {
+        timed(operation, lockId, () -> {
+            call.run();
+            return true;
+        });
+    }
+
+    private boolean timed(Operation operation, String lockId, BooleanSupplier call) {
+        final long start = System.nanoTime();
+        Throwable error = null;
+        try {
+            return call.getAsBoolean();
+        } catch (RuntimeException | Error e) {
+            error = e;
+            throw e;
+        } finally {
+            metricsListener.onRepositoryCall(operation, lockId, System.nanoTime() - start, error);
+        }
+    }
+
+    private <T> CompletableFuture<T> timedAsync(Operation operation, String lockId,
+                                                Supplier<CompletableFuture<T>> call) {
+        final long start = System.nanoTime();
+        return supplyAsync(call).whenComplete((value, error) -> metricsListener.onRepositoryCall(operation,
+                lockId, System.nanoTime() - start, error != null ? Utils.unwrap(error) : null));
+    }
+
+    /**
+     * Asynchronous variant of {@link Retryer#apply(Callable, Retryer.Recovery)}: the pause between retries
+     * is scheduled by the timer, or executed by the async executor if the retryer does not know its delay.
+     */
+    private <T> CompletableFuture<T> retryAsync(String lockId, Supplier<CompletableFuture<T>> call,
+                                                Context context) {
+        return supplyAsync(call).handle((value, error) -> {
+            if (error == null) {
+                return CompletableFuture.completedFuture(value);
+            }
+            final Throwable cause = Utils.unwrap(error);
+            final Context retryContext = context != null ? context : retryer.createContext();
+            if (cause instanceof Exception && !retryContext.isTerminated()
+                    && retryer.shouldRetryFor((Exception) cause, retryContext)) {
+                retryContext.incrementRetryCount();
+                metricsListener.onRetry(lockId, (Exception) cause);
+                final long delayMillis = retryer.delayMillis(retryContext);
+                final CompletableFuture<Void> pause = delayMillis >= 0 ? Utils.delay(scheduler, delayMillis)
+                        : CompletableFuture.runAsync(() -> sleep(retryContext), asyncExecutor);
+                // the retry leaves the timer thread
+                return pause.thenComposeAsync(v -> retryAsync(lockId, call, retryContext), asyncExecutor);
+            }
+            return Utils.<T>failedFuture(cause);
+        }).thenCompose(Function.identity());
+    }
+
+    @SneakyThrows
+    private void sleep(Context context) {
+        retryer.sleep(context);
+    }
+
+    private static <T> CompletableFuture<T> supplyAsync(Supplier<CompletableFuture<T>> call) {
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            return Utils.failedFuture(e);
+        }
     }
 
     @Override
     public void close() {
         if (started.compareAndSet(true, false)) {
             boolean unlockCanceled = unlockDeadLocksFuture.cancel(true);
-            LOGGER.info("Closing registry instanceId: {}. " +
-                    "Cancel scheduled unlock deadlocks: {}", instanceId, unlockCanceled);
+            boolean refreshCanceled = refreshLocksFuture.cancel(true);
+            LOGGER.info("Closing registry instanceId: {}. Cancel scheduled unlock deadlocks: {}, " +
+                    "refresh locks: {}", instanceId, unlockCanceled, refreshCanceled);
             locks.forEach((id, lock) -> {
                 if (lock.tryUnlock()) {
                     LOGGER.info("Successfully unlocked lock id={} when closing registry instanceId: {}", id, instanceId);
                 }
             });
+            multiLocks.forEach((ids, lock) -> {
+                if (lock.tryUnlock()) {
+                    LOGGER.info("Successfully unlocked multi-lock ids={} when closing registry instanceId: {}", ids,
+                            instanceId);
+                }
+            });
+            readWriteLocks.forEach((id, lock) -> {
+                if (lock.writeLock.tryUnlock() | lock.readLock.tryUnlock()) {
+                    LOGGER.info("Successfully unlocked read-write lock id={} when closing registry instanceId: {}", id,
+                            instanceId);
+                }
+            });
+            semaphores.forEach((id, semaphore) -> {
+                if (semaphore.tryRelease()) {
+                    LOGGER.info("Successfully released semaphore id={} when closing registry instanceId: {}", id,
+                            instanceId);
+                }
+            });
+            asyncHandles.forEach(handle -> {
+                if (handle.tryRelease()) {
+                    LOGGER.info("Successfully released lock handle id={} when closing registry instanceId: {}",
+                            handle.lockId, instanceId);
+                }
+            });
+            releaseSweeperLease();
             scheduler.shutdown();
+            if (ownedAsyncExecutor != null) {
+                ownedAsyncExecutor.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Release the sweeper lease so that another instance takes over the sweep without waiting its expiration.
+     */
+    private void releaseSweeperLease() {
+        if (sweeper) {
+            sweeper = false;
+            try {
+                repository.releaseLock(SWEEPER_LEASE_ID, instanceId);
+            } catch (RuntimeException e) {
+                LOGGER.warn("Cannot release sweeper lease of instanceId: {} => {}", instanceId, e.getMessage());
+            }
         }
     }
 
@@ -170,7 +564,7 @@ public class DistributedLockRegistry implements AutoCloseable {
     }
 
     @RequiredArgsConstructor
-    final class DistributedLockImpl implements DistributedLock {
+    class DistributedLockImpl implements DistributedLock {
 
         final String id;
 
@@ -178,7 +572,12 @@ public class DistributedLockRegistry implements AutoCloseable {
 
         volatile boolean heldByCurrentProcess;
 
-        volatile ScheduledFuture<?> refreshLockFuture;
+        long acquiredAtNanos;
+
+        volatile long fencingToken;
+
+        // consecutive local handoffs of the remote lock, guarded by jvmLock
+        int localHandoffs;
 
         @Override
         @SneakyThrows
@@ -192,76 +591,159 @@ public class DistributedLockRegistry implements AutoCloseable {
         }
 
         private void lockImpl(AcquireLock acquireLock) throws InterruptedException {
-            acquireLock.apply(jvmLock);
-            // reentrant lock
+            final long start = System.nanoTime();
+            try {
+                acquireLock.apply(jvmLock);
+            } catch (InterruptedException e) {
+                releaseIfStranded();
+                throw e;
+            }
+            metricsListener.onLocalLockWait(id, System.nanoTime() - start);
+            // reentrant lock or local handoff
             if (heldByCurrentProcess) {
                 return;
             }
-            retryer.apply(() -> {
-                do {
-                    if (repository.acquireLock(id, instanceId)) {
-                        onAcquiredLock();
-                        return null;
-                    }
-                    if (acquireLock.isInterruptible() && Thread.interrupted()) {
-                        throw new InterruptedException();
-                    }
-                    repository.awaitReleaseLock(id);
-                } while (true);
-            }, new AcquireLockRecovery<>(acquireLock.isInterruptible()));
+            retryer.apply(new RetryTask<>(() -> {
+                try (LockWaiter waiter = registerWaiter()) {
+                    do {
+                        if (acquireRemoteLock()) {
+                            onAcquiredLock(start);
+                            return null;
+                        }
+                        if (acquireLock.isInterruptible() && Thread.interrupted()) {
+                            throw new InterruptedException();
+                        }
+                        awaitReleaseLock(waiter);
+                    } while (true);
+                }
+            }), new AcquireLockRecovery<>(acquireLock.isInterruptible(), start));
         }
 
         @Override
         @SneakyThrows
         public boolean tryLock() {
+            final long start = System.nanoTime();
             if (!jvmLock.tryLock()) {
-                return false;
+                return onNotAcquiredLock(start);
             }
-            // reentrant lock
+            // reentrant lock or local handoff
             if (heldByCurrentProcess) {
                 return true;
             }
-            return retryer.apply(() -> {
-                if (repository.acquireLock(id, instanceId)) {
-                    onAcquiredLock();
+            return retryer.apply(new RetryTask<>(() -> {
+                if (acquireRemoteLock()) {
+                    onAcquiredLock(start);
                     return true;
                 }
+                abandonRemoteLock();
                 jvmLock.unlock();
-                return false;
-            }, new AcquireLockRecovery<>(false));
+                return onNotAcquiredLock(start);
+            }), new AcquireLockRecovery<>(false, start));
         }
 
         @Override
         public boolean tryLock(long timeout, TimeUnit unit) throws InterruptedException {
+            final long start = System.nanoTime();
             final long until = System.currentTimeMillis() + unit.toMillis(timeout);
-            if (!jvmLock.tryLock(timeout, unit)) {
-                return false;
+            final boolean locked;
+            try {
+                locked = jvmLock.tryLock(timeout, unit);
+            } catch (InterruptedException e) {
+                releaseIfStranded();
+                throw e;
             }
-            // reentrant lock
+            metricsListener.onLocalLockWait(id, System.nanoTime() - start);
+            if (!locked) {
+                releaseIfStranded();
+                return onNotAcquiredLock(start);
+            }
+            // reentrant lock or local handoff
             if (heldByCurrentProcess) {
                 return true;
             }
-            return retryer.apply(() -> {
-                do {
-                    if (repository.acquireLock(id, instanceId)) {
-                        onAcquiredLock();
-                        return true;
-                    }
-                    repository.awaitReleaseLock(id, until - System.currentTimeMillis());
-                } while (System.currentTimeMillis() <= until);
+            return retryer.apply(new RetryTask<>(() -> {
+                try (LockWaiter waiter = registerWaiter()) {
+                    do {
+                        if (acquireRemoteLock()) {
+                            onAcquiredLock(start);
+                            return true;
+                        }
+                        awaitReleaseLock(waiter, until - System.currentTimeMillis());
+                    } while (System.currentTimeMillis() <= until);
+                }
                 // cannot acquire remote lock after timeout => release local lock
+                abandonRemoteLock();
                 jvmLock.unlock();
-                return false;
-            }, new AcquireLockRecovery<>(true));
+                return onNotAcquiredLock(start);
+            }), new AcquireLockRecovery<>(true, start));
+        }
+
+        boolean acquireRemoteLock() {
+            return timed(Operation.ACQUIRE_LOCK, id, () -> repository.acquireLock(id, instanceId));
+        }
+
+        /**
+         * Waits are bounded as some releases are not notified, e.g. expired locks when Redis keyspace
+         * notifications cannot be configured or dead readers of a read-write lock.
+         */
+        LockWaiter registerWaiter() {
+            return new BoundedLockWaiter(repository.registerWaiter(id));
+        }
+
+        void releaseRemoteLock() {
+            repository.releaseLock(id, instanceId);
+        }
+
+        /**
+         * Fetch the fencing token and start the heartbeat of the acquired lock.
+         */
+        void onHeld() {
+            fencingToken = repository.getFencingToken(id, instanceId);
+            heldLocks.put(id, acquiredAtNanos);
+        }
+
+        /**
+         * Stop the heartbeat of the lock before its release.
+         */
+        void onUnheld() {
+            heldLocks.remove(id);
+        }
+
+        void evict() {
+            locks.remove(id);
+        }
+
+        /**
+         * Release what a failed acquisition keeps in the repository, e.g. a write request.
+         */
+        void abandonRemoteLock() {
+            // nothing kept by default
+        }
+
+        private void awaitReleaseLock(LockWaiter waiter) throws InterruptedException {
+            final long start = System.nanoTime();
+            waiter.await();
+            metricsListener.onAwaitRelease(id, System.nanoTime() - start, false);
+        }
+
+        private void awaitReleaseLock(LockWaiter waiter, long timeoutMillis) throws InterruptedException {
+            final long start = System.nanoTime();
+            waiter.await(timeoutMillis);
+            final long awaitNanos = System.nanoTime() - start;
+            metricsListener.onAwaitRelease(id, awaitNanos, awaitNanos >= MILLISECONDS.toNanos(timeoutMillis));
         }
 
-        private void onAcquiredLock() {
+        private void onAcquiredLock(long startNanos) {
+            acquiredAtNanos = System.nanoTime();
+            localHandoffs = 0;
+            onHeld();
             heldByCurrentProcess = true;
-            refreshLockFuture = schedulePeriodically(this::refreshActiveLock, refreshLockInterval, refreshLockInterval);
+            metricsListener.onAcquire(id, acquiredAtNanos - startNanos, true);
         }
 
-        private void refreshActiveLock() {
-            repository.refreshActiveLock(id, instanceId);
+        private boolean onNotAcquiredLock(long startNanos) {
+            metricsListener.onAcquire(id, System.nanoTime() - startNanos, false);
+            return false;
         }
 
         @Override
@@ -272,32 +754,80 @@ public class DistributedLockRegistry implements AutoCloseable {
                         " not locked by the current thread " + Thread.currentThread().getName());
             }
             if (jvmLock.getHoldCount() == 1) {
-                retryer.apply(() -> {
-                    repository.releaseLock(id, instanceId);
-                    onReleasedLock();
-                    return null;
-                }, (exception, context) -> {
-                    onReleasedLock();
-                    throw new CannotRelease(id, instanceId, exception);
-                });
+                if (canHandOff()) {
+                    localHandoffs++;
+                    jvmLock.unlock();
+                    releaseIfStranded();
+                    return;
+                }
+                releaseHeldLock();
             }
             jvmLock.unlock();
         }
 
+        private void releaseHeldLock() throws InterruptedException {
+            // stop heartbeat before release so that the next holder of this instance keeps its heartbeat
+            onUnheld();
+            retryer.apply(new RetryTask<>(() -> {
+                timed(Operation.RELEASE_LOCK, id, this::releaseRemoteLock);
+                onReleasedLock();
+                return null;
+            }), (exception, context) -> {
+                onReleasedLock();
+                throw new CannotRelease(id, instanceId, exception);
+            });
+        }
+
+        /**
+         * The remote lock is kept for a thread of this process waiting for the local lock, within the budget of
+         * consecutive local handoffs and hold time so that the other processes still get the lock.
+         */
+        private boolean canHandOff() {
+            return localHandoffs < maxLocalHandoffs && heldByCurrentProcess && jvmLock.hasQueuedThreads()
+                    && System.nanoTime() - acquiredAtNanos < maxLocalHoldTimeNanos;
+        }
+
+        /**
+         * Release the remote lock handed off to local threads which all gave up waiting for the local lock.
+         * Called by every thread giving up, so that the last one releases the remote lock.
+         */
+        private void releaseIfStranded() throws InterruptedException {
+            if (heldByCurrentProcess && !jvmLock.hasQueuedThreads() && jvmLock.tryLock()) {
+                try {
+                    if (heldByCurrentProcess && jvmLock.getHoldCount() == 1 && !jvmLock.hasQueuedThreads()) {
+                        releaseHeldLock();
+                    }
+                } finally {
+                    jvmLock.unlock();
+                }
+            }
+        }
+
         private void onReleasedLock() {
-            refreshLockFuture.cancel(true);
             heldByCurrentProcess = false;
-            locks.remove(id); // lock is no more used => remove it
+            fencingToken = 0;
+            evict(); // lock is no more used => remove it
+            metricsListener.onRelease(id, System.nanoTime() - acquiredAtNanos);
         }
 
         boolean tryUnlock() {
             if (isHeldByCurrentProcess()) {
-                repository.releaseLock(id, instanceId);
+                releaseRemoteLock();
                 return true;
             }
             return false;
         }
 
+        @Override
+        public CompletableFuture<LockHandle> lockAsync() {
+            return DistributedLockRegistry.this.lockAsync(id);
+        }
+
+        @Override
+        public CompletableFuture<Optional<LockHandle>> tryLockAsync(long timeout, TimeUnit unit) {
+            return DistributedLockRegistry.this.tryLockAsync(id, Duration.ofNanos(unit.toNanos(timeout)));
+        }
+
         @Override
         public Condition newCondition() {
             throw new UnsupportedOperationException("newCondition not supported");
@@ -308,24 +838,47 @@ public class DistributedLockRegistry implements AutoCloseable {
             return heldByCurrentProcess;
         }
 
+        @Override
+        public long getFencingToken() {
+            return fencingToken;
+        }
+
+        @Override
+        public Duration remainingLease() {
+            final long now = System.nanoTime();
+            final Long leaseStartNanos = heldByCurrentProcess ? leaseStartNanos() : null;
+            return leaseStartNanos != null ? Duration.ofNanos(remainingLeaseNanos(leaseStartNanos, now))
+                    : Duration.ZERO;
+        }
+
+        /**
+         * @return start of the current lease, null if not held
+         */
+        Long leaseStartNanos() {
+            return heldLocks.get(id);
+        }
+
         @Override
         @SneakyThrows
         public boolean tryLockWithClockSkew(long clockSkew, TimeUnit unit) {
+            final long start = System.nanoTime();
             if (!jvmLock.tryLock()) {
-                return false;
+                return onNotAcquiredLock(start);
             }
-            // reentrant lock
+            // reentrant lock or local handoff
             if (heldByCurrentProcess) {
                 return true;
             }
-            return retryer.apply(() -> {
-                if (repository.acquireLockWithClockSkew(id, instanceId, unit.toMillis(clockSkew))) {
-                    onAcquiredLock();
+            final long clockSkewMillis = unit.toMillis(clockSkew);
+            return retryer.apply(new RetryTask<>(() -> {
+                if (timed(Operation.ACQUIRE_LOCK, id,
+                        () -> repository.acquireLockWithClockSkew(id, instanceId, clockSkewMillis))) {
+                    onAcquiredLock(start);
                     return true;
                 }
                 jvmLock.unlock();
-                return false;
-            }, new AcquireLockRecovery<>(false));
+                return onNotAcquiredLock(start);
+            }), new AcquireLockRecovery<>(false, start));
         }
 
         // visible for test
@@ -335,17 +888,42 @@ public class DistributedLockRegistry implements AutoCloseable {
 
         @Override
         public String toString() {
-            return "DistributedLockImpl[id=" + id + ", instanceId=" + instanceId + ", jvmLock=" + jvmLock
+            return getClass().getSimpleName() + "[id=" + id + ", instanceId=" + instanceId + ", jvmLock=" + jvmLock
                     + ", heldByCurrentProcess=" + heldByCurrentProcess + "]";
         }
 
+        /**
+         * Notifies the metrics listener of each retry of the wrapped task.
+         */
+        @RequiredArgsConstructor
+        private class RetryTask<T> implements Callable<T> {
+            private final Callable<T> task;
+            private Exception lastException;
+
+            @Override
+            public T call() throws Exception {
+                if (lastException != null) {
+                    metricsListener.onRetry(id, lastException);
+                }
+                try {
+                    return task.call();
+                } catch (Exception e) {
+                    lastException = e;
+                    throw e;
+                }
+            }
+        }
+
         @RequiredArgsConstructor
         private class AcquireLockRecovery<T> implements Retryer.Recovery<T> {
             private final boolean rethrowInterrupted;
+            private final long startNanos;
 
             @Override
             public T recover(Exception exception, Context context) throws InterruptedException {
+                abandonRemoteLock();
                 jvmLock.unlock();
+                onNotAcquiredLock(startNanos);
                 if (exception instanceof InterruptedException) {
                     Thread.currentThread().interrupt();
                     if (rethrowInterrupted) {
@@ -357,27 +935,853 @@ public class DistributedLockRegistry implements AutoCloseable {
         }
     }
 
-    static final class DistributedLockRetryer implements Retryer {
+    /**
+     * Lock of several ids acquired and released by a single repository call, its fencing token is always 0.
+     */
+    final class MultiLockImpl extends DistributedLockImpl {
 
-        private final Retryer retryer;
+        final List<String> lockIds;
 
-        public DistributedLockRetryer(Retryer retryer) {
-            this.retryer = Objects.requireNonNull(retryer, "retryer is null");
+        MultiLockImpl(List<String> lockIds) {
+            super(String.join(",", lockIds));
+            this.lockIds = Collections.unmodifiableList(lockIds);
         }
 
         @Override
-        public boolean shouldRetryFor(Exception e, Context context) {
-            return !(e instanceof InterruptedException) && retryer.shouldRetryFor(e, context);
+        boolean acquireRemoteLock() {
+            return timed(Operation.ACQUIRE_LOCK, id, () -> repository.acquireLocks(lockIds, instanceId));
         }
 
         @Override
-        public Context createContext() {
-            return retryer.createContext();
+        LockWaiter registerWaiter() {
+            return new MultiLockWaiter(lockIds);
         }
 
         @Override
-        public void sleep(Context context) throws InterruptedException {
-            retryer.sleep(context);
+        void releaseRemoteLock() {
+            repository.releaseLocks(lockIds, instanceId);
+        }
+
+        @Override
+        void onHeld() {
+            lockIds.forEach(lockId -> heldLocks.put(lockId, acquiredAtNanos));
+        }
+
+        @Override
+        void onUnheld() {
+            heldLocks.keySet().removeAll(lockIds);
+        }
+
+        @Override
+        void evict() {
+            multiLocks.remove(lockIds);
+        }
+
+        /**
+         * @return start of the oldest lease of the locks
+         */
+        @Override
+        Long leaseStartNanos() {
+            Long start = null;
+            for (String lockId : lockIds) {
+                final Long leaseStart = heldLocks.get(lockId);
+                if (leaseStart == null) {
+                    return null;
+                }
+                start = start == null ? leaseStart : Math.min(start, leaseStart);
+            }
+            return start;
+        }
+
+        @Override
+        public boolean tryLockWithClockSkew(long clockSkew, TimeUnit unit) {
+            throw new UnsupportedOperationException("tryLockWithClockSkew not supported by multi-lock");
+        }
+
+        @Override
+        public CompletableFuture<LockHandle> lockAsync() {
+            throw new UnsupportedOperationException("lockAsync not supported by multi-lock");
+        }
+
+        @Override
+        public CompletableFuture<Optional<LockHandle>> tryLockAsync(long timeout, TimeUnit unit) {
+            throw new UnsupportedOperationException("tryLockAsync not supported by multi-lock");
+        }
+    }
+
+    final class ReadWriteLockImpl implements DistributedReadWriteLock {
+
+        final WriteLockImpl writeLock;
+
+        final ReadLockImpl readLock;
+
+        ReadWriteLockImpl(String id) {
+            this.writeLock = new WriteLockImpl(id);
+            this.readLock = new ReadLockImpl(id, writeLock);
+        }
+
+        @Override
+        public DistributedLock readLock() {
+            return readLock;
+        }
+
+        @Override
+        public DistributedLock writeLock() {
+            return writeLock;
+        }
+
+        @Override
+        public String toString() {
+            return "ReadWriteLockImpl[id=" + writeLock.id + ", instanceId=" + instanceId + "]";
+        }
+    }
+
+    /**
+     * Write lock of a read-write lock, its request is kept in the repository while readers remain.
+     */
+    final class WriteLockImpl extends DistributedLockImpl {
+
+        WriteLockImpl(String id) {
+            super(id);
+        }
+
+        @Override
+        boolean acquireRemoteLock() {
+            return timed(Operation.ACQUIRE_LOCK, id, () -> repository.acquireWriteLock(id, instanceId));
+        }
+
+        @Override
+        void releaseRemoteLock() {
+            repository.releaseWriteLock(id, instanceId);
+        }
+
+        @Override
+        void abandonRemoteLock() {
+            try {
+                repository.releaseWriteLock(id, instanceId);
+            } catch (RuntimeException e) {
+                LOGGER.warn("Cannot release write request of lock id={} for instanceId: {} => {}", id, instanceId,
+                        e.getMessage());
+            }
+        }
+
+        @Override
+        void evict() {
+            // cached with its read lock
+        }
+
+        @Override
+        public boolean tryLockWithClockSkew(long clockSkew, TimeUnit unit) {
+            throw new UnsupportedOperationException("tryLockWithClockSkew not supported by write lock");
+        }
+
+        @Override
+        public CompletableFuture<LockHandle> lockAsync() {
+            throw new UnsupportedOperationException("lockAsync not supported by write lock");
+        }
+
+        @Override
+        public CompletableFuture<Optional<LockHandle>> tryLockAsync(long timeout, TimeUnit unit) {
+            throw new UnsupportedOperationException("tryLockAsync not supported by write lock");
+        }
+    }
+
+    /**
+     * Read lock of a read-write lock: the read hold of the process is shared by its threads, acquired by the
+     * first one and released by the last one. A single thread at a time waits for the read hold, the others
+     * wait until it is acquired.
+     */
+    final class ReadLockImpl implements DistributedLock {
+
+        final String id;
+
+        final WriteLockImpl writeLock;
+
+        final ReentrantLock stateLock = new ReentrantLock();
+
+        final Condition stateChanged = stateLock.newCondition();
+
+        final ThreadLocal<int[]> holdCount = ThreadLocal.withInitial(() -> new int[1]);
+
+        // guarded by stateLock
+        int readers;
+
+        // guarded by stateLock
+        boolean acquiring;
+
+        volatile boolean heldByCurrentProcess;
+
+        long acquiredAtNanos;
+
+        ReadLockImpl(String id, WriteLockImpl writeLock) {
+            this.id = id;
+            this.writeLock = writeLock;
+        }
+
+        @Override
+        @SneakyThrows
+        public void lock() {
+            acquire(-1, false);
+        }
+
+        @Override
+        public void lockInterruptibly() throws InterruptedException {
+            acquire(-1, true);
+        }
+
+        @Override
+        @SneakyThrows
+        public boolean tryLock() {
+            return acquire(0, false);
+        }
+
+        @Override
+        public boolean tryLock(long timeout, TimeUnit unit) throws InterruptedException {
+            return acquire(Math.max(0, unit.toNanos(timeout)), true);
+        }
+
+        /**
+         * @param timeoutNanos maximum time to wait, negative value to wait until acquired
+         */
+        private boolean acquire(long timeoutNanos, boolean interruptible) throws InterruptedException {
+            final int[] holds = holdCount.get();
+            // reentrant lock
+            if (holds[0] > 0) {
+                holds[0]++;
+                return true;
+            }
+            final long start = System.nanoTime();
+            boolean acquired = false;
+            try {
+                acquired = joinOrAcquire(start, timeoutNanos, interruptible);
+                return acquired;
+            } finally {
+                if (acquired) {
+                    holds[0] = 1;
+                } else {
+                    holdCount.remove();
+                }
+                metricsListener.onAcquire(id, System.nanoTime() - start, acquired);
+            }
+        }
+
+        private boolean joinOrAcquire(long start, long timeoutNanos, boolean interruptible)
+                throws InterruptedException {
+            stateLock.lock();
+            try {
+                while (true) {
+                    // a local writer rejects new local readers as the write request rejects remote ones
+                    if (heldByCurrentProcess && !writeLock.jvmLock.isLocked()) {
+                        readers++;
+                        return true;
+                    }
+                    if (!acquiring) {
+                        acquiring = true;
+                        break;
+                    }
+                    if (timeoutNanos < 0) {
+                        if (interruptible) {
+                            stateChanged.await();
+                        } else {
+                            stateChanged.awaitUninterruptibly();
+                        }
+                    } else {
+                        final long remainingNanos = timeoutNanos - (System.nanoTime() - start);
+                        if (remainingNanos <= 0) {
+                            return false;
+                        }
+                        stateChanged.awaitNanos(remainingNanos);
+                    }
+                }
+            } finally {
+                stateLock.unlock();
+            }
+
+            try {
+                return acquireRemoteLock(start, timeoutNanos, interruptible);
+            } finally {
+                stateLock.lock();
+                try {
+                    acquiring = false;
+                    stateChanged.signalAll();
+                } finally {
+                    stateLock.unlock();
+                }
+            }
+        }
+
+        private boolean acquireRemoteLock(long start, long timeoutNanos, boolean interruptible)
+                throws InterruptedException {
+            try (LockWaiter waiter = new BoundedLockWaiter(repository.registerWaiter(id))) {
+                return retryer.apply(() -> {
+                    do {
+                        if (tryAcquireRemoteLock()) {
+                            return true;
+                        }
+                        final long remainingNanos = timeoutNanos - (System.nanoTime() - start);
+                        if (timeoutNanos >= 0 && remainingNanos <= 0) {
+                            return false;
+                        }
+                        if (interruptible && Thread.interrupted()) {
+                            throw new InterruptedException();
+                        }
+                        final long awaitStart = System.nanoTime();
+                        final boolean timedOut;
+                        if (timeoutNanos < 0) {
+                            waiter.await();
+                            timedOut = false;
+                        } else {
+                            final long timeoutMillis = Math.max(1, NANOSECONDS.toMillis(remainingNanos));
+                            waiter.await(timeoutMillis);
+                            timedOut = System.nanoTime() - awaitStart >= MILLISECONDS.toNanos(timeoutMillis);
+                        }
+                        metricsListener.onAwaitRelease(id, System.nanoTime() - awaitStart, timedOut);
+                    } while (true);
+                }, (exception, context) -> {
+                    if (exception instanceof InterruptedException) {
+                        Thread.currentThread().interrupt();
+                        if (interruptible) {
+                            throw exception;
+                        }
+                    }
+                    throw new CannotAcquire(id, instanceId, exception);
+                });
+            } catch (InterruptedException | RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new CannotAcquire(id, instanceId, e);
+            }
+        }
+
+        /**
+         * Acquire the read hold with the state lock, so that it never races with its release by the last reader.
+         */
+        private boolean tryAcquireRemoteLock() {
+            stateLock.lock();
+            try {
+                if (!timed(Operation.ACQUIRE_LOCK, id, () -> repository.acquireReadLock(id, instanceId))) {
+                    return false;
+                }
+                if (!heldByCurrentProcess) {
+                    acquiredAtNanos = System.nanoTime();
+                    heldByCurrentProcess = true;
+                    heldReadLockIds.add(id);
+                }
+                readers++;
+                return true;
+            } finally {
+                stateLock.unlock();
+            }
+        }
+
+        @Override
+        @SneakyThrows
+        public void unlock() {
+            final int[] holds = holdCount.get();
+            if (holds[0] == 0) {
+                holdCount.remove();
+                throw new IllegalMonitorStateException("Attempt to unlock read lock id=" + id +
+                        " not locked by the current thread " + Thread.currentThread().getName());
+            }
+            if (--holds[0] > 0) {
+                return;
+            }
+            holdCount.remove();
+            stateLock.lock();
+            try {
+                if (--readers == 0 && heldByCurrentProcess) {
+                    // stop heartbeat before release
+                    heldReadLockIds.remove(id);
+                    heldByCurrentProcess = false;
+                    retryer.apply(() -> {
+                        timed(Operation.RELEASE_LOCK, id, () -> repository.releaseReadLock(id, instanceId));
+                        return null;
+                    }, (exception, context) -> {
+                        throw new CannotRelease(id, instanceId, exception);
+                    });
+                    metricsListener.onRelease(id, System.nanoTime() - acquiredAtNanos);
+                }
+            } finally {
+                stateLock.unlock();
+            }
+        }
+
+        boolean tryUnlock() {
+            if (heldByCurrentProcess) {
+                repository.releaseReadLock(id, instanceId);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public boolean tryLockWithClockSkew(long clockSkew, TimeUnit unit) {
+            throw new UnsupportedOperationException("tryLockWithClockSkew not supported by read lock");
+        }
+
+        @Override
+        public Condition newCondition() {
+            throw new UnsupportedOperationException("newCondition not supported");
+        }
+
+        @Override
+        public boolean isHeldByCurrentProcess() {
+            return heldByCurrentProcess;
+        }
+
+        @Override
+        public String toString() {
+            return "ReadLockImpl[id=" + id + ", instanceId=" + instanceId + ", heldByCurrentProcess="
+                    + heldByCurrentProcess + "]";
+        }
+    }
+
+    /**
+     * Semaphore whose permits held by the process are counted locally, they are acquired and released with the
+     * state lock so that the remote permits always match the local count.
+     */
+    final class SemaphoreImpl implements DistributedSemaphore {
+
+        final String id;
+
+        final int permits;
+
+        final ReentrantLock stateLock = new ReentrantLock();
+
+        // written with stateLock
+        volatile int heldPermits;
+
+        long acquiredAtNanos;
+
+        SemaphoreImpl(String id, int permits) {
+            this.id = id;
+            this.permits = permits;
+        }
+
+        @Override
+        public int getPermits() {
+            return permits;
+        }
+
+        @Override
+        public int getHeldPermits() {
+            return heldPermits;
+        }
+
+        @Override
+        public void acquire(int permits) throws InterruptedException {
+            acquire(permits, -1);
+        }
+
+        @Override
+        @SneakyThrows
+        public boolean tryAcquire(int permits) {
+            return acquire(permits, 0);
+        }
+
+        @Override
+        public boolean tryAcquire(int permits, long timeout, TimeUnit unit) throws InterruptedException {
+            return acquire(permits, Math.max(0, unit.toNanos(timeout)));
+        }
+
+        /**
+         * @param timeoutNanos maximum time to wait, negative value to wait until acquired
+         */
+        private boolean acquire(int permits, long timeoutNanos) throws InterruptedException {
+            Validate.inclusiveBetween(1, this.permits, permits, "permits must be between 1 and %d: %d",
+                    this.permits, permits);
+            final long start = System.nanoTime();
+            boolean acquired = false;
+            try (LockWaiter waiter = new BoundedLockWaiter(repository.registerWaiter(id))) {
+                acquired = retryer.apply(() -> {
+                    do {
+                        if (tryAcquireRemotePermits(permits)) {
+                            return true;
+                        }
+                        final long remainingNanos = timeoutNanos - (System.nanoTime() - start);
+                        if (timeoutNanos >= 0 && remainingNanos <= 0) {
+                            return false;
+                        }
+                        if (Thread.interrupted()) {
+                            throw new InterruptedException();
+                        }
+                        final long awaitStart = System.nanoTime();
+                        final boolean timedOut;
+                        if (timeoutNanos < 0) {
+                            waiter.await();
+                            timedOut = false;
+                        } else {
+                            final long timeoutMillis = Math.max(1, NANOSECONDS.toMillis(remainingNanos));
+                            waiter.await(timeoutMillis);
+                            timedOut = System.nanoTime() - awaitStart >= MILLISECONDS.toNanos(timeoutMillis);
+                        }
+                        metricsListener.onAwaitRelease(id, System.nanoTime() - awaitStart, timedOut);
+                    } while (true);
+                }, (exception, context) -> {
+                    if (exception instanceof InterruptedException) {
+                        Thread.currentThread().interrupt();
+                        throw exception;
+                    }
+                    throw new CannotAcquire(id, instanceId, exception);
+                });
+                return acquired;
+            } catch (InterruptedException | RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new CannotAcquire(id, instanceId, e);
+            } finally {
+                metricsListener.onAcquire(id, System.nanoTime() - start, acquired);
+            }
+        }
+
+        private boolean tryAcquireRemotePermits(int permits) {
+            stateLock.lock();
+            try {
+                if (!timed(Operation.ACQUIRE_LOCK, id,
+                        () -> repository.acquirePermits(id, instanceId, permits, this.permits))) {
+                    return false;
+                }
+                if (heldPermits == 0) {
+                    acquiredAtNanos = System.nanoTime();
+                    heldSemaphoreIds.add(id);
+                }
+                heldPermits += permits;
+                return true;
+            } finally {
+                stateLock.unlock();
+            }
+        }
+
+        @Override
+        @SneakyThrows
+        public void release(int permits) {
+            Validate.isTrue(permits > 0, "permits must be positive: %d", permits);
+            stateLock.lock();
+            try {
+                if (permits > heldPermits) {
+                    throw new IllegalMonitorStateException("Attempt to release " + permits + " permits of semaphore id="
+                            + id + " while " + heldPermits + " are held by instanceId: " + instanceId);
+                }
+                heldPermits -= permits;
+                if (heldPermits == 0) {
+                    // stop heartbeat before release
+                    heldSemaphoreIds.remove(id);
+                }
+                retryer.apply(() -> {
+                    timed(Operation.RELEASE_LOCK, id, () -> repository.releasePermits(id, instanceId, permits));
+                    return null;
+                }, (exception, context) -> {
+                    throw new CannotRelease(id, instanceId, exception);
+                });
+                if (heldPermits == 0) {
+                    metricsListener.onRelease(id, System.nanoTime() - acquiredAtNanos);
+                }
+            } finally {
+                stateLock.unlock();
+            }
+        }
+
+        boolean tryRelease() {
+            stateLock.lock();
+            try {
+                final int permits = heldPermits;
+                if (permits > 0) {
+                    heldPermits = 0;
+                    heldSemaphoreIds.remove(id);
+                    repository.releasePermits(id, instanceId, permits);
+                    return true;
+                }
+                return false;
+            } finally {
+                stateLock.unlock();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "SemaphoreImpl[id=" + id + ", permits=" + permits + ", instanceId=" + instanceId
+                    + ", heldPermits=" + heldPermits + "]";
+        }
+    }
+
+    /**
+     * Waiter waking up at least every refresh interval, for releases which are not notified.
+     */
+    @RequiredArgsConstructor
+    private final class BoundedLockWaiter implements LockWaiter {
+        private final LockWaiter waiter;
+
+        @Override
+        public void await() throws InterruptedException {
+            waiter.await(refreshLockInterval);
+        }
+
+        @Override
+        public void await(long timeoutMillis) throws InterruptedException {
+            waiter.await(Math.min(timeoutMillis, refreshLockInterval));
+        }
+
+        @Override
+        public CompletableFuture<Void> awaitAsync(long timeoutMillis, ScheduledExecutorService scheduler) {
+            return waiter.awaitAsync(Math.min(timeoutMillis, refreshLockInterval), scheduler);
+        }
+
+        @Override
+        public void close() {
+            waiter.close();
+        }
+    }
+
+    /**
+     * Waiter of the release of any lock of a multi-lock. As a release event may concern a lock already
+     * released meanwhile, {@link #await()} wakes up at least every refresh interval.
+     */
+    private final class MultiLockWaiter implements LockWaiter {
+        private final List<LockWaiter> waiters;
+
+        MultiLockWaiter(List<String> lockIds) {
+            waiters = new ArrayList<>(lockIds.size());
+            try {
+                for (String lockId : lockIds) {
+                    waiters.add(repository.registerWaiter(lockId));
+                }
+            } catch (RuntimeException e) {
+                close();
+                throw e;
+            }
+        }
+
+        @Override
+        public void await() throws InterruptedException {
+            await(refreshLockInterval);
+        }
+
+        @Override
+        public void await(long timeoutMillis) throws InterruptedException {
+            final CompletableFuture<Void> released = awaitAsync(timeoutMillis, scheduler);
+            try {
+                released.get();
+            } catch (InterruptedException e) {
+                released.cancel(false);
+                throw e;
+            } catch (ExecutionException e) {
+                final Throwable cause = e.getCause();
+                throw cause instanceof RuntimeException ? (RuntimeException) cause : new IllegalStateException(cause);
+            }
+        }
+
+        @Override
+        public CompletableFuture<Void> awaitAsync(long timeoutMillis, ScheduledExecutorService scheduler) {
+            final CompletableFuture<?>[] futures = waiters.stream()
+                    .map(waiter -> waiter.awaitAsync(timeoutMillis, scheduler))
+                    .toArray(CompletableFuture[]::new);
+            final CompletableFuture<Void> released = CompletableFuture.anyOf(futures).thenApply(v -> null);
+            // stop waiting the other locks
+            released.whenComplete((v, error) -> Arrays.stream(futures).forEach(future -> future.cancel(false)));
+            return released;
+        }
+
+        @Override
+        public void close() {
+            waiters.forEach(LockWaiter::close);
+        }
+    }
+
+    /**
+     * Asynchronous acquisition of a lock: each failed attempt waits without blocking on the repository release
+     * events through a waiter registered before the first attempt, completed by the watchable signal or the
+     * scheduler timer, then retries.
+     * The remote lock is not reentrant for the same instance, so it also excludes threads of this registry
+     * holding the same {@link DistributedLock}.
+     */
+    private final class AsyncAcquisition {
+        private final String lockId;
+        private final long timeoutNanos;
+        private final long clockSkewMillis;
+        private final long startNanos = System.nanoTime();
+        private final CompletableFuture<Optional<LockHandle>> result = new CompletableFuture<>();
+        private LockWaiter waiter;
+
+        /**
+         * @param timeoutNanos    maximum time to wait, negative value to wait until acquired
+         * @param clockSkewMillis clock skew of acquisition, 0 for none
+         */
+        AsyncAcquisition(String lockId, long timeoutNanos, long clockSkewMillis) {
+            this.lockId = Objects.requireNonNull(lockId, "lockId is null");
+            this.timeoutNanos = timeoutNanos;
+            this.clockSkewMillis = clockSkewMillis;
+        }
+
+        CompletableFuture<Optional<LockHandle>> start() {
+            // wake up at least every refresh interval in case a release event was missed
+            waiter = new BoundedLockWaiter(repository.registerWaiter(lockId));
+            result.whenComplete((handle, error) -> waiter.close());
+            attempt();
+            return result;
+        }
+
+        private void attempt() {
+            if (result.isDone()) { // canceled
+                return;
+            }
+            retryAsync(lockId, () -> timedAsync(Operation.ACQUIRE_LOCK, lockId, this::acquireRemoteLock), null)
+                    .whenComplete((acquired, error) -> {
+                        if (error != null) {
+                            fail(Utils.unwrap(error));
+                        } else if (Boolean.TRUE.equals(acquired)) {
+                            onAcquired();
+                        } else {
+                            awaitReleaseLock();
+                        }
+                    });
+        }
+
+        private CompletableFuture<Boolean> acquireRemoteLock() {
+            return clockSkewMillis > 0
+                    ? repository.acquireLockWithClockSkewAsync(lockId, instanceId, clockSkewMillis, asyncExecutor)
+                    : repository.acquireLockAsync(lockId, instanceId, asyncExecutor);
+        }
+
+        private void awaitReleaseLock() {
+            final long remainingNanos = timeoutNanos < 0 ? MILLISECONDS.toNanos(refreshLockInterval)
+                    : timeoutNanos - (System.nanoTime() - startNanos);
+            if (remainingNanos <= 0) {
+                metricsListener.onAcquire(lockId, System.nanoTime() - startNanos, false);
+                result.complete(Optional.empty());
+                return;
+            }
+            final long timeoutMillis = Math.max(1, NANOSECONDS.toMillis(remainingNanos));
+            final long awaitStart = System.nanoTime();
+            supplyAsync(() -> waiter.awaitAsync(timeoutMillis, scheduler))
+                    .whenComplete((v, error) -> {
+                        if (error != null) {
+                            fail(Utils.unwrap(error));
+                            return;
+                        }
+                        final long awaitNanos = System.nanoTime() - awaitStart;
+                        metricsListener.onAwaitRelease(lockId, awaitNanos,
+                                awaitNanos >= MILLISECONDS.toNanos(timeoutMillis));
+                        attempt();
+                    });
+        }
+
+        private void onAcquired() {
+            final AsyncLockHandle handle = new AsyncLockHandle(lockId, repository.getFencingToken(lockId, instanceId));
+            heldLocks.put(lockId, handle.acquiredAtNanos);
+            asyncHandles.add(handle);
+            metricsListener.onAcquire(lockId, handle.acquiredAtNanos - startNanos, true);
+            if (!result.complete(Optional.of(handle))) { // canceled meanwhile
+                handle.releaseAsync();
+            }
+        }
+
+        private void fail(Throwable error) {
+            metricsListener.onAcquire(lockId, System.nanoTime() - startNanos, false);
+            result.completeExceptionally(new CannotAcquire(lockId, instanceId, error));
+        }
+    }
+
+    private final class AsyncLockHandle implements LockHandle {
+        private final String lockId;
+        private final long fencingToken;
+        private final long acquiredAtNanos = System.nanoTime();
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        AsyncLockHandle(String lockId, long fencingToken) {
+            this.lockId = lockId;
+            this.fencingToken = fencingToken;
+        }
+
+        @Override
+        public String getLockId() {
+            return lockId;
+        }
+
+        @Override
+        public long getFencingToken() {
+            return fencingToken;
+        }
+
+        @Override
+        public boolean isReleased() {
+            return released.get();
+        }
+
+        @Override
+        public CompletableFuture<Void> releaseAsync() {
+            if (!released.compareAndSet(false, true)) {
+                return CompletableFuture.completedFuture(null);
+            }
+            heldLocks.remove(lockId);
+            return retryAsync(lockId, () -> timedAsync(Operation.RELEASE_LOCK, lockId,
+                    () -> repository.releaseLockAsync(lockId, instanceId, asyncExecutor)), null)
+                    .handle((v, error) -> {
+                        onReleased();
+                        if (error != null) {
+                            throw new CannotRelease(lockId, instanceId, Utils.unwrap(error));
+                        }
+                        return null;
+                    });
+        }
+
+        @Override
+        public void close() {
+            try {
+                releaseAsync().join();
+            } catch (RuntimeException e) {
+                final Throwable cause = Utils.unwrap(e);
+                throw cause instanceof RuntimeException ? (RuntimeException) cause : e;
+            }
+        }
+
+        boolean tryRelease() {
+            if (released.compareAndSet(false, true)) {
+                heldLocks.remove(lockId);
+                repository.releaseLock(lockId, instanceId);
+                onReleased();
+                return true;
+            }
+            return false;
+        }
+
+        private void onReleased() {
+            asyncHandles.remove(this);
+            metricsListener.onRelease(lockId, System.nanoTime() - acquiredAtNanos);
+        }
+
+        @Override
+        public String toString() {
+            return "LockHandle[id=" + lockId + ", instanceId=" + instanceId + ", fencingToken=" + fencingToken
+                    + ", released=" + released + "]";
+        }
+    }
+
+    static final class DistributedLockRetryer implements Retryer {
+
+        private final Retryer retryer;
+
+        public DistributedLockRetryer(Retryer retryer) {
+            this.retryer = Objects.requireNonNull(retryer, "retryer is null");
+        }
+
+        @Override
+        public boolean shouldRetryFor(Exception e, Context context) {
+            return !(e instanceof InterruptedException) && retryer.shouldRetryFor(e, context);
+        }
+
+        @Override
+        public Context createContext() {
+            return retryer.createContext();
+        }
+
+        @Override
+        public void sleep(Context context) throws InterruptedException {
+            retryer.sleep(context);
+        }
+
+        @Override
+        public long delayMillis(Context context) {
+            return retryer.delayMillis(context);
         }
 
         @Override
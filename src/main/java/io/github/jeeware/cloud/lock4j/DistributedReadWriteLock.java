@@ -0,0 +1,48 @@
+/*
+ * Copyright 2020-2026 Hichem BOURADA and other authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jeeware.cloud.lock4j;
+
+import java.util.concurrent.locks.ReadWriteLock;
+
+/**
+ * {@link ReadWriteLock} specialization for concurrent processes: the read lock is shared by the threads of all
+ * the processes while no process holds the write lock, which is exclusive.
+ * <p>
+ * A writer waiting for the release of the read locks rejects new readers, so that writers are not starved by
+ * readers. The read lock cannot be acquired by a thread holding the write lock.
+ * <p>
+ * Clock skew and asynchronous acquisitions are not supported: {@link DistributedLock#tryLockWithClockSkew},
+ * {@link DistributedLock#lockAsync()} and {@link DistributedLock#tryLockAsync} of both locks throw an
+ * {@link UnsupportedOperationException}, as the local state of the read-write lock (write request rejecting
+ * local readers, read hold shared by the threads) is owned by the acquiring threads.
+ *
+ * @author hbourada
+ * @see DistributedLockRegistry#getReadWriteLock(String)
+ * @since 1.0.4
+ */
+public interface DistributedReadWriteLock extends ReadWriteLock {
+
+    /**
+     * @return the shared read lock, its fencing token is always 0
+     */
+    @Override
+    DistributedLock readLock();
+
+    /**
+     * @return the exclusive write lock
+     */
+    @Override
+    DistributedLock writeLock();
+
+}
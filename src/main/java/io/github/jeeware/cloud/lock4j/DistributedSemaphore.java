@@ -0,0 +1,87 @@
+/*
+ * Copyright 2020-2026 Hichem BOURADA and other authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jeeware.cloud.lock4j;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counting semaphore shared by concurrent processes, e.g. to bound the number of concurrent calls to a resource
+ * across a cluster. Unlike {@link Semaphore}, permits are held by the process which acquired them: they are
+ * refreshed by the registry heartbeat and reclaimed when the process dies.
+ *
+ * @author hbourada
+ * @see DistributedLockRegistry#getSemaphore(String, int)
+ * @since 1.0.4
+ */
+public interface DistributedSemaphore {
+
+    /**
+     * @return the total number of permits of the semaphore
+     */
+    int getPermits();
+
+    /**
+     * @return the number of permits held by the current process
+     */
+    int getHeldPermits();
+
+    default void acquire() throws InterruptedException {
+        acquire(1);
+    }
+
+    /**
+     * Acquires the given number of permits, waiting until they are all available or the thread is interrupted.
+     *
+     * @param permits the number of permits to acquire
+     * @throws InterruptedException if the current thread is interrupted
+     */
+    void acquire(int permits) throws InterruptedException;
+
+    default boolean tryAcquire() {
+        return tryAcquire(1);
+    }
+
+    /**
+     * @param permits the number of permits to acquire
+     * @return {@code true} if the permits were acquired, {@code false} if they are not all available
+     */
+    boolean tryAcquire(int permits);
+
+    default boolean tryAcquire(long timeout, TimeUnit unit) throws InterruptedException {
+        return tryAcquire(1, timeout, unit);
+    }
+
+    /**
+     * @param permits the number of permits to acquire
+     * @param timeout the maximum time to wait for the permits
+     * @param unit    the time unit of the timeout
+     * @return {@code true} if the permits were acquired, {@code false} if the timeout elapsed before
+     * @throws InterruptedException if the current thread is interrupted
+     */
+    boolean tryAcquire(int permits, long timeout, TimeUnit unit) throws InterruptedException;
+
+    default void release() {
+        release(1);
+    }
+
+    /**
+     * Releases permits held by the current process.
+     *
+     * @param permits the number of permits to release
+     * @throws IllegalMonitorStateException if the current process holds fewer permits
+     */
+    void release(int permits);
+
+}
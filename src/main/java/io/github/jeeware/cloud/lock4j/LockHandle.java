@@ -0,0 +1,55 @@
+/*
+ * Copyright 2020-2026 Hichem BOURADA and other authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.jeeware.cloud.lock4j;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Distributed lock acquired asynchronously. Unlike {@link DistributedLock} the lock is not owned by a
+ * thread but by this handle, it can be released from any thread.
+ *
+ * @author hbourada
+ * @see DistributedLock#lockAsync()
+ * @since 1.0.4
+ */
+public interface LockHandle extends AutoCloseable {
+
+    String getLockId();
+
+    /**
+     * @return the fencing token of this acquisition or {@code 0} if not supported by the repository
+     * @see LockRepository#getFencingToken(String, String)
+     */
+    long getFencingToken();
+
+    /**
+     * @return true iff this handle was released
+     */
+    boolean isReleased();
+
+    /**
+     * Release the lock without blocking the caller thread. Calling this method more than once has no effect.
+     *
+     * @return a future completed when the lock is released or exceptionally by
+     * {@link DistributedLockException.CannotRelease}
+     */
+    CompletableFuture<Void> releaseAsync();
+
+    /**
+     * Release the lock and wait for completion.
+     *
+     * @throws DistributedLockException.CannotRelease if the lock can not be released
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2020-2026 Hichem BOURADA and other authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jeeware.cloud.lock4j;
+
+/**
+ * Listener notified by {@link DistributedLockRegistry} of lock lifecycle events to record metrics.
+ * All durations are in nanoseconds and all methods have a no-op default implementation.
+ * <p>
+ * Implementations are called on the locking threads and must be <i>thread-safe</i> and fast.
+ *
+ * @author hbourada
+ * @since 1.0.4
+ */
+public interface LockMetricsListener {
+
+    LockMetricsListener NONE = new LockMetricsListener() {
+    };
+
+    /**
+     * @param lockId    the lock identifier
+     * @param waitNanos time waited for the local (JVM) lock
+     */
+    default void onLocalLockWait(String lockId, long waitNanos) {
+    }
+
+    /**
+     * @param lockId       the lock identifier
+     * @param acquireNanos total acquisition time including local wait, remote calls and retries
+     * @param acquired     true iff the lock was acquired
+     */
+    default void onAcquire(String lockId, long acquireNanos, boolean acquired) {
+    }
+
+    /**
+     * @param lockId    the lock identifier
+     * @param heldNanos time the lock was held by the current process
+     */
+    default void onRelease(String lockId, long heldNanos) {
+    }
+
+    /**
+     * @param lockId     the lock identifier
+     * @param awaitNanos time spent in {@link LockRepository#awaitReleaseLock(String, long)}
+     * @param timedOut   true iff the wait ended on timeout instead of a wake-up
+     */
+    default void onAwaitRelease(String lockId, long awaitNanos, boolean timedOut) {
+    }
+
+    /**
+     * @param lockId    the lock identifier
+     * @param exception the exception which caused the retry
+     */
+    default void onRetry(String lockId, Exception exception) {
+    }
+
+    /**
+     * @param operation the repository operation
+     * @param lockId    the lock identifier or {@code null} for operations on several locks
+     * @param nanos     round-trip time of the repository call
+     * @param error     the error thrown by the call or {@code null} if succeeded
+     */
+    default void onRepositoryCall(Operation operation, String lockId, long nanos, Throwable error) {
+    }
+
+    /**
+     * {@link LockRepository} operations
+     */
+    enum Operation {
+        ACQUIRE_LOCK, RELEASE_LOCK, REFRESH_ACTIVE_LOCKS, RELEASE_DEAD_LOCKS, ACQUIRE_LEASE
+    }
+
+}
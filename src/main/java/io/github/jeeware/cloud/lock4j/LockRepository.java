@@ -13,6 +13,15 @@
 
 package io.github.jeeware.cloud.lock4j;
 
+import io.github.jeeware.cloud.lock4j.util.Utils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+
 /**
  * @author hbourada
  * @version 1.0
@@ -40,6 +49,38 @@ public interface LockRepository {
         refreshActiveLock(null, instanceId);
     }
 
+    /**
+     * Asynchronous variant of {@link #acquireLock(String, String)}. Repositories with a non-blocking driver
+     * should override this method. Default implementation runs {@link #acquireLock(String, String)} in the
+     * given executor.
+     *
+     * @param lockId     the lock identifier
+     * @param instanceId the instance id
+     * @param executor   executor for blocking calls
+     * @return a future completed by {@code true} if the lock was acquired, {@code false} otherwise
+     * @since 1.0.4
+     */
+    default CompletableFuture<Boolean> acquireLockAsync(String lockId, String instanceId, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> acquireLock(lockId, instanceId), executor);
+    }
+
+    /**
+     * Asynchronous variant of {@link #acquireLockWithClockSkew(String, String, long)}. Default implementation
+     * runs {@link #acquireLockWithClockSkew(String, String, long)} in the given executor.
+     *
+     * @param lockId          the lock identifier
+     * @param instanceId      the instance id
+     * @param clockSkewMillis the clock skew or tolerated time difference.
+     * @param executor        executor for blocking calls
+     * @return a future completed by {@code true} if the lock was acquired, {@code false} otherwise
+     * @since 1.0.4
+     */
+    default CompletableFuture<Boolean> acquireLockWithClockSkewAsync(String lockId, String instanceId,
+                                                                     long clockSkewMillis, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> acquireLockWithClockSkew(lockId, instanceId, clockSkewMillis),
+                executor);
+    }
+
     /**
      * Update heartbeat time of the active lock in the instance id to detect deadlock.
      *
@@ -48,10 +89,231 @@ public interface LockRepository {
      */
     void refreshActiveLock(String lockId, String instanceId);
 
+    /**
+     * Update heartbeat time of all the given active locks held by the instance id. Repositories should
+     * override this method to refresh all locks in a single round trip. Default implementation refreshes
+     * locks one by one using {@link #refreshActiveLock(String, String)}.
+     *
+     * @param lockIds    the lock identifiers held by the instance.
+     * @param instanceId instance identifier to monitor which instance get the lock.
+     * @since 1.0.4
+     */
+    default void refreshActiveLocks(Collection<String> lockIds, String instanceId) {
+        for (String lockId : lockIds) {
+            refreshActiveLock(lockId, instanceId);
+        }
+    }
+
+    /**
+     * Fencing token of the lock currently held by the instance. Tokens are strictly increasing for each
+     * acquisition of the same lock, so downstream stores can reject writes carrying an older token.
+     * Repositories should return a token already known from the acquisition without any round trip.
+     * Default implementation returns {@code 0} meaning fencing tokens are not supported.
+     *
+     * @param lockId     the lock identifier
+     * @param instanceId the instance holding the lock
+     * @return the fencing token or {@code 0} if not supported or the lock is not held
+     * @since 1.0.4
+     */
+    default long getFencingToken(String lockId, String instanceId) {
+        return 0;
+    }
+
     void releaseLock(String lockId, String instanceId);
 
+    /**
+     * Asynchronous variant of {@link #releaseLock(String, String)}. Default implementation runs
+     * {@link #releaseLock(String, String)} in the given executor.
+     *
+     * @param lockId     the lock identifier
+     * @param instanceId the instance id
+     * @param executor   executor for blocking calls
+     * @return a future completed when the lock is released
+     * @since 1.0.4
+     */
+    default CompletableFuture<Void> releaseLockAsync(String lockId, String instanceId, Executor executor) {
+        return CompletableFuture.runAsync(() -> releaseLock(lockId, instanceId), executor);
+    }
+
+    /**
+     * Acquire all the given locks or none of them. Repositories should override this method to acquire all
+     * locks in a single atomic operation. Default implementation acquires locks one by one in the given order
+     * and releases the acquired ones if a lock cannot be acquired or an error occurs.
+     *
+     * @param lockIds    the lock identifiers, sorted so that concurrent acquisitions never deadlock
+     * @param instanceId the instance id
+     * @return true iff all the locks were acquired
+     * @since 1.0.4
+     */
+    default boolean acquireLocks(List<String> lockIds, String instanceId) {
+        final List<String> acquiredIds = new ArrayList<>(lockIds.size());
+        try {
+            for (String lockId : lockIds) {
+                if (!acquireLock(lockId, instanceId)) {
+                    releaseLocks(acquiredIds, instanceId);
+                    return false;
+                }
+                acquiredIds.add(lockId);
+            }
+            return true;
+        } catch (RuntimeException e) {
+            try {
+                releaseLocks(acquiredIds, instanceId);
+            } catch (RuntimeException releaseError) {
+                e.addSuppressed(releaseError);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Release all the given locks acquired by {@link #acquireLocks(List, String)}. Default implementation
+     * releases each lock even if the release of a previous one failed, then rethrows the first error.
+     *
+     * @param lockIds    the lock identifiers
+     * @param instanceId the instance id
+     * @since 1.0.4
+     */
+    default void releaseLocks(List<String> lockIds, String instanceId) {
+        RuntimeException error = null;
+        for (String lockId : lockIds) {
+            try {
+                releaseLock(lockId, instanceId);
+            } catch (RuntimeException e) {
+                if (error == null) {
+                    error = e;
+                } else {
+                    error.addSuppressed(e);
+                }
+            }
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    /**
+     * Acquire a shared read hold of the read-write lock for the instance, unless its write lock is held or
+     * requested by a writer. Read holds of an instance are shared by its threads, acquiring it again is a no-op.
+     * Default implementation throws {@link UnsupportedOperationException}.
+     *
+     * @param lockId     the read-write lock identifier
+     * @param instanceId the reader instance id
+     * @return true iff the read lock is held by the instance
+     * @since 1.0.4
+     */
+    default boolean acquireReadLock(String lockId, String instanceId) {
+        throw new UnsupportedOperationException("Read-write locks not supported by " + getClass().getSimpleName());
+    }
+
+    /**
+     * Request and acquire the exclusive write lock of the read-write lock. A writer holding the request keeps
+     * new readers out until the current readers release their holds, so a {@code false} result may keep the
+     * request which must be released by {@link #releaseWriteLock(String, String)} when the acquisition is
+     * abandoned. Default implementation throws {@link UnsupportedOperationException}.
+     *
+     * @param lockId     the read-write lock identifier
+     * @param instanceId the writer instance id
+     * @return true iff the write lock is held by the instance and there is no more reader
+     * @since 1.0.4
+     */
+    default boolean acquireWriteLock(String lockId, String instanceId) {
+        throw new UnsupportedOperationException("Read-write locks not supported by " + getClass().getSimpleName());
+    }
+
+    /**
+     * Update heartbeat of the read holds of the instance. Default implementation throws
+     * {@link UnsupportedOperationException}.
+     *
+     * @param lockIds    the read-write lock identifiers read by the instance
+     * @param instanceId the reader instance id
+     * @since 1.0.4
+     */
+    default void refreshReadLocks(Collection<String> lockIds, String instanceId) {
+        throw new UnsupportedOperationException("Read-write locks not supported by " + getClass().getSimpleName());
+    }
+
+    /**
+     * Release the read hold of the instance. Default implementation throws {@link UnsupportedOperationException}.
+     *
+     * @param lockId     the read-write lock identifier
+     * @param instanceId the reader instance id
+     * @since 1.0.4
+     */
+    default void releaseReadLock(String lockId, String instanceId) {
+        throw new UnsupportedOperationException("Read-write locks not supported by " + getClass().getSimpleName());
+    }
+
+    /**
+     * Release the write lock or the write request of the instance. Default implementation calls
+     * {@link #releaseLock(String, String)}.
+     *
+     * @param lockId     the read-write lock identifier
+     * @param instanceId the writer instance id
+     * @since 1.0.4
+     */
+    default void releaseWriteLock(String lockId, String instanceId) {
+        releaseLock(lockId, instanceId);
+    }
+
+    /**
+     * Acquire permits of a semaphore for the instance if enough permits are free. Permits held by dead
+     * instances are released by {@link #releaseDeadLocks(long)}. Default implementation throws
+     * {@link UnsupportedOperationException}.
+     *
+     * @param semaphoreId the semaphore identifier
+     * @param instanceId  the instance id
+     * @param permits     the number of permits to acquire
+     * @param maxPermits  the total number of permits of the semaphore
+     * @return true iff all the permits were acquired
+     * @since 1.0.4
+     */
+    default boolean acquirePermits(String semaphoreId, String instanceId, int permits, int maxPermits) {
+        throw new UnsupportedOperationException("Semaphores not supported by " + getClass().getSimpleName());
+    }
+
+    /**
+     * Update heartbeat of the permits held by the instance. Default implementation throws
+     * {@link UnsupportedOperationException}.
+     *
+     * @param semaphoreIds the semaphore identifiers
+     * @param instanceId   the instance id
+     * @since 1.0.4
+     */
+    default void refreshPermits(Collection<String> semaphoreIds, String instanceId) {
+        throw new UnsupportedOperationException("Semaphores not supported by " + getClass().getSimpleName());
+    }
+
+    /**
+     * Release permits of a semaphore held by the instance. Default implementation throws
+     * {@link UnsupportedOperationException}.
+     *
+     * @param semaphoreId the semaphore identifier
+     * @param instanceId  the instance id
+     * @param permits     the number of permits to release
+     * @since 1.0.4
+     */
+    default void releasePermits(String semaphoreId, String instanceId, int permits) {
+        throw new UnsupportedOperationException("Semaphores not supported by " + getClass().getSimpleName());
+    }
+
     void releaseDeadLocks(long timeoutInterval);
 
+    /**
+     * Acquire or renew a lease held by a single instance at a time, e.g. to elect the instance releasing
+     * dead locks. The lease is acquired if it is free, already held by the instance or was not renewed for
+     * {@code leaseMillis}. Default implementation returns {@code true}: every instance holds the lease.
+     *
+     * @param leaseId     the lease identifier, stored as a lock
+     * @param instanceId  the instance id
+     * @param leaseMillis duration of the lease in milliseconds
+     * @return true iff the instance holds the lease
+     * @since 1.0.4
+     */
+    default boolean acquireLease(String leaseId, String instanceId, long leaseMillis) {
+        return true;
+    }
+
     /**
      * Await and block until the distributed lock is released by another
      * process. Default implementation is: {@code Thread.sleep(100)}.
@@ -75,6 +337,56 @@ public interface LockRepository {
         Thread.sleep(100);
     }
 
+    /**
+     * Asynchronous variant of {@link #awaitReleaseLock(String, long)} which never blocks the caller thread.
+     * The returned future is completed when the lock may have been released by another process or timeout
+     * reached. Default implementation completes it after {@code min(100, timeoutMillis)} milliseconds.
+     *
+     * @param lockId        lock identifier
+     * @param timeoutMillis maximum time to wait in milliseconds
+     * @param scheduler     timer used to complete the future on timeout
+     * @return a future completed on lock release or timeout
+     * @since 1.0.4
+     */
+    default CompletableFuture<Void> awaitReleaseLockAsync(String lockId, long timeoutMillis,
+                                                          ScheduledExecutorService scheduler) {
+        return Utils.delay(scheduler, Math.min(100, timeoutMillis));
+    }
+
+    /**
+     * Register a waiter before trying to acquire the lock, so that a release occurring before the wait
+     * wakes it up. Default implementation returns a waiter delegating to {@link #awaitReleaseLock(String)},
+     * {@link #awaitReleaseLock(String, long)} and
+     * {@link #awaitReleaseLockAsync(String, long, ScheduledExecutorService)}.
+     *
+     * @param lockId lock identifier
+     * @return the waiter to close once the lock is acquired or the acquisition abandoned
+     * @since 1.0.4
+     */
+    default LockWaiter registerWaiter(String lockId) {
+        return new LockWaiter() {
+            @Override
+            public void await() throws InterruptedException {
+                awaitReleaseLock(lockId);
+            }
+
+            @Override
+            public void await(long timeoutMillis) throws InterruptedException {
+                awaitReleaseLock(lockId, timeoutMillis);
+            }
+
+            @Override
+            public CompletableFuture<Void> awaitAsync(long timeoutMillis, ScheduledExecutorService scheduler) {
+                return awaitReleaseLockAsync(lockId, timeoutMillis, scheduler);
+            }
+
+            @Override
+            public void close() {
+                // nothing registered
+            }
+        };
+    }
+
     /**
      * @return true iff this repository can watch lock event changes. Default
      * implementation return {@code false}.
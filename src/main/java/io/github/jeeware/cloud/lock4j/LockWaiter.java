@@ -0,0 +1,59 @@
+/*
+ * Copyright 2020-2026 Hichem BOURADA and other authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jeeware.cloud.lock4j;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Registration of a process waiting for the release of a lock, taken before the first acquisition attempt
+ * so that a release event occurring between a failed attempt and the wait is never lost.
+ *
+ * @author hbourada
+ * @see LockRepository#registerWaiter(String)
+ * @since 1.0.4
+ */
+public interface LockWaiter extends AutoCloseable {
+
+    /**
+     * Await and block until the lock is released after the registration or the previous wait.
+     *
+     * @throws InterruptedException if current thread was interrupted
+     */
+    void await() throws InterruptedException;
+
+    /**
+     * Await and block until the lock is released after the registration or the previous wait, or timeout
+     * reached.
+     *
+     * @param timeoutMillis maximum time to wait in milliseconds
+     * @throws InterruptedException if current thread was interrupted
+     */
+    void await(long timeoutMillis) throws InterruptedException;
+
+    /**
+     * Non-blocking variant of {@link #await(long)}.
+     *
+     * @param timeoutMillis maximum time to wait in milliseconds
+     * @param scheduler     timer used to complete the future on timeout
+     * @return a future completed on lock release or timeout
+     */
+    CompletableFuture<Void> awaitAsync(long timeoutMillis, ScheduledExecutorService scheduler);
+
+    /**
+     * Unregister this waiter, must be called once the lock is acquired or the acquisition abandoned.
+     */
+    @Override
+    void close();
+}
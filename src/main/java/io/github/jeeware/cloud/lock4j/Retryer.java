@@ -92,6 +92,20 @@ public interface Retryer {
      */
     void sleep(Context context) throws InterruptedException;
 
+    /**
+     * Pause before the next retry scheduled by asynchronous retries instead of sleeping.
+     * Default implementation returns a negative value, then {@link #sleep(Context)} is executed by an
+     * executor thread.
+     *
+     * @param context the retry context
+     * @return the pause in milliseconds or a negative value if unknown
+     * @see BackoffStrategy#delayMillis(Context)
+     * @since 1.0.4
+     */
+    default long delayMillis(Context context) {
+        return -1;
+    }
+
     /**
      * Recovery callback executed after exhausting all retries
      *
@@ -151,6 +165,11 @@ public interface Retryer {
             // do nothing
         }
 
+        @Override
+        public long delayMillis(Context context) {
+            return 0;
+        }
+
         @Override
         public <T> T apply(Callable<T> retryTask, Recovery<T> recoveryTask) throws Exception {
             if (recoveryTask == null) {
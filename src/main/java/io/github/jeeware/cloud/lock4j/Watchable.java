@@ -13,6 +13,11 @@
 
 package io.github.jeeware.cloud.lock4j;
 
+import io.github.jeeware.cloud.lock4j.util.Utils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+
 /**
  * Asynchronous command which detects modification events on lock repository
  *
@@ -24,8 +29,66 @@ public interface Watchable extends Runnable, AutoCloseable {
 
     void await(String lockId, long timeoutMillis) throws InterruptedException;
 
+    /**
+     * Non-blocking variant of {@link #await(String, long)}. Default implementation does not listen signals
+     * and completes the future after {@code min(100, timeoutMillis)} milliseconds.
+     *
+     * @param lockId        lock identifier
+     * @param timeoutMillis maximum time to wait in milliseconds
+     * @param scheduler     timer used to complete the future on timeout
+     * @return a future completed on {@link #signal(String)} or timeout
+     * @since 1.0.4
+     */
+    default CompletableFuture<Void> awaitAsync(String lockId, long timeoutMillis, ScheduledExecutorService scheduler) {
+        return Utils.delay(scheduler, Math.min(100, timeoutMillis));
+    }
+
+    /**
+     * Register a waiter of the given lock before trying to acquire it, a {@link #signal(String)} received
+     * after the registration is never lost. Default implementation delegates to {@link #await(String)},
+     * {@link #await(String, long)} and {@link #awaitAsync(String, long, ScheduledExecutorService)}.
+     *
+     * @param lockId lock identifier
+     * @return the waiter to close once the lock is acquired or the acquisition abandoned
+     * @since 1.0.4
+     */
+    default LockWaiter register(String lockId) {
+        return new LockWaiter() {
+            @Override
+            public void await() throws InterruptedException {
+                Watchable.this.await(lockId);
+            }
+
+            @Override
+            public void await(long timeoutMillis) throws InterruptedException {
+                Watchable.this.await(lockId, timeoutMillis);
+            }
+
+            @Override
+            public CompletableFuture<Void> awaitAsync(long timeoutMillis, ScheduledExecutorService scheduler) {
+                return Watchable.this.awaitAsync(lockId, timeoutMillis, scheduler);
+            }
+
+            @Override
+            public void close() {
+                // nothing registered
+            }
+        };
+    }
+
     void signal(String lockId);
 
+    /**
+     * Signal a release which may be acquired by several waiters of the lock, e.g. permits of a semaphore
+     * released together. Default implementation delegates to {@link #signal(String)}.
+     *
+     * @param lockId lock identifier
+     * @since 1.0.4
+     */
+    default void signalAll(String lockId) {
+        signal(lockId);
+    }
+
     boolean isActive();
 
     @Override
@@ -0,0 +1,442 @@
+/*
+ * Copyright 2020-2026 Hichem BOURADA and other authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jeeware.cloud.lock4j.file;
+
+import io.github.jeeware.cloud.lock4j.LockRepository;
+import io.github.jeeware.cloud.lock4j.Watchable;
+import io.github.jeeware.cloud.lock4j.support.AbstractWatchableLockRepository;
+import io.github.jeeware.cloud.lock4j.support.ReadWriteLockIds;
+import io.github.jeeware.cloud.lock4j.support.SemaphoreIds;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static io.github.jeeware.cloud.lock4j.file.LockFile.MAX_ID_BYTES;
+import static io.github.jeeware.cloud.lock4j.file.LockFile.MAX_OWNER_BYTES;
+import static java.util.Objects.requireNonNull;
+import static org.apache.commons.lang3.Validate.isTrue;
+
+/**
+ * {@link LockRepository} storing the locks in a memory-mapped file shared by the processes of a single host, for
+ * co-located processes needing host-level mutual exclusion without any database.
+ * <p>
+ * Each lock is a fixed-size slot of the file storing its state, owner instance, <code>locked_at</code> and
+ * heartbeat, updated under the file region lock of its bucket so that an acquisition costs a few microseconds.
+ * Releases of other processes are detected by polling the file (every {@value #DEFAULT_POLL_INTERVAL_MILLIS}ms
+ * by default) while those of this process are signalled immediately.
+ * <p>
+ * The number of locks, readers and semaphore holders locked at the same time in a bucket is limited to
+ * {@value LockFile#BUCKET_SLOTS} - 1, ids are limited to {@value LockFile#MAX_ID_BYTES} bytes and instance ids
+ * to {@value LockFile#MAX_OWNER_BYTES} bytes in UTF-8.
+ *
+ * @author hbourada
+ * @since 1.0.4
+ */
+public class FileLockRepository extends AbstractWatchableLockRepository {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FileLockRepository.class);
+
+    /**
+     * Default number of buckets of a new lock file, 8 KiB each.
+     */
+    public static final int DEFAULT_BUCKETS = 1024;
+
+    public static final long DEFAULT_POLL_INTERVAL_MILLIS = 10;
+
+    private final Path path;
+
+    private final LockFile file;
+
+    private long pollIntervalMillis = DEFAULT_POLL_INTERVAL_MILLIS;
+
+    private FileWatchable watchable;
+
+    public FileLockRepository(Path path) {
+        this(path, DEFAULT_BUCKETS);
+    }
+
+    /**
+     * @param path    the lock file, created if it does not exist
+     * @param buckets number of buckets of a new lock file, an existing file keeps its number of buckets
+     */
+    public FileLockRepository(Path path, int buckets) {
+        this.path = requireNonNull(path, "path is null");
+        isTrue(buckets > 0 && buckets <= LockFile.MAX_BUCKETS, "buckets must be in [1, %d]: %d",
+                LockFile.MAX_BUCKETS, buckets);
+        try {
+            this.file = LockFile.open(path, buckets);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can not open lock file " + path, e);
+        }
+        if (file.buckets() != buckets) {
+            LOGGER.warn("Lock file {} has {} buckets instead of {}", path, file.buckets(), buckets);
+        }
+    }
+
+    /**
+     * @param pollInterval interval between two polls of the releases of the other processes
+     */
+    public void setPollInterval(Duration pollInterval) {
+        isTrue(!pollInterval.isNegative() && !pollInterval.isZero(), "pollInterval must be positive: %s",
+                pollInterval);
+        this.pollIntervalMillis = pollInterval.toMillis();
+    }
+
+    @Override
+    public boolean acquireLock(String lockId, String instanceId) {
+        return acquireLockWithClockSkew(lockId, instanceId, 0);
+    }
+
+    /**
+     * The lock is acquired if it is unlocked and was not acquired within the clock skew before or after now.
+     */
+    @Override
+    public boolean acquireLockWithClockSkew(String lockId, String instanceId, long clockSkewMillis) {
+        final byte[] id = encodeId(lockId);
+        final byte[] owner = encodeOwner(instanceId);
+        final long now = System.currentTimeMillis();
+
+        return file.locked(file.bucketOf(lockId), bucket -> {
+            int slot = bucket.find(id);
+            if (slot < 0) {
+                slot = bucket.allocate(id);
+            } else if (bucket.isLocked(slot) || clockSkewMillis > 0
+                    && Math.abs(now - bucket.lockedAt(slot)) <= clockSkewMillis) {
+                return false;
+            }
+            bucket.lock(slot, owner, now, 0);
+            return true;
+        });
+    }
+
+    @Override
+    public void refreshActiveLock(String lockId, String instanceId) {
+        if (refresh(Collections.singletonList(lockId), Function.identity(), instanceId) > 0) {
+            LOGGER.debug("Lock {} was refreshed for instanceId: {}", lockId, instanceId);
+        } else {
+            LOGGER.warn("Lock {} was not refreshed for instanceId: {}", lockId, instanceId);
+        }
+    }
+
+    @Override
+    public void refreshActiveLocks(Collection<String> lockIds, String instanceId) {
+        final int count = refresh(lockIds, Function.identity(), instanceId);
+
+        if (count == lockIds.size()) {
+            LOGGER.debug("{} locks was refreshed for instanceId: {}", count, instanceId);
+        } else {
+            LOGGER.warn("{}/{} locks was refreshed for instanceId: {}", count, lockIds.size(), instanceId);
+        }
+    }
+
+    /**
+     * Refresh the slots held by the instance, bucket by bucket.
+     *
+     * @param lockIds lock, read-write lock or semaphore ids giving the buckets
+     * @param slotId  slot id of a lock id, e.g. its reader
+     * @return the number of refreshed slots
+     */
+    private int refresh(Collection<String> lockIds, Function<String, String> slotId, String instanceId) {
+        final byte[] owner = encodeOwner(instanceId);
+        final long now = System.currentTimeMillis();
+        final Map<Integer, List<byte[]>> idsByBucket = new LinkedHashMap<>();
+        for (String lockId : lockIds) {
+            idsByBucket.computeIfAbsent(file.bucketOf(lockId), b -> new ArrayList<>())
+                    .add(encodeId(slotId.apply(lockId)));
+        }
+        int count = 0;
+
+        for (Map.Entry<Integer, List<byte[]>> entry : idsByBucket.entrySet()) {
+            count += file.locked(entry.getKey(), bucket -> {
+                int refreshed = 0;
+                for (byte[] id : entry.getValue()) {
+                    final int slot = bucket.find(id);
+                    if (slot >= 0 && bucket.isLockedBy(slot, owner)) {
+                        bucket.heartbeat(slot, now);
+                        refreshed++;
+                    }
+                }
+                return refreshed;
+            });
+        }
+        return count;
+    }
+
+    @Override
+    public long getFencingToken(String lockId, String instanceId) {
+        final byte[] id = encodeId(lockId);
+        final byte[] owner = encodeOwner(instanceId);
+        return file.locked(file.bucketOf(lockId), bucket -> {
+            final int slot = bucket.find(id);
+            return slot >= 0 && bucket.isLockedBy(slot, owner) ? bucket.fencingToken(slot) : 0L;
+        });
+    }
+
+    /**
+     * @return the owner instance id of the lock, null if not locked
+     */
+    public String getLockOwner(String lockId) {
+        final byte[] id = encodeId(lockId);
+        return file.locked(file.bucketOf(lockId), bucket -> {
+            final int slot = bucket.find(id);
+            return slot >= 0 ? bucket.owner(slot) : null;
+        });
+    }
+
+    /**
+     * Only the owner instance can release the lock.
+     */
+    @Override
+    public void releaseLock(String lockId, String instanceId) {
+        if (release(lockId, lockId, instanceId, 0)) {
+            LOGGER.debug("Lock id: {} was released for instanceId: {}", lockId, instanceId);
+            signal(lockId);
+        }
+    }
+
+    /**
+     * Release the slot held by the instance: a lock is unlocked, a reader or a semaphore holder releases the given
+     * permits and its slot is freed when none is left.
+     *
+     * @param lockId lock, read-write lock or semaphore id giving the bucket of the slot
+     */
+    private boolean release(String lockId, String id, String instanceId, int permits) {
+        final byte[] encodedId = encodeId(id);
+        final byte[] owner = encodeOwner(instanceId);
+
+        return file.locked(file.bucketOf(lockId), bucket -> {
+            final int slot = bucket.find(encodedId);
+            if (slot < 0 || !bucket.isLockedBy(slot, owner)) {
+                return false;
+            }
+            if (permits == 0) {
+                bucket.unlock(slot);
+            } else if (bucket.permits(slot) > permits) {
+                bucket.permits(slot, bucket.permits(slot) - permits);
+            } else {
+                bucket.free(slot);
+            }
+            return true;
+        });
+    }
+
+    /**
+     * Only the buckets with a dead slot, read without lock, are locked.
+     */
+    @Override
+    public void releaseDeadLocks(long timeoutMillis) {
+        final long deadline = System.currentTimeMillis() - timeoutMillis;
+        final List<String> releasedIds = new ArrayList<>();
+
+        for (int b = 0; b < file.buckets(); b++) {
+            if (!file.hasDeadSlot(b, deadline)) {
+                continue;
+            }
+            final int released = file.lockedBucket(b, bucket -> {
+                final int size = releasedIds.size();
+                for (int slot : bucket.lockedSlots()) {
+                    if (bucket.heartbeatAt(slot) < deadline) {
+                        LOGGER.debug("Dead lock {} of instanceId: {} will be released", bucket.id(slot),
+                                bucket.owner(slot));
+                        releasedIds.add(bucket.id(slot));
+                        if (bucket.permits(slot) == 0) {
+                            bucket.unlock(slot);
+                        } else {
+                            bucket.free(slot);
+                        }
+                    }
+                }
+                return releasedIds.size() - size;
+            });
+            if (released > 0 && watchable != null) {
+                // released slots may be readers or holders, signalled with their read-write lock or semaphore
+                watchable.signalBucket(b);
+            }
+        }
+
+        if (!releasedIds.isEmpty()) {
+            LOGGER.info("{} locks was released after timeout: {}ms", releasedIds.size(), timeoutMillis);
+        }
+    }
+
+    @Override
+    public boolean acquireLease(String leaseId, String instanceId, long leaseMillis) {
+        final byte[] id = encodeId(leaseId);
+        final byte[] owner = encodeOwner(instanceId);
+        final long now = System.currentTimeMillis();
+        return file.locked(file.bucketOf(leaseId), bucket -> acquireOwned(bucket, id, owner, now,
+                now - leaseMillis, 0));
+    }
+
+    /**
+     * Acquire the slot if it is unlocked, already held by the instance or its heartbeat is before the given time.
+     */
+    private static boolean acquireOwned(LockFile.Bucket bucket, byte[] id, byte[] owner, long now,
+                                        long expiredBefore, int permits) {
+        int slot = bucket.find(id);
+        if (slot < 0) {
+            slot = bucket.allocate(id);
+        } else if (bucket.isLockedBy(slot, owner)) {
+            bucket.heartbeat(slot, now);
+            return true;
+        } else if (bucket.isLocked(slot) && bucket.heartbeatAt(slot) >= expiredBefore) {
+            return false;
+        }
+        bucket.lock(slot, owner, now, permits);
+        return true;
+    }
+
+    /**
+     * Readers are stored in the bucket of the read-write lock, so that the write lock is checked and the reader
+     * added under the same bucket lock.
+     */
+    @Override
+    public boolean acquireReadLock(String lockId, String instanceId) {
+        final byte[] id = encodeId(lockId);
+        final byte[] readerId = encodeId(ReadWriteLockIds.readerId(lockId, instanceId));
+        final byte[] owner = encodeOwner(instanceId);
+        final long now = System.currentTimeMillis();
+
+        return file.locked(file.bucketOf(lockId), bucket -> {
+            final int writeSlot = bucket.find(id);
+            if (writeSlot >= 0 && bucket.isLocked(writeSlot)) {
+                return false;
+            }
+            return acquireOwned(bucket, readerId, owner, now, Long.MIN_VALUE, 1);
+        });
+    }
+
+    /**
+     * The write lock is kept while readers remain, so that new readers are rejected.
+     */
+    @Override
+    public boolean acquireWriteLock(String lockId, String instanceId) {
+        final byte[] id = encodeId(lockId);
+        final byte[] readersPrefix = encodeId(ReadWriteLockIds.readersPrefix(lockId));
+        final byte[] owner = encodeOwner(instanceId);
+        final long now = System.currentTimeMillis();
+
+        return file.locked(file.bucketOf(lockId), bucket ->
+                acquireOwned(bucket, id, owner, now, Long.MIN_VALUE, 0) && bucket.lockedPermits(readersPrefix) == 0);
+    }
+
+    @Override
+    public void refreshReadLocks(Collection<String> lockIds, String instanceId) {
+        refresh(lockIds, lockId -> ReadWriteLockIds.readerId(lockId, instanceId), instanceId);
+    }
+
+    @Override
+    public void releaseReadLock(String lockId, String instanceId) {
+        if (release(lockId, ReadWriteLockIds.readerId(lockId, instanceId), instanceId, 1)) {
+            LOGGER.debug("Read lock id: {} was released for instanceId: {}", lockId, instanceId);
+            signal(lockId);
+        }
+    }
+
+    /**
+     * Each holder of a semaphore is a slot <code>semaphoreId#permit#instanceId</code> storing its permits in the
+     * bucket of the semaphore, so that the held permits are counted and acquired under the same bucket lock.
+     */
+    @Override
+    public boolean acquirePermits(String semaphoreId, String instanceId, int permits, int maxPermits) {
+        final byte[] prefix = encodeId(SemaphoreIds.permitsPrefix(semaphoreId));
+        final byte[] holderId = encodeId(holderId(semaphoreId, instanceId));
+        final byte[] owner = encodeOwner(instanceId);
+        final long now = System.currentTimeMillis();
+
+        return file.locked(file.bucketOf(semaphoreId), bucket -> {
+            if (bucket.lockedPermits(prefix) + permits > maxPermits) {
+                return false;
+            }
+            int slot = bucket.find(holderId);
+            if (slot >= 0 && bucket.isLockedBy(slot, owner)) {
+                bucket.permits(slot, bucket.permits(slot) + permits);
+                bucket.heartbeat(slot, now);
+                return true;
+            }
+            if (slot < 0) {
+                slot = bucket.allocate(holderId);
+            }
+            bucket.lock(slot, owner, now, permits);
+            return true;
+        });
+    }
+
+    @Override
+    public void refreshPermits(Collection<String> semaphoreIds, String instanceId) {
+        refresh(semaphoreIds, semaphoreId -> holderId(semaphoreId, instanceId), instanceId);
+    }
+
+    @Override
+    public void releasePermits(String semaphoreId, String instanceId, int permits) {
+        if (release(semaphoreId, holderId(semaphoreId, instanceId), instanceId, permits)) {
+            LOGGER.debug("{} permits of semaphore id: {} was released for instanceId: {}", permits, semaphoreId,
+                    instanceId);
+            signalAll(semaphoreId);
+        }
+    }
+
+    private static String holderId(String semaphoreId, String instanceId) {
+        return SemaphoreIds.permitsPrefix(semaphoreId) + instanceId;
+    }
+
+    private static byte[] encodeId(String id) {
+        return LockFile.encode(id, MAX_ID_BYTES, "Lock id");
+    }
+
+    private static byte[] encodeOwner(String instanceId) {
+        return LockFile.encode(instanceId, MAX_OWNER_BYTES, "Instance id");
+    }
+
+    private void signal(String id) {
+        if (watchable != null) {
+            watchable.signal(id);
+        }
+    }
+
+    private void signalAll(String id) {
+        if (watchable != null) {
+            watchable.signalAll(id);
+        }
+    }
+
+    @Override
+    protected Watchable createWatchable() {
+        watchable = new FileWatchable(file, pollIntervalMillis);
+        return watchable;
+    }
+
+    @Override
+    public void close() {
+        super.close();
+        try {
+            file.close();
+            LOGGER.info("Lock file {} closed", path);
+        } catch (IOException e) {
+            LOGGER.warn("Can not close lock file {}: {}", path, e.getMessage());
+        }
+    }
+
+}
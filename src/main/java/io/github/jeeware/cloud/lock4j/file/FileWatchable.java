@@ -0,0 +1,84 @@
+/*
+ * Copyright 2020-2026 Hichem BOURADA and other authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jeeware.cloud.lock4j.file;
+
+import io.github.jeeware.cloud.lock4j.support.AbstractWatchable;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watchable polling the releases counters of the lock file buckets, the waiters of the ids of a bucket whose
+ * counter changed are signalled. Writes through a memory mapping do not raise file modification events, so the file can
+ * not be watched by a {@link java.nio.file.WatchService}.
+ *
+ * @author hbourada
+ * @since 1.0.4
+ */
+@RequiredArgsConstructor
+final class FileWatchable extends AbstractWatchable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FileWatchable.class);
+
+    private final LockFile file;
+
+    private final long pollIntervalMillis;
+
+    private volatile boolean closed;
+
+    @Override
+    public void run() {
+        final long[] releases = new long[file.buckets()];
+        for (int bucket = 0; bucket < releases.length; bucket++) {
+            releases[bucket] = file.releases(bucket);
+        }
+        this.active = true;
+        LOGGER.info("Start polling lock file every {}ms", pollIntervalMillis);
+
+        try {
+            while (!closed) {
+                TimeUnit.MILLISECONDS.sleep(pollIntervalMillis);
+                for (int bucket = 0; bucket < releases.length; bucket++) {
+                    final long bucketReleases = file.releases(bucket);
+                    if (bucketReleases != releases[bucket]) {
+                        releases[bucket] = bucketReleases;
+                        signalBucket(bucket);
+                    }
+                }
+            }
+            LOGGER.info("End polling lock file");
+        } catch (InterruptedException e) {
+            LOGGER.warn("Polling lock file was interrupted");
+            Thread.currentThread().interrupt();
+        } finally {
+            this.active = false;
+        }
+    }
+
+    /**
+     * Signal the locks, read-write locks and semaphores stored in the bucket, as home or overflow bucket, whose
+     * released slot may be a reader or a holder already freed, or the holder of several permits.
+     */
+    void signalBucket(int bucket) {
+        signalAll(lockId -> file.stores(file.bucketOf(lockId), bucket));
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+}
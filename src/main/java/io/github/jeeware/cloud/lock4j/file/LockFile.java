@@ -0,0 +1,551 @@
+/*
+ * Copyright 2020-2026 Hichem BOURADA and other authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jeeware.cloud.lock4j.file;
+
+import io.github.jeeware.cloud.lock4j.util.Utils;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Memory-mapped lock file split into buckets of fixed-size slots. A lock is stored in a slot of the home bucket
+ * of its id hash, readers of a read-write lock and holders of a semaphore in the home bucket of the read-write lock
+ * or semaphore id. When all the slots of a home bucket are locked, its ids overflow into the following buckets for
+ * the first half of the file and into the preceding ones for the second half. A home bucket and its overflow
+ * buckets are read and written under a single file region lock, taken by {@link FileChannel#tryLock} which,
+ * unlike {@link FileChannel#lock}, does not close the channel when the calling thread is interrupted.
+ * <p>
+ * The file starts with a header of {@value #BUCKET_SIZE} bytes storing the number of buckets. The first slot of a
+ * bucket stores its fencing token counter, its releases counter polled by {@link FileWatchable} and its number of
+ * overflow buckets, the other slots store:
+ * <pre>
+ *   0 int   state: free, unlocked or locked
+ *   4 int   permits of a reader or a semaphore holder, 0 for a lock
+ *   8 long  locked_at
+ *  16 long  lock_heartbeat_at
+ *  24 long  fencing token
+ *  32 short id length
+ *  34 short locked_by length
+ *  36 id in UTF-8
+ * 356 locked_by in UTF-8
+ * </pre>
+ *
+ * @author hbourada
+ * @since 1.0.4
+ */
+final class LockFile implements AutoCloseable {
+
+    static final int FREE = 0;
+
+    static final int UNLOCKED = 1;
+
+    static final int LOCKED = 2;
+
+    static final int MAX_ID_BYTES = 320;
+
+    static final int MAX_OWNER_BYTES = 156;
+
+    static final int SLOT_SIZE = 512;
+
+    static final int BUCKET_SLOTS = 16;
+
+    static final int BUCKET_SIZE = SLOT_SIZE * BUCKET_SLOTS;
+
+    /**
+     * Maximum number of buckets of a file mapped by a single buffer.
+     */
+    static final int MAX_BUCKETS = Integer.MAX_VALUE / BUCKET_SIZE - 1;
+
+    private static final int MAGIC = 0x4C4B3446;
+
+    private static final int VERSION = 1;
+
+    private static final int HEADER_BYTES = 12;
+
+    private static final int FENCING_COUNTER = 0;
+
+    private static final int RELEASES_COUNTER = 8;
+
+    private static final int OVERFLOW_BUCKETS = 16;
+
+    private static final int STATE = 0;
+
+    private static final int PERMITS = 4;
+
+    private static final int LOCKED_AT = 8;
+
+    private static final int HEARTBEAT_AT = 16;
+
+    private static final int FENCING_TOKEN = 24;
+
+    private static final int ID_LENGTH = 32;
+
+    private static final int OWNER_LENGTH = 34;
+
+    private static final int ID = 36;
+
+    private static final int OWNER = ID + MAX_ID_BYTES;
+
+    private static final long SPIN_NANOS = 10_000;
+
+    private final FileChannel channel;
+
+    private final MappedByteBuffer buffer;
+
+    private final int buckets;
+
+    private final ReentrantLock[] mutexes;
+
+    private LockFile(FileChannel channel, MappedByteBuffer buffer, int buckets) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.buckets = buckets;
+        this.mutexes = new ReentrantLock[buckets];
+        for (int i = 0; i < buckets; i++) {
+            mutexes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Open or create the lock file, the number of buckets of an existing file is kept.
+     */
+    static LockFile open(Path path, int buckets) throws IOException {
+        final FileChannel channel = FileChannel.open(path, CREATE, READ, WRITE);
+        try (FileLock ignored = lock(channel, 0, BUCKET_SIZE)) {
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+                // read the header of an existing file
+            }
+            final int fileBuckets;
+            if (!header.hasRemaining() && header.getInt(0) == MAGIC) {
+                if (header.getInt(4) != VERSION) {
+                    throw new IllegalStateException("Unsupported lock file version " + header.getInt(4) + ": " + path);
+                }
+                fileBuckets = header.getInt(8);
+            } else {
+                fileBuckets = buckets;
+                header.clear();
+                header.putInt(MAGIC).putInt(VERSION).putInt(buckets).flip();
+                while (header.hasRemaining()) {
+                    channel.write(header, header.position());
+                }
+            }
+            final long size = BUCKET_SIZE + (long) fileBuckets * BUCKET_SIZE;
+            return new LockFile(channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size), fileBuckets);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Spin until the region is locked, a region locked by another channel of this JVM on the same file being
+     * reported by an {@link OverlappingFileLockException}.
+     */
+    private static FileLock lock(FileChannel channel, long position, long size) throws IOException {
+        while (true) {
+            try {
+                final FileLock lock = channel.tryLock(position, size, false);
+                if (lock != null) {
+                    return lock;
+                }
+            } catch (OverlappingFileLockException e) {
+                // locked by another repository of this JVM
+            }
+            LockSupport.parkNanos(SPIN_NANOS);
+        }
+    }
+
+    int buckets() {
+        return buckets;
+    }
+
+    /**
+     * @return the bucket of the lock, read-write lock or semaphore id, which also stores its readers or holders
+     */
+    int bucketOf(String id) {
+        return (int) Math.floorMod(Utils.hash64(id), (long) buckets);
+    }
+
+    /**
+     * Run the task with exclusive access to the home bucket and its overflow buckets among the threads and
+     * processes sharing the file. The task is run again on one more overflow bucket when it can not allocate a
+     * slot, so it must allocate before any write.
+     *
+     * @throws IllegalStateException if all the slots of the bucket and of its possible overflow buckets are locked
+     */
+    <T> T locked(int bucket, Function<Bucket, T> task) {
+        int overflow = overflowBuckets(bucket);
+        while (true) {
+            final int first = overflowsForward(bucket) ? bucket : bucket - overflow;
+            final int last = overflowsForward(bucket) ? bucket + overflow : bucket;
+            final int locked = overflow;
+            final Object result = locked(first, last, () -> {
+                final int current = overflowBuckets(bucket);
+                if (current > locked) {
+                    return current;
+                }
+                if (current < locked) {
+                    buffer.putInt(bucketOffset(bucket) + OVERFLOW_BUCKETS, locked);
+                }
+                try {
+                    return new Result<>(task.apply(new Bucket(bucket, first, last)));
+                } catch (BucketFullException e) {
+                    return null;
+                }
+            });
+            if (result instanceof Result) {
+                @SuppressWarnings("unchecked")
+                final T value = ((Result<T>) result).value;
+                return value;
+            }
+            if (result != null) {
+                // the overflow buckets were extended meanwhile
+                overflow = (Integer) result;
+            } else if (overflow < maxOverflowBuckets(bucket)) {
+                overflow++;
+            } else {
+                throw new IllegalStateException("All the slots of the lock file bucket " + bucket
+                        + " and of its " + overflow + " overflow buckets are locked, increase the number of buckets");
+            }
+        }
+    }
+
+    /**
+     * Run the task with exclusive access to the slots of the bucket only, without its overflow buckets.
+     */
+    <T> T lockedBucket(int bucket, Function<Bucket, T> task) {
+        return locked(bucket, bucket, () -> task.apply(new Bucket(bucket, bucket, bucket)));
+    }
+
+    private <T> T locked(int first, int last, Supplier<T> task) {
+        for (int b = first; b <= last; b++) {
+            mutexes[b].lock();
+        }
+        try (FileLock ignored = lock(channel, bucketOffset(first), (long) (last - first + 1) * BUCKET_SIZE)) {
+            return task.get();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            for (int b = last; b >= first; b--) {
+                mutexes[b].unlock();
+            }
+        }
+    }
+
+    /**
+     * @return true if the bucket is the home bucket or one of its overflow buckets, read without lock
+     */
+    boolean stores(int home, int bucket) {
+        final int overflow = overflowBuckets(home);
+        return overflowsForward(home) ? bucket >= home && bucket <= home + overflow
+                : bucket <= home && bucket >= home - overflow;
+    }
+
+    private int overflowBuckets(int bucket) {
+        return buffer.getInt(bucketOffset(bucket) + OVERFLOW_BUCKETS);
+    }
+
+    private boolean overflowsForward(int bucket) {
+        return bucket < buckets / 2;
+    }
+
+    private int maxOverflowBuckets(int bucket) {
+        return overflowsForward(bucket) ? buckets - 1 - bucket : bucket;
+    }
+
+    /**
+     * @return the releases counter of the bucket, read without lock
+     */
+    long releases(int bucket) {
+        return buffer.getLong(bucketOffset(bucket) + RELEASES_COUNTER);
+    }
+
+    /**
+     * @return true if a slot of the bucket, read without lock, is locked and its heartbeat before the deadline
+     */
+    boolean hasDeadSlot(int bucket, long deadline) {
+        final int offset = bucketOffset(bucket);
+        for (int slot = offset + SLOT_SIZE; slot < offset + BUCKET_SIZE; slot += SLOT_SIZE) {
+            if (buffer.getInt(slot + STATE) == LOCKED && buffer.getLong(slot + HEARTBEAT_AT) < deadline) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static byte[] encode(String value, int maxBytes, String name) {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > maxBytes) {
+            throw new IllegalArgumentException(name + " longer than " + maxBytes + " bytes: " + value);
+        }
+        return bytes;
+    }
+
+    private static int bucketOffset(int bucket) {
+        return BUCKET_SIZE + bucket * BUCKET_SIZE;
+    }
+
+    private String readString(int offset, int length) {
+        final byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = buffer.get(offset + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private boolean startsWith(int offset, int length, byte[] prefix) {
+        if (length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (buffer.get(offset + i) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void write(int lengthOffset, int offset, byte[] bytes) {
+        buffer.putShort(lengthOffset, (short) bytes.length);
+        for (int i = 0; i < bytes.length; i++) {
+            buffer.put(offset + i, bytes[i]);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Result of a task, distinguished from the retries of {@link #locked(int, Function)}.
+     */
+    @RequiredArgsConstructor
+    private static final class Result<T> {
+        final T value;
+    }
+
+    /**
+     * Thrown when a slot can not be allocated, so that the task is run again on one more overflow bucket.
+     */
+    private static final class BucketFullException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        BucketFullException() {
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * Slots of a home bucket and of its overflow buckets, accessed under their lock. A slot is designated by its
+     * offset in the file.
+     */
+    final class Bucket {
+        private final int offset;
+
+        private final int firstSlot;
+
+        private final int endSlot;
+
+        private Bucket(int home, int first, int last) {
+            this.offset = bucketOffset(home);
+            this.firstSlot = bucketOffset(first) + SLOT_SIZE;
+            this.endSlot = bucketOffset(last) + BUCKET_SIZE;
+        }
+
+        /**
+         * @return the next slot, skipping the first slot of a bucket storing its counters
+         */
+        private int next(int slot) {
+            final int next = slot + SLOT_SIZE;
+            return next % BUCKET_SIZE == 0 ? next + SLOT_SIZE : next;
+        }
+
+        /**
+         * @return the slot of the id, -1 if it is not stored
+         */
+        int find(byte[] id) {
+            for (int slot = firstSlot; slot < endSlot; slot = next(slot)) {
+                if (state(slot) != FREE && buffer.getShort(slot + ID_LENGTH) == id.length
+                        && startsWith(slot + ID, id.length, id)) {
+                    return slot;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Store the id in a free slot or else in the unlocked slot locked for the longest time, the task is run
+         * again on one more overflow bucket if all the slots are locked.
+         *
+         * @return the unlocked slot of the id
+         */
+        int allocate(byte[] id) {
+            int oldest = -1;
+            for (int slot = firstSlot; slot < endSlot; slot = next(slot)) {
+                if (state(slot) == FREE) {
+                    return init(slot, id);
+                }
+                if (state(slot) == UNLOCKED && (oldest < 0 || lockedAt(slot) < lockedAt(oldest))) {
+                    oldest = slot;
+                }
+            }
+            if (oldest < 0) {
+                throw new BucketFullException();
+            }
+            return init(oldest, id);
+        }
+
+        private int init(int slot, byte[] id) {
+            buffer.putInt(slot + STATE, UNLOCKED);
+            buffer.putInt(slot + PERMITS, 0);
+            buffer.putLong(slot + LOCKED_AT, 0);
+            buffer.putLong(slot + HEARTBEAT_AT, 0);
+            buffer.putLong(slot + FENCING_TOKEN, 0);
+            buffer.putShort(slot + OWNER_LENGTH, (short) 0);
+            write(slot + ID_LENGTH, slot + ID, id);
+            return slot;
+        }
+
+        int state(int slot) {
+            return buffer.getInt(slot + STATE);
+        }
+
+        boolean isLocked(int slot) {
+            return state(slot) == LOCKED;
+        }
+
+        boolean isLockedBy(int slot, byte[] owner) {
+            return isLocked(slot) && buffer.getShort(slot + OWNER_LENGTH) == owner.length
+                    && startsWith(slot + OWNER, owner.length, owner);
+        }
+
+        String id(int slot) {
+            return readString(slot + ID, buffer.getShort(slot + ID_LENGTH));
+        }
+
+        String owner(int slot) {
+            return isLocked(slot) ? readString(slot + OWNER, buffer.getShort(slot + OWNER_LENGTH)) : null;
+        }
+
+        int permits(int slot) {
+            return buffer.getInt(slot + PERMITS);
+        }
+
+        long lockedAt(int slot) {
+            return buffer.getLong(slot + LOCKED_AT);
+        }
+
+        long heartbeatAt(int slot) {
+            return buffer.getLong(slot + HEARTBEAT_AT);
+        }
+
+        long fencingToken(int slot) {
+            return buffer.getLong(slot + FENCING_TOKEN);
+        }
+
+        /**
+         * Lock the slot with the next fencing token of the home bucket, so that tokens of an id always increase
+         * whatever its slot.
+         */
+        void lock(int slot, byte[] owner, long now, int permits) {
+            final long fencingToken = buffer.getLong(offset + FENCING_COUNTER) + 1;
+            buffer.putLong(offset + FENCING_COUNTER, fencingToken);
+            buffer.putInt(slot + PERMITS, permits);
+            buffer.putLong(slot + LOCKED_AT, now);
+            buffer.putLong(slot + HEARTBEAT_AT, now);
+            buffer.putLong(slot + FENCING_TOKEN, fencingToken);
+            write(slot + OWNER_LENGTH, slot + OWNER, owner);
+            buffer.putInt(slot + STATE, LOCKED);
+        }
+
+        void heartbeat(int slot, long now) {
+            buffer.putLong(slot + HEARTBEAT_AT, now);
+        }
+
+        void permits(int slot, int permits) {
+            buffer.putInt(slot + PERMITS, permits);
+        }
+
+        /**
+         * Unlock the slot keeping its id and locked_at, for the acquisitions with clock skew.
+         */
+        void unlock(int slot) {
+            release(slot, UNLOCKED);
+        }
+
+        /**
+         * Free the slot of a reader or a semaphore holder.
+         */
+        void free(int slot) {
+            release(slot, FREE);
+        }
+
+        /**
+         * Increment the releases counter of the bucket of the slot, home or overflow bucket.
+         */
+        private void release(int slot, int state) {
+            final int counter = slot - slot % BUCKET_SIZE + RELEASES_COUNTER;
+            buffer.putInt(slot + STATE, state);
+            buffer.putShort(slot + OWNER_LENGTH, (short) 0);
+            buffer.putLong(counter, buffer.getLong(counter) + 1);
+        }
+
+        /**
+         * @return the locked slots of the bucket
+         */
+        List<Integer> lockedSlots() {
+            final List<Integer> slots = new ArrayList<>(BUCKET_SLOTS - 1);
+            for (int slot = firstSlot; slot < endSlot; slot = next(slot)) {
+                if (isLocked(slot)) {
+                    slots.add(slot);
+                }
+            }
+            return slots;
+        }
+
+        /**
+         * @return the sum of the permits of the locked slots whose id starts with the prefix
+         */
+        int lockedPermits(byte[] prefix) {
+            int permits = 0;
+            for (int slot = firstSlot; slot < endSlot; slot = next(slot)) {
+                if (isLocked(slot) && startsWith(slot + ID, buffer.getShort(slot + ID_LENGTH), prefix)) {
+                    permits += permits(slot);
+                }
+            }
+            return permits;
+        }
+    }
+
+}
@@ -17,6 +17,7 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
 
 import io.github.jeeware.cloud.lock4j.Watchable;
+import io.github.jeeware.cloud.lock4j.util.VirtualThreads;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
@@ -49,4 +50,22 @@ public interface WatchableThreadFactory extends ThreadFactory {
             return thread;
         }
     }
+
+    /**
+     * Starts watchers on virtual threads, requires Java 21 or later.
+     *
+     * @see VirtualThreads#isSupported()
+     * @since 1.0.4
+     */
+    final class Virtual implements WatchableThreadFactory {
+
+        private final ThreadFactory delegate = VirtualThreads.threadFactory("lock4j-watcher-");
+
+        @Override
+        public Thread newThread(Watchable w) {
+            Thread thread = delegate.newThread(w);
+            thread.setName(w.name());
+            return thread;
+        }
+    }
 }
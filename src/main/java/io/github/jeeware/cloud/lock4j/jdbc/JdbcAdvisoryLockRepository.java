@@ -0,0 +1,243 @@
+/*
+ * Copyright 2020-2026 Hichem BOURADA and other authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jeeware.cloud.lock4j.jdbc;
+
+import io.github.jeeware.cloud.lock4j.ExceptionTranslator;
+import io.github.jeeware.cloud.lock4j.LockRepository;
+import io.github.jeeware.cloud.lock4j.jdbc.SQLDialect.AdvisoryLockType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@link LockRepository} implementation based on database session scoped advisory locks
+ * (<code>pg_try_advisory_lock</code>, MySQL <code>GET_LOCK</code> or Oracle <code>DBMS_LOCK.REQUEST</code>).
+ * <p>
+ * Acquiring a lock does not write any table row: a connection is pinned for each held lock until its release.
+ * Dead locks release is not necessary because the lock dies with the database session: heartbeats only validate
+ * the pinned connections and report the locks whose session was lost.
+ * Use a connection pool sized for the maximum number of locks held at the same time by the instance.
+ * Clock skew is not supported as advisory locks do not keep any state once released.
+ *
+ * @author hbourada
+ * @since 1.0.4
+ */
+public class JdbcAdvisoryLockRepository implements LockRepository, AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JdbcAdvisoryLockRepository.class);
+
+    private static final char KEY_SEPARATOR = '\0';
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+
+    private final DataSource dataSource;
+
+    private final SQLDialect dialect;
+
+    private final ExceptionTranslator<SQLException, ? extends RuntimeException> translator;
+
+    private final String lockSql;
+
+    private final String unlockSql;
+
+    private final Map<String, Connection> connections = new ConcurrentHashMap<>();
+
+    public JdbcAdvisoryLockRepository(DataSource dataSource, SQLDialect dialect,
+                                      ExceptionTranslator<SQLException, ? extends RuntimeException> translator) {
+        this.dataSource = requireNonNull(dataSource, "dataSource is null");
+        this.dialect = requireNonNull(dialect, "dialect is null");
+        this.translator = requireNonNull(translator, "translator is null");
+        this.lockSql = dialect.getAdvisoryLock();
+        this.unlockSql = dialect.getAdvisoryUnlock();
+        if (lockSql == null || unlockSql == null) {
+            throw new IllegalArgumentException("Advisory locks not supported by SQLDialect [" + dialect + "]");
+        }
+    }
+
+    @Override
+    public boolean acquireLock(String lockId, String instanceId) {
+        Connection connection = null;
+        boolean acquired = false;
+        try {
+            connection = dataSource.getConnection();
+            acquired = execute(connection, lockSql, dialect.advisoryLockKey(lockId)) == 1;
+            if (acquired) {
+                connections.put(heldKey(lockId, instanceId), connection);
+            }
+            return acquired;
+        } catch (SQLException e) {
+            throw translator.translate(e, "acquireLock", lockSql);
+        } finally {
+            if (!acquired) {
+                closeQuietly(connection);
+            }
+        }
+    }
+
+    @Override
+    public boolean acquireLockWithClockSkew(String lockId, String instanceId, long clockSkewMillis) {
+        if (clockSkewMillis <= 0) {
+            return acquireLock(lockId, instanceId);
+        }
+        throw new UnsupportedOperationException("Clock skew not supported by advisory locks, use "
+                + JdbcLockRepository.class.getSimpleName() + " instead");
+    }
+
+    @Override
+    public void refreshActiveLock(String lockId, String instanceId) {
+        refreshActiveLocks(Collections.singletonList(lockId), instanceId);
+    }
+
+    /**
+     * Validate the pinned connections of the given locks as they are held as long as theirs sessions are alive.
+     * Connections of lost sessions are discarded.
+     *
+     * @throws IllegalStateException if the session of at least one of the given locks was lost
+     */
+    @Override
+    public void refreshActiveLocks(Collection<String> lockIds, String instanceId) {
+        final List<String> lostLockIds = new ArrayList<>();
+        for (String lockId : lockIds) {
+            final String key = heldKey(lockId, instanceId);
+            final Connection connection = connections.get(key);
+            if (connection != null && !isValid(connection) && connections.remove(key, connection)) {
+                discard(connection);
+                lostLockIds.add(lockId);
+            }
+        }
+        if (!lostLockIds.isEmpty()) {
+            LOGGER.error("Database sessions of lock ids: {} were lost for instanceId: {}", lostLockIds, instanceId);
+            throw new IllegalStateException("Locks " + lostLockIds + " were lost with theirs database sessions");
+        }
+    }
+
+    @Override
+    public void releaseLock(String lockId, String instanceId) {
+        final Connection connection = connections.remove(heldKey(lockId, instanceId));
+        if (connection == null) {
+            LOGGER.warn("Lock {} is not held by instanceId: {}", lockId, instanceId);
+            return;
+        }
+        boolean released = false;
+        try {
+            int count = execute(connection, unlockSql, dialect.advisoryLockKey(lockId));
+            released = count == 1;
+            LOGGER.debug("{} lock id: {} was released for instanceId: {}", count, lockId, instanceId);
+        } catch (SQLException e) {
+            throw translator.translate(e, "releaseLock", unlockSql);
+        } finally {
+            if (released) {
+                closeQuietly(connection);
+            } else {
+                discard(connection);
+            }
+        }
+    }
+
+    @Override
+    public void releaseDeadLocks(long timeoutMillis) {
+        // Do nothing as the database releases locks of dead sessions
+    }
+
+    private int execute(Connection connection, String sql, Object key) throws SQLException {
+        final int result;
+        if (dialect.advisoryLockType() == AdvisoryLockType.CALL) {
+            try (CallableStatement cs = connection.prepareCall(sql)) {
+                cs.registerOutParameter(1, Types.INTEGER);
+                cs.setObject(2, key);
+                cs.execute();
+                result = cs.getInt(1);
+            }
+        } else {
+            try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                ps.setObject(1, key);
+                try (ResultSet resultSet = ps.executeQuery()) {
+                    result = resultSet.next() ? resultSet.getInt(1) : 0;
+                }
+            }
+        }
+        if (!connection.getAutoCommit()) {
+            connection.commit();
+        }
+        return result;
+    }
+
+    private static boolean isValid(Connection connection) {
+        try {
+            return connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            LOGGER.warn("Error when validating connection: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private static String heldKey(String lockId, String instanceId) {
+        return instanceId + KEY_SEPARATOR + lockId;
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                LOGGER.warn("Error when closing connection: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Abort the physical connection before closing it, so that a session which may still hold an advisory lock
+     * is evicted by the pool instead of being handed to another borrower.
+     */
+    private static void discard(Connection connection) {
+        try {
+            connection.abort(Runnable::run);
+        } catch (SQLException | RuntimeException e) {
+            LOGGER.warn("Error when aborting connection: {}", e.getMessage());
+        }
+        closeQuietly(connection);
+    }
+
+    /**
+     * Release all held locks and close theirs pinned connections.
+     */
+    @Override
+    public void close() {
+        connections.keySet().forEach(key -> {
+            final int separatorIndex = key.indexOf(KEY_SEPARATOR);
+            try {
+                releaseLock(key.substring(separatorIndex + 1), key.substring(0, separatorIndex));
+            } catch (RuntimeException e) {
+                LOGGER.warn("Error when releasing lock {}: {}", key, e.getMessage());
+            }
+        });
+        LOGGER.info("Close successful");
+    }
+
+}
@@ -19,9 +19,13 @@ import io.github.jeeware.cloud.lock4j.jdbc.script.SqlDatabaseInitializer;
 
 import javax.sql.DataSource;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * A {@link JdbcLockRepository} with an {@link #initialize()} method for creating lock database schemas.
@@ -30,6 +34,8 @@ import java.util.Objects;
  */
 public class JdbcInitializingLockRepository extends JdbcLockRepository {
 
+    private final Lock initializeLock = new ReentrantLock();
+
     private SqlDatabaseInitializer databaseInitializer;
 
     public JdbcInitializingLockRepository(DataSource dataSource, SQLDialect dialect, String tableName, String functionName) {
@@ -39,17 +45,49 @@ public class JdbcInitializingLockRepository extends JdbcLockRepository {
     public JdbcInitializingLockRepository(DataSource dataSource, SQLDialect dialect,
                                           ExceptionTranslator<SQLException, ? extends RuntimeException> translator,
                                           String tableName, String functionName) {
-        this(dataSource, dialect, translator, tableName, functionName, new DefaultSqlDatabaseInitializer(dataSource, dialect,
-                createMap(tableName, functionName)));
+        this(dataSource, dialect, translator, tableName, functionName, 1);
+    }
+
+    /**
+     * @param shards number of lock tables, the schema script is executed for each of them
+     * @since 1.0.4
+     */
+    public JdbcInitializingLockRepository(DataSource dataSource, SQLDialect dialect,
+                                          ExceptionTranslator<SQLException, ? extends RuntimeException> translator,
+                                          String tableName, String functionName, int shards) {
+        this(dataSource, dialect, translator, tableName, functionName, shards,
+                createDatabaseInitializer(dataSource, dialect, tableName, functionName, shards));
     }
 
     public JdbcInitializingLockRepository(DataSource dataSource, SQLDialect dialect,
                                           ExceptionTranslator<SQLException, ? extends RuntimeException> translator,
                                           String tableName, String functionName, SqlDatabaseInitializer databaseInitializer) {
-        super(dataSource, dialect, translator, tableName, functionName);
+        this(dataSource, dialect, translator, tableName, functionName, 1, databaseInitializer);
+    }
+
+    /**
+     * @since 1.0.4
+     */
+    public JdbcInitializingLockRepository(DataSource dataSource, SQLDialect dialect,
+                                          ExceptionTranslator<SQLException, ? extends RuntimeException> translator,
+                                          String tableName, String functionName, int shards,
+                                          SqlDatabaseInitializer databaseInitializer) {
+        super(dataSource, dialect, translator, tableName, functionName, shards);
         this.databaseInitializer = Objects.requireNonNull(databaseInitializer, "databaseInitializer is null");
     }
 
+    private static SqlDatabaseInitializer createDatabaseInitializer(DataSource dataSource, SQLDialect dialect,
+                                                                    String tableName, String functionName,
+                                                                    int shards) {
+        final List<SqlDatabaseInitializer> initializers = new ArrayList<>(shards);
+        for (int i = 0; i < shards; i++) {
+            initializers.add(new DefaultSqlDatabaseInitializer(dataSource, dialect,
+                    createMap(shardName(tableName, i, shards),
+                            functionName == null ? null : shardName(functionName, i, shards))));
+        }
+        return () -> initializers.forEach(SqlDatabaseInitializer::initializeSchemas);
+    }
+
     private static Map<String, String> createMap(String tableName, String functionName) {
         Map<String, String> result = new HashMap<>(2, 1);
         result.put("table", tableName);
@@ -57,12 +95,17 @@ public class JdbcInitializingLockRepository extends JdbcLockRepository {
         return result;
     }
 
-    public final synchronized void initialize() {
-        if (databaseInitializer == null) {
-            throw new IllegalStateException("initialize was already called");
+    public final void initialize() {
+        initializeLock.lock();
+        try {
+            if (databaseInitializer == null) {
+                throw new IllegalStateException("initialize was already called");
+            }
+            databaseInitializer.initializeSchemas();
+            databaseInitializer = null;
+        } finally {
+            initializeLock.unlock();
         }
-        databaseInitializer.initializeSchemas();
-        databaseInitializer = null;
     }
 
 }
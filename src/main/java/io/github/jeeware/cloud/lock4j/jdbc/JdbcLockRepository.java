@@ -16,6 +16,9 @@ package io.github.jeeware.cloud.lock4j.jdbc;
 import io.github.jeeware.cloud.lock4j.ExceptionTranslator;
 import io.github.jeeware.cloud.lock4j.LockRepository;
 import io.github.jeeware.cloud.lock4j.jdbc.SQLDialect.UpsertType;
+import io.github.jeeware.cloud.lock4j.support.ReadWriteLockIds;
+import io.github.jeeware.cloud.lock4j.support.SemaphoreIds;
+import io.github.jeeware.cloud.lock4j.util.Utils;
 import lombok.AllArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.ToString;
@@ -31,20 +34,38 @@ import java.sql.SQLException;
 import java.sql.Types;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
+import static org.apache.commons.lang3.Validate.isTrue;
 import static org.apache.commons.lang3.Validate.notBlank;
 
 /**
  * {@link LockRepository} implementation based on a relational database table.
+ * <p>
+ * Locks can be sharded over several tables named <code>&lt;table&gt;_&lt;i&gt;</code> (and MySQL functions
+ * <code>&lt;function&gt;_&lt;i&gt;</code>), the shard of a lock being selected by hashing its id, so that
+ * acquisitions, heartbeats and releases of distinct locks contend on distinct indexes.
+ * <p>
+ * With {@link #setPinnedConnections(int) pinned connections}, statements are executed on connections owned by
+ * the repository which keep theirs prepared statements, instead of a pooled connection checked out by call.
  *
  * @author hbourada
- * @version 1.1
+ * @version 1.2
  */
-public class JdbcLockRepository implements LockRepository {
+public class JdbcLockRepository implements LockRepository, AutoCloseable {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(JdbcLockRepository.class);
 
@@ -52,64 +73,239 @@ public class JdbcLockRepository implements LockRepository {
 
     private static final int LOCKED = 1;
 
+    /**
+     * Maximum number of ids in an <code>in</code> clause (1000 is the Oracle limit).
+     */
+    private static final int MAX_IN_PARAMETERS = 1000;
+
+    /**
+     * Default maximum number of dead locks released by a single statement.
+     */
+    public static final int DEFAULT_DEAD_LOCKS_PAGE_SIZE = 500;
+
+    /**
+     * Maximum number of prepared statements kept by a pinned connection.
+     */
+    private static final int MAX_PINNED_STATEMENTS = 64;
+
+    private static final PinnedConnection[] NO_PINNED_CONNECTIONS = new PinnedConnection[0];
+
     private final DataSource dataSource;
 
     private final UpsertType upsertType;
 
     private final ExceptionTranslator<SQLException, ? extends RuntimeException> translator;
 
-    private final String lockSql;
+    private final Shard[] shards;
 
-    private final String lockWithClockSkewSql;
+    private int deadLocksPageSize = DEFAULT_DEAD_LOCKS_PAGE_SIZE;
 
-    private final String updateHeartbeatSql;
+    private PinnedConnection[] pinnedConnections = NO_PINNED_CONNECTIONS;
 
-    private final String unlockSql;
-
-    private final String unlockDeadLocksSql;
-
-    private final String findDeadLocksSql;
+    private final AtomicInteger pinnedIndex = new AtomicInteger();
 
     public JdbcLockRepository(DataSource dataSource, SQLDialect dialect,
                               ExceptionTranslator<SQLException, ? extends RuntimeException> translator,
                               String tableName, String functionName) {
+        this(dataSource, dialect, translator, tableName, functionName, 1);
+    }
+
+    /**
+     * @param shards number of lock tables, 1 for a single table named <code>tableName</code>
+     * @since 1.0.4
+     */
+    public JdbcLockRepository(DataSource dataSource, SQLDialect dialect,
+                              ExceptionTranslator<SQLException, ? extends RuntimeException> translator,
+                              String tableName, String functionName, int shards) {
         notBlank(tableName, "tableName is blank");
+        isTrue(shards > 0, "shards must be positive: %d", shards);
         this.dataSource = requireNonNull(dataSource, "dataSource is null");
         this.upsertType = requireNonNull(dialect, "dialect is null").upsertType();
         this.translator = requireNonNull(translator, "translator is null");
-        this.lockSql = formatLockSql(dialect, SQLDialect::getLock, tableName, functionName);
-        this.lockWithClockSkewSql = formatLockSql(dialect, SQLDialect::getLockWithClockSkew, tableName, functionName);
-        this.updateHeartbeatSql = format(dialect.getUpdateLockHeartbeat(), tableName);
-        this.unlockSql = format(dialect.getUnlock(), tableName);
-        this.unlockDeadLocksSql = format(dialect.getUnlockDeadLocks(), tableName);
-        this.findDeadLocksSql = format(dialect.getFindDeadLocks(), tableName);
+        this.shards = new Shard[shards];
+        for (int i = 0; i < shards; i++) {
+            this.shards[i] = new Shard(dialect, shardName(tableName, i, shards),
+                    functionName == null ? null : shardName(functionName, i, shards));
+        }
+    }
+
+    /**
+     * @param name   table or function name
+     * @param shard  shard index
+     * @param shards number of shards
+     * @return the name of the table or function of the given shard
+     * @since 1.0.4
+     */
+    public static String shardName(String name, int shard, int shards) {
+        return shards == 1 ? name : name + '_' + shard;
     }
 
-    private static String formatLockSql(SQLDialect dialect, Function<SQLDialect, String> lockFn,
-                                        String tableName, String functionName) {
-        return dialect.upsertType() == UpsertType.SQL_FUNCTION
-                ? format(lockFn.apply(dialect), notBlank(functionName, "functionName is blank"))
-                : format(lockFn.apply(dialect), tableName);
+    /**
+     * @param deadLocksPageSize maximum number of dead locks released by a single statement, so that a sweep
+     *                          of many dead locks does not hold a long-running transaction
+     * @since 1.0.4
+     */
+    public void setDeadLocksPageSize(int deadLocksPageSize) {
+        isTrue(deadLocksPageSize > 0 && deadLocksPageSize <= MAX_IN_PARAMETERS,
+                "deadLocksPageSize must be in [1, %d]: %d", MAX_IN_PARAMETERS, deadLocksPageSize);
+        this.deadLocksPageSize = deadLocksPageSize;
+    }
+
+    /**
+     * @param pinnedConnections number of connections owned by this repository for its lifetime and keeping
+     *                          theirs prepared statements, 0 (the default) to check out a pooled connection by call.
+     *                          The connection pool must be sized accordingly.
+     * @since 1.0.4
+     */
+    public void setPinnedConnections(int pinnedConnections) {
+        isTrue(pinnedConnections >= 0, "pinnedConnections must be positive or zero: %d", pinnedConnections);
+        final PinnedConnection[] previous = this.pinnedConnections;
+        final PinnedConnection[] connections = new PinnedConnection[pinnedConnections];
+        for (int i = 0; i < pinnedConnections; i++) {
+            connections[i] = new PinnedConnection(dataSource, MAX_PINNED_STATEMENTS);
+        }
+        this.pinnedConnections = connections;
+        for (PinnedConnection connection : previous) {
+            connection.close();
+        }
+    }
+
+    /**
+     * @return the shard of the lock, read-write lock or semaphore id. Readers of a read-write lock and permits of
+     * a semaphore are stored in the shard of the lock or semaphore, so that they are counted by a single query.
+     */
+    private Shard shard(String lockId) {
+        if (shards.length == 1) {
+            return shards[0];
+        }
+        return shards[(int) Math.floorMod(Utils.hash64(lockId), (long) shards.length)];
     }
 
     @Override
     public boolean acquireLock(String lockId, String instanceId) {
-        final long now = System.currentTimeMillis();
+        return acquireLock(shard(lockId), lockId, instanceId);
+    }
+
+    private boolean acquireLock(Shard shard, String lockId, String instanceId) {
+        final String lockSql = shard.lockSql;
+        final Object[] args = lockArgs(lockId, instanceId, System.currentTimeMillis());
+
+        return execute("acquireLock", lockSql, upsertType == UpsertType.SQL_FUNCTION, lockCallback(args)) == 1;
+    }
 
+    private Object[] lockArgs(String lockId, String instanceId, long now) {
         switch (upsertType) {
             case ON_CONFLICT:
-                return execute("acquireLock", lockSql, lockId, LOCKED, now, instanceId, now,
-                        LOCKED, now, instanceId, now, UNLOCKED) == 1;
+                return new Object[]{lockId, LOCKED, now, instanceId, now, LOCKED, now, instanceId, now, UNLOCKED};
             case MERGE:
-                return execute("acquireLock", lockSql, lockId, LOCKED, now, instanceId, now,
-                        UNLOCKED) == 1;
+                return new Object[]{lockId, LOCKED, now, instanceId, now, UNLOCKED};
             case SQL_FUNCTION:
-                return executeCall(lockSql, lockId, instanceId, now, UNLOCKED, LOCKED, 0) == 1;
+                return new Object[]{lockId, instanceId, now, UNLOCKED, LOCKED, 0};
             default:
                 throw new IllegalStateException("Unknown upsert type: " + upsertType);
         }
     }
 
+    private StatementCallback<Integer> lockCallback(Object[] args) {
+        return upsertType == UpsertType.SQL_FUNCTION ? callCallback(args) : updateCallback(args);
+    }
+
+    /**
+     * Acquire all locks in a single transaction of ordered upserts, rolled back if a lock is not acquired.
+     */
+    @Override
+    public boolean acquireLocks(List<String> lockIds, String instanceId) {
+        return lockInTransaction("acquireLocks", this::shard, lockIds, instanceId, lockIds.size(), false);
+    }
+
+    /**
+     * Lock the given rows in order and in a single transaction until <code>count</code> rows are locked, the
+     * transaction is committed only if they are.
+     *
+     * @param shardOf    shard of a lock id
+     * @param skipLocked whether a row that is not acquired is skipped or rolls back the transaction
+     */
+    private boolean lockInTransaction(String task, Function<String, Shard> shardOf, List<String> lockIds,
+                                      String instanceId, int count, boolean skipLocked) {
+        final long now = System.currentTimeMillis();
+        final boolean call = upsertType == UpsertType.SQL_FUNCTION;
+        String sql = null;
+
+        try (Connection connection = dataSource.getConnection()) {
+            final boolean autoCommit = connection.getAutoCommit();
+            int locked = 0;
+            connection.setAutoCommit(false);
+            try {
+                for (Iterator<String> it = lockIds.iterator(); it.hasNext() && locked < count; ) {
+                    final String lockId = it.next();
+                    sql = shardOf.apply(lockId).lockSql;
+                    try (PreparedStatement ps = call ? connection.prepareCall(sql) : connection.prepareStatement(sql)) {
+                        if (lockCallback(lockArgs(lockId, instanceId, now)).doInStatement(ps) == 1) {
+                            locked++;
+                        } else if (!skipLocked) {
+                            return false;
+                        }
+                    }
+                }
+                return locked == count;
+            } finally {
+                if (locked == count) {
+                    connection.commit();
+                } else {
+                    connection.rollback();
+                }
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw translator.translate(e, task, sql);
+        }
+    }
+
+    /**
+     * Lock the given rows if they are unlocked by set based updates in a single transaction, committed only if all
+     * of them are locked.
+     */
+    private boolean lockUnlockedInTransaction(String task, Shard shard, List<String> lockIds, String instanceId) {
+        final long now = System.currentTimeMillis();
+        String sql = null;
+
+        try (Connection connection = dataSource.getConnection()) {
+            final boolean autoCommit = connection.getAutoCommit();
+            int locked = 0;
+            connection.setAutoCommit(false);
+            try {
+                for (int from = 0; from < lockIds.size(); from += MAX_IN_PARAMETERS) {
+                    final List<String> batch = lockIds.subList(from, Math.min(from + MAX_IN_PARAMETERS,
+                            lockIds.size()));
+                    final int size = inParametersSize(batch.size());
+                    final Object[] args = new Object[size + 5];
+                    args[0] = LOCKED;
+                    args[1] = now;
+                    args[2] = instanceId;
+                    args[3] = now;
+                    args[4] = UNLOCKED;
+                    for (int i = 0; i < size; i++) {
+                        args[i + 5] = batch.get(Math.min(i, batch.size() - 1));
+                    }
+                    sql = shard.lockInSql(size);
+                    try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                        locked += updateCallback(args).doInStatement(ps);
+                    }
+                }
+                return locked == lockIds.size();
+            } finally {
+                if (locked == lockIds.size()) {
+                    connection.commit();
+                } else {
+                    connection.rollback();
+                }
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw translator.translate(e, task, sql);
+        }
+    }
+
     @Override
     public boolean acquireLockWithClockSkew(String lockId, String instanceId, long clockSkewMillis) {
         if (clockSkewMillis <= 0) {
@@ -117,6 +313,7 @@ public class JdbcLockRepository implements LockRepository {
         }
 
         final long now = System.currentTimeMillis();
+        final String lockWithClockSkewSql = shard(lockId).lockWithClockSkewSql;
 
         switch (upsertType) {
             case ON_CONFLICT:
@@ -134,7 +331,8 @@ public class JdbcLockRepository implements LockRepository {
 
     @Override
     public void refreshActiveLock(String lockId, String instanceId) {
-        int count = execute("refreshActiveLocks", updateHeartbeatSql, System.currentTimeMillis(), lockId);
+        int count = execute("refreshActiveLocks", shard(lockId).updateHeartbeatSql, System.currentTimeMillis(),
+                lockId);
         if (count > 0) {
             LOGGER.debug("Lock {} was refreshed for instanceId: {}", lockId, instanceId);
         } else {
@@ -142,9 +340,52 @@ public class JdbcLockRepository implements LockRepository {
         }
     }
 
+    @Override
+    public void refreshActiveLocks(Collection<String> lockIds, String instanceId) {
+        refreshActiveLocks(lockIds, Function.identity(), instanceId);
+    }
+
+    /**
+     * @param lockIds lock or read-write lock ids giving the shards
+     * @param rowId   row id of a lock id, e.g. its reader
+     */
+    private void refreshActiveLocks(Collection<String> lockIds, Function<String, String> rowId,
+                                    String instanceId) {
+        final long now = System.currentTimeMillis();
+        final Map<Shard, List<String>> idsByShard = new LinkedHashMap<>();
+        for (String lockId : lockIds) {
+            idsByShard.computeIfAbsent(shard(lockId), s -> new ArrayList<>()).add(rowId.apply(lockId));
+        }
+        int count = 0;
+
+        for (Map.Entry<Shard, List<String>> entry : idsByShard.entrySet()) {
+            final List<String> ids = entry.getValue();
+            for (int from = 0; from < ids.size(); from += MAX_IN_PARAMETERS) {
+                final List<String> batch = ids.subList(from, Math.min(from + MAX_IN_PARAMETERS, ids.size()));
+                final int size = inParametersSize(batch.size());
+                final Object[] args = new Object[size + 1];
+                args[0] = now;
+                for (int i = 0; i < size; i++) {
+                    args[i + 1] = batch.get(Math.min(i, batch.size() - 1));
+                }
+                count += execute("refreshActiveLocks", entry.getKey().updateHeartbeatsSql(size), args);
+            }
+        }
+
+        if (count == lockIds.size()) {
+            LOGGER.debug("{} locks was refreshed for instanceId: {}", count, instanceId);
+        } else {
+            LOGGER.warn("{}/{} locks was refreshed for instanceId: {}", count, lockIds.size(), instanceId);
+        }
+    }
+
     @Override
     public void releaseLock(String lockId, String instanceId) {
-        int count = execute("releaseLock", unlockSql, UNLOCKED, System.currentTimeMillis(), lockId);
+        releaseLock(shard(lockId), lockId, instanceId);
+    }
+
+    private void releaseLock(Shard shard, String lockId, String instanceId) {
+        int count = execute("releaseLock", shard.unlockSql, UNLOCKED, System.currentTimeMillis(), lockId);
         if (count > 0) {
             LOGGER.debug("{} lock id: {} was released for instanceId: {}", count, lockId, instanceId);
         }
@@ -153,81 +394,430 @@ public class JdbcLockRepository implements LockRepository {
     @Override
     public void releaseDeadLocks(long timeoutMillis) {
         long timeoutTime = System.currentTimeMillis() - timeoutMillis;
-
-        if (LOGGER.isDebugEnabled()) {
-            final List<LockEntity> locks = executeQuery(LockEntity::from, findDeadLocksSql, LOCKED, timeoutTime);
-            if (!locks.isEmpty()) {
+        int count = 0;
+
+        // release dead locks page by page, each page in its own short statement
+        for (Shard shard : shards) {
+            List<LockEntity> locks;
+            do {
+                locks = executeQuery(LockEntity::from, shard.findDeadLocksPageSql, LOCKED, timeoutTime,
+                        deadLocksPageSize);
+                if (locks.isEmpty()) {
+                    break;
+                }
                 LOGGER.debug("{} dead locks will be released => {}", locks.size(), locks);
-            }
+                final int size = inParametersSize(locks.size());
+                final Object[] args = new Object[size + 4];
+                args[0] = UNLOCKED;
+                args[1] = System.currentTimeMillis();
+                args[2] = LOCKED;
+                args[3] = timeoutTime;
+                for (int i = 0; i < size; i++) {
+                    args[i + 4] = locks.get(Math.min(i, locks.size() - 1)).id;
+                }
+                count += execute("releaseDeadLocks", shard.unlockDeadLocksInSql(size), args);
+            } while (locks.size() == deadLocksPageSize);
         }
 
-        final int count = execute("releaseDeadLocks", unlockDeadLocksSql, UNLOCKED, System.currentTimeMillis(),
-                LOCKED, timeoutTime);
-
         if (count > 0) {
             LOGGER.info("{} locks was released after timeout: {}ms", count, timeoutMillis);
         }
     }
 
-    private int execute(String task, String sql, Object... args) {
-        try (Connection connection = dataSource.getConnection()) {
-            boolean autoCommit = connection.getAutoCommit();
-            try (PreparedStatement ps = connection.prepareStatement(sql)) {
-                for (int i = 0; i < args.length; i++) {
-                    ps.setObject(i + 1, args[i]);
-                }
-                return ps.executeUpdate();
-            } finally {
-                if (!autoCommit) {
-                    connection.commit();
+    /**
+     * The lease row is renewed by a single update, a row that is not updated is held by another live instance
+     * unless it does not exist yet: it is only inserted in such a case, so that the instances which do not hold
+     * the lease run a write and a read by call.
+     */
+    @Override
+    public boolean acquireLease(String leaseId, String instanceId, long leaseMillis) {
+        final long now = System.currentTimeMillis();
+        final int count = execute("acquireLease", shard(leaseId).renewLeaseSql, LOCKED, instanceId, now, leaseId,
+                UNLOCKED, instanceId, now - leaseMillis);
+        return count > 0 || !isLocked(leaseId) && acquireLock(leaseId, instanceId);
+    }
+
+    /**
+     * A reader row is inserted then the write lock is checked again, while a writer locks the write lock row
+     * then counts the readers, so that a reader and a writer never both succeed.
+     */
+    @Override
+    public boolean acquireReadLock(String lockId, String instanceId) {
+        if (isLocked(lockId)) {
+            return false;
+        }
+        final Shard shard = shard(lockId);
+        final String readerId = ReadWriteLockIds.readerId(lockId, instanceId);
+        if (!acquireOwnedLock(shard, readerId, instanceId)) {
+            return false;
+        }
+        if (isLocked(lockId)) {
+            releaseLock(shard, readerId, instanceId);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * The write lock row is kept locked while readers remain, so that new readers are rejected.
+     */
+    @Override
+    public boolean acquireWriteLock(String lockId, String instanceId) {
+        final Shard shard = shard(lockId);
+        if (!acquireOwnedLock(shard, lockId, instanceId)) {
+            return false;
+        }
+        final String pattern = likePrefix(ReadWriteLockIds.readersPrefix(lockId));
+        return executeQuery(rs -> getInt(rs, 1), shard.countLockedLikeSql, pattern, LOCKED).get(0) == 0;
+    }
+
+    @Override
+    public void refreshReadLocks(Collection<String> lockIds, String instanceId) {
+        refreshActiveLocks(lockIds, lockId -> ReadWriteLockIds.readerId(lockId, instanceId), instanceId);
+    }
+
+    @Override
+    public void releaseReadLock(String lockId, String instanceId) {
+        releaseLock(shard(lockId), ReadWriteLockIds.readerId(lockId, instanceId), instanceId);
+    }
+
+    /**
+     * Each permit is a lock row <code>semaphoreId#permit#i</code> of the shard of the semaphore. The locked
+     * permits are read, then free permit rows are locked by a single update whose row count is checked, starting
+     * from a random one so that concurrent instances rarely claim the same rows. The permit rows are upserted one
+     * by one only when they do not exist yet or were claimed meanwhile.
+     */
+    @Override
+    public boolean acquirePermits(String semaphoreId, String instanceId, int permits, int maxPermits) {
+        final Shard shard = shard(semaphoreId);
+        final String pattern = likePrefix(SemaphoreIds.permitsPrefix(semaphoreId));
+        final Set<String> lockedIds = new HashSet<>(executeQuery(rs -> getString(rs, 1), shard.findLockedLikeSql,
+                pattern, LOCKED));
+        final List<String> freeIds = new ArrayList<>(maxPermits);
+        for (int i = 0; i < maxPermits; i++) {
+            final String permitId = SemaphoreIds.permitId(semaphoreId, i);
+            if (!lockedIds.contains(permitId)) {
+                freeIds.add(permitId);
+            }
+        }
+        if (freeIds.size() < permits) {
+            return false;
+        }
+        Collections.rotate(freeIds, ThreadLocalRandom.current().nextInt(freeIds.size()));
+        return lockUnlockedInTransaction("acquirePermits", shard, freeIds.subList(0, permits), instanceId)
+                || lockInTransaction("acquirePermits", id -> shard, freeIds, instanceId, permits, true);
+    }
+
+    /**
+     * The permits of the semaphores of a shard are refreshed by a single update.
+     */
+    @Override
+    public void refreshPermits(Collection<String> semaphoreIds, String instanceId) {
+        final long now = System.currentTimeMillis();
+        final Map<Shard, List<String>> patternsByShard = new LinkedHashMap<>();
+        for (String semaphoreId : semaphoreIds) {
+            patternsByShard.computeIfAbsent(shard(semaphoreId), s -> new ArrayList<>())
+                    .add(likePrefix(SemaphoreIds.permitsPrefix(semaphoreId)));
+        }
+
+        for (Map.Entry<Shard, List<String>> entry : patternsByShard.entrySet()) {
+            final List<String> patterns = entry.getValue();
+            for (int from = 0; from < patterns.size(); from += MAX_IN_PARAMETERS) {
+                final List<String> batch = patterns.subList(from, Math.min(from + MAX_IN_PARAMETERS,
+                        patterns.size()));
+                final int size = inParametersSize(batch.size());
+                final Object[] args = new Object[size + 3];
+                args[0] = now;
+                args[1] = LOCKED;
+                args[2] = instanceId;
+                for (int i = 0; i < size; i++) {
+                    args[i + 3] = batch.get(Math.min(i, batch.size() - 1));
                 }
+                execute("refreshPermits", entry.getKey().updateHeartbeatLikesBySql(size), args);
             }
-        } catch (SQLException e) {
-            throw translator.translate(e, task, sql);
         }
     }
 
+    /**
+     * The released permits are unlocked by a single update.
+     */
+    @Override
+    public void releasePermits(String semaphoreId, String instanceId, int permits) {
+        final Shard shard = shard(semaphoreId);
+        final List<String> permitIds = executeQuery(rs -> getString(rs, 1), shard.findLockedLikeBySql,
+                likePrefix(SemaphoreIds.permitsPrefix(semaphoreId)), LOCKED, instanceId);
+        if (permitIds.size() < permits) {
+            LOGGER.warn("{}/{} permits of semaphore {} are held by instanceId: {}", permitIds.size(), permits,
+                    semaphoreId, instanceId);
+        }
+        final List<String> releasedIds = permitIds.subList(0, Math.min(permits, permitIds.size()));
+        final long now = System.currentTimeMillis();
+        int count = 0;
+
+        for (int from = 0; from < releasedIds.size(); from += MAX_IN_PARAMETERS) {
+            final List<String> batch = releasedIds.subList(from, Math.min(from + MAX_IN_PARAMETERS,
+                    releasedIds.size()));
+            final int size = inParametersSize(batch.size());
+            final Object[] args = new Object[size + 2];
+            args[0] = UNLOCKED;
+            args[1] = now;
+            for (int i = 0; i < size; i++) {
+                args[i + 2] = batch.get(Math.min(i, batch.size() - 1));
+            }
+            count += execute("releasePermits", shard.unlockInSql(size), args);
+        }
+        LOGGER.debug("{} permits of semaphore {} was released for instanceId: {}", count, semaphoreId, instanceId);
+    }
+
+    /**
+     * @return <code>like</code> pattern escaped by <code>!</code> matching the ids starting with the prefix
+     */
+    private static String likePrefix(String prefix) {
+        return prefix.replaceAll("[!%_]", "!$0") + '%';
+    }
+
+    private boolean isLocked(String lockId) {
+        return executeQuery(rs -> getInt(rs, 1), shard(lockId).countLockedSql, lockId, LOCKED).get(0) > 0;
+    }
+
+    @SneakyThrows
+    private static int getInt(ResultSet rs, int column) {
+        return rs.getInt(column);
+    }
+
+    @SneakyThrows
+    private static String getString(ResultSet rs, int column) {
+        return rs.getString(column);
+    }
+
+    /**
+     * Acquire the lock if it is unlocked or already held by the instance.
+     */
+    private boolean acquireOwnedLock(Shard shard, String lockId, String instanceId) {
+        final long now = System.currentTimeMillis();
+        final int count = execute("acquireLock", shard.renewLeaseSql, LOCKED, instanceId, now, lockId,
+                UNLOCKED, instanceId, Long.MIN_VALUE);
+        return count > 0 || acquireLock(shard, lockId, instanceId);
+    }
+
+    /**
+     * Round up the number of <code>in</code> clause parameters to a power of two, the last id being repeated,
+     * so that a few distinct statements are prepared whatever the number of ids.
+     */
+    private static int inParametersSize(int size) {
+        return size <= 1 ? size : Math.min(Integer.highestOneBit(size - 1) << 1, MAX_IN_PARAMETERS);
+    }
+
+    private int execute(String task, String sql, Object... args) {
+        return execute(task, sql, false, updateCallback(args));
+    }
+
+    private static StatementCallback<Integer> updateCallback(Object[] args) {
+        return ps -> {
+            bind(ps, 1, args);
+            return executeUpdate(ps);
+        };
+    }
+
+    /**
+     * Execute an update statement or a data modifying query returning one row per updated row
+     * (e.g. <code>with u as (update ... returning id) select ...</code>).
+     */
+    private static int executeUpdate(PreparedStatement ps) throws SQLException {
+        if (!ps.execute()) {
+            return ps.getUpdateCount();
+        }
+        int count = 0;
+        try (ResultSet resultSet = ps.getResultSet()) {
+            while (resultSet.next()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
     private int executeCall(String sql, Object... args) {
-        try (Connection connection = dataSource.getConnection()) {
-            boolean autoCommit = connection.getAutoCommit();
-            try (CallableStatement cs = connection.prepareCall(sql)) {
-                cs.registerOutParameter(1, Types.INTEGER);
-                for (int i = 0; i < args.length; i++) {
-                    cs.setObject(i + 2, args[i]);
+        return execute("", sql, true, callCallback(args));
+    }
+
+    private static StatementCallback<Integer> callCallback(Object[] args) {
+        return ps -> {
+            final CallableStatement cs = (CallableStatement) ps;
+            cs.registerOutParameter(1, Types.INTEGER);
+            bind(cs, 2, args);
+            cs.execute();
+            return cs.getInt(1);
+        };
+    }
+
+    private <T> List<T> executeQuery(Function<ResultSet, T> rowMapper, String sql, Object... args) {
+        return execute("", sql, false, ps -> {
+            bind(ps, 1, args);
+            final List<T> result = new ArrayList<>();
+            try (ResultSet resultSet = ps.executeQuery()) {
+                while (resultSet.next()) {
+                    result.add(rowMapper.apply(resultSet));
                 }
-                cs.execute();
-                return cs.getInt(1);
+            }
+            return result;
+        });
+    }
+
+    private <T> T execute(String task, String sql, boolean call, StatementCallback<T> callback) {
+        final PinnedConnection pinnedConnection = pinnedConnection();
+        if (pinnedConnection != null) {
+            try {
+                return callback.doInStatement(call ? pinnedConnection.prepareCall(sql)
+                        : pinnedConnection.prepareStatement(sql));
+            } catch (SQLException e) {
+                pinnedConnection.discardIfBroken(e);
+                throw translator.translate(e, task, sql);
             } finally {
-                if (!autoCommit) {
-                    connection.commit();
-                }
+                pinnedConnection.unlock();
             }
-        } catch (SQLException e) {
-            throw translator.translate(e, "", sql);
         }
-    }
 
-    private <T> List<T> executeQuery(Function<ResultSet, T> rowMapper, String sql, Object... args) {
         try (Connection connection = dataSource.getConnection()) {
             boolean autoCommit = connection.getAutoCommit();
-            try (PreparedStatement ps = connection.prepareStatement(sql)) {
-                for (int i = 0; i < args.length; i++) {
-                    ps.setObject(i + 1, args[i]);
-                }
-                final List<T> result = new ArrayList<>();
-                try (ResultSet resultSet = ps.executeQuery()) {
-                    while (resultSet.next()) {
-                        result.add(rowMapper.apply(resultSet));
-                    }
-                }
-                return result;
+            try (PreparedStatement ps = call ? connection.prepareCall(sql) : connection.prepareStatement(sql)) {
+                return callback.doInStatement(ps);
             } finally {
                 if (!autoCommit) {
                     connection.commit();
                 }
             }
         } catch (SQLException e) {
-            throw translator.translate(e, "", sql);
+            throw translator.translate(e, task, sql);
+        }
+    }
+
+    /**
+     * @return a locked pinned connection, preferably a free one, or null if connections are not pinned
+     */
+    private PinnedConnection pinnedConnection() {
+        final PinnedConnection[] connections = this.pinnedConnections;
+        if (connections.length == 0) {
+            return null;
+        }
+        final int start = Math.floorMod(pinnedIndex.getAndIncrement(), connections.length);
+        for (int i = 0; i < connections.length; i++) {
+            final PinnedConnection connection = connections[(start + i) % connections.length];
+            if (connection.tryLock()) {
+                return connection;
+            }
+        }
+        connections[start].lock();
+        return connections[start];
+    }
+
+    /**
+     * Bind parameters with typed setters, avoiding the type resolution of <code>setObject</code>.
+     */
+    private static void bind(PreparedStatement ps, int firstIndex, Object[] args) throws SQLException {
+        for (int i = 0; i < args.length; i++) {
+            final Object arg = args[i];
+            final int index = firstIndex + i;
+            if (arg instanceof Long) {
+                ps.setLong(index, (Long) arg);
+            } else if (arg instanceof Integer) {
+                ps.setInt(index, (Integer) arg);
+            } else if (arg instanceof String) {
+                ps.setString(index, (String) arg);
+            } else {
+                ps.setObject(index, arg);
+            }
+        }
+    }
+
+    /**
+     * Close the pinned connections.
+     */
+    @Override
+    public void close() {
+        for (PinnedConnection connection : pinnedConnections) {
+            connection.close();
+        }
+    }
+
+    @FunctionalInterface
+    private interface StatementCallback<T> {
+        T doInStatement(PreparedStatement ps) throws SQLException;
+    }
+
+    /**
+     * Statements of a lock table.
+     */
+    private static final class Shard {
+        final String lockSql;
+        final String lockWithClockSkewSql;
+        final String updateHeartbeatSql;
+        final String updateHeartbeatsSql;
+        final Map<Integer, String> updateHeartbeatsSqlBySize = new ConcurrentHashMap<>();
+        final String unlockSql;
+        final String unlockDeadLocksInSql;
+        final Map<Integer, String> unlockDeadLocksInSqlBySize = new ConcurrentHashMap<>();
+        final String findDeadLocksPageSql;
+        final String renewLeaseSql;
+        final String countLockedSql;
+        final String countLockedLikeSql;
+        final String findLockedLikeBySql;
+        final String findLockedLikeSql;
+        final String lockInSql;
+        final Map<Integer, String> lockInSqlBySize = new ConcurrentHashMap<>();
+        final String unlockInSql;
+        final Map<Integer, String> unlockInSqlBySize = new ConcurrentHashMap<>();
+        final String updateHeartbeatLikesBySql;
+        final Map<Integer, String> updateHeartbeatLikesBySqlBySize = new ConcurrentHashMap<>();
+
+        Shard(SQLDialect dialect, String tableName, String functionName) {
+            this.lockSql = formatLockSql(dialect, SQLDialect::getLock, tableName, functionName);
+            this.lockWithClockSkewSql = formatLockSql(dialect, SQLDialect::getLockWithClockSkew, tableName,
+                    functionName);
+            this.updateHeartbeatSql = format(dialect.getUpdateLockHeartbeat(), tableName);
+            this.updateHeartbeatsSql = format(dialect.getUpdateLocksHeartbeat(), tableName, "%s");
+            this.unlockSql = format(dialect.getUnlock(), tableName);
+            this.unlockDeadLocksInSql = format(dialect.getUnlockDeadLocksIn(), tableName, "%s");
+            this.findDeadLocksPageSql = format(dialect.getFindDeadLocksPage(), tableName);
+            this.renewLeaseSql = format(dialect.getRenewLease(), tableName);
+            this.countLockedSql = format(dialect.getCountLocked(), tableName);
+            this.countLockedLikeSql = format(dialect.getCountLockedLike(), tableName);
+            this.findLockedLikeBySql = format(dialect.getFindLockedLikeBy(), tableName);
+            this.findLockedLikeSql = format(dialect.getFindLockedLike(), tableName);
+            this.lockInSql = format(dialect.getLockIn(), tableName, "%s");
+            this.unlockInSql = format(dialect.getUnlockIn(), tableName, "%s");
+            this.updateHeartbeatLikesBySql = format(dialect.getUpdateHeartbeatLikesBy(), tableName, "%s");
+        }
+
+        String lockInSql(int size) {
+            return lockInSqlBySize.computeIfAbsent(size, n -> formatIn(lockInSql, n));
+        }
+
+        String unlockInSql(int size) {
+            return unlockInSqlBySize.computeIfAbsent(size, n -> formatIn(unlockInSql, n));
+        }
+
+        String updateHeartbeatLikesBySql(int size) {
+            return updateHeartbeatLikesBySqlBySize.computeIfAbsent(size, n -> format(updateHeartbeatLikesBySql,
+                    String.join(" or ", Collections.nCopies(n, "id like ? escape '!'"))));
+        }
+
+        String updateHeartbeatsSql(int size) {
+            return updateHeartbeatsSqlBySize.computeIfAbsent(size, n -> formatIn(updateHeartbeatsSql, n));
+        }
+
+        String unlockDeadLocksInSql(int size) {
+            return unlockDeadLocksInSqlBySize.computeIfAbsent(size, n -> formatIn(unlockDeadLocksInSql, n));
+        }
+
+        private static String formatIn(String sql, int size) {
+            return format(sql, String.join(", ", Collections.nCopies(size, "?")));
+        }
+
+        private static String formatLockSql(SQLDialect dialect, Function<SQLDialect, String> lockFn,
+                                            String tableName, String functionName) {
+            return dialect.upsertType() == UpsertType.SQL_FUNCTION
+                    ? format(lockFn.apply(dialect), notBlank(functionName, "functionName is blank"))
+                    : format(lockFn.apply(dialect), tableName);
         }
     }
 
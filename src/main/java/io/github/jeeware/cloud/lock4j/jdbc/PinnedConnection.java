@@ -0,0 +1,172 @@
+/*
+ * Copyright 2020-2026 Hichem BOURADA and other authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jeeware.cloud.lock4j.jdbc;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Connection owned by a {@link JdbcLockRepository} for its whole lifetime, keeping its prepared statements
+ * so that lock operations neither check out a pooled connection nor parse theirs statements.
+ * <p>
+ * Callers must hold the connection lock while using it. A closed or broken connection is discarded with its
+ * statements and transparently re-established by the next call.
+ *
+ * @author hbourada
+ * @since 1.0.4
+ */
+final class PinnedConnection implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PinnedConnection.class);
+
+    /**
+     * Class of SQL states of connection exceptions.
+     */
+    private static final String CONNECTION_EXCEPTION_CLASS = "08";
+
+    private static final int VALID_TIMEOUT_SECONDS = 1;
+
+    private final DataSource dataSource;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Map<String, PreparedStatement> statements;
+
+    private Connection connection;
+
+    private boolean closed;
+
+    PinnedConnection(DataSource dataSource, int maxStatements) {
+        this.dataSource = dataSource;
+        this.statements = new LinkedHashMap<String, PreparedStatement>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() > maxStatements) {
+                    closeQuietly(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    boolean tryLock() {
+        return lock.tryLock();
+    }
+
+    void lock() {
+        lock.lock();
+    }
+
+    void unlock() {
+        lock.unlock();
+    }
+
+    PreparedStatement prepareStatement(String sql) throws SQLException {
+        final Connection current = connection();
+        PreparedStatement statement = statements.get(sql);
+        if (statement == null) {
+            statement = current.prepareStatement(sql);
+            statements.put(sql, statement);
+        }
+        return statement;
+    }
+
+    CallableStatement prepareCall(String sql) throws SQLException {
+        final Connection current = connection();
+        PreparedStatement statement = statements.get(sql);
+        if (statement == null) {
+            statement = current.prepareCall(sql);
+            statements.put(sql, statement);
+        }
+        return (CallableStatement) statement;
+    }
+
+    private Connection connection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Pinned connection is closed");
+        }
+        if (connection == null || connection.isClosed()) {
+            discard();
+            connection = dataSource.getConnection();
+            connection.setAutoCommit(true);
+            LOGGER.debug("Pinned connection established: {}", connection);
+        }
+        return connection;
+    }
+
+    /**
+     * Discard the connection and its statements if the given error broke it.
+     */
+    void discardIfBroken(SQLException e) {
+        final String sqlState = e.getSQLState();
+        boolean broken = sqlState != null && sqlState.startsWith(CONNECTION_EXCEPTION_CLASS);
+        if (!broken && connection != null) {
+            try {
+                broken = !connection.isValid(VALID_TIMEOUT_SECONDS);
+            } catch (SQLException ex) {
+                broken = true;
+            }
+        }
+        if (broken) {
+            LOGGER.warn("Discard broken pinned connection: {}", e.getMessage());
+            discard();
+        }
+    }
+
+    private void discard() {
+        for (Iterator<PreparedStatement> iterator = statements.values().iterator(); iterator.hasNext(); ) {
+            closeQuietly(iterator.next());
+            iterator.remove();
+        }
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                LOGGER.warn("Error when closing pinned connection: {}", e.getMessage());
+            }
+            connection = null;
+        }
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            LOGGER.debug("Error when closing statement: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            discard();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2020-2026 Hichem BOURADA and other authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jeeware.cloud.lock4j.jdbc;
+
+import io.github.jeeware.cloud.lock4j.ExceptionTranslator;
+import io.github.jeeware.cloud.lock4j.LockRepository;
+import io.github.jeeware.cloud.lock4j.Watchable;
+import io.github.jeeware.cloud.lock4j.support.AbstractWatchableLockRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+import static org.apache.commons.lang3.Validate.notBlank;
+
+/**
+ * PostgreSQL watchable {@link LockRepository}: locks are stored in the same table as {@link JdbcLockRepository},
+ * and unlock/dead locks release statements notify the released lock ids with <code>pg_notify</code>
+ * on a channel named <code>&lt;table&gt;_unlocked</code>. A dedicated connection listens to this channel to
+ * wake up the waiters of the released locks.
+ *
+ * @author hbourada
+ * @since 1.0.4
+ */
+public class PostgresLockRepository extends AbstractWatchableLockRepository {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PostgresLockRepository.class);
+
+    private static final String CHANNEL_SUFFIX = "_unlocked";
+
+    private final DataSource dataSource;
+
+    private final String channel;
+
+    private final JdbcLockRepository delegate;
+
+    public PostgresLockRepository(DataSource dataSource,
+                                  ExceptionTranslator<SQLException, ? extends RuntimeException> translator,
+                                  String tableName) {
+        this(dataSource, translator, tableName, 1);
+    }
+
+    /**
+     * @param shards number of lock tables, all of them notify on the channel of <code>tableName</code>
+     * @since 1.0.4
+     */
+    public PostgresLockRepository(DataSource dataSource,
+                                  ExceptionTranslator<SQLException, ? extends RuntimeException> translator,
+                                  String tableName, int shards) {
+        this.dataSource = requireNonNull(dataSource, "dataSource is null");
+        this.channel = notBlank(tableName, "tableName is blank").toLowerCase() + CHANNEL_SUFFIX;
+        this.delegate = new JdbcLockRepository(dataSource, new NotifyDialect(channel), translator, tableName, null,
+                shards);
+    }
+
+    @Override
+    public boolean acquireLock(String lockId, String instanceId) {
+        return delegate.acquireLock(lockId, instanceId);
+    }
+
+    @Override
+    public boolean acquireLockWithClockSkew(String lockId, String instanceId, long clockSkewMillis) {
+        return delegate.acquireLockWithClockSkew(lockId, instanceId, clockSkewMillis);
+    }
+
+    @Override
+    public boolean acquireLocks(List<String> lockIds, String instanceId) {
+        return delegate.acquireLocks(lockIds, instanceId);
+    }
+
+    @Override
+    public boolean acquireReadLock(String lockId, String instanceId) {
+        return delegate.acquireReadLock(lockId, instanceId);
+    }
+
+    @Override
+    public boolean acquireWriteLock(String lockId, String instanceId) {
+        return delegate.acquireWriteLock(lockId, instanceId);
+    }
+
+    @Override
+    public void refreshReadLocks(Collection<String> lockIds, String instanceId) {
+        delegate.refreshReadLocks(lockIds, instanceId);
+    }
+
+    @Override
+    public void releaseReadLock(String lockId, String instanceId) {
+        delegate.releaseReadLock(lockId, instanceId);
+    }
+
+    @Override
+    public boolean acquirePermits(String semaphoreId, String instanceId, int permits, int maxPermits) {
+        return delegate.acquirePermits(semaphoreId, instanceId, permits, maxPermits);
+    }
+
+    @Override
+    public void refreshPermits(Collection<String> semaphoreIds, String instanceId) {
+        delegate.refreshPermits(semaphoreIds, instanceId);
+    }
+
+    @Override
+    public void releasePermits(String semaphoreId, String instanceId, int permits) {
+        delegate.releasePermits(semaphoreId, instanceId, permits);
+    }
+
+    @Override
+    public void refreshActiveLock(String lockId, String instanceId) {
+        delegate.refreshActiveLock(lockId, instanceId);
+    }
+
+    @Override
+    public void refreshActiveLocks(Collection<String> lockIds, String instanceId) {
+        delegate.refreshActiveLocks(lockIds, instanceId);
+    }
+
+    @Override
+    public void releaseLock(String lockId, String instanceId) {
+        delegate.releaseLock(lockId, instanceId);
+    }
+
+    @Override
+    public void releaseDeadLocks(long timeoutMillis) {
+        delegate.releaseDeadLocks(timeoutMillis);
+    }
+
+    @Override
+    public boolean acquireLease(String leaseId, String instanceId, long leaseMillis) {
+        return delegate.acquireLease(leaseId, instanceId, leaseMillis);
+    }
+
+    public void setDeadLocksPageSize(int deadLocksPageSize) {
+        delegate.setDeadLocksPageSize(deadLocksPageSize);
+    }
+
+    /**
+     * @see JdbcLockRepository#setPinnedConnections(int)
+     */
+    public void setPinnedConnections(int pinnedConnections) {
+        delegate.setPinnedConnections(pinnedConnections);
+    }
+
+    @Override
+    protected Watchable createWatchable() {
+        return new PostgresWatchable(dataSource, channel);
+    }
+
+    @Override
+    public void close() {
+        super.close();
+        delegate.close();
+        LOGGER.info("Close successful");
+    }
+
+    /**
+     * {@link SQLDialects#POSTGRESQL} dialect where unlock statements return a row per released lock
+     * after notifying its id.
+     */
+    static final class NotifyDialect implements SQLDialect {
+
+        private final String notifySelect;
+
+        NotifyDialect(String channel) {
+            this.notifySelect = "select pg_notify('" + channel.replace("'", "''") + "', id) from released";
+        }
+
+        @Override
+        public String getLock() {
+            return SQLDialects.POSTGRESQL.getLock();
+        }
+
+        @Override
+        public String getLockWithClockSkew() {
+            return SQLDialects.POSTGRESQL.getLockWithClockSkew();
+        }
+
+        @Override
+        public UpsertType upsertType() {
+            return SQLDialects.POSTGRESQL.upsertType();
+        }
+
+        @Override
+        public String getUnlock() {
+            return "with released as (" + SQLDialects.POSTGRESQL.getUnlock() + " returning id) " + notifySelect;
+        }
+
+        @Override
+        public String getUnlockIn() {
+            return "with released as (" + SQLDialects.POSTGRESQL.getUnlockIn() + " returning id) " + notifySelect;
+        }
+
+        @Override
+        public String getUnlockDeadLocks() {
+            return "with released as (" + SQLDialects.POSTGRESQL.getUnlockDeadLocks() + " returning id) " + notifySelect;
+        }
+
+        @Override
+        public String getUnlockDeadLocksIn() {
+            return "with released as (" + SQLDialects.POSTGRESQL.getUnlockDeadLocksIn() + " returning id) "
+                    + notifySelect;
+        }
+    }
+
+}
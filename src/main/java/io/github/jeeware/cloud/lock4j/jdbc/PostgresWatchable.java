@@ -0,0 +1,142 @@
+/*
+ * Copyright 2020-2026 Hichem BOURADA and other authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jeeware.cloud.lock4j.jdbc;
+
+import io.github.jeeware.cloud.lock4j.support.AbstractWatchable;
+import io.github.jeeware.cloud.lock4j.support.ReadWriteLockIds;
+import io.github.jeeware.cloud.lock4j.support.SemaphoreIds;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Listen to PostgreSQL notifications of released locks on a dedicated connection.
+ * <p>
+ * On a connection error (e.g. a database failover) the watchable is inactive, so that new waiters poll the
+ * repository, and listens again on a new connection with an exponential backoff. Every waiter is woken up when
+ * the connection is lost and when it is established again, as notifications sent meanwhile are lost.
+ *
+ * @author hbourada
+ * @since 1.0.4
+ */
+@RequiredArgsConstructor
+final class PostgresWatchable extends AbstractWatchable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PostgresWatchable.class);
+
+    private static final int POLL_TIMEOUT_MILLIS = 500;
+
+    private static final long MIN_RECONNECT_DELAY_MILLIS = 100;
+
+    private static final long MAX_RECONNECT_DELAY_MILLIS = 10_000;
+
+    @NonNull
+    private final DataSource dataSource;
+
+    @NonNull
+    private final String channel;
+
+    private volatile boolean closed;
+
+    @Override
+    public void run() {
+        long reconnectDelayMillis = MIN_RECONNECT_DELAY_MILLIS;
+        boolean reconnect = false;
+        try {
+            while (!closed) {
+                try {
+                    listen(reconnect);
+                    reconnectDelayMillis = MIN_RECONNECT_DELAY_MILLIS;
+                } catch (SQLException e) {
+                    if (closed) {
+                        break;
+                    }
+                    this.active = false;
+                    this.signalAll();
+                    LOGGER.warn("Error occurred during listen: {} => reconnecting in {}ms", e.getMessage(),
+                            reconnectDelayMillis, e);
+                    Thread.sleep(reconnectDelayMillis);
+                    reconnectDelayMillis = Math.min(2 * reconnectDelayMillis, MAX_RECONNECT_DELAY_MILLIS);
+                }
+                reconnect = true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            this.active = false;
+        }
+    }
+
+    /**
+     * Listen the channel until closed.
+     */
+    private void listen(boolean reconnect) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("listen \"" + channel.replace("\"", "\"\"") + '"');
+            }
+            if (!connection.getAutoCommit()) {
+                connection.commit();
+            }
+            final PGConnection pgConnection = connection.unwrap(PGConnection.class);
+            this.active = true;
+            LOGGER.info("Start listening channel {}", channel);
+            if (reconnect) {
+                this.signalAll();
+            }
+
+            while (!closed) {
+                final PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                if (notifications != null) {
+                    for (PGNotification notification : notifications) {
+                        signalRow(notification.getParameter());
+                    }
+                }
+            }
+
+            LOGGER.info("End listening channel {}", channel);
+        }
+    }
+
+    /**
+     * Signal the released row id, the row of a reader or a permit also signals its read-write lock or semaphore.
+     */
+    private void signalRow(String id) {
+        this.signal(id);
+        final String semaphoreId = SemaphoreIds.semaphoreIdOf(id);
+        if (!semaphoreId.equals(id)) {
+            // released permits may be acquired by several waiters
+            this.signalAll(semaphoreId);
+            return;
+        }
+        final String lockId = ReadWriteLockIds.lockIdOf(id);
+        if (!lockId.equals(id)) {
+            this.signal(lockId);
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+}
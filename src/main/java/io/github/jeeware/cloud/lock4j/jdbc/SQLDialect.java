@@ -56,6 +56,15 @@ public interface SQLDialect {
         return "update %s set lock_heartbeat_at = ? where id = ?";
     }
 
+    /**
+     * @return update heartbeat of several locks, the second placeholder is replaced by the list of
+     * <code>?</code> parameters of the <code>in</code> clause.
+     * @since 1.0.4
+     */
+    default String getUpdateLocksHeartbeat() {
+        return "update %s set lock_heartbeat_at = ? where id in (%s)";
+    }
+
     default String getUnlock() {
         return "update %s set state = ?, unlocked_at = ? where id = ?";
     }
@@ -68,6 +77,144 @@ public interface SQLDialect {
         return "select * from %s where state = ? and lock_heartbeat_at < ?";
     }
 
+    /**
+     * @return {@link #getFindDeadLocks()} limited to a page whose size is the last parameter
+     * @since 1.0.4
+     */
+    default String getFindDeadLocksPage() {
+        return getFindDeadLocks() + " fetch first ? rows only";
+    }
+
+    /**
+     * @return {@link #getUnlockDeadLocks()} restricted to the ids of a page, the second placeholder is replaced
+     * by the list of <code>?</code> parameters of the <code>in</code> clause.
+     * @since 1.0.4
+     */
+    default String getUnlockDeadLocksIn() {
+        return getUnlockDeadLocks() + " and id in (%s)";
+    }
+
+    /**
+     * @return update taking or renewing a lease if it is unlocked, held by the instance or expired
+     * @since 1.0.4
+     */
+    default String getRenewLease() {
+        return "update %s set state = ?, locked_by = ?, lock_heartbeat_at = ? " +
+                "where id = ? and (state = ? or locked_by = ? or lock_heartbeat_at < ?)";
+    }
+
+    /**
+     * @return count of the locked rows of the given id, used to check the write lock of a read-write lock
+     * @since 1.0.4
+     */
+    default String getCountLocked() {
+        return "select count(*) from %s where id = ? and state = ?";
+    }
+
+    /**
+     * @return count of the locked rows whose id matches a <code>like</code> pattern escaped by <code>!</code>,
+     * used to count the readers of a read-write lock
+     * @since 1.0.4
+     */
+    default String getCountLockedLike() {
+        return "select count(*) from %s where id like ? escape '!' and state = ?";
+    }
+
+    /**
+     * @return ids of the locked rows of the instance whose id matches a <code>like</code> pattern escaped by
+     * <code>!</code>, used to find the permits of a semaphore held by the instance
+     * @since 1.0.4
+     */
+    default String getFindLockedLikeBy() {
+        return "select id from %s where id like ? escape '!' and state = ? and locked_by = ?";
+    }
+
+    /**
+     * @return ids of the locked rows whose id matches a <code>like</code> pattern escaped by <code>!</code>, used
+     * to find the permits of a semaphore held by any instance
+     * @since 1.0.4
+     */
+    default String getFindLockedLike() {
+        return "select id from %s where id like ? escape '!' and state = ?";
+    }
+
+    /**
+     * @return lock the unlocked rows of the given ids, used to acquire the permits of a semaphore by a single
+     * statement. The second placeholder is replaced by the list of <code>?</code> parameters of the
+     * <code>in</code> clause.
+     * @since 1.0.4
+     */
+    default String getLockIn() {
+        return "update %s set state = ?, locked_at = ?, unlocked_at = null, locked_by = ?, lock_heartbeat_at = ? " +
+                "where state = ? and id in (%s)";
+    }
+
+    /**
+     * @return {@link #getUnlock()} of several rows, the second placeholder is replaced by the list of
+     * <code>?</code> parameters of the <code>in</code> clause.
+     * @since 1.0.4
+     */
+    default String getUnlockIn() {
+        return "update %s set state = ?, unlocked_at = ? where id in (%s)";
+    }
+
+    /**
+     * @return update heartbeat of the locked rows of the instance whose id matches one of several
+     * <code>like</code> patterns escaped by <code>!</code>, used to refresh the permits of the semaphores held
+     * by the instance. The second placeholder is replaced by the <code>id like ? escape '!'</code> conditions
+     * joined by <code>or</code>.
+     * @since 1.0.4
+     */
+    default String getUpdateHeartbeatLikesBy() {
+        return "update %s set lock_heartbeat_at = ? where state = ? and locked_by = ? and (%s)";
+    }
+
+    /**
+     * @return statement trying to acquire a session scoped advisory lock without waiting, with the
+     * {@link #advisoryLockKey(String) lock key} as parameter and returning 1 if acquired, or <code>null</code> if
+     * advisory locks are not supported by the database.
+     * @since 1.0.4
+     */
+    default String getAdvisoryLock() {
+        return null;
+    }
+
+    /**
+     * @return statement releasing a session scoped advisory lock, with the {@link #advisoryLockKey(String) lock key}
+     * as parameter and returning 1 if released.
+     * @since 1.0.4
+     */
+    default String getAdvisoryUnlock() {
+        return null;
+    }
+
+    /**
+     * @since 1.0.4
+     */
+    default AdvisoryLockType advisoryLockType() {
+        return AdvisoryLockType.QUERY;
+    }
+
+    /**
+     * @param lockId the lock identifier
+     * @return the database advisory lock key of the lock id
+     * @since 1.0.4
+     */
+    default Object advisoryLockKey(String lockId) {
+        return lockId;
+    }
+
+    enum AdvisoryLockType {
+        /**
+         * Query returning a single row with a single column
+         */
+        QUERY,
+        /**
+         * Callable statement with the result as first out parameter
+         */
+        CALL
+    }
+
     enum UpsertType {
         ON_CONFLICT, MERGE, SQL_FUNCTION
     }
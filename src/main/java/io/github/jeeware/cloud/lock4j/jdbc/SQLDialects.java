@@ -13,10 +13,44 @@
 
 package io.github.jeeware.cloud.lock4j.jdbc;
 
+import io.github.jeeware.cloud.lock4j.util.Utils;
+
 public enum SQLDialects implements SQLDialect {
 
     H2, //
-    ORACLE, //
+    ORACLE {
+        /**
+         * Lock names are mapped to unique lock handles by <code>dbms_lock.allocate_unique</code> so distinct lock
+         * ids never share the same user lock, as it could happen by hashing them to the user lock ids range.
+         */
+        @Override
+        public String getAdvisoryLock() {
+            return "declare function request(name varchar2) return integer is handle varchar2(128); begin "
+                    + "dbms_lock.allocate_unique(name, handle); "
+                    + "return dbms_lock.request(handle, dbms_lock.x_mode, 0, false); end; "
+                    + "begin ? := case request(?) when 0 then 1 else 0 end; end;";
+        }
+
+        @Override
+        public String getAdvisoryUnlock() {
+            return "declare function release(name varchar2) return integer is handle varchar2(128); begin "
+                    + "dbms_lock.allocate_unique(name, handle); return dbms_lock.release(handle); end; "
+                    + "begin ? := case release(?) when 0 then 1 else 0 end; end;";
+        }
+
+        @Override
+        public AdvisoryLockType advisoryLockType() {
+            return AdvisoryLockType.CALL;
+        }
+
+        /**
+         * @return the lock id or its truncated and hashed form if longer than 128 characters (Oracle lock name limit)
+         */
+        @Override
+        public Object advisoryLockKey(String lockId) {
+            return truncate(lockId, 128);
+        }
+    },
     POSTGRESQL {
         @Override
         public String getLock() {
@@ -30,6 +64,21 @@ public enum SQLDialects implements SQLDialect {
         public UpsertType upsertType() {
             return UpsertType.ON_CONFLICT;
         }
+
+        @Override
+        public String getAdvisoryLock() {
+            return "select case when pg_try_advisory_lock(?) then 1 else 0 end";
+        }
+
+        @Override
+        public String getAdvisoryUnlock() {
+            return "select case when pg_advisory_unlock(?) then 1 else 0 end";
+        }
+
+        @Override
+        public Object advisoryLockKey(String lockId) {
+            return Utils.hash64(lockId);
+        }
     },
     HSQLDB {
         @Override
@@ -71,5 +120,35 @@ public enum SQLDialects implements SQLDialect {
         public UpsertType upsertType() {
             return UpsertType.SQL_FUNCTION;
         }
+
+        @Override
+        public String getFindDeadLocksPage() {
+            return getFindDeadLocks() + " limit ?";
+        }
+
+        @Override
+        public String getAdvisoryLock() {
+            return "select coalesce(get_lock(?, 0), 0)";
+        }
+
+        @Override
+        public String getAdvisoryUnlock() {
+            return "select coalesce(release_lock(?), 0)";
+        }
+
+        /**
+         * @return the lock id or its truncated and hashed form if longer than 64 characters (MySQL limit)
+         */
+        @Override
+        public Object advisoryLockKey(String lockId) {
+            return truncate(lockId, 64);
+        }
+    };
+
+    private static String truncate(String lockId, int maxLength) {
+        if (lockId.length() <= maxLength) {
+            return lockId;
+        }
+        return lockId.substring(0, maxLength - 17) + ':' + String.format("%016x", Utils.hash64(lockId));
     }
 }
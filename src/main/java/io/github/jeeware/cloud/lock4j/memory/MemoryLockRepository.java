@@ -0,0 +1,451 @@
+/*
+ * Copyright 2020-2026 Hichem BOURADA and other authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jeeware.cloud.lock4j.memory;
+
+import io.github.jeeware.cloud.lock4j.LockRepository;
+import io.github.jeeware.cloud.lock4j.Watchable;
+import io.github.jeeware.cloud.lock4j.support.AbstractWatchableLockRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+
+/**
+ * {@link LockRepository} keeping the locks in memory, shared by the registries of a single JVM, for tests and
+ * single node deployments without any database.
+ * <p>
+ * Each lock, readers of a read-write lock or holders of a semaphore is an immutable entry of a concurrent map
+ * replaced by compare-and-set, so that no call ever blocks, and waiters are signalled as soon as a lock is
+ * released. Released locks keep their acquisition time, as the unlocked rows of {@code JdbcLockRepository}, until
+ * the dead lock timeout and the largest clock skew elapsed to reject the acquisitions with clock skew.
+ *
+ * @author hbourada
+ * @since 1.0.4
+ */
+public class MemoryLockRepository extends AbstractWatchableLockRepository {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MemoryLockRepository.class);
+
+    private final ConcurrentMap<String, LockEntry> locks = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, Holders> readers = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, Holders> semaphores = new ConcurrentHashMap<>();
+
+    private final AtomicLong fencingTokens = new AtomicLong();
+
+    private final AtomicLong maxClockSkewMillis = new AtomicLong();
+
+    private MemoryWatchable watchable;
+
+    @Override
+    public boolean acquireLock(String lockId, String instanceId) {
+        return acquireLockWithClockSkew(lockId, instanceId, 0);
+    }
+
+    /**
+     * The lock is acquired if it is unlocked and was not acquired within the clock skew before or after now.
+     */
+    @Override
+    public boolean acquireLockWithClockSkew(String lockId, String instanceId, long clockSkewMillis) {
+        if (clockSkewMillis > 0) {
+            maxClockSkewMillis.accumulateAndGet(clockSkewMillis, Math::max);
+        }
+        final long now = System.currentTimeMillis();
+        return update(locks, lockId, lock -> lock == null || lock.isAcquirable(now, clockSkewMillis)
+                ? new LockEntry(instanceId, now, now, fencingTokens.incrementAndGet()) : lock);
+    }
+
+    /**
+     * Completed in the caller thread as the acquisition never blocks.
+     */
+    @Override
+    public CompletableFuture<Boolean> acquireLockAsync(String lockId, String instanceId, Executor executor) {
+        return CompletableFuture.completedFuture(acquireLock(lockId, instanceId));
+    }
+
+    /**
+     * Completed in the caller thread as the acquisition never blocks.
+     */
+    @Override
+    public CompletableFuture<Boolean> acquireLockWithClockSkewAsync(String lockId, String instanceId,
+                                                                    long clockSkewMillis, Executor executor) {
+        return CompletableFuture.completedFuture(acquireLockWithClockSkew(lockId, instanceId, clockSkewMillis));
+    }
+
+    @Override
+    public void refreshActiveLock(String lockId, String instanceId) {
+        if (refresh(lockId, instanceId, System.currentTimeMillis())) {
+            LOGGER.debug("Lock {} was refreshed for instanceId: {}", lockId, instanceId);
+        } else {
+            LOGGER.warn("Lock {} was not refreshed for instanceId: {}", lockId, instanceId);
+        }
+    }
+
+    @Override
+    public void refreshActiveLocks(Collection<String> lockIds, String instanceId) {
+        final long now = System.currentTimeMillis();
+        int count = 0;
+        for (String lockId : lockIds) {
+            if (refresh(lockId, instanceId, now)) {
+                count++;
+            }
+        }
+
+        if (count == lockIds.size()) {
+            LOGGER.debug("{} locks was refreshed for instanceId: {}", count, instanceId);
+        } else {
+            LOGGER.warn("{}/{} locks was refreshed for instanceId: {}", count, lockIds.size(), instanceId);
+        }
+    }
+
+    private boolean refresh(String lockId, String instanceId, long now) {
+        return update(locks, lockId, lock -> lock != null && lock.isHeldBy(instanceId) ? lock.refresh(now) : lock);
+    }
+
+    @Override
+    public long getFencingToken(String lockId, String instanceId) {
+        final LockEntry lock = locks.get(lockId);
+        return lock != null && lock.isHeldBy(instanceId) ? lock.fencingToken : 0;
+    }
+
+    /**
+     * @return the owner instance id of the lock, null if not locked
+     */
+    public String getLockOwner(String lockId) {
+        final LockEntry lock = locks.get(lockId);
+        return lock != null ? lock.lockedBy : null;
+    }
+
+    /**
+     * Only the owner instance can release the lock.
+     */
+    @Override
+    public void releaseLock(String lockId, String instanceId) {
+        if (update(locks, lockId, lock -> lock != null && lock.isHeldBy(instanceId) ? lock.release() : lock)) {
+            LOGGER.debug("Lock id: {} was released for instanceId: {}", lockId, instanceId);
+            signal(lockId);
+        }
+    }
+
+    /**
+     * Completed in the caller thread as the release never blocks.
+     */
+    @Override
+    public CompletableFuture<Void> releaseLockAsync(String lockId, String instanceId, Executor executor) {
+        releaseLock(lockId, instanceId);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public void releaseDeadLocks(long timeoutMillis) {
+        final long now = System.currentTimeMillis();
+        final long deadline = now - timeoutMillis;
+        final long unlockedDeadline = now - Math.max(timeoutMillis, maxClockSkewMillis.get());
+        int count = 0;
+
+        for (Map.Entry<String, LockEntry> entry : locks.entrySet()) {
+            final String lockId = entry.getKey();
+            final LockEntry lock = entry.getValue();
+            if (lock.isLocked()) {
+                if (lock.heartbeatAt < deadline && locks.replace(lockId, lock, lock.release())) {
+                    LOGGER.debug("Dead lock {} will be released => {}", lockId, lock);
+                    count++;
+                    signal(lockId);
+                }
+            } else if (lock.lockedAt < unlockedDeadline) {
+                locks.remove(lockId, lock);
+            }
+        }
+        count += releaseDeadHolders(readers, deadline);
+        count += releaseDeadHolders(semaphores, deadline);
+
+        if (count > 0) {
+            LOGGER.info("{} locks was released after timeout: {}ms", count, timeoutMillis);
+        }
+    }
+
+    private int releaseDeadHolders(ConcurrentMap<String, Holders> holdersById, long deadline) {
+        int count = 0;
+        for (String id : holdersById.keySet()) {
+            if (update(holdersById, id, holders -> holders != null ? holders.releaseDead(deadline) : null)) {
+                count++;
+                signal(id);
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public boolean acquireLease(String leaseId, String instanceId, long leaseMillis) {
+        return acquireOwnedLock(leaseId, instanceId, System.currentTimeMillis() - leaseMillis);
+    }
+
+    /**
+     * The reader is added then the write lock is checked again, while a writer locks the write lock then checks
+     * the readers, so that a reader and a writer never both succeed.
+     */
+    @Override
+    public boolean acquireReadLock(String lockId, String instanceId) {
+        if (isLocked(lockId)) {
+            return false;
+        }
+        final long now = System.currentTimeMillis();
+        update(readers, lockId, holders -> {
+            if (holders == null) {
+                return Holders.NONE.acquire(instanceId, 1, now);
+            }
+            return holders.isHeldBy(instanceId) ? holders.refresh(instanceId, now)
+                    : holders.acquire(instanceId, 1, now);
+        });
+        if (isLocked(lockId)) {
+            releaseReadLock(lockId, instanceId);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * The write lock is kept while readers remain, so that new readers are rejected.
+     */
+    @Override
+    public boolean acquireWriteLock(String lockId, String instanceId) {
+        return acquireOwnedLock(lockId, instanceId, Long.MIN_VALUE) && !readers.containsKey(lockId);
+    }
+
+    @Override
+    public void refreshReadLocks(Collection<String> lockIds, String instanceId) {
+        final long now = System.currentTimeMillis();
+        for (String lockId : lockIds) {
+            update(readers, lockId, holders -> holders != null ? holders.refresh(instanceId, now) : null);
+        }
+    }
+
+    @Override
+    public void releaseReadLock(String lockId, String instanceId) {
+        if (update(readers, lockId, holders -> holders != null ? holders.release(instanceId, 1) : null)) {
+            LOGGER.debug("Read lock id: {} was released for instanceId: {}", lockId, instanceId);
+            signal(lockId);
+        }
+    }
+
+    @Override
+    public boolean acquirePermits(String semaphoreId, String instanceId, int permits, int maxPermits) {
+        final long now = System.currentTimeMillis();
+        return update(semaphores, semaphoreId, holders -> {
+            final Holders current = holders != null ? holders : Holders.NONE;
+            return current.permits + permits <= maxPermits ? current.acquire(instanceId, permits, now) : holders;
+        });
+    }
+
+    @Override
+    public void refreshPermits(Collection<String> semaphoreIds, String instanceId) {
+        final long now = System.currentTimeMillis();
+        for (String semaphoreId : semaphoreIds) {
+            update(semaphores, semaphoreId, holders -> holders != null ? holders.refresh(instanceId, now) : null);
+        }
+    }
+
+    @Override
+    public void releasePermits(String semaphoreId, String instanceId, int permits) {
+        if (update(semaphores, semaphoreId, holders -> holders != null ? holders.release(instanceId, permits) : null)) {
+            LOGGER.debug("{} permits of semaphore id: {} was released for instanceId: {}", permits, semaphoreId,
+                    instanceId);
+            signalAll(semaphoreId);
+        }
+    }
+
+    private boolean isLocked(String lockId) {
+        final LockEntry lock = locks.get(lockId);
+        return lock != null && lock.isLocked();
+    }
+
+    /**
+     * Acquire the lock if it is unlocked, already held by the instance or its heartbeat is before the given time.
+     */
+    private boolean acquireOwnedLock(String lockId, String instanceId, long expiredBefore) {
+        final long now = System.currentTimeMillis();
+        return update(locks, lockId, lock -> {
+            if (lock != null && lock.isHeldBy(instanceId)) {
+                return lock.refresh(now);
+            }
+            if (lock == null || !lock.isLocked() || lock.heartbeatAt < expiredBefore) {
+                return new LockEntry(instanceId, now, now, fencingTokens.incrementAndGet());
+            }
+            return lock;
+        });
+    }
+
+    /**
+     * Replace by compare-and-set the entry of the id by the result of the function, a null result removing the
+     * entry, until no concurrent update occurred. The function may be applied several times.
+     *
+     * @return true iff the entry was changed, false if the function returned the current entry
+     */
+    private static <T> boolean update(ConcurrentMap<String, T> entries, String id, UnaryOperator<T> function) {
+        while (true) {
+            final T current = entries.get(id);
+            final T updated = function.apply(current);
+            if (updated == current) {
+                return false;
+            }
+            final boolean replaced;
+            if (current == null) {
+                replaced = entries.putIfAbsent(id, updated) == null;
+            } else if (updated == null) {
+                replaced = entries.remove(id, current);
+            } else {
+                replaced = entries.replace(id, current, updated);
+            }
+            if (replaced) {
+                return true;
+            }
+        }
+    }
+
+    private void signal(String lockId) {
+        if (watchable != null) {
+            watchable.signal(lockId);
+        }
+    }
+
+    private void signalAll(String lockId) {
+        if (watchable != null) {
+            watchable.signalAll(lockId);
+        }
+    }
+
+    @Override
+    protected Watchable createWatchable() {
+        watchable = new MemoryWatchable();
+        return watchable;
+    }
+
+    /**
+     * Lock state, unlocked when not locked by any instance. Entries are compared by identity.
+     */
+    @RequiredArgsConstructor
+    private static final class LockEntry {
+        final String lockedBy;
+        final long lockedAt;
+        final long heartbeatAt;
+        final long fencingToken;
+
+        boolean isLocked() {
+            return lockedBy != null;
+        }
+
+        boolean isHeldBy(String instanceId) {
+            return instanceId.equals(lockedBy);
+        }
+
+        boolean isAcquirable(long now, long clockSkewMillis) {
+            return !isLocked() && (clockSkewMillis <= 0 || lockedAt < now - clockSkewMillis
+                    || lockedAt > now + clockSkewMillis);
+        }
+
+        LockEntry refresh(long now) {
+            return new LockEntry(lockedBy, lockedAt, now, fencingToken);
+        }
+
+        LockEntry release() {
+            return new LockEntry(null, lockedAt, heartbeatAt, 0);
+        }
+
+        @Override
+        public String toString() {
+            return "LockEntry{lockedBy=" + lockedBy + ", lockedAt=" + lockedAt + ", heartbeatAt=" + heartbeatAt + '}';
+        }
+    }
+
+    /**
+     * Permits held by each instance, a reader of a read-write lock holding a single permit. Entries are compared
+     * by identity and never empty, the release of the last permit removing the entry.
+     */
+    @RequiredArgsConstructor
+    private static final class Holders {
+        static final Holders NONE = new Holders(Collections.emptyMap(), 0);
+
+        final Map<String, Holder> byInstance;
+        final int permits;
+
+        boolean isHeldBy(String instanceId) {
+            return byInstance.containsKey(instanceId);
+        }
+
+        Holders acquire(String instanceId, int count, long now) {
+            final Holder holder = byInstance.get(instanceId);
+            final Map<String, Holder> holders = new HashMap<>(byInstance);
+            holders.put(instanceId, new Holder(holder != null ? holder.permits + count : count, now));
+            return new Holders(holders, permits + count);
+        }
+
+        Holders refresh(String instanceId, long now) {
+            final Holder holder = byInstance.get(instanceId);
+            if (holder == null) {
+                return this;
+            }
+            final Map<String, Holder> holders = new HashMap<>(byInstance);
+            holders.put(instanceId, new Holder(holder.permits, now));
+            return new Holders(holders, permits);
+        }
+
+        /**
+         * @return the remaining holders, null if none
+         */
+        Holders release(String instanceId, int count) {
+            final Holder holder = byInstance.get(instanceId);
+            if (holder == null) {
+                return this;
+            }
+            final Map<String, Holder> holders = new HashMap<>(byInstance);
+            if (count < holder.permits) {
+                holders.put(instanceId, new Holder(holder.permits - count, holder.heartbeatAt));
+                return new Holders(holders, permits - count);
+            }
+            holders.remove(instanceId);
+            return holders.isEmpty() ? null : new Holders(holders, permits - holder.permits);
+        }
+
+        /**
+         * @return the holders whose heartbeat is not before the deadline, null if none
+         */
+        Holders releaseDead(long deadline) {
+            Holders holders = this;
+            for (Map.Entry<String, Holder> entry : byInstance.entrySet()) {
+                if (entry.getValue().heartbeatAt < deadline && holders != null) {
+                    holders = holders.release(entry.getKey(), entry.getValue().permits);
+                }
+            }
+            return holders;
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static final class Holder {
+        final int permits;
+        final long heartbeatAt;
+    }
+
+}
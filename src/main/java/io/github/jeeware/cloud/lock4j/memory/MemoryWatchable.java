@@ -0,0 +1,41 @@
+/*
+ * Copyright 2020-2026 Hichem BOURADA and other authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jeeware.cloud.lock4j.memory;
+
+import io.github.jeeware.cloud.lock4j.support.AbstractWatchable;
+
+/**
+ * Watchable of the in-memory locks: there is no event to listen, the repository signals the released locks
+ * itself, so that waiters are woken up as soon as the release returns.
+ *
+ * @author hbourada
+ * @since 1.0.4
+ */
+final class MemoryWatchable extends AbstractWatchable {
+
+    MemoryWatchable() {
+        this.active = true;
+    }
+
+    @Override
+    public void run() {
+        // signals are sent by the repository, nothing to listen
+    }
+
+    @Override
+    public void close() {
+        this.active = false;
+    }
+
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2020-2026 Hichem BOURADA and other authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jeeware.cloud.lock4j.micrometer;
+
+import io.github.jeeware.cloud.lock4j.LockMetricsListener;
+import io.github.jeeware.cloud.lock4j.LockRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.Builder;
+import lombok.NonNull;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import static io.github.jeeware.cloud.lock4j.util.Utils.defaultIfNull;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Micrometer {@link LockMetricsListener} recording the following meters:
+ * <ul>
+ *     <li>{@code lock4j.lock.wait}: local (JVM) lock wait time</li>
+ *     <li>{@code lock4j.lock.acquire}: lock acquisition time tagged by {@code result}</li>
+ *     <li>{@code lock4j.lock.held}: lock hold time</li>
+ *     <li>{@code lock4j.lock.await}: lock release wait time tagged by {@code result} (wake-up or timeout)</li>
+ *     <li>{@code lock4j.lock.retries}: retries count tagged by {@code exception}</li>
+ *     <li>{@code lock4j.repository.calls}: repository round-trip time tagged by {@code backend},
+ *     {@code operation}, {@code outcome} and {@code exception}</li>
+ * </ul>
+ * Lock meters are tagged by {@code lock}, computed by a function from the lock id which must return a bounded
+ * set of values, by default the lock id prefix until the first {@code ':'} or {@code '/'}, or {@code other} for
+ * the lock ids without separator.
+ *
+ * @author hbourada
+ * @since 1.0.4
+ */
+public class MicrometerLockMetricsListener implements LockMetricsListener {
+
+    public static final String DEFAULT_LOCK_ID_SEPARATORS = ":/";
+
+    static final String NONE = "none";
+
+    static final String OTHER = "other";
+
+    private final MeterRegistry registry;
+
+    private final Function<String, String> lockTag;
+
+    private final Tags tags;
+
+    private final ConcurrentMap<String, LockMeters> lockMeters = new ConcurrentHashMap<>();
+
+    private final Map<Operation, Timer> successCalls = new EnumMap<>(Operation.class);
+
+    @Builder
+    private MicrometerLockMetricsListener(@NonNull MeterRegistry registry, String backend,
+                                          Function<String, String> lockTag, Iterable<Tag> tags) {
+        this.registry = registry;
+        this.lockTag = defaultIfNull(lockTag, lockIdPrefix(DEFAULT_LOCK_ID_SEPARATORS));
+        this.tags = Tags.of(defaultIfNull(tags, Tags.empty())).and("backend", defaultIfNull(backend, NONE));
+
+        for (Operation operation : Operation.values()) {
+            successCalls.put(operation, repositoryCallTimer(operation, "success", NONE));
+        }
+    }
+
+    /**
+     * @param separators characters ending the lock id prefix
+     * @return a function returning the lock id until the first separator or {@code other} if no separator found,
+     * so that lock ids without prefix do not create a tag each
+     */
+    public static Function<String, String> lockIdPrefix(String separators) {
+        return lockId -> {
+            for (int i = 0; i < lockId.length(); i++) {
+                if (separators.indexOf(lockId.charAt(i)) >= 0) {
+                    return lockId.substring(0, i);
+                }
+            }
+            return OTHER;
+        };
+    }
+
+    /**
+     * @param repository the lock repository
+     * @return backend tag value derived from the repository class name, e.g. {@code redis} for
+     * {@code RedisLockRepository}
+     */
+    public static String backendOf(LockRepository repository) {
+        final String name = repository.getClass().getSimpleName();
+        final int suffix = name.indexOf("LockRepository");
+        return (suffix > 0 ? name.substring(0, suffix) : name).toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public void onLocalLockWait(String lockId, long waitNanos) {
+        meters(lockId).localWait.record(waitNanos, NANOSECONDS);
+    }
+
+    @Override
+    public void onAcquire(String lockId, long acquireNanos, boolean acquired) {
+        final LockMeters meters = meters(lockId);
+        (acquired ? meters.acquired : meters.notAcquired).record(acquireNanos, NANOSECONDS);
+    }
+
+    @Override
+    public void onRelease(String lockId, long heldNanos) {
+        meters(lockId).held.record(heldNanos, NANOSECONDS);
+    }
+
+    @Override
+    public void onAwaitRelease(String lockId, long awaitNanos, boolean timedOut) {
+        final LockMeters meters = meters(lockId);
+        (timedOut ? meters.awaitTimeout : meters.awaitWakeUp).record(awaitNanos, NANOSECONDS);
+    }
+
+    @Override
+    public void onRetry(String lockId, Exception exception) {
+        meters(lockId).retries(exception).increment();
+    }
+
+    @Override
+    public void onRepositoryCall(Operation operation, String lockId, long nanos, Throwable error) {
+        final Timer timer = error == null ? successCalls.get(operation)
+                : repositoryCallTimer(operation, "error", error.getClass().getSimpleName());
+        timer.record(nanos, NANOSECONDS);
+    }
+
+    private Timer repositoryCallTimer(Operation operation, String outcome, String exception) {
+        return Timer.builder("lock4j.repository.calls")
+                .description("Lock repository round-trip time")
+                .tags(tags)
+                .tag("operation", operation.name().toLowerCase(Locale.ROOT))
+                .tag("outcome", outcome)
+                .tag("exception", exception)
+                .register(registry);
+    }
+
+    private LockMeters meters(String lockId) {
+        final String lock = lockTag.apply(lockId);
+        final LockMeters meters = lockMeters.get(lock);
+        return meters != null ? meters : lockMeters.computeIfAbsent(lock, LockMeters::new);
+    }
+
+    private final class LockMeters {
+
+        final Timer localWait;
+
+        final Timer acquired;
+
+        final Timer notAcquired;
+
+        final Timer held;
+
+        final Timer awaitWakeUp;
+
+        final Timer awaitTimeout;
+
+        final Tags lockTags;
+
+        final ConcurrentMap<Class<?>, Counter> retries = new ConcurrentHashMap<>();
+
+        LockMeters(String lock) {
+            lockTags = tags.and("lock", lock);
+            localWait = timer("lock4j.lock.wait", "Local lock wait time", lockTags);
+            acquired = timer("lock4j.lock.acquire", "Lock acquisition time", lockTags.and("result", "acquired"));
+            notAcquired = timer("lock4j.lock.acquire", "Lock acquisition time", lockTags.and("result", "not_acquired"));
+            held = timer("lock4j.lock.held", "Lock hold time", lockTags);
+            awaitWakeUp = timer("lock4j.lock.await", "Lock release wait time", lockTags.and("result", "wake_up"));
+            awaitTimeout = timer("lock4j.lock.await", "Lock release wait time", lockTags.and("result", "timeout"));
+        }
+
+        Counter retries(Exception exception) {
+            final Counter counter = retries.get(exception.getClass());
+            return counter != null ? counter : retries.computeIfAbsent(exception.getClass(),
+                    type -> Counter.builder("lock4j.lock.retries")
+                            .description("Lock operation retries")
+                            .tags(lockTags)
+                            .tag("exception", type.getSimpleName())
+                            .register(registry));
+        }
+
+        private Timer timer(String name, String description, Tags timerTags) {
+            return Timer.builder(name)
+                    .description(description)
+                    .tags(timerTags)
+                    .register(registry);
+        }
+    }
+
+}
@@ -24,6 +24,8 @@ import io.github.jeeware.cloud.lock4j.ExceptionTranslator;
 import io.github.jeeware.cloud.lock4j.LockRepository;
 import io.github.jeeware.cloud.lock4j.Watchable;
 import io.github.jeeware.cloud.lock4j.support.AbstractWatchableLockRepository;
+import io.github.jeeware.cloud.lock4j.support.ReadWriteLockIds;
+import io.github.jeeware.cloud.lock4j.support.SemaphoreIds;
 import org.apache.commons.lang3.Validate;
 import org.bson.Document;
 import org.bson.codecs.configuration.CodecRegistry;
@@ -35,17 +37,29 @@ import org.slf4j.LoggerFactory;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Supplier;
+import java.util.regex.Pattern;
 
 import static com.mongodb.client.model.Filters.and;
 import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.expr;
 import static com.mongodb.client.model.Filters.gt;
+import static com.mongodb.client.model.Filters.in;
 import static com.mongodb.client.model.Filters.lt;
+import static com.mongodb.client.model.Filters.lte;
+import static com.mongodb.client.model.Filters.ne;
 import static com.mongodb.client.model.Filters.or;
+import static com.mongodb.client.model.Filters.regex;
 import static com.mongodb.client.model.Updates.combine;
+import static com.mongodb.client.model.Updates.inc;
+import static com.mongodb.client.model.Updates.pull;
+import static com.mongodb.client.model.Updates.push;
 import static com.mongodb.client.model.Updates.set;
+import static com.mongodb.client.model.Updates.setOnInsert;
 import static org.bson.codecs.configuration.CodecRegistries.fromProviders;
 import static org.bson.codecs.configuration.CodecRegistries.fromRegistries;
 
@@ -63,25 +77,52 @@ public class MongoLockRepository extends AbstractWatchableLockRepository {
 
     static final int LOCKED = 1;
 
+    /**
+     * Default maximum number of dead locks released by a single update.
+     */
+    public static final int DEFAULT_DEAD_LOCKS_PAGE_SIZE = 500;
+
+    /**
+     * Array of the holders of a semaphore document, each holder having the fields <code>locked_by</code>,
+     * <code>permits</code> and <code>lock_heartbeat_at</code>.
+     */
+    private static final String HOLDERS_FIELD = "holders";
+
+    private static final String PERMITS_FIELD = "permits";
+
     private final MongoCollection<LockEntity> collection;
 
+    private final MongoCollection<Document> semaphores;
+
     private final ExceptionTranslator<MongoException, ? extends RuntimeException> translator;
 
     private final UpdateOptions updateOptions;
 
     private final UpdateOptions upsertOptions;
 
+    private int deadLocksPageSize = DEFAULT_DEAD_LOCKS_PAGE_SIZE;
+
     public MongoLockRepository(MongoDatabase database,
                                String collectionName,
                                ExceptionTranslator<MongoException, ? extends RuntimeException> translator) {
         Objects.requireNonNull(database, "database is null");
         Validate.notBlank(collectionName, "collectionName is blank");
         this.collection = getMongoCollection(database, collectionName);
+        this.semaphores = collection.withDocumentClass(Document.class);
         this.translator = Objects.requireNonNull(translator, "translator is null");
         this.updateOptions = new UpdateOptions();
         this.upsertOptions = new UpdateOptions().upsert(true);
     }
 
+    /**
+     * @param deadLocksPageSize maximum number of dead locks released by a single update
+     * @since 1.0.4
+     */
+    public void setDeadLocksPageSize(int deadLocksPageSize) {
+        Validate.isTrue(deadLocksPageSize > 0, "deadLocksPageSize must be positive: %d", deadLocksPageSize);
+        this.deadLocksPageSize = deadLocksPageSize;
+    }
+
     private static MongoCollection<LockEntity> getMongoCollection(MongoDatabase database, String collectionName) {
         CodecRegistry codecRegistry = fromRegistries(database.getCodecRegistry(),
                 fromProviders(PojoCodecProvider.builder().register(LockEntity.class).build()));
@@ -136,6 +177,20 @@ public class MongoLockRepository extends AbstractWatchableLockRepository {
         }
     }
 
+    @Override
+    public void refreshActiveLocks(Collection<String> lockIds, String instanceId) {
+        final Bson filter = in(LockEntity.ID_FIELD, lockIds);
+        final Bson update = set(LockEntity.LOCK_HEARTBEAT_AT_FIELD, Instant.now());
+        final UpdateResult result = execute(() -> collection.updateMany(filter, update, updateOptions));
+
+        if (result.getModifiedCount() == lockIds.size()) {
+            LOGGER.debug("{} locks was refreshed for instanceId: {}", result.getModifiedCount(), instanceId);
+        } else {
+            LOGGER.warn("{}/{} locks was refreshed for instanceId: {}", result.getModifiedCount(), lockIds.size(),
+                    instanceId);
+        }
+    }
+
     @Override
     public void releaseLock(String lockId, String instanceId) {
         final Bson filter = eq(lockId);
@@ -154,19 +209,181 @@ public class MongoLockRepository extends AbstractWatchableLockRepository {
         final Instant timeout = now.minusMillis(timeoutMillis);
         final Bson filter = and(eq(LockEntity.STATE_FIELD, LOCKED), lt(LockEntity.LOCK_HEARTBEAT_AT_FIELD, timeout));
         final Bson update = combine(set(LockEntity.STATE_FIELD, UNLOCKED), set(LockEntity.UNLOCKED_AT_FIELD, now));
+        long count = 0;
+        List<LockEntity> locks;
 
-        if (LOGGER.isDebugEnabled()) {
-            final List<LockEntity> locks = execute(() -> collection.find(filter).into(new ArrayList<>()));
-            if (!locks.isEmpty()) {
-                LOGGER.debug("{} dead locks will be released => {}", locks.size(), locks);
+        // release dead locks batch by batch
+        do {
+            locks = execute(() -> collection.find(filter).limit(deadLocksPageSize).into(new ArrayList<>()));
+            if (locks.isEmpty()) {
+                break;
             }
+            LOGGER.debug("{} dead locks will be released => {}", locks.size(), locks);
+            final List<String> ids = new ArrayList<>(locks.size());
+            locks.forEach(lock -> ids.add(lock.getId()));
+            final Bson pageFilter = and(filter, in(LockEntity.ID_FIELD, ids));
+            count += execute(() -> collection.updateMany(pageFilter, update, updateOptions)).getModifiedCount();
+        } while (locks.size() == deadLocksPageSize);
+
+        // reclaim the permits of the dead holders of semaphores
+        final Bson deadHolders = lt(HOLDERS_FIELD + '.' + LockEntity.LOCK_HEARTBEAT_AT_FIELD, timeout);
+        final Bson pullDeadHolders = combine(pull(HOLDERS_FIELD, lt(LockEntity.LOCK_HEARTBEAT_AT_FIELD, timeout)),
+                set(LockEntity.STATE_FIELD, UNLOCKED));
+        count += execute(() -> semaphores.updateMany(deadHolders, pullDeadHolders, updateOptions)).getModifiedCount();
+
+        if (count > 0) {
+            LOGGER.info("{} locks was released after timeout: {}ms", count, timeoutMillis);
         }
+    }
 
-        final UpdateResult result = execute(() -> collection.updateMany(filter, update, updateOptions));
+    @Override
+    public boolean acquireLease(String leaseId, String instanceId, long leaseMillis) {
+        final Instant now = Instant.now();
+        return acquireOwnedLock(leaseId, instanceId, now, lt(LockEntity.LOCK_HEARTBEAT_AT_FIELD,
+                now.minusMillis(leaseMillis)));
+    }
 
-        if (result.getModifiedCount() > 0) {
-            LOGGER.info("{} locks was released after timeout: {}ms", result.getModifiedCount(), timeoutMillis);
+    /**
+     * A reader document is upserted then the write lock is checked again, while a writer locks the write lock
+     * document then counts the readers, so that a reader and a writer never both succeed.
+     */
+    @Override
+    public boolean acquireReadLock(String lockId, String instanceId) {
+        if (isLocked(lockId)) {
+            return false;
+        }
+        final String readerId = ReadWriteLockIds.readerId(lockId, instanceId);
+        if (!acquireOwnedLock(readerId, instanceId, Instant.now(), null)) {
+            return false;
         }
+        if (isLocked(lockId)) {
+            releaseLock(readerId, instanceId);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * The write lock document is kept locked while readers remain, so that new readers are rejected.
+     */
+    @Override
+    public boolean acquireWriteLock(String lockId, String instanceId) {
+        if (!acquireOwnedLock(lockId, instanceId, Instant.now(), null)) {
+            return false;
+        }
+        final String readersPattern = '^' + Pattern.quote(ReadWriteLockIds.readersPrefix(lockId));
+        final Bson readers = and(regex(LockEntity.ID_FIELD, readersPattern), eq(LockEntity.STATE_FIELD, LOCKED));
+        return execute(() -> collection.countDocuments(readers)) == 0;
+    }
+
+    @Override
+    public void refreshReadLocks(Collection<String> lockIds, String instanceId) {
+        final List<String> readerIds = new ArrayList<>(lockIds.size());
+        lockIds.forEach(lockId -> readerIds.add(ReadWriteLockIds.readerId(lockId, instanceId)));
+        refreshActiveLocks(readerIds, instanceId);
+    }
+
+    @Override
+    public void releaseReadLock(String lockId, String instanceId) {
+        releaseLock(ReadWriteLockIds.readerId(lockId, instanceId), instanceId);
+    }
+
+    /**
+     * A semaphore is a single document whose holders array is updated only if the sum of the held permits stays
+     * within the semaphore permits, the document state is set to locked on acquire and to unlocked on release
+     * so that waiters are signalled.
+     */
+    @Override
+    public boolean acquirePermits(String semaphoreId, String instanceId, int permits, int maxPermits) {
+        final String id = SemaphoreIds.permitsPrefix(semaphoreId);
+        final Instant now = Instant.now();
+        final Bson available = expr(new Document("$lte", Arrays.asList(new Document("$add",
+                Arrays.asList(new Document("$sum", '$' + HOLDERS_FIELD + '.' + PERMITS_FIELD), permits)), maxPermits)));
+        final String holderField = HOLDERS_FIELD + '.' + LockEntity.LOCKED_BY_FIELD;
+
+        return execute(() -> {
+            // already a holder
+            final Bson heldFilter = and(eq(id), eq(holderField, instanceId), available);
+            final Bson heldUpdate = combine(inc(HOLDERS_FIELD + ".$." + PERMITS_FIELD, permits),
+                    set(HOLDERS_FIELD + ".$." + LockEntity.LOCK_HEARTBEAT_AT_FIELD, now),
+                    set(LockEntity.STATE_FIELD, LOCKED));
+            if (semaphores.updateOne(heldFilter, heldUpdate, updateOptions).getMatchedCount() > 0) {
+                return true;
+            }
+            // new holder
+            final Document holder = new Document(LockEntity.LOCKED_BY_FIELD, instanceId)
+                    .append(PERMITS_FIELD, permits)
+                    .append(LockEntity.LOCK_HEARTBEAT_AT_FIELD, now);
+            final Bson holderFilter = and(eq(id), ne(holderField, instanceId), available);
+            final Bson holderUpdate = combine(push(HOLDERS_FIELD, holder), set(LockEntity.STATE_FIELD, LOCKED));
+            if (semaphores.updateOne(holderFilter, holderUpdate, updateOptions).getMatchedCount() > 0) {
+                return true;
+            }
+            // first holder of a new semaphore
+            final Bson insert = combine(setOnInsert(HOLDERS_FIELD, Collections.singletonList(holder)),
+                    setOnInsert(LockEntity.STATE_FIELD, LOCKED));
+            return semaphores.updateOne(eq(id), insert, upsertOptions).getUpsertedId() != null;
+        });
+    }
+
+    @Override
+    public void refreshPermits(Collection<String> semaphoreIds, String instanceId) {
+        final List<String> ids = new ArrayList<>(semaphoreIds.size());
+        semaphoreIds.forEach(semaphoreId -> ids.add(SemaphoreIds.permitsPrefix(semaphoreId)));
+        final Bson update = set(HOLDERS_FIELD + ".$[holder]." + LockEntity.LOCK_HEARTBEAT_AT_FIELD, Instant.now());
+        final UpdateOptions options = new UpdateOptions()
+                .arrayFilters(Collections.singletonList(eq("holder." + LockEntity.LOCKED_BY_FIELD, instanceId)));
+        final UpdateResult result = execute(() -> semaphores.updateMany(in(LockEntity.ID_FIELD, ids), update,
+                options));
+
+        LOGGER.debug("{}/{} semaphores was refreshed for instanceId: {}", result.getModifiedCount(),
+                semaphoreIds.size(), instanceId);
+    }
+
+    @Override
+    public void releasePermits(String semaphoreId, String instanceId, int permits) {
+        final String id = SemaphoreIds.permitsPrefix(semaphoreId);
+        final Bson filter = and(eq(id), eq(HOLDERS_FIELD + '.' + LockEntity.LOCKED_BY_FIELD, instanceId));
+        final Bson update = combine(inc(HOLDERS_FIELD + ".$." + PERMITS_FIELD, -permits),
+                set(LockEntity.STATE_FIELD, UNLOCKED));
+        final UpdateResult result = execute(() -> {
+            final UpdateResult released = semaphores.updateOne(filter, update, updateOptions);
+            semaphores.updateOne(eq(id), pull(HOLDERS_FIELD, lte(PERMITS_FIELD, 0)), updateOptions);
+            return released;
+        });
+
+        LOGGER.debug("{} permits of semaphore id: {} was released for instanceId: {}",
+                result.getModifiedCount() > 0 ? permits : 0, semaphoreId, instanceId);
+    }
+
+    private boolean isLocked(String lockId) {
+        return execute(() -> collection.countDocuments(and(eq(lockId), eq(LockEntity.STATE_FIELD, LOCKED)))) > 0;
+    }
+
+    /**
+     * Acquire the lock if it is unlocked, already held by the instance or matches the optional expired filter.
+     */
+    private boolean acquireOwnedLock(String lockId, String instanceId, Instant now, Bson expired) {
+        final List<Bson> owned = new ArrayList<>(Arrays.asList(eq(LockEntity.STATE_FIELD, UNLOCKED),
+                eq(LockEntity.LOCKED_BY_FIELD, instanceId)));
+        if (expired != null) {
+            owned.add(expired);
+        }
+        final Bson filter = and(eq(lockId), or(owned));
+        final Bson update = combine(set(LockEntity.STATE_FIELD, LOCKED), set(LockEntity.LOCKED_BY_FIELD, instanceId),
+                set(LockEntity.LOCK_HEARTBEAT_AT_FIELD, now), setOnInsert(LockEntity.LOCKED_AT_FIELD, now));
+
+        return execute(() -> {
+            try {
+                final UpdateResult result = collection.updateOne(filter, update, upsertOptions);
+                return result.getMatchedCount() > 0 || result.getUpsertedId() != null;
+            } catch (MongoWriteException e) {
+                if (e.getError().getCategory() == ErrorCategory.DUPLICATE_KEY) {
+                    return false; // held by another instance
+                }
+                throw e;
+            }
+        });
     }
 
     private <T> T execute(Supplier<T> supplier) {
@@ -19,6 +19,8 @@ import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoCursor;
 import com.mongodb.client.model.changestream.ChangeStreamDocument;
 import io.github.jeeware.cloud.lock4j.support.AbstractWatchable;
+import io.github.jeeware.cloud.lock4j.support.ReadWriteLockIds;
+import io.github.jeeware.cloud.lock4j.support.SemaphoreIds;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.bson.BsonDocument;
@@ -54,7 +56,7 @@ final class MongoWatchable extends AbstractWatchable {
             while (it.hasNext()) {
                 final BsonDocument key = it.next().getDocumentKey();
                 if (key != null) {
-                    this.signal(key.getString("_id").getValue());
+                    signalRow(key.getString("_id").getValue());
                 }
             }
 
@@ -68,6 +70,24 @@ final class MongoWatchable extends AbstractWatchable {
         }
     }
 
+    /**
+     * Signal the released document id, the document of a reader or of the permits also signals its read-write
+     * lock or semaphore.
+     */
+    private void signalRow(String id) {
+        this.signal(id);
+        final String semaphoreId = SemaphoreIds.semaphoreIdOf(id);
+        if (!semaphoreId.equals(id)) {
+            // released permits may be acquired by several waiters
+            this.signalAll(semaphoreId);
+            return;
+        }
+        final String lockId = ReadWriteLockIds.lockIdOf(id);
+        if (!lockId.equals(id)) {
+            this.signal(lockId);
+        }
+    }
+
     private MongoCursor<ChangeStreamDocument<LockEntity>> changeStreamIterator() {
         final List<Bson> pipeline = Collections.singletonList(match(and(
                 eq("operationType", "update"),
@@ -23,18 +23,73 @@ public class RedisLockKey {
 
     private static final String CLOCK_SKEW_KEY = "clock_skew";
 
+    private static final String FENCING_KEY = "fencing";
+
+    private static final String READERS_KEY = "readers";
+
+    private static final String LEASES_KEY = "leases";
+
+    private static final String PERMITS_KEY = "permits";
+
     private final String id;
 
     private final String clockSkew;
 
+    /**
+     * Key of the fencing token counter, always hash tagged so it never collides with a lock key
+     * and lives in the lock key slot. It expires 30 days after the last acquisition of the lock.
+     *
+     * @since 1.0.4
+     */
+    private final String fencing;
+
+    /**
+     * Key of the readers hash of a read-write lock, in the lock key slot.
+     *
+     * @since 1.0.4
+     */
+    private final String readers;
+
+    /**
+     * Key of the holder leases sorted set of a semaphore, in the semaphore key slot.
+     *
+     * @since 1.0.4
+     */
+    private final String leases;
+
+    /**
+     * Key of the held permits hash of a semaphore, in the semaphore key slot.
+     *
+     * @since 1.0.4
+     */
+    private final String permits;
+
     public RedisLockKey(String prefix, String id, boolean redisCluster) {
         final String prefixSeparator = Utils.isNullOrEmpty(prefix) ? "" : prefix + SEPARATOR;
         this.id = prefixSeparator + id;
         this.clockSkew = hashtag(this.id, redisCluster) + SEPARATOR + CLOCK_SKEW_KEY;
+        this.fencing = hashtag(this.id, true) + SEPARATOR + FENCING_KEY;
+        this.readers = hashtag(this.id, redisCluster) + SEPARATOR + READERS_KEY;
+        this.leases = hashtag(this.id, redisCluster) + SEPARATOR + LEASES_KEY;
+        this.permits = hashtag(this.id, redisCluster) + SEPARATOR + PERMITS_KEY;
     }
 
+    /**
+     * Reuse the hashtag of the key if any, e.g. <code>{account}:1</code>, so that derived keys live in the
+     * same slot as the key.
+     */
     private static String hashtag(String key, boolean redisCluster) {
-        return redisCluster ? '{' + key + '}' : key;
+        if (!redisCluster) {
+            return key;
+        }
+        final int start = key.indexOf('{');
+        if (start >= 0) {
+            final int end = key.indexOf('}', start + 1);
+            if (end > start + 1) {
+                return key.substring(start, end + 1) + key;
+            }
+        }
+        return '{' + key + '}';
     }
 
 }
@@ -18,19 +18,31 @@ import io.github.jeeware.cloud.lock4j.Watchable;
 import io.github.jeeware.cloud.lock4j.redis.connection.MessageListener;
 import io.github.jeeware.cloud.lock4j.redis.connection.RedisConnection;
 import io.github.jeeware.cloud.lock4j.redis.connection.RedisConnectionFactory;
+import io.github.jeeware.cloud.lock4j.redis.script.RedisFunction;
+import io.github.jeeware.cloud.lock4j.redis.script.RedisFunctionLibrary;
 import io.github.jeeware.cloud.lock4j.redis.script.RedisLockScripts;
 import io.github.jeeware.cloud.lock4j.redis.script.RedisScript;
 import io.github.jeeware.cloud.lock4j.redis.script.ScriptExecutor;
 import io.github.jeeware.cloud.lock4j.support.AbstractWatchable;
 import io.github.jeeware.cloud.lock4j.support.AbstractWatchableLockRepository;
-import org.apache.commons.lang3.ArrayUtils;
+import io.github.jeeware.cloud.lock4j.support.SemaphoreIds;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
@@ -45,7 +57,16 @@ public class RedisLockRepository extends AbstractWatchableLockRepository {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(RedisLockRepository.class);
 
-    private static final long ACQUIRED = 1;
+    /**
+     * Maximum number of locks refreshed by a single script call to avoid blocking Redis server.
+     */
+    private static final int MAX_REFRESH_BATCH_SIZE = 500;
+
+    /**
+     * Expiration of a fencing token counter, renewed on each acquisition, so that the counters of lock ids no
+     * longer used do not accumulate. An expired counter restarts from the Redis server time in microseconds.
+     */
+    private static final long FENCING_TOKEN_EXPIRATION_MILLIS = Duration.ofDays(30).toMillis();
 
     private final RedisScript<Long> acquireLock;
 
@@ -53,6 +74,26 @@ public class RedisLockRepository extends AbstractWatchableLockRepository {
 
     private final RedisScript<Long> releaseLock;
 
+    private final RedisScript<String> lockOwner;
+
+    private final RedisScript<Long> acquireLocks;
+
+    private final RedisScript<Long> releaseLocks;
+
+    private final RedisScript<Long> acquireReadLock;
+
+    private final RedisScript<Long> acquireWriteLock;
+
+    private final RedisScript<Long> refreshReadLocks;
+
+    private final RedisScript<Long> releaseReadLock;
+
+    private final RedisScript<Long> acquirePermits;
+
+    private final RedisScript<Long> refreshPermits;
+
+    private final RedisScript<Long> releasePermits;
+
     private final RedisConnectionFactory connectionFactory;
 
     private final ScriptExecutor scriptExecutor;
@@ -61,23 +102,44 @@ public class RedisLockRepository extends AbstractWatchableLockRepository {
 
     private final String lockPrefix;
 
+    /**
+     * Channel where the release script publishes released lock ids.
+     */
+    private final String releaseChannel;
+
+    /**
+     * Fencing tokens of the locks held by this repository instances.
+     */
+    private final Map<String, Long> fencingTokens = new ConcurrentHashMap<>();
+
     public RedisLockRepository(RedisLockScripts redisLockScripts, RedisConnectionFactory connectionFactory,
                                Duration expiration, String lockPrefix) {
         requireNonNull(redisLockScripts, "redisLockScripts is null");
         this.acquireLock = redisLockScripts.acquireLock();
         this.refreshActiveLock = redisLockScripts.refreshActiveLock();
         this.releaseLock = redisLockScripts.releaseLock();
+        this.lockOwner = redisLockScripts.lockOwner();
+        this.acquireLocks = redisLockScripts.acquireLocks();
+        this.releaseLocks = redisLockScripts.releaseLocks();
+        this.acquireReadLock = redisLockScripts.acquireReadLock();
+        this.acquireWriteLock = redisLockScripts.acquireWriteLock();
+        this.refreshReadLocks = redisLockScripts.refreshReadLocks();
+        this.releaseReadLock = redisLockScripts.releaseReadLock();
+        this.acquirePermits = redisLockScripts.acquirePermits();
+        this.refreshPermits = redisLockScripts.refreshPermits();
+        this.releasePermits = redisLockScripts.releasePermits();
         this.connectionFactory = requireNonNull(connectionFactory, "connectionFactory is null");
         this.scriptExecutor = connectionFactory.getScriptExecutor();
         this.expirationMillis = requireNonNull(expiration, "expiration is null").toMillis();
         this.lockPrefix = lockPrefix;
+        this.releaseChannel = "__lock4j@" + (lockPrefix != null ? lockPrefix : "") + "__:released";
     }
 
     @Override
     public void refreshActiveLock(String lockId, String instanceId) {
         final RedisLockKey lockKey = newRedisLockKey(lockId);
         final List<String> keys = asList(lockKey.getId(), lockKey.getClockSkew());
-        final List<Long> args = singletonList(expirationMillis);
+        final List<Object> args = asList(expirationMillis, instanceId);
         final Long count = scriptExecutor.execute(refreshActiveLock, keys, args);
 
         if (count > 0) {
@@ -85,6 +147,34 @@ public class RedisLockRepository extends AbstractWatchableLockRepository {
         }
     }
 
+    /**
+     * Refresh all locks with the minimum of script calls. In cluster mode, keys of a script call must
+     * be in the same hash slot, so locks are grouped by slot.
+     */
+    @Override
+    public void refreshActiveLocks(Collection<String> lockIds, String instanceId) {
+        final boolean redisCluster = connectionFactory.isRedisCluster();
+        final Map<Integer, List<String>> keysBySlot = new LinkedHashMap<>();
+        for (String lockId : lockIds) {
+            final RedisLockKey lockKey = newRedisLockKey(lockId);
+            final int slot = redisCluster ? RedisClusterSlots.getSlot(lockKey.getId()) : 0;
+            final List<String> keys = keysBySlot.computeIfAbsent(slot, k -> new ArrayList<>());
+            keys.add(lockKey.getId());
+            keys.add(lockKey.getClockSkew());
+        }
+        final List<Object> args = asList(expirationMillis, instanceId);
+        long count = 0;
+
+        for (List<String> keys : keysBySlot.values()) {
+            for (int from = 0; from < keys.size(); from += 2 * MAX_REFRESH_BATCH_SIZE) {
+                final int to = Math.min(from + 2 * MAX_REFRESH_BATCH_SIZE, keys.size());
+                count += scriptExecutor.execute(refreshActiveLock, keys.subList(from, to), args);
+            }
+        }
+
+        LOGGER.debug("{}/{} locks was refreshed for instanceId: {}", count, lockIds.size(), instanceId);
+    }
+
     protected RedisLockKey newRedisLockKey(String id) {
         return new RedisLockKey(lockPrefix, id, connectionFactory.isRedisCluster());
     }
@@ -92,36 +182,261 @@ public class RedisLockRepository extends AbstractWatchableLockRepository {
     @Override
     public boolean acquireLock(String lockId, String instanceId) {
         final RedisLockKey lockKey = newRedisLockKey(lockId);
-        final List<String> keys = singletonList(lockKey.getId());
-        final List<Object> args = asList(instanceId, expirationMillis);
-        final Long result = scriptExecutor.execute(acquireLock, keys, args);
+        final List<String> keys = asList(lockKey.getId(), lockKey.getFencing());
+        final List<Object> args = asList(instanceId, expirationMillis, FENCING_TOKEN_EXPIRATION_MILLIS);
+
+        return onAcquireLock(lockId, instanceId, scriptExecutor.execute(acquireLock, keys, args));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> acquireLockAsync(String lockId, String instanceId, Executor executor) {
+        if (!scriptExecutor.supportsAsync()) {
+            return super.acquireLockAsync(lockId, instanceId, executor);
+        }
+        final RedisLockKey lockKey = newRedisLockKey(lockId);
+        final List<String> keys = asList(lockKey.getId(), lockKey.getFencing());
+        final List<Object> args = asList(instanceId, expirationMillis, FENCING_TOKEN_EXPIRATION_MILLIS);
 
-        return ACQUIRED == result;
+        return scriptExecutor.executeAsync(acquireLock, keys, args)
+                .thenApply(fencingToken -> onAcquireLock(lockId, instanceId, fencingToken));
     }
 
     @Override
     public boolean acquireLockWithClockSkew(String lockId, String instanceId, long clockSkewMillis) {
         final RedisLockKey lockKey = newRedisLockKey(lockId);
-        final List<String> keys = asList(lockKey.getId(), lockKey.getClockSkew());
-        final List<Object> args = asList(instanceId, expirationMillis, clockSkewMillis);
-        final Long result = scriptExecutor.execute(acquireLock, keys, args);
+        final List<String> keys = asList(lockKey.getId(), lockKey.getFencing(), lockKey.getClockSkew());
+        final List<Object> args = asList(instanceId, expirationMillis, FENCING_TOKEN_EXPIRATION_MILLIS,
+                clockSkewMillis);
+
+        return onAcquireLock(lockId, instanceId, scriptExecutor.execute(acquireLock, keys, args));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> acquireLockWithClockSkewAsync(String lockId, String instanceId,
+                                                                    long clockSkewMillis, Executor executor) {
+        if (!scriptExecutor.supportsAsync()) {
+            return super.acquireLockWithClockSkewAsync(lockId, instanceId, clockSkewMillis, executor);
+        }
+        final RedisLockKey lockKey = newRedisLockKey(lockId);
+        final List<String> keys = asList(lockKey.getId(), lockKey.getFencing(), lockKey.getClockSkew());
+        final List<Object> args = asList(instanceId, expirationMillis, FENCING_TOKEN_EXPIRATION_MILLIS,
+                clockSkewMillis);
 
-        return ACQUIRED == result;
+        return scriptExecutor.executeAsync(acquireLock, keys, args)
+                .thenApply(fencingToken -> onAcquireLock(lockId, instanceId, fencingToken));
+    }
+
+    /**
+     * @param fencingToken token returned by the acquire script, 0 if not acquired
+     */
+    private boolean onAcquireLock(String lockId, String instanceId, Long fencingToken) {
+        if (fencingToken != null && fencingToken > 0) {
+            fencingTokens.put(heldLockKey(lockId, instanceId), fencingToken);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public long getFencingToken(String lockId, String instanceId) {
+        return fencingTokens.getOrDefault(heldLockKey(lockId, instanceId), 0L);
+    }
+
+    private static String heldLockKey(String lockId, String instanceId) {
+        return instanceId + '\0' + lockId;
     }
 
     @Override
     public void releaseLock(String lockId, String instanceId) {
         final RedisLockKey lockKey = newRedisLockKey(lockId);
         final List<String> keys = asList(lockKey.getId(), lockKey.getClockSkew());
-        final Long count = scriptExecutor.execute(releaseLock, keys, null);
+        fencingTokens.remove(heldLockKey(lockId, instanceId));
+        final List<String> args = asList(instanceId, releaseChannel, lockId);
+        final Long count = scriptExecutor.execute(releaseLock, keys, args);
         LOGGER.debug("{} lock id: {} was released for instanceId: {}", count, lockId, instanceId);
     }
 
+    /**
+     * Acquire all locks with a single script call. In cluster mode, keys of a script call must be in the same
+     * hash slot, so locks are grouped by slot and acquired in slot order, e.g. ids sharing a hashtag like
+     * <code>{account}:1</code> and <code>{account}:2</code> are acquired by a single call.
+     */
+    @Override
+    public boolean acquireLocks(List<String> lockIds, String instanceId) {
+        final Collection<List<String>> idsBySlot = groupBySlot(lockIds);
+        final List<Object> args = asList(instanceId, expirationMillis, FENCING_TOKEN_EXPIRATION_MILLIS);
+        final List<String> acquiredIds = new ArrayList<>(lockIds.size());
+
+        try {
+            for (List<String> ids : idsBySlot) {
+                final List<String> keys = new ArrayList<>(2 * ids.size());
+                for (String lockId : ids) {
+                    final RedisLockKey lockKey = newRedisLockKey(lockId);
+                    keys.add(lockKey.getId());
+                    keys.add(lockKey.getFencing());
+                }
+                final Long count = scriptExecutor.execute(acquireLocks, keys, args);
+                if (count == null || count == 0) {
+                    releaseLocks(acquiredIds, instanceId);
+                    return false;
+                }
+                acquiredIds.addAll(ids);
+            }
+            return true;
+        } catch (RuntimeException e) {
+            try {
+                releaseLocks(acquiredIds, instanceId);
+            } catch (RuntimeException releaseError) {
+                e.addSuppressed(releaseError);
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void releaseLocks(List<String> lockIds, String instanceId) {
+        long count = 0;
+
+        for (List<String> ids : groupBySlot(lockIds)) {
+            final List<String> keys = new ArrayList<>(ids.size());
+            final List<String> args = new ArrayList<>(ids.size() + 2);
+            args.add(instanceId);
+            args.add(releaseChannel);
+            for (String lockId : ids) {
+                keys.add(newRedisLockKey(lockId).getId());
+                args.add(lockId);
+            }
+            count += scriptExecutor.execute(releaseLocks, keys, args);
+        }
+
+        LOGGER.debug("{} locks: {} was released for instanceId: {}", count, lockIds, instanceId);
+    }
+
+    /**
+     * Readers are stored in a hash of the lock, the write lock is the lock key itself.
+     */
+    @Override
+    public boolean acquireReadLock(String lockId, String instanceId) {
+        final RedisLockKey lockKey = newRedisLockKey(lockId);
+        final List<String> keys = asList(lockKey.getId(), lockKey.getReaders());
+        final List<Object> args = asList(instanceId, expirationMillis);
+
+        return scriptExecutor.execute(acquireReadLock, keys, args) > 0;
+    }
+
+    @Override
+    public boolean acquireWriteLock(String lockId, String instanceId) {
+        final RedisLockKey lockKey = newRedisLockKey(lockId);
+        final List<String> keys = asList(lockKey.getId(), lockKey.getReaders(), lockKey.getFencing());
+        final List<Object> args = asList(instanceId, expirationMillis, FENCING_TOKEN_EXPIRATION_MILLIS);
+
+        return onAcquireLock(lockId, instanceId, scriptExecutor.execute(acquireWriteLock, keys, args));
+    }
+
+    @Override
+    public void refreshReadLocks(Collection<String> lockIds, String instanceId) {
+        final List<Object> args = asList(expirationMillis, instanceId);
+        long count = 0;
+
+        for (List<String> ids : groupBySlot(new ArrayList<>(lockIds))) {
+            final List<String> keys = new ArrayList<>(ids.size());
+            ids.forEach(lockId -> keys.add(newRedisLockKey(lockId).getReaders()));
+            count += scriptExecutor.execute(refreshReadLocks, keys, args);
+        }
+
+        LOGGER.debug("{}/{} read locks was refreshed for instanceId: {}", count, lockIds.size(), instanceId);
+    }
+
+    @Override
+    public void releaseReadLock(String lockId, String instanceId) {
+        final List<String> keys = singletonList(newRedisLockKey(lockId).getReaders());
+        final List<String> args = asList(instanceId, releaseChannel, lockId);
+        final Long count = scriptExecutor.execute(releaseReadLock, keys, args);
+        LOGGER.debug("{} read lock id: {} was released for instanceId: {}", count, lockId, instanceId);
+    }
+
+    /**
+     * Holders of a semaphore are stored in a sorted set of leases scored by expiration time and a hash of their
+     * permits count, the permits of expired leases are reclaimed when acquiring.
+     */
+    @Override
+    public boolean acquirePermits(String semaphoreId, String instanceId, int permits, int maxPermits) {
+        final RedisLockKey semaphoreKey = newRedisLockKey(semaphoreId);
+        final List<String> keys = asList(semaphoreKey.getLeases(), semaphoreKey.getPermits());
+        final List<Object> args = asList(instanceId, permits, maxPermits, expirationMillis);
+
+        return scriptExecutor.execute(acquirePermits, keys, args) > 0;
+    }
+
+    @Override
+    public void refreshPermits(Collection<String> semaphoreIds, String instanceId) {
+        final List<Object> args = asList(expirationMillis, instanceId);
+        long count = 0;
+
+        for (List<String> ids : groupBySlot(new ArrayList<>(semaphoreIds))) {
+            final List<String> keys = new ArrayList<>(2 * ids.size());
+            for (String semaphoreId : ids) {
+                final RedisLockKey semaphoreKey = newRedisLockKey(semaphoreId);
+                keys.add(semaphoreKey.getLeases());
+                keys.add(semaphoreKey.getPermits());
+            }
+            count += scriptExecutor.execute(refreshPermits, keys, args);
+        }
+
+        LOGGER.debug("{}/{} semaphore leases was refreshed for instanceId: {}", count, semaphoreIds.size(),
+                instanceId);
+    }
+
+    @Override
+    public void releasePermits(String semaphoreId, String instanceId, int permits) {
+        final RedisLockKey semaphoreKey = newRedisLockKey(semaphoreId);
+        final List<String> keys = asList(semaphoreKey.getLeases(), semaphoreKey.getPermits());
+        final List<Object> args = asList(instanceId, permits, releaseChannel, SemaphoreIds.permitsPrefix(semaphoreId));
+        final Long count = scriptExecutor.execute(releasePermits, keys, args);
+        LOGGER.debug("{} permits of semaphore id: {} was released for instanceId: {}", count > 0 ? permits : 0,
+                semaphoreId, instanceId);
+    }
+
+    private Collection<List<String>> groupBySlot(List<String> lockIds) {
+        if (!connectionFactory.isRedisCluster()) {
+            return singletonList(lockIds);
+        }
+        final Map<Integer, List<String>> idsBySlot = new TreeMap<>();
+        for (String lockId : lockIds) {
+            final int slot = RedisClusterSlots.getSlot(newRedisLockKey(lockId).getId());
+            idsBySlot.computeIfAbsent(slot, k -> new ArrayList<>()).add(lockId);
+        }
+        return idsBySlot.values();
+    }
+
+    @Override
+    public CompletableFuture<Void> releaseLockAsync(String lockId, String instanceId, Executor executor) {
+        if (!scriptExecutor.supportsAsync()) {
+            return super.releaseLockAsync(lockId, instanceId, executor);
+        }
+        final RedisLockKey lockKey = newRedisLockKey(lockId);
+        final List<String> keys = asList(lockKey.getId(), lockKey.getClockSkew());
+        fencingTokens.remove(heldLockKey(lockId, instanceId));
+        final List<String> args = asList(instanceId, releaseChannel, lockId);
+
+        return scriptExecutor.executeAsync(releaseLock, keys, args).thenAccept(count ->
+                LOGGER.debug("{} lock id: {} was released for instanceId: {}", count, lockId, instanceId));
+    }
+
+    /**
+     * @return the owner instance id of the lock, null if not locked. Called with <code>FCALL_RO</code>
+     * when the lock scripts are registered in a function library.
+     * @since 1.0.4
+     */
+    public String getLockOwner(String lockId) {
+        return scriptExecutor.execute(lockOwner, singletonList(newRedisLockKey(lockId).getId()),
+                Collections.emptyList());
+    }
+
     @Override
     public void releaseDeadLocks(long timeoutInterval) {
         // Do nothing as Redis server removes expired lock keys automatically,
-        // and we are listening `del` and `expired` events to remove lock from
-        // *:lock:* keys
+        // and we are listening `expired` events and the release channel to wake up waiters
     }
 
     @Override
@@ -139,7 +454,10 @@ public class RedisLockRepository extends AbstractWatchableLockRepository {
 
         static final String NOTIFY_KEYSPACE_EVENTS = "notify-keyspace-events";
 
-        static final String NOTIFY_KEYSPACE_FEATURES = "Egx";
+        /**
+         * Keyevent notifications of expired keys only, released locks are published by the release script
+         */
+        static final String NOTIFY_KEYSPACE_FEATURES = "Ex";
 
         final Logger logger = LoggerFactory.getLogger(RedisWatchable.class);
 
@@ -147,28 +465,72 @@ public class RedisLockRepository extends AbstractWatchableLockRepository {
 
         final String idPrefix;
 
-        final String clockSkewPrefix;
-
         RedisConnection connection;
 
+        volatile String expiredChannel;
+
         RedisWatchable() {
-            RedisLockKey lockKey = newRedisLockKey("");
-            this.idPrefix = lockKey.getId();
-            this.clockSkewPrefix = lockKey.getClockSkew();
+            this.idPrefix = newRedisLockKey("").getId();
         }
 
         @Override
         public void run() {
             connection = connectionFactory.getConnection();
-            // load all scripts to Redis server to get theirs sha1
             try {
-                final List<RedisScript<?>> scripts = asList(acquireLock, refreshActiveLock, releaseLock);
+                final List<RedisScript<?>> scripts = asList(acquireLock, refreshActiveLock, releaseLock, lockOwner,
+                        acquireLocks, releaseLocks, acquireReadLock, acquireWriteLock, refreshReadLocks,
+                        releaseReadLock, acquirePermits, refreshPermits, releasePermits);
+                final Set<RedisFunctionLibrary> libraries = new LinkedHashSet<>();
                 scripts.forEach(script -> {
-                    final String sha = connection.scriptLoad(script.getScriptAsString());
-                    script.setSha1(sha);
-                    logger.info("Successfully set sha1={} for script {}", sha, script.getName());
+                    if (script instanceof RedisFunction) {
+                        libraries.add(((RedisFunction<?>) script).getLibrary());
+                    }
                 });
-                // add notify keyspace config if necessary
+                libraries.forEach(this::loadLibrary);
+                // load the other scripts to Redis server to get theirs sha1
+                scripts.forEach(script -> {
+                    if (!(script instanceof RedisFunction) || !((RedisFunction<?>) script).getLibrary().isLoaded()) {
+                        final String sha = connection.scriptLoad(script.getScriptAsString());
+                        script.setSha1(sha);
+                        logger.info("Successfully set sha1={} for script {}", sha, script.getName());
+                    }
+                });
+                configureNotifyKeyspaceEvents();
+                expiredChannel = "__keyevent@" + connection.getDatabase() + "__:expired";
+                logger.debug("Subscribing to channels: {}, {}", expiredChannel, releaseChannel);
+                // channels and not patterns as the lock prefix may contain glob characters
+                connection.subscribe(this, expiredChannel, releaseChannel);
+                // block current thread until close
+                latch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.error("Unexpected error: {}", e.getMessage(), e);
+                close();
+            }
+        }
+
+        /**
+         * Functions are not supported before Redis 7, theirs scripts are evaluated in such a case.
+         */
+        private void loadLibrary(RedisFunctionLibrary library) {
+            try {
+                connection.functionLoad(library.getCode());
+                library.setLoaded(true);
+                logger.info("Successfully loaded function library {}", library.getName());
+            } catch (RuntimeException e) {
+                library.setLoaded(false);
+                logger.warn("Cannot load function library {}, its scripts will be evaluated: {}", library.getName(),
+                        e.getMessage());
+            }
+        }
+
+        /**
+         * Expired keyevent notifications are only needed to wake up waiters of locks which expired (dead
+         * instances or clock skew), so a failure (e.g. CONFIG disabled on managed servers) is not fatal:
+         * waiters of such locks retry at least every refresh lock interval as lock waits are bounded.
+         */
+        private void configureNotifyKeyspaceEvents() {
+            try {
                 final Map<String, String> notifyConfig = connection.configGet(NOTIFY_KEYSPACE_EVENTS);
                 String features = notifyConfig.values().stream().findFirst().orElse("");
                 final String missingNotifyFeatures = getMissingNotifyFeatures(features);
@@ -181,27 +543,18 @@ public class RedisLockRepository extends AbstractWatchableLockRepository {
                         logger.warn("Error when set configuration {} to {} => reply={}", NOTIFY_KEYSPACE_EVENTS, features, reply);
                     }
                 }
-
-                final String pattern = "__keyevent@" + connection.getDatabase() + "__:*";
-                logger.debug("Subscribing to pattern: {}", pattern);
-                connection.pSubscribe(this, pattern);
-                // block current thread until close
-                latch.await();
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                logger.error("Unexpected error: {}", e.getMessage(), e);
-                close();
+            } catch (RuntimeException e) {
+                logger.warn("Cannot configure {}, waiters of expired locks will retry every refresh interval: {}",
+                        NOTIFY_KEYSPACE_EVENTS, e.getMessage());
             }
         }
 
         String getMissingNotifyFeatures(String features) {
-            if (features.isEmpty()) {
-                return NOTIFY_KEYSPACE_FEATURES;
-            }
-            char[] notifyFeaturesChars = NOTIFY_KEYSPACE_FEATURES.toCharArray();
-            StringBuilder missingChars = new StringBuilder(notifyFeaturesChars.length);
-            for (char ch : features.toCharArray()) {
-                if (!ArrayUtils.contains(notifyFeaturesChars, ch)) {
+            StringBuilder missingChars = new StringBuilder(NOTIFY_KEYSPACE_FEATURES.length());
+            for (char ch : NOTIFY_KEYSPACE_FEATURES.toCharArray()) {
+                // 'A' is an alias for all event types including expired 'x'
+                final boolean enabled = features.indexOf(ch) >= 0 || ch == 'x' && features.indexOf('A') >= 0;
+                if (!enabled) {
                     missingChars.append(ch);
                 }
             }
@@ -221,20 +574,26 @@ public class RedisLockRepository extends AbstractWatchableLockRepository {
 
         @Override
         public void onMessage(String pattern, String channel, String message) {
-            if (message.startsWith(idPrefix) && (channel.endsWith("expired")
-                    || channel.endsWith("del") && !message.startsWith(clockSkewPrefix))) {
-                final String lockId = message.substring(idPrefix.length());
-                this.signal(lockId);
+            if (releaseChannel.equals(channel)) {
+                final String semaphoreId = SemaphoreIds.semaphoreIdOf(message);
+                if (semaphoreId.equals(message)) {
+                    this.signal(message);
+                } else {
+                    // released permits may be acquired by several waiters
+                    this.signalAll(semaphoreId);
+                }
+            } else if (message.startsWith(idPrefix) && channel.equals(expiredChannel)) {
+                this.signal(message.substring(idPrefix.length()));
             }
         }
 
         @Override
-        public void onPSubscribe(String pattern, long count) {
+        public void onSubscribe(String channel, long count) {
             active = true;
         }
 
         @Override
-        public void onPUnsubscribe(String pattern, long count) {
+        public void onUnsubscribe(String channel, long count) {
             active = false;
         }
 
@@ -21,12 +21,24 @@ public abstract class AbstractRedisConnection implements RedisConnection {
 
     @Override
     public void pSubscribe(MessageListener listener, String... patterns) {
+        checkNotSubscribed();
+        subscription = createSubscription(listener);
+        subscription.pSubscribe(patterns);
+    }
+
+    @Override
+    public void subscribe(MessageListener listener, String... channels) {
+        checkNotSubscribed();
+        subscription = createSubscription(listener);
+        subscription.subscribe(channels);
+    }
+
+    private void checkNotSubscribed() {
         if (subscription != null) {
             throw new IllegalStateException("Connection already subscribed with pattern: " +
-                    Arrays.toString(subscription.getPatterns()));
+                    Arrays.toString(subscription.getPatterns()) + ", channel: " +
+                    Arrays.toString(subscription.getChannels()));
         }
-        subscription = createSubscription(listener);
-        subscription.pSubscribe(patterns);
     }
 
     protected abstract Subscription createSubscription(MessageListener listener);
@@ -40,6 +52,15 @@ public abstract class AbstractRedisConnection implements RedisConnection {
         subscription = null;
     }
 
+    @Override
+    public void unsubscribe() {
+        if (subscription == null) {
+            throw new IllegalStateException("Connection has not a subscribed listener");
+        }
+        subscription.unsubscribe();
+        subscription = null;
+    }
+
     @Override
     public boolean isSubscribed() {
         return subscription != null;
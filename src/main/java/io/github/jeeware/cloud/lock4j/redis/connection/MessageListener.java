@@ -21,9 +21,9 @@ package io.github.jeeware.cloud.lock4j.redis.connection;
 public interface MessageListener {
 
     /**
-     * Message received from a pattern subscription.
+     * Message received from a pattern or channel subscription.
      *
-     * @param pattern Key pattern
+     * @param pattern Key pattern, null for a channel subscription
      * @param channel Channel
      * @param message Message
      */
@@ -47,4 +47,24 @@ public interface MessageListener {
     default void onPUnsubscribe(String pattern, long count) {
     }
 
+    /**
+     * Subscribed to a channel.
+     *
+     * @param channel Channel
+     * @param count   Subscription count.
+     * @since 1.0.4
+     */
+    default void onSubscribe(String channel, long count) {
+    }
+
+    /**
+     * Unsubscribed to a channel.
+     *
+     * @param channel Channel
+     * @param count   Subscription count.
+     * @since 1.0.4
+     */
+    default void onUnsubscribe(String channel, long count) {
+    }
+
 }
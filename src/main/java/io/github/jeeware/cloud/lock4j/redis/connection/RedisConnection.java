@@ -31,10 +31,45 @@ public interface RedisConnection extends AutoCloseable {
 
     String scriptLoad(String script);
 
+    /**
+     * Load a Redis 7 function library with <code>FUNCTION LOAD REPLACE</code> on all primary nodes.
+     *
+     * @param libraryCode the library code starting with its <code>#!lua name=</code> header
+     * @return the library name
+     * @throws UnsupportedOperationException if the connection does not support functions
+     * @since 1.0.4
+     */
+    default String functionLoad(String libraryCode) {
+        throw new UnsupportedOperationException("Redis functions not supported by " + getClass().getSimpleName());
+    }
+
+    /**
+     * Call a Redis 7 function with <code>FCALL</code>, or <code>FCALL_RO</code> when read only.
+     *
+     * @throws UnsupportedOperationException if the connection does not support functions
+     * @since 1.0.4
+     */
+    default <T> T fCall(String function, List<String> keys, List<?> args, Class<T> returnType, boolean readOnly) {
+        throw new UnsupportedOperationException("Redis functions not supported by " + getClass().getSimpleName());
+    }
+
     void pSubscribe(MessageListener listener, String... patterns);
 
     void pUnsubscribe();
 
+    /**
+     * Subscribe to channels matched by name, unlike {@link #pSubscribe(MessageListener, String...)} patterns
+     * where <code>*</code>, <code>?</code> and <code>[</code> are glob characters.
+     *
+     * @since 1.0.4
+     */
+    void subscribe(MessageListener listener, String... channels);
+
+    /**
+     * @since 1.0.4
+     */
+    void unsubscribe();
+
     boolean isSubscribed();
 
     int getDatabase();
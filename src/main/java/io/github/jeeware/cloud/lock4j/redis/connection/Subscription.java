@@ -21,8 +21,27 @@ public interface Subscription extends AutoCloseable {
 
     String[] getPatterns();
 
+    /**
+     * @since 1.0.4
+     */
+    void subscribe(String... channels);
+
+    /**
+     * @since 1.0.4
+     */
+    void unsubscribe();
+
+    /**
+     * @since 1.0.4
+     */
+    String[] getChannels();
+
     @Override
     default void close() {
-        pUnsubscribe();
+        if (getChannels() != null) {
+            unsubscribe();
+        } else {
+            pUnsubscribe();
+        }
     }
 }
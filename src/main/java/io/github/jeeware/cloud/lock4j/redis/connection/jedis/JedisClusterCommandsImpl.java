@@ -18,6 +18,7 @@ import lombok.RequiredArgsConstructor;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisCluster;
 import redis.clients.jedis.JedisPubSub;
+import redis.clients.jedis.util.SafeEncoder;
 
 import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
@@ -78,6 +79,36 @@ final class JedisClusterCommandsImpl implements JedisCommands {
         return firstResult.get();
     }
 
+    /**
+     * Load the library on all nodes, replicas rejecting it as they receive it from theirs primary.
+     */
+    @Override
+    public String functionLoad(String libraryCode) {
+        final AtomicReference<String> firstResult = new AtomicReference<>();
+        final AtomicReference<RuntimeException> firstError = new AtomicReference<>();
+        jedisCluster.getClusterNodes()
+                .values()
+                .forEach(pool -> {
+                    try (Jedis jedis = pool.getResource()) {
+                        firstResult.compareAndSet(null, (String) SafeEncoder.encodeObject(jedis.sendCommand(
+                                Command.FUNCTION, JedisFunctionCommands.functionLoadArgs(libraryCode))));
+                    } catch (RuntimeException e) {
+                        firstError.compareAndSet(null, e);
+                    }
+                });
+        if (firstResult.get() == null && firstError.get() != null) {
+            throw firstError.get();
+        }
+        return firstResult.get();
+    }
+
+    @Override
+    public Object fcall(String function, List<String> keys, List<String> args, boolean readOnly) {
+        final String sampleKey = keys.isEmpty() ? function : keys.get(0);
+        return SafeEncoder.encodeObject(jedisCluster.sendCommand(sampleKey,
+                JedisFunctionCommands.fcallCommand(readOnly), JedisFunctionCommands.fcallArgs(function, keys, args)));
+    }
+
     @Override
     public int getDB() {
         return jedisCluster.getClusterNodes().values()
@@ -95,6 +126,11 @@ final class JedisClusterCommandsImpl implements JedisCommands {
         jedisCluster.psubscribe(jedisPubSub, patterns);
     }
 
+    @Override
+    public void subscribe(JedisPubSub jedisPubSub, String... channels) {
+        jedisCluster.subscribe(jedisPubSub, channels);
+    }
+
     @Override
     public void close() {
         jedisCluster.close();
@@ -19,7 +19,7 @@ import redis.clients.jedis.JedisPubSub;
 
 import java.util.List;
 
-public interface JedisCommands extends AutoCloseable {
+public interface JedisCommands extends JedisFunctionCommands, AutoCloseable {
 
     List<String> configGet(String pattern);
 
@@ -35,6 +35,8 @@ public interface JedisCommands extends AutoCloseable {
 
     void psubscribe(JedisPubSub jedisPubSub, final String... patterns);
 
+    void subscribe(JedisPubSub jedisPubSub, final String... channels);
+
     @Override
     void close();
 
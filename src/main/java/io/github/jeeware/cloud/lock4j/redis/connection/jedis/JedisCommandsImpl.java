@@ -17,12 +17,27 @@ import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.Delegate;
 import redis.clients.jedis.Jedis;
+import redis.clients.jedis.util.SafeEncoder;
+
+import java.util.List;
 
 @RequiredArgsConstructor
 final class JedisCommandsImpl implements JedisCommands {
 
-    @Delegate(types = JedisCommands.class)
+    @Delegate(types = JedisCommands.class, excludes = JedisFunctionCommands.class)
     @NonNull
     final Jedis jedis;
 
+    @Override
+    public String functionLoad(String libraryCode) {
+        return (String) SafeEncoder.encodeObject(jedis.sendCommand(Command.FUNCTION,
+                JedisFunctionCommands.functionLoadArgs(libraryCode)));
+    }
+
+    @Override
+    public Object fcall(String function, List<String> keys, List<String> args, boolean readOnly) {
+        return SafeEncoder.encodeObject(jedis.sendCommand(JedisFunctionCommands.fcallCommand(readOnly),
+                JedisFunctionCommands.fcallArgs(function, keys, args)));
+    }
+
 }
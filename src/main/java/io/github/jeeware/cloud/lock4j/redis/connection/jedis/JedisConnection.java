@@ -63,7 +63,7 @@ public class JedisConnection extends AbstractRedisConnection {
     @Override
     public <T> T evalSha(String sha1, List<String> keys, List<?> args, Class<T> returnType) {
         if (returnType != null) {
-            returnType.cast(jedisCommands.evalsha(sha1, keys, Utils.toStringList(args)));
+            return returnType.cast(jedisCommands.evalsha(sha1, keys, Utils.toStringList(args)));
         }
         return (T) jedisCommands.evalsha(sha1, keys, Utils.toStringList(args));
     }
@@ -82,6 +82,18 @@ public class JedisConnection extends AbstractRedisConnection {
         return jedisCommands.scriptLoad(script);
     }
 
+    @Override
+    public String functionLoad(String libraryCode) {
+        return jedisCommands.functionLoad(libraryCode);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> T fCall(String function, List<String> keys, List<?> args, Class<T> returnType, boolean readOnly) {
+        final Object result = jedisCommands.fcall(function, keys, Utils.toStringList(args), readOnly);
+        return returnType != null ? returnType.cast(result) : (T) result;
+    }
+
     @Override
     public int getDatabase() {
         return jedisCommands.getDB();
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2020-2026 Hichem BOURADA and other authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jeeware.cloud.lock4j.redis.connection.jedis;
+
+import redis.clients.jedis.commands.ProtocolCommand;
+import redis.clients.jedis.util.SafeEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Redis 7 function commands, sent as raw commands as they are not provided by the Jedis version
+ * supported by this library.
+ *
+ * @author hbourada
+ * @since 1.0.4
+ */
+public interface JedisFunctionCommands {
+
+    /**
+     * @return the name of the library loaded with <code>FUNCTION LOAD REPLACE</code>
+     */
+    String functionLoad(String libraryCode);
+
+    /**
+     * @return the raw reply of <code>FCALL</code> (or <code>FCALL_RO</code> when read only), bulk strings
+     * being decoded
+     */
+    Object fcall(String function, List<String> keys, List<String> args, boolean readOnly);
+
+    enum Command implements ProtocolCommand {
+        FUNCTION, FCALL, FCALL_RO;
+
+        private final byte[] raw = SafeEncoder.encode(name());
+
+        @Override
+        public byte[] getRaw() {
+            return raw;
+        }
+    }
+
+    static String[] functionLoadArgs(String libraryCode) {
+        return new String[]{"LOAD", "REPLACE", libraryCode};
+    }
+
+    static Command fcallCommand(boolean readOnly) {
+        return readOnly ? Command.FCALL_RO : Command.FCALL;
+    }
+
+    static String[] fcallArgs(String function, List<String> keys, List<String> args) {
+        final List<String> commandArgs = new ArrayList<>(keys.size() + args.size() + 2);
+        commandArgs.add(function);
+        commandArgs.add(String.valueOf(keys.size()));
+        commandArgs.addAll(keys);
+        commandArgs.addAll(args);
+        return commandArgs.toArray(new String[0]);
+    }
+
+}
@@ -29,6 +29,21 @@ public final class JedisMessageListener extends JedisPubSub {
         listener.onMessage(pattern, channel, message);
     }
 
+    @Override
+    public void onMessage(String channel, String message) {
+        listener.onMessage(null, channel, message);
+    }
+
+    @Override
+    public void onSubscribe(String channel, int count) {
+        listener.onSubscribe(channel, count);
+    }
+
+    @Override
+    public void onUnsubscribe(String channel, int count) {
+        listener.onUnsubscribe(channel, count);
+    }
+
     @Override
     public void onPSubscribe(String pattern, int count) {
         listener.onPSubscribe(pattern, count);
@@ -26,6 +26,8 @@ public final class JedisSubscription implements Subscription {
 
     private String[] patterns;
 
+    private String[] channels;
+
     public JedisSubscription(MessageListener listener, JedisCommands jedisCommands) {
         this.listener = new JedisMessageListener(listener);
         this.jedisCommands = Objects.requireNonNull(jedisCommands, "jedisCommands is null");
@@ -47,4 +49,20 @@ public final class JedisSubscription implements Subscription {
         return patterns;
     }
 
+    @Override
+    public void subscribe(String... channels) {
+        this.channels = channels;
+        jedisCommands.subscribe(listener, channels);
+    }
+
+    @Override
+    public void unsubscribe() {
+        listener.unsubscribe();
+    }
+
+    @Override
+    public String[] getChannels() {
+        return channels;
+    }
+
 }
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2020-2026 Hichem BOURADA and other authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.jeeware.cloud.lock4j.redis.connection.lettuce;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.github.jeeware.cloud.lock4j.redis.script.RedisFunction;
+import io.github.jeeware.cloud.lock4j.redis.script.RedisScript;
+import io.github.jeeware.cloud.lock4j.redis.script.ScriptExecutor;
+import io.github.jeeware.cloud.lock4j.util.Utils;
+import io.lettuce.core.RedisCommandInterruptedException;
+import io.lettuce.core.RedisCommandTimeoutException;
+import io.lettuce.core.RedisException;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.output.ValueOutput;
+import io.lettuce.core.api.StatefulConnection;
+import io.lettuce.core.api.async.BaseRedisAsyncCommands;
+import io.lettuce.core.api.async.RedisScriptingAsyncCommands;
+import lombok.NonNull;
+
+/**
+ * {@link ScriptExecutor} pipelining script invocations on a dedicated Lettuce
+ * connection with auto-flush disabled. Concurrent invocations dispatched before
+ * the next flush are written to Redis in one batch and each caller is
+ * completed by its own reply.
+ *
+ * @author hbourada
+ * @since 1.0.4
+ */
+public class LettuceBatchingScriptExecutor implements ScriptExecutor, AutoCloseable {
+
+    private final StatefulConnection<String, String> connection;
+
+    private final RedisScriptingAsyncCommands<String, String> commands;
+
+    private final Executor flushExecutor;
+
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    public LettuceBatchingScriptExecutor(@NonNull StatefulConnection<String, String> connection,
+                                         @NonNull RedisScriptingAsyncCommands<String, String> commands) {
+        this.connection = connection;
+        this.commands = commands;
+        this.flushExecutor = connection.getResources().eventExecutorGroup();
+        connection.setAutoFlushCommands(false);
+    }
+
+    @Override
+    public <T> T execute(RedisScript<T> script, List<String> keys, List<?> args) {
+        final CompletableFuture<T> future = executeAsync(script, keys, args);
+        final long timeoutNanos = connection.getTimeout().toNanos();
+        try {
+            return timeoutNanos > 0 ? future.get(timeoutNanos, TimeUnit.NANOSECONDS) : future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new RedisCommandInterruptedException(e);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new RedisCommandTimeoutException("Script " + script.getName() + " timed out after "
+                    + connection.getTimeout());
+        } catch (ExecutionException e) {
+            throw translate(e.getCause());
+        }
+    }
+
+    @Override
+    public <T> CompletableFuture<T> executeAsync(RedisScript<T> script, List<String> keys, List<?> args) {
+        if (script instanceof RedisFunction && ((RedisFunction<T>) script).getLibrary().isLoaded()
+                && commands instanceof BaseRedisAsyncCommands) {
+            return fCall((RedisFunction<T>) script, keys, args);
+        }
+        final ScriptOutputType outputType = LettuceConnection.toScriptOutputType(script.getReturnType());
+        final String[] keyArray = keys.toArray(new String[0]);
+        final String[] argArray = Utils.toStringArray(args);
+
+        if (!script.isLoaded()) {
+            return eval(script, outputType, keyArray, argArray);
+        }
+
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        final CompletableFuture<T> evalSha = commands.<T>evalsha(script.getSha1(), outputType, keyArray, argArray)
+                .toCompletableFuture();
+        scheduleFlush();
+        evalSha.whenComplete((value, e) -> {
+            if (e == null) {
+                result.complete(value);
+            } else if (e instanceof Exception && containsNoScript((Exception) e)) {
+                eval(script, outputType, keyArray, argArray).whenComplete((v, ex) -> complete(result, v, ex));
+            } else {
+                result.completeExceptionally(e);
+            }
+        });
+
+        return result;
+    }
+
+    @Override
+    public boolean supportsAsync() {
+        return true;
+    }
+
+    /**
+     * Call the function, loading its library again when missing from the server.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<T> fCall(RedisFunction<T> function, List<String> keys, List<?> args) {
+        final BaseRedisAsyncCommands<String, String> baseCommands = (BaseRedisAsyncCommands<String, String>) commands;
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        dispatchFCall(baseCommands, function, keys, args).whenComplete((value, e) -> {
+            if (e == null) {
+                result.complete(value);
+            } else if (e instanceof Exception && containsFunctionNotFound((Exception) e)) {
+                final CompletableFuture<String> load = baseCommands.dispatch(LettuceFunctions.Command.FUNCTION,
+                        new ValueOutput<>(StringCodec.UTF8),
+                        LettuceFunctions.functionLoadArgs(function.getLibrary().getCode())).toCompletableFuture();
+                scheduleFlush();
+                load.thenCompose(library -> dispatchFCall(baseCommands, function, keys, args))
+                        .whenComplete((v, ex) -> complete(result, v, ex));
+            } else {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    private <T> CompletableFuture<T> dispatchFCall(BaseRedisAsyncCommands<String, String> baseCommands,
+                                                   RedisFunction<T> function, List<String> keys, List<?> args) {
+        final CompletableFuture<T> future = baseCommands.dispatch(LettuceFunctions.fCallCommand(function.isReadOnly()),
+                LettuceFunctions.newOutput(function.getReturnType()),
+                LettuceFunctions.fCallArgs(function.getFunctionName(), keys, args)).toCompletableFuture();
+        scheduleFlush();
+        return future;
+    }
+
+    private <T> CompletableFuture<T> eval(RedisScript<T> script, ScriptOutputType outputType,
+                                          String[] keys, String[] args) {
+        final CompletableFuture<T> future = commands.<T>eval(script.getScriptAsString(), outputType, keys, args)
+                .toCompletableFuture();
+        scheduleFlush();
+        return future;
+    }
+
+    /**
+     * Flush is run in the client event executor so that commands dispatched by
+     * other threads until it runs are written in the same batch.
+     */
+    private void scheduleFlush() {
+        if (flushScheduled.compareAndSet(false, true)) {
+            flushExecutor.execute(() -> {
+                flushScheduled.set(false);
+                connection.flushCommands();
+            });
+        }
+    }
+
+    private static <T> void complete(CompletableFuture<T> future, T value, Throwable e) {
+        if (e == null) {
+            future.complete(value);
+        } else {
+            future.completeExceptionally(e);
+        }
+    }
+
+    private static RuntimeException translate(Throwable e) {
+        final Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        return new RedisException(cause);
+    }
+
+    @Override
+    public void close() {
+        connection.close();
+    }
+}
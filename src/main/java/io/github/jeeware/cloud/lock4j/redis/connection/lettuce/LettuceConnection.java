@@ -21,6 +21,7 @@ import io.github.jeeware.cloud.lock4j.util.Utils;
 import io.github.jeeware.cloud.lock4j.redis.connection.MessageListener;
 import io.github.jeeware.cloud.lock4j.redis.connection.Subscription;
 import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.api.sync.BaseRedisCommands;
 import io.lettuce.core.api.sync.RedisScriptingCommands;
 import io.lettuce.core.api.sync.RedisServerCommands;
 import lombok.NonNull;
@@ -42,7 +43,8 @@ public class LettuceConnection extends AbstractRedisConnection {
         return redisCommands().configSet(parameter, value);
     }
 
-    private <C extends RedisServerCommands<String, String> & RedisScriptingCommands<String, String>> C redisCommands() {
+    private <C extends RedisServerCommands<String, String> & RedisScriptingCommands<String, String>
+            & BaseRedisCommands<String, String>> C redisCommands() {
         return (C) connectionFactory.getSharedConnection().redisCommands();
     }
 
@@ -63,6 +65,17 @@ public class LettuceConnection extends AbstractRedisConnection {
         return redisCommands().scriptLoad(script);
     }
 
+    @Override
+    public String functionLoad(String libraryCode) {
+        return connectionFactory.getSharedConnection().functionLoad(libraryCode);
+    }
+
+    @Override
+    public <T> T fCall(String function, List<String> keys, List<?> args, Class<T> returnType, boolean readOnly) {
+        return redisCommands().dispatch(LettuceFunctions.fCallCommand(readOnly),
+                LettuceFunctions.newOutput(returnType), LettuceFunctions.fCallArgs(function, keys, args));
+    }
+
     @Override
     public int getDatabase() {
         return connectionFactory.getDatabase();
@@ -73,7 +86,7 @@ public class LettuceConnection extends AbstractRedisConnection {
         return new LettuceSubscription(listener, connectionFactory);
     }
 
-    private static ScriptOutputType toScriptOutputType(Class<?> returnType) {
+    static ScriptOutputType toScriptOutputType(Class<?> returnType) {
         if (returnType == null) {
             return ScriptOutputType.STATUS;
         }
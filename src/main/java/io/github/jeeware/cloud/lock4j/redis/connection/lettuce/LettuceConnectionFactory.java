@@ -14,26 +14,34 @@
 package io.github.jeeware.cloud.lock4j.redis.connection.lettuce;
 
 import java.util.Arrays;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import io.github.jeeware.cloud.lock4j.redis.connection.RedisConnection;
 import io.github.jeeware.cloud.lock4j.redis.connection.RedisConnectionFactory;
+import io.github.jeeware.cloud.lock4j.redis.script.ScriptExecutor;
 import org.apache.commons.lang3.Validate;
 
 import io.lettuce.core.AbstractRedisClient;
 import io.lettuce.core.RedisClient;
 import io.lettuce.core.RedisURI;
 import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.sync.BaseRedisCommands;
 import io.lettuce.core.api.sync.RedisCommands;
 import io.lettuce.core.api.sync.RedisScriptingCommands;
 import io.lettuce.core.api.sync.RedisServerCommands;
 import io.lettuce.core.cluster.RedisClusterClient;
 import io.lettuce.core.cluster.api.StatefulRedisClusterConnection;
 import io.lettuce.core.cluster.api.sync.RedisAdvancedClusterCommands;
+import io.lettuce.core.cluster.models.partitions.RedisClusterNode;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.output.ValueOutput;
 import io.lettuce.core.pubsub.StatefulRedisPubSubConnection;
 import io.lettuce.core.resource.ClientResources;
 import lombok.AccessLevel;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 
 @RequiredArgsConstructor(access = AccessLevel.PROTECTED)
 public class LettuceConnectionFactory implements RedisConnectionFactory, AutoCloseable {
@@ -43,8 +51,23 @@ public class LettuceConnectionFactory implements RedisConnectionFactory, AutoClo
 
     private final int database;
 
+    // not synchronized to avoid pinning virtual threads while connecting
+    private final Lock connectLock = new ReentrantLock();
+
     private volatile SharedConnection<?> sharedConnection;
 
+    private volatile LettuceBatchingScriptExecutor batchingScriptExecutor;
+
+    /**
+     * When true, {@link #getScriptExecutor()} returns a
+     * {@link LettuceBatchingScriptExecutor} pipelining concurrent script
+     * invocations on a dedicated connection.
+     *
+     * @since 1.0.4
+     */
+    @Setter
+    private volatile boolean scriptBatching;
+
     public static LettuceConnectionFactory createStandalone(RedisURI redisURI) {
         return new LettuceConnectionFactory(RedisClient.create(redisURI), redisURI.getDatabase());
     }
@@ -82,6 +105,30 @@ public class LettuceConnectionFactory implements RedisConnectionFactory, AutoClo
         return new LettuceConnection(this);
     }
 
+    @Override
+    public ScriptExecutor getScriptExecutor() {
+        if (!scriptBatching) {
+            return RedisConnectionFactory.super.getScriptExecutor();
+        }
+        if (batchingScriptExecutor == null) {
+            connectLock.lock();
+            try {
+                if (batchingScriptExecutor == null) {
+                    if (redisClient instanceof RedisClient) {
+                        StatefulRedisConnection<String, String> connection = ((RedisClient) redisClient).connect();
+                        batchingScriptExecutor = new LettuceBatchingScriptExecutor(connection, connection.async());
+                    } else {
+                        StatefulRedisClusterConnection<String, String> connection = ((RedisClusterClient) redisClient).connect();
+                        batchingScriptExecutor = new LettuceBatchingScriptExecutor(connection, connection.async());
+                    }
+                }
+            } finally {
+                connectLock.unlock();
+            }
+        }
+        return batchingScriptExecutor;
+    }
+
     @Override
     public boolean isRedisCluster() {
         return redisClient instanceof RedisClusterClient;
@@ -97,7 +144,8 @@ public class LettuceConnectionFactory implements RedisConnectionFactory, AutoClo
     @SuppressWarnings("java:S1452")
     SharedConnection<?> getSharedConnection() {
         if (sharedConnection == null) {
-            synchronized (this) {
+            connectLock.lock();
+            try {
                 if (sharedConnection == null) {
                     if (redisClient instanceof RedisClient) {
                         sharedConnection = new StandaloneSharedConnection(((RedisClient) redisClient).connect());
@@ -105,6 +153,8 @@ public class LettuceConnectionFactory implements RedisConnectionFactory, AutoClo
                         sharedConnection = new ClusterSharedConnection(((RedisClusterClient) redisClient).connect());
                     }
                 }
+            } finally {
+                connectLock.unlock();
             }
         }
         return sharedConnection;
@@ -116,17 +166,34 @@ public class LettuceConnectionFactory implements RedisConnectionFactory, AutoClo
 
     @Override
     public void close() {
+        if (batchingScriptExecutor != null) {
+            batchingScriptExecutor.close();
+        }
         if (sharedConnection != null) {
             sharedConnection.close();
         }
         redisClient.shutdown();
     }
 
-    interface SharedConnection<C extends RedisServerCommands<String, String> & RedisScriptingCommands<String, String>>
-            extends AutoCloseable {
+    interface SharedConnection<C extends RedisServerCommands<String, String> & RedisScriptingCommands<String, String>
+            & BaseRedisCommands<String, String>> extends AutoCloseable {
 
         C redisCommands();
 
+        /**
+         * Load the function library on all primary nodes.
+         *
+         * @since 1.0.4
+         */
+        default String functionLoad(String libraryCode) {
+            return functionLoad(redisCommands(), libraryCode);
+        }
+
+        static String functionLoad(BaseRedisCommands<String, String> commands, String libraryCode) {
+            return commands.dispatch(LettuceFunctions.Command.FUNCTION, new ValueOutput<>(StringCodec.UTF8),
+                    LettuceFunctions.functionLoadArgs(libraryCode));
+        }
+
         @Override
         void close();
     }
@@ -157,6 +224,18 @@ public class LettuceConnectionFactory implements RedisConnectionFactory, AutoClo
             return connection.sync();
         }
 
+        @Override
+        public String functionLoad(String libraryCode) {
+            String library = null;
+            for (RedisClusterNode node : connection.getPartitions()) {
+                if (node.is(RedisClusterNode.NodeFlag.UPSTREAM)) {
+                    library = SharedConnection.functionLoad(connection.getConnection(node.getNodeId()).sync(),
+                            libraryCode);
+                }
+            }
+            return library;
+        }
+
         @Override
         public void close() {
             connection.close();
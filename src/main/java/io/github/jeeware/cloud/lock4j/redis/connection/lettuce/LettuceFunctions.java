@@ -0,0 +1,93 @@
+/*
+ * Copyright 2020-2026 Hichem BOURADA and other authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jeeware.cloud.lock4j.redis.connection.lettuce;
+
+import io.github.jeeware.cloud.lock4j.util.Utils;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.output.BooleanOutput;
+import io.lettuce.core.output.CommandOutput;
+import io.lettuce.core.output.IntegerOutput;
+import io.lettuce.core.output.NestedMultiOutput;
+import io.lettuce.core.output.StatusOutput;
+import io.lettuce.core.output.ValueOutput;
+import io.lettuce.core.protocol.CommandArgs;
+import io.lettuce.core.protocol.ProtocolKeyword;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Redis 7 function commands dispatched as custom commands, not provided by the Lettuce version
+ * supported by this library.
+ *
+ * @author hbourada
+ * @since 1.0.4
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class LettuceFunctions {
+
+    enum Command implements ProtocolKeyword {
+        FUNCTION, FCALL, FCALL_RO;
+
+        private final byte[] bytes = name().getBytes(StandardCharsets.US_ASCII);
+
+        @Override
+        public byte[] getBytes() {
+            return bytes;
+        }
+    }
+
+    static CommandArgs<String, String> functionLoadArgs(String libraryCode) {
+        return new CommandArgs<>(StringCodec.UTF8).add("LOAD").add("REPLACE").addValue(libraryCode);
+    }
+
+    static Command fCallCommand(boolean readOnly) {
+        return readOnly ? Command.FCALL_RO : Command.FCALL;
+    }
+
+    static CommandArgs<String, String> fCallArgs(String function, List<String> keys, List<?> args) {
+        final CommandArgs<String, String> commandArgs = new CommandArgs<>(StringCodec.UTF8)
+                .add(function)
+                .add(keys.size());
+        if (!keys.isEmpty()) {
+            commandArgs.addKeys(keys);
+        }
+        return commandArgs.addValues(Utils.toStringList(args));
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> CommandOutput<String, String, T> newOutput(Class<T> returnType) {
+        final CommandOutput<String, String, ?> output;
+        switch (LettuceConnection.toScriptOutputType(returnType)) {
+            case BOOLEAN:
+                output = new BooleanOutput<>(StringCodec.UTF8);
+                break;
+            case INTEGER:
+                output = new IntegerOutput<>(StringCodec.UTF8);
+                break;
+            case MULTI:
+                output = new NestedMultiOutput<>(StringCodec.UTF8);
+                break;
+            case STATUS:
+                output = new StatusOutput<>(StringCodec.UTF8);
+                break;
+            default:
+                output = new ValueOutput<>(StringCodec.UTF8);
+        }
+        return (CommandOutput<String, String, T>) output;
+    }
+
+}
@@ -29,6 +29,21 @@ public final class LettuceMessageListener extends RedisPubSubAdapter<String, Str
         listener.onMessage(pattern, channel, message);
     }
 
+    @Override
+    public void message(String channel, String message) {
+        listener.onMessage(null, channel, message);
+    }
+
+    @Override
+    public void subscribed(String channel, long count) {
+        listener.onSubscribe(channel, count);
+    }
+
+    @Override
+    public void unsubscribed(String channel, long count) {
+        listener.onUnsubscribe(channel, count);
+    }
+
     @Override
     public void psubscribed(String pattern, long count) {
         listener.onPSubscribe(pattern, count);
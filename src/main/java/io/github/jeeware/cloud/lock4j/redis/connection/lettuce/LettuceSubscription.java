@@ -26,6 +26,8 @@ final class LettuceSubscription implements Subscription {
 
     String[] patterns;
 
+    String[] channels;
+
     LettuceSubscription(MessageListener listener, LettuceConnectionFactory factory) {
         this.listener = new LettuceMessageListener(listener);
         this.redisPubSubConnection = factory.getPubSubConnection();
@@ -53,6 +55,28 @@ final class LettuceSubscription implements Subscription {
         return patterns;
     }
 
+    @Override
+    public void subscribe(String... channels) {
+        this.channels = channels;
+        final StatefulRedisPubSubConnection<String, String> connection = redisPubSubConnection;
+        if (connection instanceof StatefulRedisClusterPubSubConnection) {
+            ((StatefulRedisClusterPubSubConnection<?, ?>) connection).setNodeMessagePropagation(true);
+        }
+        connection.addListener(listener);
+        connection.sync().subscribe(channels);
+    }
+
+    @Override
+    public void unsubscribe() {
+        redisPubSubConnection.removeListener(listener);
+        redisPubSubConnection.sync().unsubscribe();
+    }
+
+    @Override
+    public String[] getChannels() {
+        return channels;
+    }
+
     @Override
     public void close() {
         Subscription.super.close();
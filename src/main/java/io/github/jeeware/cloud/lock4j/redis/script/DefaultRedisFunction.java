@@ -0,0 +1,57 @@
+/*
+ * Copyright 2020-2026 Hichem BOURADA and other authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jeeware.cloud.lock4j.redis.script;
+
+import org.apache.commons.lang3.Validate;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@link RedisFunction} default implementation.
+ *
+ * @author hbourada
+ * @since 1.0.4
+ */
+public class DefaultRedisFunction<T> extends DefaultRedisScript<T> implements RedisFunction<T> {
+
+    private final String functionName;
+
+    private final RedisFunctionLibrary library;
+
+    private final boolean readOnly;
+
+    public DefaultRedisFunction(RedisScript<T> script, String functionName, RedisFunctionLibrary library,
+                                boolean readOnly) {
+        super(script.getName(), script.getScriptAsString(), script.getReturnType());
+        this.functionName = Validate.notBlank(functionName, "functionName is blank");
+        this.library = requireNonNull(library, "library is null");
+        this.readOnly = readOnly;
+    }
+
+    @Override
+    public String getFunctionName() {
+        return functionName;
+    }
+
+    @Override
+    public RedisFunctionLibrary getLibrary() {
+        return library;
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+}
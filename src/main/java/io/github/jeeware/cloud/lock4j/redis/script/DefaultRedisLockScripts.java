@@ -37,6 +37,26 @@ public class DefaultRedisLockScripts implements RedisLockScripts {
 
     private static final String REFRESH_ACTIVE_LOCKS_PATH = ROOT_PATH + "refresh_active_locks.lua";
 
+    private static final String LOCK_OWNER_PATH = ROOT_PATH + "lock_owner.lua";
+
+    private static final String ACQUIRE_LOCKS_PATH = ROOT_PATH + "acquire_locks.lua";
+
+    private static final String RELEASE_LOCKS_PATH = ROOT_PATH + "release_locks.lua";
+
+    private static final String ACQUIRE_READ_LOCK_PATH = ROOT_PATH + "acquire_read_lock.lua";
+
+    private static final String ACQUIRE_WRITE_LOCK_PATH = ROOT_PATH + "acquire_write_lock.lua";
+
+    private static final String REFRESH_READ_LOCKS_PATH = ROOT_PATH + "refresh_read_locks.lua";
+
+    private static final String RELEASE_READ_LOCK_PATH = ROOT_PATH + "release_read_lock.lua";
+
+    private static final String ACQUIRE_PERMITS_PATH = ROOT_PATH + "acquire_permits.lua";
+
+    private static final String REFRESH_PERMITS_PATH = ROOT_PATH + "refresh_permits.lua";
+
+    private static final String RELEASE_PERMITS_PATH = ROOT_PATH + "release_permits.lua";
+
     private final ClassLoader classLoader;
 
     public DefaultRedisLockScripts(ClassLoader classLoader) {
@@ -62,11 +82,68 @@ public class DefaultRedisLockScripts implements RedisLockScripts {
         return fromPath(REFRESH_ACTIVE_LOCKS_PATH);
     }
 
-    @SneakyThrows
+    @Override
+    public RedisScript<String> lockOwner() {
+        return fromPath(LOCK_OWNER_PATH, String.class);
+    }
+
+    @Override
+    public RedisScript<Long> acquireLocks() {
+        return fromPath(ACQUIRE_LOCKS_PATH);
+    }
+
+    @Override
+    public RedisScript<Long> releaseLocks() {
+        return fromPath(RELEASE_LOCKS_PATH);
+    }
+
+    @Override
+    public RedisScript<Long> acquireReadLock() {
+        return fromPath(ACQUIRE_READ_LOCK_PATH);
+    }
+
+    @Override
+    public RedisScript<Long> acquireWriteLock() {
+        return fromPath(ACQUIRE_WRITE_LOCK_PATH);
+    }
+
+    @Override
+    public RedisScript<Long> refreshReadLocks() {
+        return fromPath(REFRESH_READ_LOCKS_PATH);
+    }
+
+    @Override
+    public RedisScript<Long> releaseReadLock() {
+        return fromPath(RELEASE_READ_LOCK_PATH);
+    }
+
+    @Override
+    public RedisScript<Long> acquirePermits() {
+        return fromPath(ACQUIRE_PERMITS_PATH);
+    }
+
+    @Override
+    public RedisScript<Long> refreshPermits() {
+        return fromPath(REFRESH_PERMITS_PATH);
+    }
+
+    @Override
+    public RedisScript<Long> releasePermits() {
+        return fromPath(RELEASE_PERMITS_PATH);
+    }
+
     protected RedisScript<Long> fromPath(String path) {
+        return fromPath(path, Long.class);
+    }
+
+    /**
+     * @since 1.0.4
+     */
+    @SneakyThrows
+    protected <T> RedisScript<T> fromPath(String path, Class<T> returnType) {
         try (InputStream resource = classLoader.getResourceAsStream(path)) {
             final String scriptName = path.substring(ROOT_PATH.length());
-            return new DefaultRedisScript<>(scriptName, resource, UTF_8, Long.class);
+            return new DefaultRedisScript<>(scriptName, resource, UTF_8, returnType);
         }
     }
 
@@ -30,6 +30,9 @@ public class DefaultScriptExecutor implements ScriptExecutor {
     public <T> T execute(RedisScript<T> script, List<String> keys, List<?> args) {
         final RedisConnection connection = connectionFactory.getConnection();
         try {
+            if (script instanceof RedisFunction && ((RedisFunction<T>) script).getLibrary().isLoaded()) {
+                return fCall(connection, (RedisFunction<T>) script, keys, args);
+            }
             if (script.isLoaded()) {
                 return connection.evalSha(script.getSha1(), keys, args, script.getReturnType());
             }
@@ -43,4 +46,18 @@ public class DefaultScriptExecutor implements ScriptExecutor {
             connection.close();
         }
     }
+
+    private <T> T fCall(RedisConnection connection, RedisFunction<T> function, List<String> keys, List<?> args) {
+        try {
+            return connection.fCall(function.getFunctionName(), keys, args, function.getReturnType(),
+                    function.isReadOnly());
+        } catch (Exception e) {
+            if (containsFunctionNotFound(e)) {
+                connection.functionLoad(function.getLibrary().getCode());
+                return connection.fCall(function.getFunctionName(), keys, args, function.getReturnType(),
+                        function.isReadOnly());
+            }
+            throw e;
+        }
+    }
 }
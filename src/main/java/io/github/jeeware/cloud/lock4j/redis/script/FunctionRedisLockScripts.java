@@ -0,0 +1,204 @@
+/*
+ * Copyright 2020-2026 Hichem BOURADA and other authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jeeware.cloud.lock4j.redis.script;
+
+import io.github.jeeware.cloud.lock4j.util.Utils;
+
+import static org.apache.commons.lang3.StringUtils.substringBeforeLast;
+
+/**
+ * {@link RedisLockScripts} registered in a Redis 7 function library named <code>lock4j</code>, loaded once and
+ * called with <code>FCALL</code> instead of <code>EVALSHA</code>, so that lock calls never miss the scripts
+ * cache after a failover or a <code>SCRIPT FLUSH</code>. Read only functions are called with
+ * <code>FCALL_RO</code>.
+ * <p>
+ * The library is generated from the {@link DefaultRedisLockScripts} lua files, which are still evaluated
+ * on servers not supporting functions.
+ *
+ * @author hbourada
+ * @since 1.0.4
+ */
+public class FunctionRedisLockScripts extends DefaultRedisLockScripts {
+
+    public static final String LIBRARY_NAME = "lock4j";
+
+    private final RedisFunction<Long> acquireLock;
+
+    private final RedisFunction<Long> releaseLock;
+
+    private final RedisFunction<Long> refreshActiveLock;
+
+    private final RedisFunction<String> lockOwner;
+
+    private final RedisFunction<Long> acquireLocks;
+
+    private final RedisFunction<Long> releaseLocks;
+
+    private final RedisFunction<Long> acquireReadLock;
+
+    private final RedisFunction<Long> acquireWriteLock;
+
+    private final RedisFunction<Long> refreshReadLocks;
+
+    private final RedisFunction<Long> releaseReadLock;
+
+    private final RedisFunction<Long> acquirePermits;
+
+    private final RedisFunction<Long> refreshPermits;
+
+    private final RedisFunction<Long> releasePermits;
+
+    public FunctionRedisLockScripts(ClassLoader classLoader) {
+        super(classLoader);
+        final RedisScript<Long> acquireLockScript = super.acquireLock();
+        final RedisScript<Long> releaseLockScript = super.releaseLock();
+        final RedisScript<Long> refreshActiveLockScript = super.refreshActiveLock();
+        final RedisScript<String> lockOwnerScript = super.lockOwner();
+        final RedisScript<Long> acquireLocksScript = super.acquireLocks();
+        final RedisScript<Long> releaseLocksScript = super.releaseLocks();
+        final RedisScript<Long> acquireReadLockScript = super.acquireReadLock();
+        final RedisScript<Long> acquireWriteLockScript = super.acquireWriteLock();
+        final RedisScript<Long> refreshReadLocksScript = super.refreshReadLocks();
+        final RedisScript<Long> releaseReadLockScript = super.releaseReadLock();
+        final RedisScript<Long> acquirePermitsScript = super.acquirePermits();
+        final RedisScript<Long> refreshPermitsScript = super.refreshPermits();
+        final RedisScript<Long> releasePermitsScript = super.releasePermits();
+        final String code = "#!lua name=" + LIBRARY_NAME + '\n'
+                + function(acquireLockScript, false)
+                + function(releaseLockScript, false)
+                + function(refreshActiveLockScript, false)
+                + function(lockOwnerScript, true)
+                + function(acquireLocksScript, false)
+                + function(releaseLocksScript, false)
+                + function(acquireReadLockScript, false)
+                + function(acquireWriteLockScript, false)
+                + function(refreshReadLocksScript, false)
+                + function(releaseReadLockScript, false)
+                + function(acquirePermitsScript, false)
+                + function(refreshPermitsScript, false)
+                + function(releasePermitsScript, false);
+        final RedisFunctionLibrary library = new RedisFunctionLibrary(LIBRARY_NAME, code);
+        this.acquireLock = new DefaultRedisFunction<>(acquireLockScript, functionName(acquireLockScript), library,
+                false);
+        this.releaseLock = new DefaultRedisFunction<>(releaseLockScript, functionName(releaseLockScript), library,
+                false);
+        this.refreshActiveLock = new DefaultRedisFunction<>(refreshActiveLockScript,
+                functionName(refreshActiveLockScript), library, false);
+        this.lockOwner = new DefaultRedisFunction<>(lockOwnerScript, functionName(lockOwnerScript), library, true);
+        this.acquireLocks = new DefaultRedisFunction<>(acquireLocksScript, functionName(acquireLocksScript), library,
+                false);
+        this.releaseLocks = new DefaultRedisFunction<>(releaseLocksScript, functionName(releaseLocksScript), library,
+                false);
+        this.acquireReadLock = new DefaultRedisFunction<>(acquireReadLockScript, functionName(acquireReadLockScript),
+                library, false);
+        this.acquireWriteLock = new DefaultRedisFunction<>(acquireWriteLockScript, functionName(acquireWriteLockScript),
+                library, false);
+        this.refreshReadLocks = new DefaultRedisFunction<>(refreshReadLocksScript, functionName(refreshReadLocksScript),
+                library, false);
+        this.releaseReadLock = new DefaultRedisFunction<>(releaseReadLockScript, functionName(releaseReadLockScript),
+                library, false);
+        this.acquirePermits = new DefaultRedisFunction<>(acquirePermitsScript, functionName(acquirePermitsScript),
+                library, false);
+        this.refreshPermits = new DefaultRedisFunction<>(refreshPermitsScript, functionName(refreshPermitsScript),
+                library, false);
+        this.releasePermits = new DefaultRedisFunction<>(releasePermitsScript, functionName(releasePermitsScript),
+                library, false);
+    }
+
+    public FunctionRedisLockScripts() {
+        this(Utils.defaultClassLoader());
+    }
+
+    /**
+     * Wrap the script body in a local function having <code>KEYS</code> and <code>ARGV</code> parameters.
+     */
+    private static String function(RedisScript<?> script, boolean readOnly) {
+        final String name = functionName(script);
+        return "local function " + name + "(KEYS, ARGV)\n"
+                + script.getScriptAsString() + '\n'
+                + "end\n"
+                + "redis.register_function{function_name='" + name + "', callback=" + name
+                + (readOnly ? ", flags={'no-writes'}" : "") + "}\n";
+    }
+
+    private static String functionName(RedisScript<?> script) {
+        return LIBRARY_NAME + '_' + substringBeforeLast(script.getName(), ".");
+    }
+
+    @Override
+    public RedisScript<Long> acquireLock() {
+        return acquireLock;
+    }
+
+    @Override
+    public RedisScript<Long> releaseLock() {
+        return releaseLock;
+    }
+
+    @Override
+    public RedisScript<Long> refreshActiveLock() {
+        return refreshActiveLock;
+    }
+
+    @Override
+    public RedisScript<String> lockOwner() {
+        return lockOwner;
+    }
+
+    @Override
+    public RedisScript<Long> acquireLocks() {
+        return acquireLocks;
+    }
+
+    @Override
+    public RedisScript<Long> releaseLocks() {
+        return releaseLocks;
+    }
+
+    @Override
+    public RedisScript<Long> acquireReadLock() {
+        return acquireReadLock;
+    }
+
+    @Override
+    public RedisScript<Long> acquireWriteLock() {
+        return acquireWriteLock;
+    }
+
+    @Override
+    public RedisScript<Long> refreshReadLocks() {
+        return refreshReadLocks;
+    }
+
+    @Override
+    public RedisScript<Long> releaseReadLock() {
+        return releaseReadLock;
+    }
+
+    @Override
+    public RedisScript<Long> acquirePermits() {
+        return acquirePermits;
+    }
+
+    @Override
+    public RedisScript<Long> refreshPermits() {
+        return refreshPermits;
+    }
+
+    @Override
+    public RedisScript<Long> releasePermits() {
+        return releasePermits;
+    }
+
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2020-2026 Hichem BOURADA and other authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jeeware.cloud.lock4j.redis.script;
+
+/**
+ * {@link RedisScript} also registered as a function of a {@link RedisFunctionLibrary}, called with
+ * <code>FCALL</code> (or <code>FCALL_RO</code> when read only) once its library is loaded and evaluated
+ * as a script otherwise.
+ *
+ * @author hbourada
+ * @since 1.0.4
+ */
+public interface RedisFunction<T> extends RedisScript<T> {
+
+    /**
+     * @return the function name in its library
+     */
+    String getFunctionName();
+
+    /**
+     * @return the library registering this function
+     */
+    RedisFunctionLibrary getLibrary();
+
+    /**
+     * @return true iff the function is registered with the <code>no-writes</code> flag, so that it can be
+     * called with <code>FCALL_RO</code> and served by replicas
+     */
+    boolean isReadOnly();
+
+}
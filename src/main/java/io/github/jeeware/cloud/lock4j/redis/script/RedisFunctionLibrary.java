@@ -0,0 +1,47 @@
+/*
+ * Copyright 2020-2026 Hichem BOURADA and other authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jeeware.cloud.lock4j.redis.script;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Redis 7 function library, loaded once with <code>FUNCTION LOAD REPLACE</code>. Unlike the scripts cache,
+ * a library is persisted and replicated, so it survives restarts and failovers.
+ *
+ * @author hbourada
+ * @since 1.0.4
+ */
+@Getter
+@ToString(of = "name")
+public final class RedisFunctionLibrary {
+
+    private final String name;
+
+    private final String code;
+
+    /**
+     * True once the library is loaded, false when the server does not support functions.
+     */
+    @Setter
+    private volatile boolean loaded;
+
+    public RedisFunctionLibrary(String name, String code) {
+        this.name = Validate.notBlank(name, "name is blank");
+        this.code = Validate.notBlank(code, "code is blank");
+    }
+
+}
@@ -42,4 +42,85 @@ public interface RedisLockScripts {
      */
     RedisScript<Long> refreshActiveLock();
 
+    /**
+     * @return script a read only script returning the owner instance id of a lock, null if not locked
+     * @since 1.0.4
+     */
+    default RedisScript<String> lockOwner() {
+        return new DefaultRedisScript<>("lock_owner.lua", "return redis.call('get', KEYS[1])", String.class);
+    }
+
+    /**
+     * @return script acquiring all the given locks or none of them, returning the count of acquired locks
+     * @since 1.0.4
+     */
+    default RedisScript<Long> acquireLocks() {
+        return new DefaultRedisLockScripts().acquireLocks();
+    }
+
+    /**
+     * @return script releasing all the given locks, returning the count of released locks
+     * @since 1.0.4
+     */
+    default RedisScript<Long> releaseLocks() {
+        return new DefaultRedisLockScripts().releaseLocks();
+    }
+
+    /**
+     * @return script acquiring a shared read hold of a read-write lock, returning 1 if acquired
+     * @since 1.0.4
+     */
+    default RedisScript<Long> acquireReadLock() {
+        return new DefaultRedisLockScripts().acquireReadLock();
+    }
+
+    /**
+     * @return script requesting the write lock of a read-write lock, returning its fencing token once readers
+     * released it
+     * @since 1.0.4
+     */
+    default RedisScript<Long> acquireWriteLock() {
+        return new DefaultRedisLockScripts().acquireWriteLock();
+    }
+
+    /**
+     * @return script refreshing the read holds of an instance, returning the count of refreshed holds
+     * @since 1.0.4
+     */
+    default RedisScript<Long> refreshReadLocks() {
+        return new DefaultRedisLockScripts().refreshReadLocks();
+    }
+
+    /**
+     * @return script releasing the read hold of an instance, returning the count of released holds
+     * @since 1.0.4
+     */
+    default RedisScript<Long> releaseReadLock() {
+        return new DefaultRedisLockScripts().releaseReadLock();
+    }
+
+    /**
+     * @return script acquiring permits of a semaphore if enough permits are free, returning 1 if acquired
+     * @since 1.0.4
+     */
+    default RedisScript<Long> acquirePermits() {
+        return new DefaultRedisLockScripts().acquirePermits();
+    }
+
+    /**
+     * @return script refreshing the permit leases of an instance, returning the count of refreshed leases
+     * @since 1.0.4
+     */
+    default RedisScript<Long> refreshPermits() {
+        return new DefaultRedisLockScripts().refreshPermits();
+    }
+
+    /**
+     * @return script releasing permits of a semaphore held by an instance, returning 1 if released
+     * @since 1.0.4
+     */
+    default RedisScript<Long> releasePermits() {
+        return new DefaultRedisLockScripts().releasePermits();
+    }
+
 }
@@ -14,16 +14,57 @@
 package io.github.jeeware.cloud.lock4j.redis.script;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface ScriptExecutor {
 
     <T> T execute(RedisScript<T> script, List<String> keys, List<?> args);
 
+    /**
+     * Execute the script asynchronously. Default implementation executes it
+     * synchronously in the caller thread and returns a completed future.
+     *
+     * @since 1.0.4
+     */
+    default <T> CompletableFuture<T> executeAsync(RedisScript<T> script, List<String> keys, List<?> args) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            future.complete(execute(script, keys, args));
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * @return true iff {@link #executeAsync(RedisScript, List, List)} does not block the caller thread
+     * @since 1.0.4
+     */
+    default boolean supportsAsync() {
+        return false;
+    }
+
     default boolean containsNoScript(Exception e) {
+        return containsMessage(e, "NOSCRIPT");
+    }
+
+    /**
+     * @return true iff the error is due to a function missing from the server, e.g. after a
+     * <code>FUNCTION FLUSH</code>, so that its library must be loaded again
+     * @since 1.0.4
+     */
+    default boolean containsFunctionNotFound(Exception e) {
+        return containsMessage(e, "Function not found");
+    }
+
+    /**
+     * @since 1.0.4
+     */
+    static boolean containsMessage(Exception e, String text) {
         Throwable current = e;
         do {
             final String message = current.getMessage();
-            if (message != null && message.contains("NOSCRIPT")) {
+            if (message != null && message.contains(text)) {
                 return true;
             }
             current = current.getCause();
@@ -14,6 +14,7 @@
 package io.github.jeeware.cloud.lock4j.spring.annotation;
 
 import io.github.jeeware.cloud.lock4j.DistributedLockRegistry;
+import io.github.jeeware.cloud.lock4j.LockHandle;
 import io.github.jeeware.cloud.lock4j.function.Invocation;
 import io.github.jeeware.cloud.lock4j.spring.annotation.DistributedLock.Mode;
 import io.github.jeeware.cloud.lock4j.spring.converter.StringToDurationConverter;
@@ -26,17 +27,27 @@ import org.aopalliance.intercept.MethodInvocation;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ClassUtils;
 
 import java.lang.reflect.Method;
 import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
+import java.util.function.Function;
 
 import static io.github.jeeware.cloud.lock4j.util.Utils.defaultValue;
 
 /**
+ * Interceptor acquiring the distributed lock of a method annotated with {@link DistributedLock}.
+ * <p>
+ * Methods returning a {@link CompletionStage}, a Reactor {@code Mono} or {@code Flux} acquire the lock
+ * asynchronously and hold it until the returned future or publisher completes, fails or is canceled.
+ *
  * @author hbourada
  * @version 1.0
  */
@@ -46,6 +57,9 @@ public class DistributedLockInterceptor implements MethodInterceptor {
 
     public static final Class<DistributedLock> ANNOTATION_TYPE = DistributedLock.class;
 
+    private static final boolean REACTOR_PRESENT = ClassUtils.isPresent("reactor.core.publisher.Mono",
+            DistributedLockInterceptor.class.getClassLoader());
+
     @NonNull
     private final ConfigurableBeanFactory beanFactory;
 
@@ -59,6 +73,9 @@ public class DistributedLockInterceptor implements MethodInterceptor {
     @Override
     public Object invoke(MethodInvocation invocation) throws Throwable {
         final LockInfo lockInfo = lockInfos.computeIfAbsent(invocation.getMethod(), m -> buildLockInfo(invocation));
+        if (lockInfo.returnType != ReturnType.BLOCKING) {
+            return invokeAsync(invocation, lockInfo);
+        }
         final io.github.jeeware.cloud.lock4j.DistributedLock lock = registry.getLock(lockInfo.id);
         final Object lockResult = lockInfo.apply(lock);
         // tryLock return false => skip call
@@ -77,6 +94,55 @@ public class DistributedLockInterceptor implements MethodInterceptor {
         }
     }
 
+    private Object invokeAsync(MethodInvocation invocation, LockInfo lockInfo) {
+        switch (lockInfo.returnType) {
+            case COMPLETION_STAGE:
+                return invokeCompletionStage(invocation, lockInfo);
+            case MONO:
+                return ReactorLockSupport.mono(() -> lockInfo.acquireAsync(registry), invocation, lockInfo.id,
+                        registry.getAsyncExecutor());
+            case FLUX:
+                return ReactorLockSupport.flux(() -> lockInfo.acquireAsync(registry), invocation, lockInfo.id,
+                        registry.getAsyncExecutor());
+            default:
+                throw new IllegalStateException("Unexpected return type: " + lockInfo.returnType);
+        }
+    }
+
+    /**
+     * The method is called by the async executor of the registry, never by the thread completing the acquisition.
+     */
+    private CompletableFuture<Object> invokeCompletionStage(MethodInvocation invocation, LockInfo lockInfo) {
+        return lockInfo.acquireAsync(registry).thenComposeAsync(handle -> {
+            if (!handle.isPresent()) {
+                log.debug("Distributed lock [{}] not acquired => skip method {}", lockInfo.id, invocation.getMethod());
+                return CompletableFuture.completedFuture(null);
+            }
+            log.debug("Distributed lock [{}] acquired", lockInfo.id);
+            final CompletableFuture<Object> result = new CompletableFuture<>();
+            CompletionStage<?> stage;
+            try {
+                stage = (CompletionStage<?>) invocation.proceed();
+            } catch (Throwable e) {
+                stage = Utils.failedFuture(e);
+            }
+            if (stage == null) {
+                stage = CompletableFuture.completedFuture(null);
+            }
+            stage.whenComplete((value, error) -> handle.get().releaseAsync().whenComplete((v, releaseError) -> {
+                log.debug("Distributed lock [{}] released", lockInfo.id);
+                if (error != null) {
+                    result.completeExceptionally(error);
+                } else if (releaseError != null) {
+                    result.completeExceptionally(releaseError);
+                } else {
+                    result.complete(value);
+                }
+            }));
+            return result;
+        }, registry.getAsyncExecutor());
+    }
+
     private LockInfo buildLockInfo(MethodInvocation mi) {
         Method method = mi.getMethod();
         DistributedLock annotation = AnnotationUtils.findAnnotation(method, ANNOTATION_TYPE);
@@ -97,24 +163,35 @@ public class DistributedLockInterceptor implements MethodInterceptor {
         final String id = annotation.id().isEmpty() ? id(method) : annotation.id();
         final Mode mode = deduceModeIfDefault(annotation, method);
         final Invocation invocation;
+        final AsyncInvocation asyncInvocation;
 
         switch (mode) {
             case LOCK:
                 invocation = Invocation.of(Lock::lock);
+                asyncInvocation = r -> {
+                    CompletableFuture<LockHandle> future = r.lockAsync(id);
+                    return Utils.cancelOnCancel(future.thenApply(Optional::of), future);
+                };
                 break;
             case LOCK_INTERRUPTIBLE:
                 invocation = l -> {
                     l.lockInterruptibly();
                     return null;
                 };
+                asyncInvocation = r -> {
+                    CompletableFuture<LockHandle> future = r.lockAsync(id);
+                    return Utils.cancelOnCancel(future.thenApply(Optional::of), future);
+                };
                 break;
             case TRY_LOCK:
                 validateMutuallyExclusiveWith(annotation.clockSkew(), "clockSkew", annotation);
                 Long timeout = convertToMillis(annotation.timeout());
                 if (timeout == null) {
                     invocation = io.github.jeeware.cloud.lock4j.DistributedLock::tryLock;
+                    asyncInvocation = r -> r.tryLockAsync(id, Duration.ZERO);
                 } else {
                     invocation = l -> l.tryLock(timeout, TimeUnit.MILLISECONDS);
+                    asyncInvocation = r -> r.tryLockAsync(id, Duration.ofMillis(timeout));
                 }
                 break;
             case TRY_LOCK_WITH_CLOCK_SKEW:
@@ -122,15 +199,27 @@ public class DistributedLockInterceptor implements MethodInterceptor {
                 Long clockSkew = convertToMillis(annotation.clockSkew());
                 if (clockSkew == null) {
                     invocation = io.github.jeeware.cloud.lock4j.DistributedLock::tryLock;
+                    asyncInvocation = r -> r.tryLockAsync(id, Duration.ZERO);
                 } else {
                     invocation = l -> l.tryLockWithClockSkew(clockSkew, TimeUnit.MILLISECONDS);
+                    asyncInvocation = r -> r.tryLockWithClockSkewAsync(id, Duration.ofMillis(clockSkew));
                 }
                 break;
             default:
                 throw new IllegalStateException("Unexpected DistributedLock.mode: " + mode);
         }
 
-        return new LockInfo(invocation, id);
+        return new LockInfo(invocation, asyncInvocation, returnType(method.getReturnType()), id);
+    }
+
+    private static ReturnType returnType(Class<?> type) {
+        if (CompletionStage.class.isAssignableFrom(type) && type.isAssignableFrom(CompletableFuture.class)) {
+            return ReturnType.COMPLETION_STAGE;
+        }
+        if (REACTOR_PRESENT) {
+            return ReactorLockSupport.returnType(type);
+        }
+        return ReturnType.BLOCKING;
     }
 
     private static Mode deduceModeIfDefault(DistributedLock annotation, Method method) {
@@ -166,14 +255,27 @@ public class DistributedLockInterceptor implements MethodInterceptor {
         return duration != null ? duration.toMillis() : null;
     }
 
+    enum ReturnType {
+        BLOCKING, COMPLETION_STAGE, MONO, FLUX
+    }
+
+    interface AsyncInvocation extends Function<DistributedLockRegistry, CompletableFuture<Optional<LockHandle>>> {
+    }
+
     @RequiredArgsConstructor
     static final class LockInfo {
         final Invocation invocation;
+        final AsyncInvocation asyncInvocation;
+        final ReturnType returnType;
         final String id;
 
         Object apply(io.github.jeeware.cloud.lock4j.DistributedLock lock) throws InterruptedException {
             return invocation.apply(lock);
         }
+
+        CompletableFuture<Optional<LockHandle>> acquireAsync(DistributedLockRegistry registry) {
+            return asyncInvocation.apply(registry);
+        }
     }
 
 }
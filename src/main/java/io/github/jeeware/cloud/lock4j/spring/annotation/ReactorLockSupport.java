@@ -0,0 +1,107 @@
+/*
+ * Copyright 2020-2026 Hichem BOURADA and other authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.jeeware.cloud.lock4j.spring.annotation;
+
+import io.github.jeeware.cloud.lock4j.LockHandle;
+import io.github.jeeware.cloud.lock4j.spring.annotation.DistributedLockInterceptor.ReturnType;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInvocation;
+import org.reactivestreams.Publisher;
+import org.springframework.aop.ProxyMethodInvocation;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Reactor support of {@link DistributedLockInterceptor} loaded only when Reactor is on the classpath.
+ * The lock is acquired on subscription and released when the publisher completes, fails or is canceled.
+ * Each subscription proceeds with its own clone of the method invocation, on the async executor of the registry.
+ *
+ * @author hbourada
+ * @since 1.0.4
+ */
+@UtilityClass
+@Slf4j
+class ReactorLockSupport {
+
+    static ReturnType returnType(Class<?> type) {
+        if (type == Mono.class) {
+            return ReturnType.MONO;
+        }
+        if (type == Flux.class) {
+            return ReturnType.FLUX;
+        }
+        return ReturnType.BLOCKING;
+    }
+
+    static Mono<Object> mono(Supplier<CompletableFuture<Optional<LockHandle>>> acquire,
+                             MethodInvocation invocation, String lockId, Executor executor) {
+        return Mono.usingWhen(acquire(acquire, executor),
+                handle -> handle.isPresent() ? Mono.from(proceed(invocation, lockId)) : skip(invocation, lockId),
+                handle -> release(handle, lockId),
+                (handle, error) -> release(handle, lockId),
+                handle -> release(handle, lockId));
+    }
+
+    static Flux<Object> flux(Supplier<CompletableFuture<Optional<LockHandle>>> acquire,
+                             MethodInvocation invocation, String lockId, Executor executor) {
+        return Flux.usingWhen(acquire(acquire, executor),
+                handle -> handle.isPresent() ? proceed(invocation, lockId) : skip(invocation, lockId),
+                handle -> release(handle, lockId),
+                (handle, error) -> release(handle, lockId),
+                handle -> release(handle, lockId));
+    }
+
+    private static Mono<Optional<LockHandle>> acquire(Supplier<CompletableFuture<Optional<LockHandle>>> acquire,
+                                                      Executor executor) {
+        return Mono.defer(() -> {
+            final CompletableFuture<Optional<LockHandle>> future = acquire.get();
+            return Mono.fromFuture(future).doOnCancel(() -> future.cancel(false));
+        }).publishOn(Schedulers.fromExecutor(executor));
+    }
+
+    /**
+     * Proceed with a clone of the invocation as the publisher may be subscribed several times.
+     */
+    @SuppressWarnings("unchecked")
+    private static Publisher<Object> proceed(MethodInvocation invocation, String lockId) {
+        log.debug("Distributed lock [{}] acquired", lockId);
+        try {
+            final MethodInvocation clone = invocation instanceof ProxyMethodInvocation
+                    ? ((ProxyMethodInvocation) invocation).invocableClone() : invocation;
+            final Publisher<Object> publisher = (Publisher<Object>) clone.proceed();
+            return publisher != null ? publisher : Mono.empty();
+        } catch (Throwable e) {
+            return Mono.error(e);
+        }
+    }
+
+    private static Mono<Object> skip(MethodInvocation invocation, String lockId) {
+        log.debug("Distributed lock [{}] not acquired => skip method {}", lockId, invocation.getMethod());
+        return Mono.empty();
+    }
+
+    private static Mono<Void> release(Optional<LockHandle> handle, String lockId) {
+        if (!handle.isPresent()) {
+            return Mono.empty();
+        }
+        return Mono.fromFuture(handle.get().releaseAsync())
+                .doOnSuccess(v -> log.debug("Distributed lock [{}] released", lockId));
+    }
+}
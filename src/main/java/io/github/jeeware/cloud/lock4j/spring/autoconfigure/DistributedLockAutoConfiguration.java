@@ -21,11 +21,17 @@ import com.mongodb.client.MongoDatabase;
 import io.github.jeeware.cloud.lock4j.BackoffStrategy;
 import io.github.jeeware.cloud.lock4j.DistributedLockRegistry;
 import io.github.jeeware.cloud.lock4j.ExceptionTranslator;
+import io.github.jeeware.cloud.lock4j.LockMetricsListener;
 import io.github.jeeware.cloud.lock4j.LockRepository;
 import io.github.jeeware.cloud.lock4j.Retryer;
+import io.github.jeeware.cloud.lock4j.file.FileLockRepository;
 import io.github.jeeware.cloud.lock4j.function.WatchableThreadFactory;
+import io.github.jeeware.cloud.lock4j.jdbc.JdbcAdvisoryLockRepository;
 import io.github.jeeware.cloud.lock4j.jdbc.JdbcLockRepository;
+import io.github.jeeware.cloud.lock4j.jdbc.PostgresLockRepository;
 import io.github.jeeware.cloud.lock4j.jdbc.SQLDialects;
+import io.github.jeeware.cloud.lock4j.memory.MemoryLockRepository;
+import io.github.jeeware.cloud.lock4j.micrometer.MicrometerLockMetricsListener;
 import io.github.jeeware.cloud.lock4j.mongo.IdentityExceptionTranslator;
 import io.github.jeeware.cloud.lock4j.mongo.MongoLockRepository;
 import io.github.jeeware.cloud.lock4j.spring.MongoExceptionTranslator;
@@ -33,6 +39,8 @@ import io.github.jeeware.cloud.lock4j.spring.SQLExceptionTranslator;
 import io.github.jeeware.cloud.lock4j.spring.autoconfigure.DistributedLockProperties.Retry;
 import io.github.jeeware.cloud.lock4j.support.RandomBackoffStrategy;
 import io.github.jeeware.cloud.lock4j.support.SimpleRetryer;
+import io.github.jeeware.cloud.lock4j.util.VirtualThreads;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
@@ -50,8 +58,12 @@ import org.springframework.boot.autoconfigure.mongo.MongoProperties;
 import org.springframework.boot.jdbc.DatabaseDriver;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
+import org.springframework.core.type.AnnotatedTypeMetadata;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.dao.NonTransientDataAccessException;
@@ -69,6 +81,7 @@ import java.io.IOException;
 import java.lang.reflect.Method;
 import java.util.Objects;
 import java.util.Random;
+import java.util.function.UnaryOperator;
 
 /**
  * {@link EnableAutoConfiguration Auto-configuration} for distributed locks.
@@ -79,7 +92,8 @@ import java.util.Random;
 @Configuration(proxyBeanMethods = false)
 @ConditionalOnExpression("'${cloud.lock4j.type:}'.toLowerCase() != 'none'")
 @Import({RedisConfiguration.class})
-@AutoConfigureAfter({DataSourceAutoConfiguration.class, MongoDataAutoConfiguration.class, RedisAutoConfiguration.class})
+@AutoConfigureAfter(value = {DataSourceAutoConfiguration.class, MongoDataAutoConfiguration.class, RedisAutoConfiguration.class},
+        name = "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration")
 @RequiredArgsConstructor
 public class DistributedLockAutoConfiguration {
 
@@ -87,16 +101,35 @@ public class DistributedLockAutoConfiguration {
 
     @ConditionalOnMissingBean
     @Bean
-    public DistributedLockRegistry distributedLockRegistry(LockRepository lockRepository, Retryer retryer) {
+    public DistributedLockRegistry distributedLockRegistry(LockRepository lockRepository, Retryer retryer,
+                                                           ObjectProvider<LockMetricsListener> metricsListeners) {
         return DistributedLockRegistry.builder()
                 .repository(lockRepository)
                 .retryer(retryer)
                 .instanceId(properties.getInstanceId())
                 .refreshLockInterval(properties.getRefreshLockInterval())
                 .deadLockTimeout(properties.getDeadLockTimeout())
+                .metricsListener(metricsListeners.getIfUnique())
+                .virtualThreads(properties.isVirtualThreads())
+                .sweeperElection(properties.isSweeperElection())
+                .maxLocalHandoffs(properties.getMaxLocalHandoffs())
+                .maxLocalHoldTime(properties.getMaxLocalHoldTime())
+                .leaseRenewalThreshold(properties.getLeaseRenewalThreshold())
                 .build();
     }
 
+    /**
+     * @return factory starting repository watchers on virtual threads
+     * @since 1.0.4
+     */
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty("cloud.lock4j.virtual-threads")
+    @Conditional(OnVirtualThreadsSupported.class)
+    @Bean
+    public WatchableThreadFactory virtualWatchableThreadFactory() {
+        return new WatchableThreadFactory.Virtual();
+    }
+
     @ConditionalOnMissingBean
     @Bean
     public Retryer retryer(BackoffStrategy backoffStrategy) {
@@ -125,6 +158,27 @@ public class DistributedLockAutoConfiguration {
                 .build();
     }
 
+    /**
+     * @since 1.0.4
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(MeterRegistry.class)
+    @ConditionalOnBean(MeterRegistry.class)
+    @ConditionalOnProperty(value = "cloud.lock4j.metrics.enabled", matchIfMissing = true)
+    static class MetricsConfiguration {
+
+        @ConditionalOnMissingBean
+        @Bean
+        public LockMetricsListener lockMetricsListener(MeterRegistry meterRegistry, LockRepository lockRepository,
+                                                       DistributedLockProperties properties) {
+            return MicrometerLockMetricsListener.builder()
+                    .registry(meterRegistry)
+                    .backend(MicrometerLockMetricsListener.backendOf(lockRepository))
+                    .lockTag(MicrometerLockMetricsListener.lockIdPrefix(properties.getMetrics().getLockIdSeparators()))
+                    .build();
+        }
+    }
+
     @Configuration(proxyBeanMethods = false)
     @ConditionalOnProperty(name = "cloud.lock4j.type", havingValue = "jdbc", matchIfMissing = true)
     @ConditionalOnBean(DataSource.class)
@@ -141,6 +195,50 @@ public class DistributedLockAutoConfiguration {
                             .withNonRetryableException(NonTransientDataAccessException.class));
         }
 
+        /**
+         * @since 1.0.4
+         */
+        @ConditionalOnMissingBean
+        @ConditionalOnProperty("cloud.lock4j.jdbc.advisory-lock")
+        @Bean
+        public LockRepository advisoryLockRepository(DataSourceProperties dataSourceProperties,
+                                                     SQLExceptionTranslator translator,
+                                                     DistributedLockProperties properties) {
+            if (properties.getJdbc().isListenNotify()) {
+                throw new IllegalStateException("cloud.lock4j.jdbc.advisory-lock and cloud.lock4j.jdbc.listen-notify "
+                        + "can not be both enabled");
+            }
+            final DatabaseDriver driver = DatabaseDriver.fromJdbcUrl(dataSourceProperties.determineUrl());
+            return new JdbcAdvisoryLockRepository(dataSource, SQLDialects.valueOf(driver.name()), translator);
+        }
+
+        /**
+         * @since 1.0.4
+         */
+        @ConditionalOnMissingBean
+        @ConditionalOnProperty("cloud.lock4j.jdbc.listen-notify")
+        @ConditionalOnClass(name = "org.postgresql.PGConnection")
+        @Bean(initMethod = "start")
+        public LockRepository postgresLockRepository(DataSourceProperties dataSourceProperties,
+                                                     SQLExceptionTranslator translator,
+                                                     DistributedLockProperties properties,
+                                                     ObjectProvider<WatchableThreadFactory> threadFactories) {
+            final DatabaseDriver driver = DatabaseDriver.fromJdbcUrl(dataSourceProperties.determineUrl());
+            if (driver != DatabaseDriver.POSTGRESQL) {
+                throw new IllegalStateException("cloud.lock4j.jdbc.listen-notify is only supported by PostgreSQL, "
+                        + "current database: " + driver);
+            }
+            PostgresLockRepository repository = new PostgresLockRepository(dataSource, translator,
+                    properties.getJdbc().getTableName(), properties.getJdbc().getShards());
+            repository.setPinnedConnections(properties.getJdbc().getPinnedConnections());
+            WatchableThreadFactory threadFactory = threadFactories.getIfUnique();
+            if (threadFactory != null) {
+                repository.setThreadFactory(threadFactory);
+            }
+
+            return repository;
+        }
+
         @ConditionalOnMissingBean
         @Bean
         public LockRepository lockRepository(DataSourceProperties dataSourceProperties,
@@ -149,7 +247,10 @@ public class DistributedLockAutoConfiguration {
             final DatabaseDriver driver = DatabaseDriver.fromJdbcUrl(dataSourceProperties.determineUrl());
             final SQLDialects dialect = SQLDialects.valueOf(driver.name());
             final DistributedLockProperties.Jdbc jdbc = properties.getJdbc();
-            return new JdbcLockRepository(dataSource, dialect, translator, jdbc.getTableName(), jdbc.getFunctionName());
+            final JdbcLockRepository repository = new JdbcLockRepository(dataSource, dialect, translator,
+                    jdbc.getTableName(), jdbc.getFunctionName(), jdbc.getShards());
+            repository.setPinnedConnections(jdbc.getPinnedConnections());
+            return repository;
         }
 
         @ConditionalOnMissingBean
@@ -166,7 +267,7 @@ public class DistributedLockAutoConfiguration {
         }
 
         @ConditionalOnMissingBean
-        @ConditionalOnProperty(value = "cloud.lock4j.jdbc.create-schema", matchIfMissing = true)
+        @ConditionalOnExpression("${cloud.lock4j.jdbc.create-schema:true} && !${cloud.lock4j.jdbc.advisory-lock:false}")
         @Bean
         public JdbcLockRepositoryInitializer jdbcLockRepositoryInitializer(ApplicationContext context,
                                                                            DistributedLockProperties properties) {
@@ -280,4 +381,72 @@ public class DistributedLockAutoConfiguration {
         }
     }
 
+    /**
+     * In-memory locks shared by the registries of the application only, selected by {@code cloud.lock4j.type: memory}.
+     *
+     * @since 1.0.4
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(name = "cloud.lock4j.type", havingValue = "memory")
+    static class MemoryLockRepositoryConfiguration {
+
+        @ConditionalOnMissingBean
+        @Bean
+        public DistributedLockProperties distributedLockProperties() {
+            return DistributedLockProperties.create(UnaryOperator.identity());
+        }
+
+        @ConditionalOnMissingBean
+        @Bean(initMethod = "start")
+        public LockRepository lockRepository(ObjectProvider<WatchableThreadFactory> threadFactories) {
+            MemoryLockRepository repository = new MemoryLockRepository();
+            WatchableThreadFactory threadFactory = threadFactories.getIfUnique();
+            if (threadFactory != null) {
+                repository.setThreadFactory(threadFactory);
+            }
+
+            return repository;
+        }
+    }
+
+    /**
+     * Locks shared by the processes of the host through a memory-mapped file, selected by
+     * {@code cloud.lock4j.type: file}.
+     *
+     * @since 1.0.4
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(name = "cloud.lock4j.type", havingValue = "file")
+    static class FileLockRepositoryConfiguration {
+
+        @ConditionalOnMissingBean
+        @Bean
+        public DistributedLockProperties distributedLockProperties() {
+            return DistributedLockProperties.create(UnaryOperator.identity());
+        }
+
+        @ConditionalOnMissingBean
+        @Bean(initMethod = "start")
+        public LockRepository lockRepository(DistributedLockProperties properties,
+                                             ObjectProvider<WatchableThreadFactory> threadFactories) {
+            DistributedLockProperties.File file = properties.getFile();
+            FileLockRepository repository = new FileLockRepository(file.getPath(), file.getBuckets());
+            repository.setPollInterval(file.getPollInterval());
+            WatchableThreadFactory threadFactory = threadFactories.getIfUnique();
+            if (threadFactory != null) {
+                repository.setThreadFactory(threadFactory);
+            }
+
+            return repository;
+        }
+    }
+
+
+    static final class OnVirtualThreadsSupported implements Condition {
+
+        @Override
+        public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            return VirtualThreads.isSupported();
+        }
+    }
 }
@@ -13,6 +13,8 @@
 
 package io.github.jeeware.cloud.lock4j.spring.autoconfigure;
 
+import io.github.jeeware.cloud.lock4j.file.FileLockRepository;
+import io.github.jeeware.cloud.lock4j.micrometer.MicrometerLockMetricsListener;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.Setter;
@@ -21,6 +23,8 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.DeprecatedConfigurationProperty;
 
 import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.Duration;
 import java.util.Arrays;
 import java.util.HashSet;
@@ -51,6 +55,8 @@ public class DistributedLockProperties {
 
     private final Redis redis = new Redis();
 
+    private final File file = new File();
+
     private long waitInterval = 100;
 
     private Duration refreshLockInterval = Duration.ofMillis(5000);
@@ -59,8 +65,39 @@ public class DistributedLockProperties {
 
     private final Retry retry = new Retry();
 
+    private final Metrics metrics = new Metrics();
+
     private String instanceId = UUID.randomUUID().toString();
 
+    /**
+     * Run the registry scheduler, repository watchers and asynchronous repository calls on virtual threads.
+     * Requires Java 21 or later, platform threads are used otherwise.
+     */
+    private boolean virtualThreads;
+
+    /**
+     * Elect a single instance releasing dead locks through a lease renewed at each sweep,
+     * instead of every instance scanning the repository.
+     */
+    private boolean sweeperElection;
+
+    /**
+     * Maximum consecutive handoffs of a held lock to the threads of the same instance waiting for it, without
+     * releasing and acquiring it again in the repository. 0 disables local handoffs.
+     */
+    private int maxLocalHandoffs;
+
+    /**
+     * Maximum time a lock is kept by local handoffs, the refresh lock interval if not set.
+     */
+    private Duration maxLocalHoldTime;
+
+    /**
+     * Enable lease mode: the heartbeat renews a held lock only when its remaining lease (the dead lock timeout)
+     * is below this threshold, which must be between the refresh lock interval and the dead lock timeout.
+     */
+    private Duration leaseRenewalThreshold;
+
     public void setInstanceId(String instanceId) {
         this.instanceId = Validate.notEmpty(instanceId, "instanceId is empty");
     }
@@ -118,7 +155,7 @@ public class DistributedLockProperties {
     }
 
     public enum Type {
-        JDBC, MONGO, REDIS, NONE
+        JDBC, MONGO, REDIS, MEMORY, FILE, NONE
     }
 
     @Getter
@@ -144,6 +181,29 @@ public class DistributedLockProperties {
         @NonNull
         private String scriptSeparator = ";;";
 
+        /**
+         * Number of lock tables named {@code <table-name>_<i>} (and MySQL functions {@code <function-name>_<i>})
+         * selected by hashing lock ids, 1 for a single table named {@code <table-name>}.
+         */
+        private int shards = 1;
+
+        /**
+         * Number of connections owned by the lock repository and keeping theirs prepared statements,
+         * 0 to check out a pooled connection by statement.
+         */
+        private int pinnedConnections = 0;
+
+        /**
+         * Use PostgreSQL LISTEN/NOTIFY to wake up lock waiters as soon as a lock is released.
+         */
+        private boolean listenNotify = false;
+
+        /**
+         * Use database session scoped advisory locks (PostgreSQL, MySQL or Oracle) instead of the lock table.
+         * Oracle requires the execute privilege on <code>DBMS_LOCK</code> to allocate a lock handle per lock id.
+         */
+        private boolean advisoryLock = false;
+
         public String getFunctionName() {
             if (functionName == null) {
                 functionName = tableName.toLowerCase() + "__get_lock";
@@ -168,6 +228,61 @@ public class DistributedLockProperties {
         @NonNull
         private String lockPrefix = "lock";
 
+        /**
+         * Pipeline concurrent lock script invocations on a dedicated connection
+         * (Lettuce client only).
+         */
+        private boolean scriptBatching;
+
+        /**
+         * Register lock scripts in a Redis 7 function library called with FCALL instead of EVALSHA,
+         * scripts are still evaluated on older servers.
+         */
+        private boolean functions;
+
+    }
+
+    /**
+     * @since 1.0.4
+     */
+    @Getter
+    @Setter
+    public static final class File {
+
+        /**
+         * Lock file shared by the processes of the host, created if it does not exist.
+         */
+        @NonNull
+        private Path path = Paths.get(System.getProperty("java.io.tmpdir"), "lock4j.lock");
+
+        /**
+         * Number of 8 KiB buckets of a new lock file, an existing file keeps its number of buckets.
+         */
+        private int buckets = FileLockRepository.DEFAULT_BUCKETS;
+
+        /**
+         * Interval between two polls of the lock file to detect the releases of the other processes.
+         */
+        @NonNull
+        private Duration pollInterval = Duration.ofMillis(FileLockRepository.DEFAULT_POLL_INTERVAL_MILLIS);
+    }
+
+    @Getter
+    @Setter
+    public static final class Metrics {
+
+        /**
+         * Record lock metrics when a Micrometer MeterRegistry is available.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Characters ending the lock id prefix used as the bounded {@code lock} tag, {@code other} for the lock ids
+         * without separator.
+         */
+        @NonNull
+        private String lockIdSeparators = MicrometerLockMetricsListener.DEFAULT_LOCK_ID_SEPARATORS;
+
     }
 
     @Getter
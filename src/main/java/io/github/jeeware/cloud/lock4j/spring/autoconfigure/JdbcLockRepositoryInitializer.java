@@ -13,6 +13,8 @@
 
 package io.github.jeeware.cloud.lock4j.spring.autoconfigure;
 
+import static io.github.jeeware.cloud.lock4j.jdbc.JdbcLockRepository.shardName;
+
 import java.io.InputStream;
 import java.nio.charset.Charset;
 
@@ -69,9 +71,10 @@ public class JdbcLockRepositoryInitializer implements InitializingBean {
         try (InputStream inputStream = resource.getInputStream()) {
             script = StreamUtils.copyToString(inputStream, charset);
         }
-        script = replaceSchemaScript(script);
         ResourceDatabasePopulator populator = new ResourceDatabasePopulator();
-        populator.setScripts(new ByteArrayResource(script.getBytes(charset)));
+        for (int shard = 0; shard < jdbc.getShards(); shard++) {
+            populator.addScript(new ByteArrayResource(replaceSchemaScript(script, shard).getBytes(charset)));
+        }
         populator.setSqlScriptEncoding(charset.name());
         populator.setContinueOnError(jdbc.isScriptContinueOnError());
         populator.setSeparator(jdbc.getScriptSeparator());
@@ -93,14 +96,22 @@ public class JdbcLockRepositoryInitializer implements InitializingBean {
     }
 
     protected String replaceSchemaScript(String script) {
+        return replaceSchemaScript(script, 0);
+    }
+
+    /**
+     * @param shard index of the lock table
+     * @since 1.0.4
+     */
+    protected String replaceSchemaScript(String script, int shard) {
         DistributedLockProperties.Jdbc jdbc = properties.getJdbc();
         String replacement = script;
         if (script.contains(TABLE_PLACEHOLDER)) {
-            replacement = script.replace(TABLE_PLACEHOLDER, jdbc.getTableName());
+            replacement = script.replace(TABLE_PLACEHOLDER, shardName(jdbc.getTableName(), shard, jdbc.getShards()));
         }
         if (script.contains(FUNCTION_PLACEHOLDER)) {
             replacement = replacement
-                    .replace(FUNCTION_PLACEHOLDER, jdbc.getFunctionName());
+                    .replace(FUNCTION_PLACEHOLDER, shardName(jdbc.getFunctionName(), shard, jdbc.getShards()));
         }
         return replacement;
     }
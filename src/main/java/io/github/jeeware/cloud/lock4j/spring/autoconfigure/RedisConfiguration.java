@@ -20,6 +20,7 @@ import io.github.jeeware.cloud.lock4j.redis.connection.RedisConnectionFactory;
 import io.github.jeeware.cloud.lock4j.redis.connection.jedis.JedisConnectionFactory;
 import io.github.jeeware.cloud.lock4j.redis.connection.lettuce.LettuceConnectionFactory;
 import io.github.jeeware.cloud.lock4j.redis.script.DefaultRedisLockScripts;
+import io.github.jeeware.cloud.lock4j.redis.script.FunctionRedisLockScripts;
 import io.github.jeeware.cloud.lock4j.redis.script.RedisLockScripts;
 import io.github.jeeware.cloud.lock4j.spring.redis.RedisConnectionFactoryAdapter;
 import io.lettuce.core.RedisClient;
@@ -79,7 +80,10 @@ class RedisConfiguration {
 
     @ConditionalOnMissingBean
     @Bean
-    public RedisLockScripts redisLockScripts(ApplicationContext context) {
+    public RedisLockScripts redisLockScripts(ApplicationContext context, DistributedLockProperties properties) {
+        if (properties.getRedis().isFunctions()) {
+            return new FunctionRedisLockScripts(context.getClassLoader());
+        }
         return new DefaultRedisLockScripts(context.getClassLoader());
     }
 
@@ -158,16 +162,21 @@ class RedisConfiguration {
         @ConditionalOnBean(RedisURI.class)
         @Bean(CONNECTION_FACTORY_BEAN_NAME)
         public RedisConnectionFactory redisConnectionFactory(Collection<RedisURI> redisURIs,
-                                                             ObjectProvider<ClientResources> clientResources) {
+                                                             ObjectProvider<ClientResources> clientResources,
+                                                             DistributedLockProperties properties) {
             ClientResources resources = clientResources.getIfUnique();
+            final LettuceConnectionFactory connectionFactory;
             // Assume standalone
             if (redisURIs.size() == 1) {
                 RedisURI uri = redisURIs.iterator().next();
-                return resources != null ? LettuceConnectionFactory.createStandalone(resources, uri)
+                connectionFactory = resources != null ? LettuceConnectionFactory.createStandalone(resources, uri)
                         : LettuceConnectionFactory.createStandalone(uri);
+            } else {
+                connectionFactory = LettuceConnectionFactory.createCluster(resources, redisURIs.toArray(new RedisURI[0]));
             }
+            connectionFactory.setScriptBatching(properties.getRedis().isScriptBatching());
 
-            return LettuceConnectionFactory.createCluster(resources, redisURIs.toArray(new RedisURI[0]));
+            return connectionFactory;
         }
 
         @ConditionalOnMissingBean
@@ -32,6 +32,22 @@ final class LettuceByteArrayMessageListener extends RedisPubSubAdapter<byte[], b
         listener.onMessage(serializer.deserialize(pattern), serializer.deserialize(channel), serializer.deserialize(message));
     }
 
+    @Override
+    public void message(byte[] channel, byte[] message) {
+        final RedisSerializer<String> serializer = RedisSerializer.string();
+        listener.onMessage(null, serializer.deserialize(channel), serializer.deserialize(message));
+    }
+
+    @Override
+    public void subscribed(byte[] channel, long count) {
+        listener.onSubscribe(RedisSerializer.string().deserialize(channel), count);
+    }
+
+    @Override
+    public void unsubscribed(byte[] channel, long count) {
+        listener.onUnsubscribe(RedisSerializer.string().deserialize(channel), count);
+    }
+
     @Override
     public void psubscribed(byte[] pattern, long count) {
         listener.onPSubscribe(RedisSerializer.string().deserialize(pattern), count);
@@ -29,6 +29,8 @@ final class LettuceByteArraySubscription implements Subscription {
 
     String[] patterns;
 
+    String[] channels;
+
     LettuceByteArraySubscription(MessageListener listener, StatefulRedisPubSubConnection<byte[], byte[]> pubSubConnection) {
         this.listener = new LettuceByteArrayMessageListener(listener);
         this.pubSubConnection = Objects.requireNonNull(pubSubConnection, "pubSubConnection is null");
@@ -52,6 +54,24 @@ final class LettuceByteArraySubscription implements Subscription {
         return this.patterns;
     }
 
+    @Override
+    public void subscribe(String... channels) {
+        this.channels = channels;
+        pubSubConnection.addListener(listener);
+        pubSubConnection.sync().subscribe(serializeArray(channels));
+    }
+
+    @Override
+    public void unsubscribe() {
+        pubSubConnection.removeListener(listener);
+        pubSubConnection.sync().unsubscribe();
+    }
+
+    @Override
+    public String[] getChannels() {
+        return this.channels;
+    }
+
     @Override
     public void close() {
         Subscription.super.close();
@@ -19,6 +19,7 @@ import io.github.jeeware.cloud.lock4j.redis.connection.MessageListener;
 import io.github.jeeware.cloud.lock4j.redis.connection.Subscription;
 import org.springframework.data.redis.connection.DecoratedRedisConnection;
 import org.springframework.data.redis.connection.DefaultStringRedisConnection;
+import org.springframework.data.redis.connection.RedisClusterConnection;
 import org.springframework.data.redis.connection.ReturnType;
 import org.springframework.data.redis.connection.StringRedisConnection;
 import org.springframework.data.redis.serializer.RedisSerializer;
@@ -36,9 +37,12 @@ public class RedisConnectionAdapter extends AbstractRedisConnection {
 
     private final int database;
 
+    private final boolean cluster;
+
     public RedisConnectionAdapter(org.springframework.data.redis.connection.RedisConnection redisConnection, int database) {
         this.redisConnection = new DefaultStringRedisConnection(redisConnection);
         this.database = database;
+        this.cluster = redisConnection instanceof RedisClusterConnection;
     }
 
     @Override
@@ -61,12 +65,16 @@ public class RedisConnectionAdapter extends AbstractRedisConnection {
 
     @Override
     public <T> T evalSha(String sha1, List<String> keys, List<?> args, Class<T> returnType) {
-        return redisConnection.evalSha(sha1, ReturnType.fromJavaType(returnType), keys.size(), keysAndArgs(keys, args));
+        final Object result = redisConnection.evalSha(sha1, ReturnType.fromJavaType(returnType), keys.size(),
+                keysAndArgs(keys, args));
+        return deserialize(result, returnType);
     }
 
     @Override
     public <T> T eval(String script, List<String> keys, List<?> args, Class<T> returnType) {
-        return redisConnection.eval(script, ReturnType.fromJavaType(returnType), keys.size(), keysAndArgs(keys, args));
+        final Object result = redisConnection.eval(script, ReturnType.fromJavaType(returnType), keys.size(),
+                keysAndArgs(keys, args));
+        return deserialize(result, returnType);
     }
 
     private static String[] keysAndArgs(List<String> keys, List<?> args) {
@@ -82,6 +90,42 @@ public class RedisConnectionAdapter extends AbstractRedisConnection {
         return redisConnection.scriptLoad(script);
     }
 
+    /**
+     * Supported by standalone connections only, as Spring Data Redis does not route raw commands
+     * to cluster nodes.
+     */
+    @Override
+    public String functionLoad(String libraryCode) {
+        checkNotCluster();
+        return deserialize(redisConnection.execute("FUNCTION", "LOAD", "REPLACE", libraryCode), String.class);
+    }
+
+    @Override
+    public <T> T fCall(String function, List<String> keys, List<?> args, Class<T> returnType, boolean readOnly) {
+        checkNotCluster();
+        final List<String> commandArgs = new ArrayList<>(keys.size() + args.size() + 2);
+        commandArgs.add(function);
+        commandArgs.add(String.valueOf(keys.size()));
+        commandArgs.addAll(keys);
+        commandArgs.addAll(Utils.toStringList(args));
+        return deserialize(redisConnection.execute(readOnly ? "FCALL_RO" : "FCALL",
+                commandArgs.toArray(new String[0])), returnType);
+    }
+
+    private void checkNotCluster() {
+        if (cluster) {
+            throw new UnsupportedOperationException("Redis functions not supported by Redis cluster adapter");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T deserialize(Object raw, Class<T> returnType) {
+        if (raw instanceof byte[] && (returnType == String.class || returnType == null)) {
+            return (T) RedisSerializer.string().deserialize((byte[]) raw);
+        }
+        return returnType != null ? returnType.cast(raw) : (T) raw;
+    }
+
     @Override
     protected Subscription createSubscription(MessageListener listener) {
         return new SubscriptionAdapter(listener, ((DecoratedRedisConnection) redisConnection).getDelegate());
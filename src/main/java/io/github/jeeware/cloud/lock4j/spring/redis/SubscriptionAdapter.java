@@ -91,4 +91,19 @@ public class SubscriptionAdapter implements Subscription {
         return delegate.getPatterns();
     }
 
+    @Override
+    public void subscribe(String... channels) {
+        delegate.subscribe(channels);
+    }
+
+    @Override
+    public void unsubscribe() {
+        delegate.unsubscribe();
+    }
+
+    @Override
+    public String[] getChannels() {
+        return delegate.getChannels();
+    }
+
 }
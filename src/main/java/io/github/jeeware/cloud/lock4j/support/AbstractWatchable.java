@@ -13,51 +13,125 @@
 
 package io.github.jeeware.cloud.lock4j.support;
 
+import io.github.jeeware.cloud.lock4j.LockWaiter;
 import io.github.jeeware.cloud.lock4j.Watchable;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Semaphore;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
 
 /**
- * Base implementation for a watchable lock repository
+ * Base implementation for a watchable lock repository.
+ * <p>
+ * Each signal of a lock increments its generation and hands off the release to a single local waiter,
+ * blocked or asynchronous, since only one of them can acquire the lock, whereas released permits of a semaphore
+ * wake up all its waiters with {@link #signalAll(String)}. Waiters are registered before their
+ * acquisition attempt, so a signal received before they block is kept until consumed instead of being lost.
+ * <p>
+ * Wait queues are reference counted by their registered waiters: a queue is created by the first waiter of a
+ * lock and removed when its last waiter is closed, signals of locks without waiters allocate nothing.
  *
  * @author hbourada
  */
 @Slf4j
 public abstract class AbstractWatchable implements Watchable {
 
-    private final Map<String, Semaphore> locks = new ConcurrentHashMap<>();
+    private final Map<String, WaitQueue> queues = new ConcurrentHashMap<>();
 
     protected volatile boolean active;
 
     @Override
     public void await(String lockId) throws InterruptedException {
-        Semaphore semaphore = getSemaphore(lockId);
-        semaphore.acquire();
-        log.trace("Semaphore [lockId={}, {}] acquired", lockId, semaphore);
+        try (LockWaiter waiter = register(lockId)) {
+            waiter.await();
+        }
     }
 
     @Override
     public void await(String lockId, long timeoutMillis) throws InterruptedException {
-        Semaphore semaphore = getSemaphore(lockId);
-        boolean acquired = semaphore.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS);
-        log.trace("Try acquire semaphore [lockId={}, {}] with timeout {}ms => {} ", lockId, semaphore, timeoutMillis, acquired);
+        try (LockWaiter waiter = register(lockId)) {
+            waiter.await(timeoutMillis);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> awaitAsync(String lockId, long timeoutMillis, ScheduledExecutorService scheduler) {
+        final LockWaiter waiter = register(lockId);
+        final CompletableFuture<Void> future = waiter.awaitAsync(timeoutMillis, scheduler);
+        future.whenComplete((v, e) -> waiter.close());
+        return future;
     }
 
+    @Override
+    public LockWaiter register(String lockId) {
+        final WaitQueue queue = queues.compute(lockId, (id, q) -> {
+            final WaitQueue waitQueue = q != null ? q : new WaitQueue(id);
+            waitQueue.register();
+            return waitQueue;
+        });
+        return queue.new Waiter();
+    }
+
+    /**
+     * Signal the release of the lock id as is, the releases of a reader of a read-write lock or of a permit of a
+     * semaphore are signalled with the read-write lock or semaphore id by their repository.
+     */
     @Override
     public void signal(String lockId) {
-        Semaphore semaphore = getSemaphore(lockId);
-        if (semaphore.hasQueuedThreads()) {
-            semaphore.release();
-            log.trace("Semaphore [lockId={}, {}] released", lockId, semaphore);
+        final WaitQueue queue = queues.get(lockId);
+        if (queue != null) {
+            queue.signal();
+        }
+    }
+
+    /**
+     * Wake up every registered waiter of the lock, as the released permits of a semaphore may be acquired by
+     * several of them.
+     */
+    @Override
+    public void signalAll(String lockId) {
+        final WaitQueue queue = queues.get(lockId);
+        if (queue != null) {
+            queue.signalAll();
         }
     }
 
-    private Semaphore getSemaphore(String lockId) {
-        return locks.computeIfAbsent(lockId, l -> new Semaphore(0));
+    /**
+     * Wake up every registered waiter of each lock whose id matches the predicate, when the released ids and
+     * their number are not known (e.g. a changed storage area).
+     *
+     * @since 1.0.4
+     */
+    protected void signalAll(Predicate<String> lockIds) {
+        queues.forEach((lockId, queue) -> {
+            if (lockIds.test(lockId)) {
+                queue.signalAll();
+            }
+        });
+    }
+
+    /**
+     * Wake up every registered waiter to check its lock again, after releases may have been missed
+     * (e.g. while the watcher was disconnected).
+     *
+     * @since 1.0.4
+     */
+    protected void signalAll() {
+        queues.values().forEach(WaitQueue::signalAll);
+    }
+
+    private void unregister(WaitQueue queue, WaitQueue.Waiter waiter) {
+        // removed atomically with the last waiter, so a concurrent register() creates a new queue
+        queues.computeIfPresent(queue.lockId, (id, q) -> q == queue && q.unregister(waiter) ? null : q);
     }
 
     @Override
@@ -65,4 +139,205 @@ public abstract class AbstractWatchable implements Watchable {
         return active;
     }
 
+    /**
+     * Waiters of a lock. The generation counts the received signals and {@code handedOff} the signals consumed
+     * by a waiter, the difference is the number of releases not yet handed off, bounded by the registered
+     * waiters so that signals without waiters are not accumulated.
+     */
+    private final class WaitQueue {
+        final String lockId;
+        final ReentrantLock lock = new ReentrantLock();
+        final Condition released = lock.newCondition();
+        final Deque<CompletableFuture<Void>> asyncWaiters = new ArrayDeque<>();
+        long generation;
+        long handedOff;
+        int waiters;
+
+        WaitQueue(String lockId) {
+            this.lockId = lockId;
+        }
+
+        void register() {
+            lock.lock();
+            try {
+                waiters++;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void signal() {
+            lock.lock();
+            try {
+                generation++;
+                handedOff = Math.max(handedOff, generation - waiters);
+                log.trace("Signal lock {} [generation={}, handedOff={}, waiters={}]", lockId, generation, handedOff,
+                        waiters);
+            } finally {
+                lock.unlock();
+            }
+            handOff(false);
+        }
+
+        void signalAll() {
+            lock.lock();
+            try {
+                generation = Math.max(generation, handedOff + waiters);
+            } finally {
+                lock.unlock();
+            }
+            handOff(true);
+        }
+
+        /**
+         * Hand off a pending release to an asynchronous waiter or else wake up a single blocked waiter,
+         * or all the pending releases to the registered waiters.
+         */
+        private void handOff(boolean all) {
+            CompletableFuture<Void> asyncWaiter;
+            do {
+                lock.lock();
+                try {
+                    if (generation == handedOff) {
+                        return;
+                    }
+                    asyncWaiter = asyncWaiters.poll();
+                    if (asyncWaiter == null) {
+                        if (all) {
+                            released.signalAll();
+                        } else {
+                            released.signal();
+                        }
+                        return;
+                    }
+                    handedOff++;
+                } finally {
+                    lock.unlock();
+                }
+                // complete outside the lock as dependent actions run in the current thread
+            } while (asyncWaiter.complete(null) ? all : giveBack());
+        }
+
+        /**
+         * Give back a release handed off to an asynchronous waiter canceled meanwhile.
+         */
+        private boolean giveBack() {
+            lock.lock();
+            try {
+                handedOff = Math.max(handedOff - 1, generation - waiters);
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * @return true iff a release was handed off, false on timeout
+         */
+        boolean await(long timeoutNanos) throws InterruptedException {
+            lock.lock();
+            try {
+                long nanos = timeoutNanos;
+                while (generation == handedOff) {
+                    if (timeoutNanos < 0) {
+                        released.await();
+                    } else if (nanos <= 0) {
+                        return false;
+                    } else {
+                        nanos = released.awaitNanos(nanos);
+                    }
+                }
+                handedOff++;
+                return true;
+            } catch (InterruptedException e) {
+                // the pending release, if any, is passed on to another waiter
+                if (generation > handedOff) {
+                    released.signal();
+                }
+                throw e;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        CompletableFuture<Void> awaitAsync(long timeoutMillis, ScheduledExecutorService scheduler) {
+            final CompletableFuture<Void> future = new CompletableFuture<>();
+            lock.lock();
+            try {
+                if (generation > handedOff) {
+                    handedOff++;
+                    future.complete(null);
+                    return future;
+                }
+                asyncWaiters.add(future);
+            } finally {
+                lock.unlock();
+            }
+            final ScheduledFuture<?> timeout = scheduler.schedule(() -> {
+                if (removeAsyncWaiter(future)) {
+                    future.complete(null);
+                }
+            }, timeoutMillis, TimeUnit.MILLISECONDS);
+            future.whenComplete((v, e) -> {
+                timeout.cancel(false);
+                removeAsyncWaiter(future); // canceled by the caller
+            });
+            return future;
+        }
+
+        private boolean removeAsyncWaiter(CompletableFuture<Void> future) {
+            lock.lock();
+            try {
+                return asyncWaiters.remove(future);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * @return true iff the last waiter was unregistered
+         */
+        boolean unregister(Waiter waiter) {
+            lock.lock();
+            try {
+                if (!waiter.closed) {
+                    waiter.closed = true;
+                    waiters--;
+                    handedOff = Math.max(handedOff, generation - waiters);
+                }
+                return waiters == 0;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private final class Waiter implements LockWaiter {
+            volatile boolean closed; // written under lock
+
+            @Override
+            public void await() throws InterruptedException {
+                WaitQueue.this.await(-1);
+            }
+
+            @Override
+            public void await(long timeoutMillis) throws InterruptedException {
+                final long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, timeoutMillis));
+                final boolean signaled = WaitQueue.this.await(timeoutNanos);
+                log.trace("Await lock {} with timeout {}ms => {}", lockId, timeoutMillis, signaled);
+            }
+
+            @Override
+            public CompletableFuture<Void> awaitAsync(long timeoutMillis, ScheduledExecutorService scheduler) {
+                return WaitQueue.this.awaitAsync(timeoutMillis, scheduler);
+            }
+
+            @Override
+            public void close() {
+                if (!closed) {
+                    AbstractWatchable.this.unregister(WaitQueue.this, this);
+                }
+            }
+        }
+    }
+
 }
@@ -13,12 +13,15 @@
 
 package io.github.jeeware.cloud.lock4j.support;
 
+import io.github.jeeware.cloud.lock4j.LockWaiter;
 import io.github.jeeware.cloud.lock4j.Watchable;
 import io.github.jeeware.cloud.lock4j.WatchableLockRepository;
 import io.github.jeeware.cloud.lock4j.function.WatchableThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -67,6 +70,20 @@ public abstract class AbstractWatchableLockRepository implements WatchableLockRe
         }
     }
 
+    @Override
+    public LockWaiter registerWaiter(String lockId) {
+        return watchable.isActive() ? watchable.register(lockId) : WatchableLockRepository.super.registerWaiter(lockId);
+    }
+
+    @Override
+    public CompletableFuture<Void> awaitReleaseLockAsync(String lockId, long timeoutMillis,
+                                                         ScheduledExecutorService scheduler) {
+        if (watchable.isActive()) {
+            return watchable.awaitAsync(lockId, timeoutMillis, scheduler);
+        }
+        return WatchableLockRepository.super.awaitReleaseLockAsync(lockId, timeoutMillis, scheduler);
+    }
+
     @Override
     public void close() {
         if (watchable != null && closed.compareAndSet(false, true)) {
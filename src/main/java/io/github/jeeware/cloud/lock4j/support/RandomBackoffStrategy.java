@@ -50,11 +50,15 @@ public class RandomBackoffStrategy implements BackoffStrategy {
 
     @Override
     public void sleep(Retryer.Context context) throws InterruptedException {
-        Thread.sleep(randomSleepInMillis());
+        Thread.sleep(delayMillis(context));
     }
 
+    /**
+     * @since 1.0.4
+     */
+    @Override
     @SuppressWarnings("java:S2140")
-    private long randomSleepInMillis() {
+    public long delayMillis(Retryer.Context context) {
         return (long) (minSleepInMillis + maxMinDiffInMillis * random.nextDouble());
     }
 
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2020-2026 Hichem BOURADA and other authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jeeware.cloud.lock4j.support;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Identifiers of the reader entries of a read-write lock in repositories storing each reader instance as a lock
+ * row or document, e.g. <code>my-lock#reader#instance-1</code> for the instance <code>instance-1</code>
+ * reading the lock <code>my-lock</code>. The write lock is stored as the lock of the read-write lock id.
+ *
+ * @author hbourada
+ * @since 1.0.4
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ReadWriteLockIds {
+
+    public static final String READER_SEPARATOR = "#reader#";
+
+    public static String readerId(String lockId, String instanceId) {
+        return readersPrefix(lockId) + instanceId;
+    }
+
+    /**
+     * @return the prefix of all the reader ids of the lock
+     */
+    public static String readersPrefix(String lockId) {
+        return lockId + READER_SEPARATOR;
+    }
+
+    /**
+     * @return the read-write lock id of a reader id, or the given id if it is not a reader id
+     */
+    public static String lockIdOf(String id) {
+        final int index = id.lastIndexOf(READER_SEPARATOR);
+        return index < 0 ? id : id.substring(0, index);
+    }
+
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2020-2026 Hichem BOURADA and other authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jeeware.cloud.lock4j.support;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Identifiers of the permits of a semaphore in repositories storing them as lock rows or documents, e.g.
+ * <code>my-semaphore#permit#0</code> for the first permit of the semaphore <code>my-semaphore</code>.
+ *
+ * @author hbourada
+ * @since 1.0.4
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class SemaphoreIds {
+
+    public static final String PERMIT_SEPARATOR = "#permit#";
+
+    public static String permitId(String semaphoreId, int permit) {
+        return permitsPrefix(semaphoreId) + permit;
+    }
+
+    /**
+     * @return the prefix of all the permit ids of the semaphore
+     */
+    public static String permitsPrefix(String semaphoreId) {
+        return semaphoreId + PERMIT_SEPARATOR;
+    }
+
+    /**
+     * @return the semaphore id of a permit id, or the given id if it is not a permit id
+     */
+    public static String semaphoreIdOf(String id) {
+        final int index = id.lastIndexOf(PERMIT_SEPARATOR);
+        return index < 0 ? id : id.substring(0, index);
+    }
+
+}
@@ -106,6 +106,11 @@ public class SimpleRetryer implements Retryer {
         backoffStrategy.sleep(context);
     }
 
+    @Override
+    public long delayMillis(Context context) {
+        return backoffStrategy.delayMillis(context);
+    }
+
     @RequiredArgsConstructor
     public static final class SimpleContext implements Context {
         private final int maxRetry;
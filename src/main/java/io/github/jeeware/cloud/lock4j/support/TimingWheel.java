@@ -0,0 +1,379 @@
+/*
+ * Copyright 2020-2026 Hichem BOURADA and other authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jeeware.cloud.lock4j.support;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.Validate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Hashed timing wheel scheduler: tasks are scheduled and canceled in O(1) whatever the number of pending tasks,
+ * and run by a single ticking thread with a precision of one tick. Tasks whose delay exceeds a wheel turn stay
+ * in their bucket for the remaining turns. The thread is started by the first scheduled task and parks while
+ * no task is pending.
+ * <p>
+ * As with a single thread {@link java.util.concurrent.ScheduledThreadPoolExecutor}, tasks must be short or hand
+ * off their work to another executor. Pending tasks are canceled on {@link #shutdown()}.
+ *
+ * @author hbourada
+ * @since 1.0.4
+ */
+@Slf4j
+public class TimingWheel extends AbstractExecutorService implements ScheduledExecutorService {
+
+    public static final long DEFAULT_TICK_MILLIS = 10;
+
+    public static final int DEFAULT_WHEEL_SIZE = 512;
+
+    private final long tickNanos;
+
+    private final Bucket[] wheel;
+
+    private final int mask;
+
+    private final Thread worker;
+
+    private final Queue<Timeout<?>> pendingTimeouts = new ConcurrentLinkedQueue<>();
+
+    private final Queue<Timeout<?>> canceledTimeouts = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Timeouts scheduled and not yet expired or canceled.
+     */
+    private final AtomicInteger activeTimeouts = new AtomicInteger();
+
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    private final CountDownLatch terminated = new CountDownLatch(1);
+
+    private volatile boolean shutdown;
+
+    private final long startNanos = System.nanoTime();
+
+    // ticks processed by the worker
+    private long tick;
+
+    public TimingWheel(ThreadFactory threadFactory, long tickDuration, TimeUnit unit, int wheelSize) {
+        Objects.requireNonNull(threadFactory, "threadFactory is null");
+        Validate.isTrue(tickDuration > 0, "tickDuration must be positive: %d", tickDuration);
+        Validate.isTrue(wheelSize > 0 && Integer.bitCount(wheelSize) == 1, "wheelSize must be a power of two: %d",
+                wheelSize);
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.wheel = new Bucket[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = wheelSize - 1;
+        this.worker = threadFactory.newThread(this::run);
+    }
+
+    public TimingWheel(ThreadFactory threadFactory) {
+        this(threadFactory, DEFAULT_TICK_MILLIS, MILLISECONDS, DEFAULT_WHEEL_SIZE);
+    }
+
+    public TimingWheel() {
+        this(Executors.defaultThreadFactory());
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        return schedule(new Timeout<>(Executors.callable(command, null), deadline(delay, unit), 0));
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+        return schedule(new Timeout<>(callable, deadline(delay, unit), 0));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        Validate.isTrue(period > 0, "period must be positive: %d", period);
+        return schedule(new Timeout<>(Executors.callable(command, null), deadline(initialDelay, unit),
+                unit.toNanos(period)));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+        Validate.isTrue(delay > 0, "delay must be positive: %d", delay);
+        return schedule(new Timeout<>(Executors.callable(command, null), deadline(initialDelay, unit),
+                -unit.toNanos(delay)));
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        schedule(command, 0, NANOSECONDS);
+    }
+
+    private static long deadline(long delay, TimeUnit unit) {
+        return System.nanoTime() + Math.max(0, unit.toNanos(delay));
+    }
+
+    private <V> Timeout<V> schedule(Timeout<V> timeout) {
+        if (shutdown) {
+            throw new RejectedExecutionException("Timing wheel is shut down");
+        }
+        activeTimeouts.incrementAndGet();
+        pendingTimeouts.add(timeout);
+        if (!started.get() && started.compareAndSet(false, true)) {
+            worker.start();
+        } else {
+            LockSupport.unpark(worker);
+        }
+        return timeout;
+    }
+
+    private void run() {
+        try {
+            while (!shutdown) {
+                awaitNextTick();
+                if (shutdown) {
+                    break;
+                }
+                transferPendingTimeouts();
+                removeCanceledTimeouts();
+                wheel[(int) (tick & mask)].expire(System.nanoTime());
+                tick++;
+            }
+        } finally {
+            cancelAll();
+            terminated.countDown();
+        }
+    }
+
+    private void awaitNextTick() {
+        while (!shutdown) {
+            if (activeTimeouts.get() == 0) {
+                // nothing to expire => park until a task is scheduled and skip the empty ticks
+                LockSupport.park(this);
+                tick = Math.max(tick, (System.nanoTime() - startNanos) / tickNanos);
+                continue;
+            }
+            final long sleepNanos = startNanos + (tick + 1) * tickNanos - System.nanoTime();
+            if (sleepNanos <= 0) {
+                return;
+            }
+            LockSupport.parkNanos(this, sleepNanos);
+        }
+    }
+
+    private void transferPendingTimeouts() {
+        Timeout<?> timeout;
+        while ((timeout = pendingTimeouts.poll()) != null) {
+            if (timeout.isCancelled()) {
+                continue;
+            }
+            final long ticks = Math.max(tick, ceilDiv(timeout.deadlineNanos - startNanos, tickNanos) - 1);
+            timeout.remainingRounds = (ticks - tick) / wheel.length;
+            wheel[(int) (ticks & mask)].add(timeout);
+        }
+    }
+
+    private static long ceilDiv(long x, long y) {
+        return -Math.floorDiv(-x, y);
+    }
+
+    private void removeCanceledTimeouts() {
+        Timeout<?> timeout;
+        while ((timeout = canceledTimeouts.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void cancelAll() {
+        for (Bucket bucket : wheel) {
+            for (Timeout<?> timeout = bucket.head; timeout != null; timeout = timeout.next) {
+                timeout.cancel(false);
+            }
+        }
+        Timeout<?> timeout;
+        while ((timeout = pendingTimeouts.poll()) != null) {
+            timeout.cancel(false);
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        if (started.compareAndSet(false, true)) {
+            terminated.countDown(); // never started
+        } else {
+            LockSupport.unpark(worker);
+        }
+    }
+
+    /**
+     * Pending tasks are canceled rather than returned.
+     */
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown();
+        return new ArrayList<>();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return terminated.getCount() == 0;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return terminated.await(timeout, unit);
+    }
+
+    /**
+     * Doubly linked list of the timeouts of a tick, only accessed by the worker.
+     */
+    private final class Bucket {
+        Timeout<?> head;
+        Timeout<?> tail;
+
+        void add(Timeout<?> timeout) {
+            timeout.bucket = this;
+            if (tail == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void remove(Timeout<?> timeout) {
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            } else {
+                tail = timeout.prev;
+            }
+            timeout.prev = timeout.next = null;
+            timeout.bucket = null;
+        }
+
+        void expire(long nowNanos) {
+            Timeout<?> timeout = head;
+            while (timeout != null) {
+                final Timeout<?> next = timeout.next;
+                if (timeout.remainingRounds <= 0 || timeout.deadlineNanos <= nowNanos) {
+                    remove(timeout);
+                    timeout.expire();
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+    }
+
+    private final class Timeout<V> extends FutureTask<V> implements ScheduledFuture<V> {
+
+        /**
+         * 0 for a one shot task, positive for a fixed rate and negative for a fixed delay.
+         */
+        final long periodNanos;
+
+        volatile long deadlineNanos;
+
+        // accessed by the worker only
+        long remainingRounds;
+
+        Bucket bucket;
+
+        Timeout<?> prev;
+
+        Timeout<?> next;
+
+        private final AtomicBoolean active = new AtomicBoolean(true);
+
+        Timeout(Callable<V> callable, long deadlineNanos, long periodNanos) {
+            super(callable);
+            this.deadlineNanos = deadlineNanos;
+            this.periodNanos = periodNanos;
+        }
+
+        void expire() {
+            if (periodNanos == 0) {
+                run();
+                deactivate();
+            } else if (runAndReset() && !shutdown) {
+                deadlineNanos = periodNanos > 0 ? deadlineNanos + periodNanos : System.nanoTime() - periodNanos;
+                pendingTimeouts.add(this);
+            } else {
+                deactivate();
+            }
+        }
+
+        /**
+         * Count the timeout out of the active ones once, whether it expired or was canceled.
+         */
+        private void deactivate() {
+            if (active.compareAndSet(true, false)) {
+                activeTimeouts.decrementAndGet();
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            final boolean canceled = super.cancel(mayInterruptIfRunning);
+            if (canceled) {
+                deactivate();
+                canceledTimeouts.add(this);
+            }
+            return canceled;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(deadlineNanos - System.nanoTime(), NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(getDelay(NANOSECONDS), other.getDelay(NANOSECONDS));
+        }
+    }
+
+}
@@ -19,10 +19,16 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -110,6 +116,19 @@ public class Utils {
         return value == null || value.isEmpty();
     }
 
+    /**
+     * @return 64-bit FNV-1a hash of the UTF-8 bytes of the value, stable across JVMs and processes.
+     * @since 1.0.4
+     */
+    public static long hash64(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
     public static Object defaultValue(Class<?> type) {
         if (type == void.class) {
             return null;
@@ -140,4 +159,53 @@ public class Utils {
         }
         return null;
     }
+
+    /**
+     * @return a future completed after the given delay by the scheduler
+     * @since 1.0.4
+     */
+    public static CompletableFuture<Void> delay(ScheduledExecutorService scheduler, long delayMillis) {
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        scheduler.schedule(() -> future.complete(null), delayMillis, TimeUnit.MILLISECONDS);
+        return future;
+    }
+
+    /**
+     * @return a future completed exceptionally by the given exception
+     * @since 1.0.4
+     */
+    public static <T> CompletableFuture<T> failedFuture(Throwable e) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(e);
+        return future;
+    }
+
+    /**
+     * Cancel the source future when the dependent future is canceled.
+     *
+     * @return the dependent future
+     * @since 1.0.4
+     */
+    public static <T> CompletableFuture<T> cancelOnCancel(CompletableFuture<T> dependent, CompletableFuture<?> source) {
+        dependent.whenComplete((v, e) -> {
+            if (dependent.isCancelled()) {
+                source.cancel(false);
+            }
+        });
+        return dependent;
+    }
+
+    /**
+     * @return the cause of a {@link CompletionException} or {@link ExecutionException}, the exception itself
+     * otherwise
+     * @since 1.0.4
+     */
+    public static Throwable unwrap(Throwable e) {
+        Throwable current = e;
+        while ((current instanceof CompletionException || current instanceof ExecutionException)
+                && current.getCause() != null) {
+            current = current.getCause();
+        }
+        return current;
+    }
 }
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2020-2026 Hichem BOURADA and other authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.jeeware.cloud.lock4j.util;
+
+import lombok.experimental.UtilityClass;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Reflective access to Java 21 virtual threads as the library is compiled for Java 8.
+ *
+ * @author hbourada
+ * @since 1.0.4
+ */
+@UtilityClass
+public class VirtualThreads {
+
+    private static final Method OF_VIRTUAL = findMethod(Thread.class, "ofVirtual");
+
+    private static final Method NEW_THREAD_PER_TASK_EXECUTOR = findMethod(Executors.class,
+            "newThreadPerTaskExecutor", ThreadFactory.class);
+
+    private static final boolean SUPPORTED = OF_VIRTUAL != null && NEW_THREAD_PER_TASK_EXECUTOR != null
+            && canCreateVirtualThread();
+
+    /**
+     * @return true iff virtual threads are available in the running JVM, i.e. Java 21 or later
+     */
+    public static boolean isSupported() {
+        return SUPPORTED;
+    }
+
+    /**
+     * @param namePrefix prefix of the thread names suffixed by a counter
+     * @return a factory of virtual threads
+     * @throws UnsupportedOperationException if virtual threads are not supported
+     */
+    public static ThreadFactory threadFactory(String namePrefix) {
+        checkSupported();
+        try {
+            final Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = OF_VIRTUAL.invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create virtual thread factory", e);
+        }
+    }
+
+    /**
+     * @param threadFactory factory of virtual threads
+     * @return an executor starting a new thread for each task
+     * @throws UnsupportedOperationException if virtual threads are not supported
+     */
+    public static ExecutorService newThreadPerTaskExecutor(ThreadFactory threadFactory) {
+        checkSupported();
+        try {
+            return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(null, threadFactory);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create thread per task executor", e);
+        }
+    }
+
+    private static void checkSupported() {
+        if (!SUPPORTED) {
+            throw new UnsupportedOperationException("Virtual threads require Java 21 or later, current version: "
+                    + System.getProperty("java.version"));
+        }
+    }
+
+    private static boolean canCreateVirtualThread() {
+        try {
+            // preview feature in Java 19 and 20 throws UnsupportedOperationException
+            OF_VIRTUAL.invoke(null);
+            return true;
+        } catch (InvocationTargetException | IllegalAccessException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    private static Method findMethod(Class<?> type, String name, Class<?>... parameterTypes) {
+        try {
+            return type.getMethod(name, parameterTypes);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
@@ -7,3 +7,5 @@ CREATE TABLE IF NOT EXISTS @@table@@
     unlocked_at       BIGINT,
     locked_by         VARCHAR(255)
 );;
+
+CREATE INDEX IF NOT EXISTS @@table@@_sweep_idx ON @@table@@ (state, lock_heartbeat_at);;
@@ -8,6 +8,20 @@ CREATE TABLE IF NOT EXISTS `@@table@@`
     locked_by         VARCHAR(255)
 );;
 
+SET @create_sweep_idx = (SELECT IF(COUNT(*) = 0,
+                                   'CREATE INDEX `@@table@@_sweep_idx` ON `@@table@@` (state, lock_heartbeat_at)',
+                                   'DO 0')
+                         FROM information_schema.statistics
+                         WHERE table_schema = DATABASE()
+                           AND table_name = '@@table@@'
+                           AND index_name = '@@table@@_sweep_idx');;
+
+PREPARE create_sweep_idx FROM @create_sweep_idx;;
+
+EXECUTE create_sweep_idx;;
+
+DEALLOCATE PREPARE create_sweep_idx;;
+
 SET GLOBAL log_bin_trust_function_creators = ON;;
 
 DROP FUNCTION IF EXISTS `@@function@@`;;
@@ -12,3 +12,9 @@ EXECUTE IMMEDIATE
 EXCEPTION WHEN OTHERS THEN NULL;
 END;
 ;;
+
+BEGIN
+EXECUTE IMMEDIATE 'CREATE INDEX @@table@@_sweep_idx ON @@table@@ (state, lock_heartbeat_at)';
+EXCEPTION WHEN OTHERS THEN NULL;
+END;
+;;
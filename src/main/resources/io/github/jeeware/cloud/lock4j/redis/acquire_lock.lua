@@ -1,10 +1,21 @@
+-- KEYS[1] lock key, KEYS[2] fencing token counter key, KEYS[3] optional clockSkew key
+-- ARGV[1] owner instance id, ARGV[2] expiration in milliseconds, ARGV[3] fencing token counter expiration in
+-- milliseconds, ARGV[4] optional clock skew in milliseconds
+-- returns the fencing token (> 0) if acquired otherwise 0
 local ttl = ARGV[2]
 local status = redis.call('set', KEYS[1], ARGV[1], 'PX', ttl, 'NX')
 if status ~= false then
-    local clockSkewKey = KEYS[2]
+    local clockSkewKey = KEYS[3]
     if clockSkewKey ~= nil then
-        redis.call('set', clockSkewKey, ARGV[3], 'PX', ttl)
+        redis.call('set', clockSkewKey, ARGV[4], 'PX', ttl)
     end
-    return 1
+    -- an expired counter restarts from the server time in microseconds, above the tokens it returned
+    if redis.call('exists', KEYS[2]) == 0 then
+        local time = redis.call('time')
+        redis.call('set', KEYS[2], time[1] .. string.format('%06d', tonumber(time[2])))
+    end
+    local token = redis.call('incr', KEYS[2])
+    redis.call('pexpire', KEYS[2], ARGV[3])
+    return token
 end
 return 0
@@ -0,0 +1,21 @@
+-- KEYS are pairs of (lock key, fencing token counter key) acquired all together or none of them
+-- ARGV[1] owner instance id, ARGV[2] expiration in milliseconds, ARGV[3] fencing token counter expiration in
+-- milliseconds
+-- returns the number of acquired locks, 0 if one of the locks is already held
+for i = 1, #KEYS, 2 do
+    if redis.call('exists', KEYS[i]) == 1 then
+        return 0
+    end
+end
+local time = redis.call('time')
+local now = time[1] .. string.format('%06d', tonumber(time[2]))
+for i = 1, #KEYS, 2 do
+    redis.call('set', KEYS[i], ARGV[1], 'PX', ARGV[2])
+    -- an expired counter restarts from the server time in microseconds, above the tokens it returned
+    if redis.call('exists', KEYS[i + 1]) == 0 then
+        redis.call('set', KEYS[i + 1], now)
+    end
+    redis.call('incr', KEYS[i + 1])
+    redis.call('pexpire', KEYS[i + 1], ARGV[3])
+end
+return #KEYS / 2
@@ -0,0 +1,26 @@
+-- KEYS[1] leases sorted set of (holder instance id, lease expiration time), KEYS[2] permits hash of
+-- (holder instance id, held permits count)
+-- ARGV[1] instance id, ARGV[2] permits to acquire, ARGV[3] semaphore permits, ARGV[4] expiration in milliseconds
+-- returns 1 if the permits are acquired, 0 if not enough permits are free
+local ttl = tonumber(ARGV[4])
+local time = redis.call('time')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+-- reclaim the permits of the dead holders
+local expired = redis.call('zrangebyscore', KEYS[1], '-inf', now)
+if #expired > 0 then
+    redis.call('zremrangebyscore', KEYS[1], '-inf', now)
+    redis.call('hdel', KEYS[2], unpack(expired))
+end
+local held = 0
+for _, count in ipairs(redis.call('hvals', KEYS[2])) do
+    held = held + tonumber(count)
+end
+if held + tonumber(ARGV[2]) > tonumber(ARGV[3]) then
+    return 0
+end
+redis.call('hincrby', KEYS[2], ARGV[1], ARGV[2])
+redis.call('zadd', KEYS[1], now + ttl, ARGV[1])
+-- the keys expire with the last refreshed holder
+redis.call('pexpire', KEYS[1], ttl)
+redis.call('pexpire', KEYS[2], ttl)
+return 1
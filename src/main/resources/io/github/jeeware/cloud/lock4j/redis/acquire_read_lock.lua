@@ -0,0 +1,12 @@
+-- KEYS[1] write lock key, KEYS[2] readers hash key of (reader instance id, lease expiration time)
+-- ARGV[1] reader instance id, ARGV[2] expiration in milliseconds
+-- returns 1 if the read lock is acquired, 0 if the write lock is held or requested
+if redis.call('exists', KEYS[1]) == 1 then
+    return 0
+end
+local time = redis.call('time')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+redis.call('hset', KEYS[2], ARGV[1], now + tonumber(ARGV[2]))
+-- the hash expires with its last refreshed reader
+redis.call('pexpire', KEYS[2], ARGV[2])
+return 1
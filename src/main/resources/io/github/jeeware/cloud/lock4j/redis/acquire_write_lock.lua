@@ -0,0 +1,29 @@
+-- KEYS[1] write lock key, KEYS[2] readers hash key, KEYS[3] fencing token counter key
+-- ARGV[1] writer instance id, ARGV[2] expiration in milliseconds, ARGV[3] fencing token counter expiration in
+-- milliseconds
+-- returns the fencing token (> 0) if acquired otherwise 0, the write lock is kept as a request rejecting
+-- new readers while readers remain
+local owner = redis.call('get', KEYS[1])
+if owner and owner ~= ARGV[1] then
+    return 0
+end
+redis.call('set', KEYS[1], ARGV[1], 'PX', ARGV[2])
+-- remove readers which did not refresh their hold
+local time = redis.call('time')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+local readers = redis.call('hgetall', KEYS[2])
+for i = 1, #readers, 2 do
+    if tonumber(readers[i + 1]) < now then
+        redis.call('hdel', KEYS[2], readers[i])
+    end
+end
+if redis.call('hlen', KEYS[2]) > 0 then
+    return 0
+end
+-- an expired counter restarts from the server time in microseconds, above the tokens it returned
+if redis.call('exists', KEYS[3]) == 0 then
+    redis.call('set', KEYS[3], time[1] .. string.format('%06d', tonumber(time[2])))
+end
+local token = redis.call('incr', KEYS[3])
+redis.call('pexpire', KEYS[3], ARGV[3])
+return token
@@ -0,0 +1,3 @@
+-- KEYS[1] lock key
+-- returns the owner instance id of the lock, nil if not locked
+return redis.call('get', KEYS[1])
@@ -1,3 +1,12 @@
+-- KEYS are pairs of (lock key, clockSkew key), several locks can be refreshed in a single call
+-- only locks owned by the instance ARGV[2] are refreshed
 local ttl = ARGV[1]
-redis.call('pexpire', KEYS[2], ttl) -- do nothing if clockSkew key does not exist
-return redis.call('pexpire', KEYS[1], ttl);
+local instanceId = ARGV[2]
+local count = 0
+for i = 1, #KEYS, 2 do
+    if redis.call('get', KEYS[i]) == instanceId then
+        redis.call('pexpire', KEYS[i + 1], ttl) -- do nothing if clockSkew key does not exist
+        count = count + redis.call('pexpire', KEYS[i], ttl)
+    end
+end
+return count
@@ -0,0 +1,15 @@
+-- KEYS pairs of (leases sorted set key, permits hash key), ARGV[1] expiration in milliseconds, ARGV[2] instance id
+-- only the leases of the instance are refreshed
+local ttl = tonumber(ARGV[1])
+local time = redis.call('time')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+local count = 0
+for i = 1, #KEYS, 2 do
+    if redis.call('zscore', KEYS[i], ARGV[2]) then
+        redis.call('zadd', KEYS[i], now + ttl, ARGV[2])
+        redis.call('pexpire', KEYS[i], ttl)
+        redis.call('pexpire', KEYS[i + 1], ttl)
+        count = count + 1
+    end
+end
+return count
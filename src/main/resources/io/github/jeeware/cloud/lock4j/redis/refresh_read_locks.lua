@@ -0,0 +1,14 @@
+-- KEYS readers hash keys, ARGV[1] expiration in milliseconds, ARGV[2] reader instance id
+-- only the read holds of the instance are refreshed
+local ttl = tonumber(ARGV[1])
+local time = redis.call('time')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+local count = 0
+for i = 1, #KEYS do
+    if redis.call('hexists', KEYS[i], ARGV[2]) == 1 then
+        redis.call('hset', KEYS[i], ARGV[2], now + ttl)
+        redis.call('pexpire', KEYS[i], ttl)
+        count = count + 1
+    end
+end
+return count
@@ -1,9 +1,19 @@
+-- ARGV[1] owner instance id, ARGV[2] release notification channel, ARGV[3] lock id published when released
 local lockKey = KEYS[1]
 local clockSkewKey = KEYS[2]
+-- only the owner instance can release the lock
+if redis.call('get', lockKey) ~= ARGV[1] then
+    return 0
+end
 local clockSkew = tonumber(redis.call('get', clockSkewKey))
 if clockSkew ~= nil then
+    -- lock is released on expiration, notified by keyspace expired event
     redis.call('del', clockSkewKey)
     redis.call('pexpire', lockKey, clockSkew)
     return 0
 end
-return redis.call('del', lockKey)
+local count = redis.call('del', lockKey)
+if count > 0 and ARGV[2] ~= nil then
+    redis.call('publish', ARGV[2], ARGV[3])
+end
+return count
@@ -0,0 +1,12 @@
+-- KEYS lock keys, ARGV[1] owner instance id, ARGV[2] release notification channel,
+-- ARGV[i + 2] lock id of KEYS[i] published when released
+local count = 0
+for i = 1, #KEYS do
+    -- only the owner instance can release the lock
+    if redis.call('get', KEYS[i]) == ARGV[1] then
+        redis.call('del', KEYS[i])
+        redis.call('publish', ARGV[2], ARGV[i + 2])
+        count = count + 1
+    end
+end
+return count
@@ -0,0 +1,12 @@
+-- KEYS[1] leases sorted set key, KEYS[2] permits hash key
+-- ARGV[1] instance id, ARGV[2] permits to release, ARGV[3] release notification channel,
+-- ARGV[4] permits prefix of the semaphore id published when released
+if redis.call('hexists', KEYS[2], ARGV[1]) == 0 then
+    return 0
+end
+if redis.call('hincrby', KEYS[2], ARGV[1], -tonumber(ARGV[2])) <= 0 then
+    redis.call('hdel', KEYS[2], ARGV[1])
+    redis.call('zrem', KEYS[1], ARGV[1])
+end
+redis.call('publish', ARGV[3], ARGV[4])
+return 1
@@ -0,0 +1,7 @@
+-- KEYS[1] readers hash key, ARGV[1] reader instance id, ARGV[2] release notification channel,
+-- ARGV[3] read-write lock id published when released
+local count = redis.call('hdel', KEYS[1], ARGV[1])
+if count > 0 then
+    redis.call('publish', ARGV[2], ARGV[3])
+end
+return count
@@ -35,21 +35,34 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.test.context.ContextConfiguration;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.IntStream;
 
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.apache.commons.lang3.RandomStringUtils.insecure;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 /**
  * Tests for {@link DistributedLockRegistry} according to a specific
@@ -254,6 +267,336 @@ abstract class DistributedLockRegistryTest {
         lock.unlock(); // on error this is not executed => cause deadlock
     }
 
+    @Test
+    void lockAsyncShouldCompleteWhenLockReleased() throws Exception {
+        final DistributedLock lock = lockRegistry.getLock(lockName);
+        final CompletableFuture<LockHandle> future;
+        lock.lock();
+        try {
+            future = lockRegistry.lockAsync(lockName);
+            sleep(300);
+            assertThat(future).isNotDone();
+        } finally {
+            lock.unlock();
+        }
+
+        final LockHandle handle = future.get(5, SECONDS);
+        assertThat(handle.getLockId()).isEqualTo(lockName);
+        assertThat(lockRegistry.getLock(lockName).tryLock()).isFalse();
+        handle.close();
+
+        assertThat(handle.isReleased()).isTrue();
+        final DistributedLock nextLock = lockRegistry.getLock(lockName);
+        assertThat(nextLock.tryLock()).isTrue();
+        nextLock.unlock();
+    }
+
+    @Test
+    void tryLockAsyncShouldBeEmptyAfterTimeout() throws Exception {
+        final DistributedLockRegistry[] processLockRegistries = createLockRegistries(2, repository);
+        final CompletableFuture<Optional<LockHandle>> first = processLockRegistries[0].getLock(lockName)
+                .tryLockAsync(1, SECONDS);
+
+        try (LockHandle handle = first.get(5, SECONDS).orElseThrow(AssertionError::new)) {
+            final Optional<LockHandle> second = processLockRegistries[1]
+                    .tryLockAsync(lockName, Duration.ofMillis(300)).get(5, SECONDS);
+            assertThat(second).isEmpty();
+            assertThat(handle.isReleased()).isFalse();
+        }
+
+        assertThat(processLockRegistries[1].tryLockAsync(lockName, Duration.ofMillis(300)).get(5, SECONDS))
+                .hasValueSatisfying(LockHandle::close);
+    }
+
+    @Test
+    void multiLockShouldAcquireAllLocksOrNone() {
+        final DistributedLockRegistry[] processLockRegistries = createLockRegistries(2, repository);
+        final String first = lockName + "-a";
+        final String second = lockName + "-b";
+        final DistributedLock secondLock = processLockRegistries[0].getLock(second);
+        final DistributedLock multiLock = processLockRegistries[1].getMultiLock(second, first, second);
+        assertThat(secondLock.tryLock()).isTrue();
+
+        try {
+            assertThat(multiLock.tryLock()).isFalse();
+            // first lock is not left acquired by the failed multi-lock
+            final DistributedLock firstLock = processLockRegistries[0].getLock(first);
+            assertThat(firstLock.tryLock()).isTrue();
+            firstLock.unlock();
+        } finally {
+            secondLock.unlock();
+        }
+
+        assertThat(multiLock.tryLock()).isTrue();
+        try {
+            assertThat(processLockRegistries[0].getLock(first).tryLock()).isFalse();
+            assertThat(processLockRegistries[0].getLock(second).tryLock()).isFalse();
+        } finally {
+            multiLock.unlock();
+        }
+        final DistributedLock nextLock = processLockRegistries[0].getMultiLock(first, second);
+        assertThat(nextLock.tryLock()).isTrue();
+        nextLock.unlock();
+    }
+
+    @Test
+    void multiLockShouldWaitReleaseOfAnyLock() throws Exception {
+        final DistributedLockRegistry[] processLockRegistries = createLockRegistries(2, repository);
+        final DistributedLock lock = processLockRegistries[0].getLock(lockName + "-b");
+        final DistributedLock multiLock = processLockRegistries[1].getMultiLock(lockName + "-a", lockName + "-b");
+        final CompletableFuture<Boolean> acquired;
+        lock.lock();
+        try {
+            acquired = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return multiLock.tryLock(5, SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            });
+            sleep(300);
+            assertThat(acquired).isNotDone();
+        } finally {
+            lock.unlock();
+        }
+
+        assertThat(acquired.get(5, SECONDS)).isTrue();
+        assertThat(multiLock.isHeldByCurrentProcess()).isTrue();
+        assertThatThrownBy(() -> multiLock.tryLockWithClockSkew(1, SECONDS))
+                .isInstanceOf(UnsupportedOperationException.class);
+        processLockRegistries[1].close();
+        final DistributedLock firstLock = processLockRegistries[0].getLock(lockName + "-a");
+        assertThat(firstLock.tryLock()).isTrue();
+        firstLock.unlock();
+    }
+
+    @Test
+    void readLockShouldBeSharedAndExcludeWriteLock() throws Exception {
+        final DistributedLockRegistry[] processLockRegistries = createLockRegistries(2, repository);
+        final DistributedReadWriteLock first = processLockRegistries[0].getReadWriteLock(lockName);
+        final DistributedReadWriteLock second = processLockRegistries[1].getReadWriteLock(lockName);
+
+        assertThat(first.readLock().tryLock()).isTrue();
+        try {
+            // shared by the threads of the process
+            assertThat(CompletableFuture.supplyAsync(() -> {
+                final boolean locked = first.readLock().tryLock();
+                first.readLock().unlock();
+                return locked;
+            }).get(5, SECONDS)).isTrue();
+            assertThat(second.readLock().tryLock()).isTrue();
+            assertThat(second.writeLock().tryLock()).isFalse();
+            second.readLock().unlock();
+            assertThat(second.writeLock().tryLock()).isFalse();
+        } finally {
+            first.readLock().unlock();
+        }
+
+        assertThat(second.writeLock().tryLock()).isTrue();
+        try {
+            assertThat(first.readLock().tryLock()).isFalse();
+            assertThat(first.writeLock().tryLock()).isFalse();
+        } finally {
+            second.writeLock().unlock();
+        }
+        assertThat(first.readLock().tryLock()).isTrue();
+        first.readLock().unlock();
+    }
+
+    @Test
+    void writeLockShouldWaitReadersAndRejectNewReaders() throws Exception {
+        final DistributedLockRegistry[] processLockRegistries = createLockRegistries(3, repository);
+        final DistributedLock readLock = processLockRegistries[0].getReadWriteLock(lockName).readLock();
+        final DistributedLock writeLock = processLockRegistries[1].getReadWriteLock(lockName).writeLock();
+        final CompletableFuture<Boolean> acquired;
+        readLock.lock();
+        try {
+            acquired = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return writeLock.tryLock(10, SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            });
+            sleep(300);
+            assertThat(acquired).isNotDone();
+            // the write request rejects new readers
+            assertThat(processLockRegistries[2].getReadWriteLock(lockName).readLock().tryLock()).isFalse();
+        } finally {
+            readLock.unlock();
+        }
+
+        assertThat(acquired.get(10, SECONDS)).isTrue();
+        assertThat(writeLock.isHeldByCurrentProcess()).isTrue();
+        processLockRegistries[1].close();
+        assertThat(readLock.tryLock(5, SECONDS)).isTrue();
+        readLock.unlock();
+    }
+
+    @Test
+    void semaphoreShouldAcquirePermitsUpToMax() {
+        final DistributedLockRegistry[] processLockRegistries = createLockRegistries(2, repository);
+        final DistributedSemaphore first = processLockRegistries[0].getSemaphore(lockName, 3);
+        final DistributedSemaphore second = processLockRegistries[1].getSemaphore(lockName, 3);
+
+        assertThat(first.tryAcquire(2)).isTrue();
+        try {
+            assertThat(second.tryAcquire(2)).isFalse();
+            assertThat(second.tryAcquire()).isTrue();
+            assertThat(first.tryAcquire()).isFalse();
+            second.release();
+            assertThat(first.tryAcquire()).isTrue();
+            assertThat(first.getHeldPermits()).isEqualTo(3);
+            first.release();
+        } finally {
+            first.release(2);
+        }
+
+        assertThat(first.getHeldPermits()).isZero();
+        assertThatThrownBy(first::release).isInstanceOf(IllegalMonitorStateException.class);
+        assertThatThrownBy(() -> processLockRegistries[0].getSemaphore(lockName, 2))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(second.tryAcquire(3)).isTrue();
+        second.release(3);
+    }
+
+    @Test
+    void semaphoreShouldWaitReleaseOfPermits() throws Exception {
+        final DistributedLockRegistry[] processLockRegistries = createLockRegistries(2, repository);
+        final DistributedSemaphore first = processLockRegistries[0].getSemaphore(lockName, 2);
+        final DistributedSemaphore second = processLockRegistries[1].getSemaphore(lockName, 2);
+        final CompletableFuture<Boolean> acquired;
+        first.acquire(2);
+        try {
+            acquired = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return second.tryAcquire(5, SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            });
+            sleep(300);
+            assertThat(acquired).isNotDone();
+        } finally {
+            first.release();
+        }
+
+        assertThat(acquired.get(5, SECONDS)).isTrue();
+        assertThat(second.getHeldPermits()).isEqualTo(1);
+        processLockRegistries[1].close();
+        assertThat(first.tryAcquire(5, SECONDS)).isTrue();
+        first.release(2);
+    }
+
+    @Test
+    void semaphoreReleaseShouldWakeUpEveryWaiterOfReleasedPermits() throws Exception {
+        final DistributedLockRegistry[] processLockRegistries = createLockRegistries(2, repository);
+        final DistributedSemaphore first = processLockRegistries[0].getSemaphore(lockName, 2);
+        final DistributedSemaphore second = processLockRegistries[1].getSemaphore(lockName, 2);
+        final List<CompletableFuture<Boolean>> acquired = new ArrayList<>();
+        final long releasedAt;
+        first.acquire(2);
+        try {
+            for (int i = 0; i < 2; i++) {
+                acquired.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return second.tryAcquire(5, SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return false;
+                    }
+                }));
+            }
+            sleep(200);
+            assertThat(acquired).noneMatch(CompletableFuture::isDone);
+        } finally {
+            releasedAt = System.nanoTime();
+            first.release(2);
+        }
+
+        for (CompletableFuture<Boolean> future : acquired) {
+            assertThat(future.get(5, SECONDS)).isTrue();
+        }
+        // both waiters are woken up by the release instead of the bounded wait of the refresh interval
+        assertThat(System.nanoTime() - releasedAt)
+                .isLessThan(properties.getRefreshLockInterval().toNanos() / 2);
+        assertThat(second.getHeldPermits()).isEqualTo(2);
+        second.release(2);
+    }
+
+    @Test
+    void localHandoffShouldKeepRemoteLockForLocalWaiters() throws Exception {
+        final LockRepository countingRepository = mock(LockRepository.class, delegatesTo(repository));
+        final DistributedLockRegistry registry = DistributedLockRegistry.builder()
+                .repository(countingRepository)
+                .retryer(retryer)
+                .refreshLockInterval(properties.getRefreshLockInterval())
+                .deadLockTimeout(properties.getDeadLockTimeout())
+                .maxLocalHandoffs(2)
+                .build();
+        final DistributedLock lock = registry.getLock(lockName);
+        final List<CompletableFuture<Void>> waiters = new ArrayList<>();
+        lock.lock();
+        try {
+            for (int i = 0; i < 3; i++) {
+                waiters.add(CompletableFuture.runAsync(() -> {
+                    lock.lock();
+                    lock.unlock();
+                }, taskExecutor));
+            }
+            final long until = System.currentTimeMillis() + 5000;
+            while (((DistributedLockRegistry.DistributedLockImpl) lock).jvmLock.getQueueLength() < 3
+                    && System.currentTimeMillis() < until) {
+                sleep(10);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        CompletableFuture.allOf(waiters.toArray(new CompletableFuture[0])).get(10, SECONDS);
+        // handed off twice then released, so that the last waiter acquires the lock again
+        verify(countingRepository, times(2)).acquireLock(eq(lockName), anyString());
+        verify(countingRepository, times(2)).releaseLock(eq(lockName), anyString());
+        final DistributedLock otherLock = createLockRegistries(1, repository)[0].getLock(lockName);
+        assertThat(otherLock.tryLock()).isTrue();
+        otherLock.unlock();
+        registry.close();
+    }
+
+    @Test
+    void leaseModeShouldRenewOnlyExpiringLeases() throws Exception {
+        final LockRepository countingRepository = mock(LockRepository.class, delegatesTo(repository));
+        final Duration deadLockTimeout = properties.getDeadLockTimeout();
+        final DistributedLockRegistry registry = DistributedLockRegistry.builder()
+                .repository(countingRepository)
+                .retryer(retryer)
+                .refreshLockInterval(properties.getRefreshLockInterval())
+                .deadLockTimeout(deadLockTimeout)
+                .leaseRenewalThreshold(deadLockTimeout.dividedBy(2))
+                .build();
+        final DistributedLock lock = registry.getLock(lockName);
+        assertThat(lock.remainingLease()).isZero();
+        lock.lock();
+        try {
+            sleep(deadLockTimeout.dividedBy(4).toMillis());
+            // short critical section without any heartbeat
+            verify(countingRepository, never()).refreshActiveLocks(anyCollection(), anyString());
+            assertThat(lock.remainingLease()).isPositive().isLessThan(deadLockTimeout);
+
+            sleep(deadLockTimeout.dividedBy(2).plus(properties.getRefreshLockInterval()).toMillis());
+            verify(countingRepository, atLeastOnce()).refreshActiveLocks(anyCollection(), anyString());
+            assertThat(lock.remainingLease()).isGreaterThan(deadLockTimeout.dividedBy(4));
+            assertThat(createLockRegistries(1, repository)[0].getLock(lockName).tryLock()).isFalse();
+        } finally {
+            lock.unlock();
+        }
+        assertThat(lock.remainingLease()).isZero();
+        registry.close();
+    }
+
     @Test
     void newConditionShouldFail() {
         final DistributedLock lock = lockRegistry.getLock(lockName);
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2020-2026 Hichem BOURADA and other authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jeeware.cloud.lock4j;
+
+import io.github.jeeware.cloud.lock4j.file.FileLockRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.context.ConfigurationPropertiesAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.util.function.SingletonSupplier;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.apache.commons.lang3.RandomStringUtils.insecure;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link DistributedLockRegistry} with
+ * {@link FileLockRepository}
+ *
+ * @author hbourada
+ */
+@SpringBootTest(properties = "cloud.lock4j.type=file")
+@ImportAutoConfiguration(ConfigurationPropertiesAutoConfiguration.class)
+class FileDistributedLockRegistryTest extends DistributedLockRegistryTest {
+
+    private static final Supplier<Path> LOCK_FILE = SingletonSupplier.of(() -> {
+        try {
+            final File file = File.createTempFile("lock4j-test", ".lock");
+            file.deleteOnExit();
+            return file.toPath();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    });
+
+    @DynamicPropertySource
+    static void lockFileProperties(DynamicPropertyRegistry registry) {
+        registry.add("cloud.lock4j.file.path", LOCK_FILE::get);
+        registry.add("cloud.lock4j.file.buckets", () -> 64);
+    }
+
+    @Test
+    void releaseLockByAnotherInstanceShouldNotReleaseLock() {
+        final String lockId = "owner-" + insecure().nextAlphanumeric(10);
+        final FileLockRepository fileRepository = (FileLockRepository) repository;
+
+        assertThat(repository.acquireLock(lockId, "instance-1")).isTrue();
+        repository.releaseLock(lockId, "instance-2");
+
+        assertThat(fileRepository.getLockOwner(lockId)).isEqualTo("instance-1");
+        assertThat(repository.acquireLock(lockId, "instance-2")).isFalse();
+        repository.releaseLock(lockId, "instance-1");
+        assertThat(fileRepository.getLockOwner(lockId)).isNull();
+        assertThat(repository.acquireLock(lockId, "instance-2")).isTrue();
+        repository.releaseLock(lockId, "instance-2");
+    }
+
+    @Test
+    void releaseDeadLocksShouldReleaseLocksWithoutHeartbeat() throws InterruptedException {
+        final String lockId = "dead-" + insecure().nextAlphanumeric(10);
+
+        assertThat(repository.acquireLock(lockId, "instance-1")).isTrue();
+        final long fencingToken = repository.getFencingToken(lockId, "instance-1");
+        TimeUnit.MILLISECONDS.sleep(50);
+        repository.refreshActiveLock(lockId, "instance-2");
+        repository.releaseDeadLocks(10);
+
+        assertThat(repository.getFencingToken(lockId, "instance-1")).isZero();
+        assertThat(repository.acquireLock(lockId, "instance-2")).isTrue();
+        repository.refreshActiveLock(lockId, "instance-2");
+        repository.releaseDeadLocks(10_000);
+        assertThat(repository.getFencingToken(lockId, "instance-2")).isGreaterThan(fencingToken);
+        repository.releaseLock(lockId, "instance-2");
+    }
+
+    @Test
+    void acquireLockWithClockSkewShouldFailIfAcquiredWithinClockSkew() {
+        final String lockId = "skew-" + insecure().nextAlphanumeric(10);
+
+        assertThat(repository.acquireLockWithClockSkew(lockId, "instance-1", 60_000)).isTrue();
+        repository.releaseLock(lockId, "instance-1");
+        assertThat(repository.acquireLockWithClockSkew(lockId, "instance-2", 60_000)).isFalse();
+        assertThat(repository.acquireLock(lockId, "instance-2")).isTrue();
+        repository.releaseLock(lockId, "instance-2");
+    }
+
+    @Test
+    void acquireLeaseShouldElectSingleInstanceUntilReleasedOrExpired() throws InterruptedException {
+        final String leaseId = "lease-" + insecure().nextAlphanumeric(10);
+
+        assertThat(repository.acquireLease(leaseId, "instance-1", 60000)).isTrue();
+        assertThat(repository.acquireLease(leaseId, "instance-2", 60000)).isFalse();
+        assertThat(repository.acquireLease(leaseId, "instance-1", 60000)).isTrue();
+
+        repository.releaseLock(leaseId, "instance-1");
+        assertThat(repository.acquireLease(leaseId, "instance-2", 60000)).isTrue();
+
+        TimeUnit.MILLISECONDS.sleep(50);
+        assertThat(repository.acquireLease(leaseId, "instance-1", 60000)).isFalse();
+        assertThat(repository.acquireLease(leaseId, "instance-1", 10)).isTrue();
+    }
+
+    @Test
+    void locksShouldBeSharedWithAnotherRepositoryOfTheSameFile() throws Exception {
+        final String lockId = "shared-" + insecure().nextAlphanumeric(10);
+
+        try (FileLockRepository other = new FileLockRepository(LOCK_FILE.get(), 8)) {
+            other.start();
+            assertThat(other.acquireLock(lockId, "other-instance")).isTrue();
+            assertThat(repository.acquireLock(lockId, "instance-1")).isFalse();
+
+            final Future<Long> awaitMillis = taskExecutor.submit(() -> {
+                final long start = System.currentTimeMillis();
+                repository.awaitReleaseLock(lockId, 10_000);
+                return System.currentTimeMillis() - start;
+            });
+            TimeUnit.MILLISECONDS.sleep(500);
+            // released without any local signal: detected by polling the file
+            other.releaseLock(lockId, "other-instance");
+
+            assertThat(awaitMillis.get(5, TimeUnit.SECONDS)).isBetween(400L, 5_000L);
+            assertThat(repository.acquireLock(lockId, "instance-1")).isTrue();
+            assertThat(other.getLockOwner(lockId)).isEqualTo("instance-1");
+            repository.releaseLock(lockId, "instance-1");
+        }
+    }
+
+    @Test
+    void semaphoreAndReadLockShouldHoldMoreHoldersThanBucketSlots() {
+        final String semaphoreId = "holders-" + insecure().nextAlphanumeric(10);
+        final String lockId = "readers-" + insecure().nextAlphanumeric(10);
+
+        for (int i = 0; i < 40; i++) {
+            assertThat(repository.acquirePermits(semaphoreId, "instance-" + i, 1, 40)).isTrue();
+            assertThat(repository.acquireReadLock(lockId, "instance-" + i)).isTrue();
+        }
+        assertThat(repository.acquirePermits(semaphoreId, "instance-40", 1, 40)).isFalse();
+        assertThat(repository.acquireWriteLock(lockId, "instance-40")).isFalse();
+
+        for (int i = 0; i < 40; i++) {
+            repository.releasePermits(semaphoreId, "instance-" + i, 1);
+            repository.releaseReadLock(lockId, "instance-" + i);
+        }
+        assertThat(repository.acquirePermits(semaphoreId, "instance-40", 40, 40)).isTrue();
+        assertThat(repository.acquireWriteLock(lockId, "instance-40")).isTrue();
+        repository.releasePermits(semaphoreId, "instance-40", 40);
+        repository.releaseLock(lockId, "instance-40");
+    }
+
+    @Test
+    void locksShouldOverflowIntoNeighbourBuckets() throws IOException {
+        final Path path = Files.createTempFile("lock4j-overflow", ".lock");
+        try (FileLockRepository fileRepository = new FileLockRepository(path, 4)) {
+            for (int i = 0; i < 40; i++) {
+                assertThat(fileRepository.acquireLock("overflow-" + i, "instance-1")).isTrue();
+            }
+            for (int i = 0; i < 40; i++) {
+                assertThat(fileRepository.getLockOwner("overflow-" + i)).isEqualTo("instance-1");
+                assertThat(fileRepository.acquireLock("overflow-" + i, "instance-2")).isFalse();
+                fileRepository.releaseLock("overflow-" + i, "instance-1");
+            }
+            assertThat(fileRepository.acquireLock("overflow-0", "instance-2")).isTrue();
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    void acquireLockShouldFailWhenAllSlotsAreLocked() throws IOException {
+        final Path path = Files.createTempFile("lock4j-full", ".lock");
+        try (FileLockRepository fileRepository = new FileLockRepository(path, 1)) {
+            for (int i = 0; i < 15; i++) {
+                assertThat(fileRepository.acquireLock("full-" + i, "instance-1")).isTrue();
+            }
+            assertThatIllegalStateException().isThrownBy(() -> fileRepository.acquireLock("full-15", "instance-1"));
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+}
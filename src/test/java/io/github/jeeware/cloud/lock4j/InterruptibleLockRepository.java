@@ -59,6 +59,8 @@ final class InterruptibleLockRepository implements LockRepository {
         void awaitReleaseLock(String lockId) throws InterruptedException;
 
         void awaitReleaseLock(String lockId, long timeoutMillis) throws InterruptedException;
+
+        LockWaiter registerWaiter(String lockId);
     }
 
 }
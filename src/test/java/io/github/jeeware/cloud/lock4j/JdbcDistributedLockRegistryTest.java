@@ -14,8 +14,14 @@
 package io.github.jeeware.cloud.lock4j;
 
 import io.github.jeeware.cloud.lock4j.jdbc.JdbcLockRepository;
+import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
 
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.commons.lang3.RandomStringUtils.insecure;
+import static org.assertj.core.api.Assertions.assertThat;
+
 /**
  * Tests for {@link DistributedLockRegistry} with
  * {@link JdbcLockRepository}
@@ -25,4 +31,20 @@ import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
  */
 @JdbcTest(properties = "cloud.lock4j.type=jdbc")
 class JdbcDistributedLockRegistryTest extends DistributedLockRegistryTest {
+
+    @Test
+    void acquireLeaseShouldElectSingleInstanceUntilReleasedOrExpired() throws InterruptedException {
+        final String leaseId = "lease-" + insecure().nextAlphanumeric(10);
+
+        assertThat(repository.acquireLease(leaseId, "instance-1", 60000)).isTrue();
+        assertThat(repository.acquireLease(leaseId, "instance-2", 60000)).isFalse();
+        assertThat(repository.acquireLease(leaseId, "instance-1", 60000)).isTrue();
+
+        repository.releaseLock(leaseId, "instance-1");
+        assertThat(repository.acquireLease(leaseId, "instance-2", 60000)).isTrue();
+
+        TimeUnit.MILLISECONDS.sleep(50);
+        assertThat(repository.acquireLease(leaseId, "instance-1", 60000)).isFalse();
+        assertThat(repository.acquireLease(leaseId, "instance-1", 10)).isTrue();
+    }
 }
@@ -0,0 +1,27 @@
+/*
+ * Copyright 2020-2026 Hichem BOURADA and other authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jeeware.cloud.lock4j;
+
+import io.github.jeeware.cloud.lock4j.jdbc.JdbcLockRepository;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+
+/**
+ * Tests for {@link DistributedLockRegistry} with {@link JdbcLockRepository} sharded over several tables
+ *
+ * @author hbourada
+ * @since 1.0.4
+ */
+@JdbcTest(properties = {"cloud.lock4j.type=jdbc", "cloud.lock4j.jdbc.shards=4"})
+class JdbcShardedDistributedLockRegistryTest extends DistributedLockRegistryTest {
+}
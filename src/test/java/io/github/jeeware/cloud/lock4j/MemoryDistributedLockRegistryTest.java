@@ -0,0 +1,117 @@
+/*
+ * Copyright 2020-2026 Hichem BOURADA and other authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jeeware.cloud.lock4j;
+
+import io.github.jeeware.cloud.lock4j.memory.MemoryLockRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.context.ConfigurationPropertiesAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.commons.lang3.RandomStringUtils.insecure;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link DistributedLockRegistry} with
+ * {@link MemoryLockRepository}
+ *
+ * @author hbourada
+ */
+@SpringBootTest(properties = "cloud.lock4j.type=memory")
+@ImportAutoConfiguration(ConfigurationPropertiesAutoConfiguration.class)
+class MemoryDistributedLockRegistryTest extends DistributedLockRegistryTest {
+
+    @Test
+    void releaseLockByAnotherInstanceShouldNotReleaseLock() {
+        final String lockId = "owner-" + insecure().nextAlphanumeric(10);
+        final MemoryLockRepository memoryRepository = (MemoryLockRepository) repository;
+
+        assertThat(repository.acquireLock(lockId, "instance-1")).isTrue();
+        repository.releaseLock(lockId, "instance-2");
+
+        assertThat(memoryRepository.getLockOwner(lockId)).isEqualTo("instance-1");
+        assertThat(repository.acquireLock(lockId, "instance-2")).isFalse();
+        repository.releaseLock(lockId, "instance-1");
+        assertThat(memoryRepository.getLockOwner(lockId)).isNull();
+        assertThat(repository.acquireLock(lockId, "instance-2")).isTrue();
+        repository.releaseLock(lockId, "instance-2");
+    }
+
+    @Test
+    void releaseDeadLocksShouldReleaseLocksWithoutHeartbeat() throws InterruptedException {
+        final String lockId = "dead-" + insecure().nextAlphanumeric(10);
+
+        assertThat(repository.acquireLock(lockId, "instance-1")).isTrue();
+        TimeUnit.MILLISECONDS.sleep(50);
+        repository.refreshActiveLock(lockId, "instance-2");
+        repository.releaseDeadLocks(10);
+
+        assertThat(repository.getFencingToken(lockId, "instance-1")).isZero();
+        assertThat(repository.acquireLock(lockId, "instance-2")).isTrue();
+        repository.refreshActiveLock(lockId, "instance-2");
+        repository.releaseDeadLocks(10_000);
+        assertThat(repository.getFencingToken(lockId, "instance-2")).isPositive();
+        repository.releaseLock(lockId, "instance-2");
+    }
+
+    @Test
+    void acquireLockWithClockSkewShouldFailIfAcquiredWithinClockSkew() {
+        final String lockId = "skew-" + insecure().nextAlphanumeric(10);
+
+        assertThat(repository.acquireLockWithClockSkew(lockId, "instance-1", 60_000)).isTrue();
+        repository.releaseLock(lockId, "instance-1");
+        assertThat(repository.acquireLockWithClockSkew(lockId, "instance-2", 60_000)).isFalse();
+        // released locks are kept until the largest clock skew elapsed
+        repository.releaseDeadLocks(10);
+        assertThat(repository.acquireLockWithClockSkew(lockId, "instance-2", 60_000)).isFalse();
+        assertThat(repository.acquireLock(lockId, "instance-2")).isTrue();
+        repository.releaseLock(lockId, "instance-2");
+    }
+
+    @Test
+    void acquireLeaseShouldElectSingleInstanceUntilReleasedOrExpired() throws InterruptedException {
+        final String leaseId = "lease-" + insecure().nextAlphanumeric(10);
+
+        assertThat(repository.acquireLease(leaseId, "instance-1", 60000)).isTrue();
+        assertThat(repository.acquireLease(leaseId, "instance-2", 60000)).isFalse();
+        assertThat(repository.acquireLease(leaseId, "instance-1", 60000)).isTrue();
+
+        repository.releaseLock(leaseId, "instance-1");
+        assertThat(repository.acquireLease(leaseId, "instance-2", 60000)).isTrue();
+
+        TimeUnit.MILLISECONDS.sleep(50);
+        assertThat(repository.acquireLease(leaseId, "instance-1", 60000)).isFalse();
+        assertThat(repository.acquireLease(leaseId, "instance-1", 10)).isTrue();
+    }
+
+    @Test
+    void releaseLockShouldWakeUpWaiterBeforeTimeout() throws Exception {
+        final String lockId = "release-" + insecure().nextAlphanumeric(10);
+        assertThat(repository.acquireLock(lockId, "instance-1")).isTrue();
+
+        final Future<Long> awaitMillis = taskExecutor.submit(() -> {
+            final long start = System.currentTimeMillis();
+            repository.awaitReleaseLock(lockId, 10_000);
+            return System.currentTimeMillis() - start;
+        });
+        TimeUnit.MILLISECONDS.sleep(500);
+        repository.releaseLock(lockId, "instance-1");
+
+        assertThat(awaitMillis.get(5, TimeUnit.SECONDS)).isBetween(400L, 5_000L);
+    }
+
+}
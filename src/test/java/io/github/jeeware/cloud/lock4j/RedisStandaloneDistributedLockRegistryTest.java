@@ -14,19 +14,36 @@
 package io.github.jeeware.cloud.lock4j;
 
 import io.github.jeeware.cloud.lock4j.redis.RedisLockRepository;
+import io.github.jeeware.cloud.lock4j.redis.script.FunctionRedisLockScripts;
+import io.github.jeeware.cloud.lock4j.redis.script.RedisFunction;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.data.redis.RedisRepositoriesAutoConfiguration;
 import org.springframework.boot.test.autoconfigure.data.redis.DataRedisTest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.util.SocketUtils;
 import org.springframework.util.function.SingletonSupplier;
 import redis.embedded.RedisServer;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.commons.lang3.RandomStringUtils.insecure;
+import static org.assertj.core.api.Assertions.assertThat;
 
 /**
  * Tests for {@link DistributedLockRegistry} with
@@ -46,6 +63,157 @@ class RedisStandaloneDistributedLockRegistryTest extends DistributedLockRegistry
         registry.add("spring.redis.port", SingletonSupplier.of(SocketUtils::findAvailableTcpPort));
     }
 
+    @Autowired
+    StringRedisTemplate redisTemplate;
+
+    @Test
+    void releaseLockByAnotherInstanceShouldNotReleaseLock() {
+        final String lockId = "owner-" + insecure().nextAlphanumeric(10);
+
+        assertThat(repository.acquireLock(lockId, "instance-1")).isTrue();
+        repository.releaseLock(lockId, "instance-2");
+
+        assertThat(repository.acquireLock(lockId, "instance-2")).isFalse();
+        repository.releaseLock(lockId, "instance-1");
+        assertThat(repository.acquireLock(lockId, "instance-2")).isTrue();
+        repository.releaseLock(lockId, "instance-2");
+    }
+
+    @Test
+    void refreshActiveLocksByAnotherInstanceShouldNotRefreshLock() {
+        final String lockId = "owner-" + insecure().nextAlphanumeric(10);
+        final String lockKey = properties.getRedis().getLockPrefix() + ':' + lockId;
+
+        assertThat(repository.acquireLock(lockId, "instance-1")).isTrue();
+        redisTemplate.expire(lockKey, Duration.ofSeconds(1));
+
+        repository.refreshActiveLocks(Collections.singletonList(lockId), "instance-2");
+        assertThat(redisTemplate.getExpire(lockKey, TimeUnit.MILLISECONDS)).isLessThanOrEqualTo(1000);
+
+        repository.refreshActiveLocks(Collections.singletonList(lockId), "instance-1");
+        assertThat(redisTemplate.getExpire(lockKey, TimeUnit.MILLISECONDS)).isGreaterThan(1000);
+        repository.releaseLock(lockId, "instance-1");
+    }
+
+    @Test
+    void releaseLockShouldWakeUpWaiterBeforeTimeout() throws Exception {
+        final String lockId = "release-" + insecure().nextAlphanumeric(10);
+        final Watchable watchable = (Watchable) ReflectionTestUtils.getField(repository, "watchable");
+        for (int i = 0; i < 50 && !watchable.isActive(); i++) {
+            TimeUnit.MILLISECONDS.sleep(100);
+        }
+        assertThat(watchable.isActive()).isTrue();
+        assertThat(repository.acquireLock(lockId, "instance-1")).isTrue();
+
+        final Future<Long> awaitMillis = taskExecutor.submit(() -> {
+            final long start = System.currentTimeMillis();
+            repository.awaitReleaseLock(lockId, 10_000);
+            return System.currentTimeMillis() - start;
+        });
+        TimeUnit.MILLISECONDS.sleep(500);
+        repository.releaseLock(lockId, "instance-1");
+
+        assertThat(awaitMillis.get(5, TimeUnit.SECONDS)).isBetween(400L, 5_000L);
+    }
+
+    @Test
+    void lockShouldBeAcquiredAfterExpirationWithoutKeyeventNotifications() {
+        final String lockId = "expired-" + insecure().nextAlphanumeric(10);
+        final String lockKey = properties.getRedis().getLockPrefix() + ':' + lockId;
+        final DistributedLock lock = lockRegistry.getLock(lockId);
+        redisTemplate.execute((RedisCallback<?>) connection -> {
+            // without K or E classes no keyspace event is published
+            connection.setConfig("notify-keyspace-events", "g");
+            return null;
+        });
+        try {
+            assertThat(repository.acquireLock(lockId, "dead-instance")).isTrue();
+            redisTemplate.expire(lockKey, Duration.ofMillis(500));
+
+            final long start = System.currentTimeMillis();
+            lock.lock();
+            try {
+                assertThat(System.currentTimeMillis() - start).isLessThan(5_000L);
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            redisTemplate.execute((RedisCallback<?>) connection -> {
+                connection.setConfig("notify-keyspace-events", "Ex");
+                return null;
+            });
+        }
+    }
+
+    @Test
+    void fencingTokenShouldIncreaseOnEachAcquisition() {
+        final DistributedLock lock = lockRegistry.getLock("fencing-" + insecure().nextAlphanumeric(10));
+
+        assertThat(lock.getFencingToken()).isZero();
+        lock.lock();
+        final long firstToken = lock.getFencingToken();
+        lock.unlock();
+        lock.lock();
+        final long secondToken = lock.getFencingToken();
+        lock.unlock();
+
+        assertThat(firstToken).isPositive();
+        assertThat(secondToken).isGreaterThan(firstToken);
+        assertThat(lock.getFencingToken()).isZero();
+    }
+
+    @Test
+    void fencingTokenCounterShouldExpireAndKeepIncreasing() {
+        final String lockId = "fencing-" + insecure().nextAlphanumeric(10);
+        final String fencingKey = '{' + properties.getRedis().getLockPrefix() + ':' + lockId + "}:fencing";
+
+        assertThat(repository.acquireLock(lockId, "instance-1")).isTrue();
+        final long firstToken = repository.getFencingToken(lockId, "instance-1");
+        repository.releaseLock(lockId, "instance-1");
+        assertThat(redisTemplate.getExpire(fencingKey, TimeUnit.DAYS)).isBetween(29L, 30L);
+
+        // expired counter
+        redisTemplate.delete(fencingKey);
+        assertThat(repository.acquireLock(lockId, "instance-1")).isTrue();
+        assertThat(repository.getFencingToken(lockId, "instance-1")).isGreaterThan(firstToken);
+        repository.releaseLock(lockId, "instance-1");
+    }
+
+    @Test
+    void getLockOwnerShouldReturnOwnerInstance() {
+        final String lockId = "owner-" + insecure().nextAlphanumeric(10);
+        final RedisLockRepository redisRepository = (RedisLockRepository) repository;
+
+        assertThat(redisRepository.getLockOwner(lockId)).isNull();
+        assertThat(repository.acquireLock(lockId, "instance-1")).isTrue();
+        assertThat(redisRepository.getLockOwner(lockId)).isEqualTo("instance-1");
+        repository.releaseLock(lockId, "instance-1");
+        assertThat(redisRepository.getLockOwner(lockId)).isNull();
+    }
+
+    /**
+     * The embedded server does not support functions (Redis 7+), so the library is evaluated as a script
+     * registering its functions in a local table.
+     */
+    @Test
+    void functionLibraryShouldRunLockScripts() {
+        final String code = ((RedisFunction<?>) new FunctionRedisLockScripts().acquireLock()).getLibrary().getCode();
+        final String script = "local functions = {}\n"
+                + "local function register_function(r) functions[r.function_name] = r.callback end\n"
+                + code.substring(code.indexOf('\n') + 1).replace("redis.register_function", "register_function")
+                + "return functions[ARGV[1]](KEYS, {unpack(ARGV, 2)})";
+        final String lockKey = "function-" + insecure().nextAlphanumeric(10);
+        final List<String> keys = Arrays.asList(lockKey, lockKey + ":fencing");
+        final DefaultRedisScript<Long> longScript = new DefaultRedisScript<>(script, Long.class);
+
+        assertThat(redisTemplate.execute(longScript, keys, "lock4j_acquire_lock", "instance-1", "10000",
+                "60000")).isPositive();
+        assertThat(redisTemplate.execute(new DefaultRedisScript<>(script, String.class), keys,
+                "lock4j_lock_owner")).isEqualTo("instance-1");
+        assertThat(redisTemplate.execute(longScript, Arrays.asList(lockKey, lockKey + ":clockSkew"),
+                "lock4j_release_lock", "instance-1")).isEqualTo(1L);
+    }
+
     @Configuration(proxyBeanMethods = false)
     static class Config {
 
@@ -0,0 +1,245 @@
+/*
+ * Copyright 2020-2026 Hichem BOURADA and other authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jeeware.cloud.lock4j.jdbc;
+
+import io.github.jeeware.cloud.lock4j.util.Utils;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JdbcAdvisoryLockRepositoryTest {
+
+    @Mock
+    DataSource dataSource;
+
+    @Mock
+    Connection connection1;
+
+    @Mock
+    Connection connection2;
+
+    @Mock
+    PreparedStatement statement;
+
+    @Mock
+    ResultSet resultSet;
+
+    JdbcAdvisoryLockRepository lockRepository;
+
+    @BeforeEach
+    void setUp() {
+        lockRepository = new JdbcAdvisoryLockRepository(dataSource, SQLDialects.POSTGRESQL,
+                new SQLRuntimeExceptionTranslator());
+    }
+
+    @Test
+    void held_locks_should_pin_a_connection_each_until_released() throws SQLException {
+        when(dataSource.getConnection()).thenReturn(connection1, connection2);
+        stubQueries(connection1, connection2);
+        when(resultSet.getInt(1)).thenReturn(1);
+
+        assertThat(lockRepository.acquireLock("lock-1", "instance")).isTrue();
+        assertThat(lockRepository.acquireLock("lock-2", "instance")).isTrue();
+
+        verify(connection1).prepareStatement(SQLDialects.POSTGRESQL.getAdvisoryLock());
+        verify(statement).setObject(1, Utils.hash64("lock-1"));
+        verify(statement).setObject(1, Utils.hash64("lock-2"));
+        verify(connection1, never()).close();
+        verify(connection2, never()).close();
+
+        lockRepository.releaseLock("lock-1", "instance");
+
+        verify(connection1).prepareStatement(SQLDialects.POSTGRESQL.getAdvisoryUnlock());
+        verify(statement, times(2)).setObject(1, Utils.hash64("lock-1"));
+        verify(connection1).close();
+        verify(connection1, never()).abort(any());
+        verify(connection2, never()).close();
+    }
+
+    @Test
+    void not_acquired_lock_should_close_its_connection() throws SQLException {
+        when(dataSource.getConnection()).thenReturn(connection1);
+        stubQueries(connection1);
+        when(resultSet.getInt(1)).thenReturn(0);
+
+        assertThat(lockRepository.acquireLock("lock-1", "instance")).isFalse();
+        verify(connection1).close();
+
+        // not held: nothing to release
+        lockRepository.releaseLock("lock-1", "instance");
+        verify(connection1, times(1)).prepareStatement(anyString());
+    }
+
+    @Test
+    void release_by_another_instance_should_not_release_lock() throws SQLException {
+        when(dataSource.getConnection()).thenReturn(connection1);
+        stubQueries(connection1);
+        when(resultSet.getInt(1)).thenReturn(1);
+
+        assertThat(lockRepository.acquireLock("lock-1", "instance-1")).isTrue();
+        lockRepository.releaseLock("lock-1", "instance-2");
+
+        verify(connection1, times(1)).prepareStatement(anyString());
+        verify(connection1, never()).close();
+    }
+
+    @Test
+    void failed_unlock_should_abort_the_pinned_connection() throws SQLException {
+        when(dataSource.getConnection()).thenReturn(connection1);
+        stubQueries(connection1);
+        when(resultSet.getInt(1)).thenReturn(1);
+        assertThat(lockRepository.acquireLock("lock-1", "instance")).isTrue();
+        when(statement.executeQuery()).thenThrow(new SQLException("connection reset"));
+
+        assertThatThrownBy(() -> lockRepository.releaseLock("lock-1", "instance"))
+                .isInstanceOf(RuntimeException.class);
+
+        verify(connection1).abort(any());
+        verify(connection1).close();
+    }
+
+    @Test
+    void unconfirmed_unlock_should_abort_the_pinned_connection() throws SQLException {
+        when(dataSource.getConnection()).thenReturn(connection1);
+        stubQueries(connection1);
+        when(resultSet.getInt(1)).thenReturn(1, 0);
+        assertThat(lockRepository.acquireLock("lock-1", "instance")).isTrue();
+
+        lockRepository.releaseLock("lock-1", "instance");
+
+        verify(connection1).abort(any());
+        verify(connection1).close();
+    }
+
+    @Test
+    void refresh_should_discard_lost_sessions_and_report_theirs_locks() throws SQLException {
+        when(dataSource.getConnection()).thenReturn(connection1, connection2);
+        stubQueries(connection1, connection2);
+        when(resultSet.getInt(1)).thenReturn(1);
+        assertThat(lockRepository.acquireLock("lock-1", "instance")).isTrue();
+        assertThat(lockRepository.acquireLock("lock-2", "instance")).isTrue();
+        when(connection1.isValid(anyInt())).thenReturn(true);
+        when(connection2.isValid(anyInt())).thenReturn(false);
+
+        assertThatThrownBy(() -> lockRepository.refreshActiveLocks(Arrays.asList("lock-1", "lock-2"), "instance"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("lock-2")
+                .hasMessageNotContaining("lock-1");
+
+        verify(connection1, never()).close();
+        verify(connection2).abort(any());
+        verify(connection2).close();
+
+        // lost lock is no longer held
+        lockRepository.refreshActiveLocks(Arrays.asList("lock-1", "lock-2"), "instance");
+        lockRepository.releaseLock("lock-2", "instance");
+        verify(connection2, times(1)).prepareStatement(anyString());
+    }
+
+    @Test
+    void close_should_release_held_locks_and_close_connections() throws SQLException {
+        when(dataSource.getConnection()).thenReturn(connection1, connection2);
+        stubQueries(connection1, connection2);
+        when(resultSet.getInt(1)).thenReturn(1);
+        assertThat(lockRepository.acquireLock("lock-1", "instance-1")).isTrue();
+        assertThat(lockRepository.acquireLock("lock-2", "instance-2")).isTrue();
+
+        lockRepository.close();
+
+        verify(connection1).prepareStatement(SQLDialects.POSTGRESQL.getAdvisoryUnlock());
+        verify(connection2).prepareStatement(SQLDialects.POSTGRESQL.getAdvisoryUnlock());
+        verify(connection1).close();
+        verify(connection2).close();
+    }
+
+    @Test
+    void clock_skew_should_not_be_supported() throws SQLException {
+        assertThatThrownBy(() -> lockRepository.acquireLockWithClockSkew("lock-1", "instance", 1000))
+                .isInstanceOf(UnsupportedOperationException.class);
+        verify(dataSource, never()).getConnection();
+    }
+
+    @Test
+    void call_dialect_should_use_callable_statement(@Mock CallableStatement callableStatement) throws SQLException {
+        final JdbcAdvisoryLockRepository oracleRepository = new JdbcAdvisoryLockRepository(dataSource,
+                SQLDialects.ORACLE, new SQLRuntimeExceptionTranslator());
+        when(dataSource.getConnection()).thenReturn(connection1);
+        when(connection1.prepareCall(anyString())).thenReturn(callableStatement);
+        when(callableStatement.getInt(1)).thenReturn(1);
+
+        assertThat(oracleRepository.acquireLock("lock-1", "instance")).isTrue();
+
+        verify(connection1).prepareCall(SQLDialects.ORACLE.getAdvisoryLock());
+        verify(callableStatement).registerOutParameter(1, Types.INTEGER);
+        verify(callableStatement).setObject(2, "lock-1");
+    }
+
+    @Test
+    void oracle_key_should_hash_lock_ids_longer_than_128_characters() {
+        final String longId = StringUtils.repeat('x', 129);
+
+        assertThat(SQLDialects.ORACLE.advisoryLockKey(longId))
+                .isEqualTo(StringUtils.repeat('x', 111) + ':' + String.format("%016x", Utils.hash64(longId)));
+        assertThat(SQLDialects.ORACLE.advisoryLockKey(longId + 'y').toString()).hasSize(128);
+    }
+
+    @Test
+    void mysql_key_should_hash_lock_ids_longer_than_64_characters() {
+        final String longId = StringUtils.repeat('x', 65);
+
+        assertThat(SQLDialects.MYSQL.advisoryLockKey("lock-1")).isEqualTo("lock-1");
+        assertThat(SQLDialects.MYSQL.advisoryLockKey(longId))
+                .isEqualTo(StringUtils.repeat('x', 47) + ':' + String.format("%016x", Utils.hash64(longId)));
+        assertThat(SQLDialects.MYSQL.advisoryLockKey(longId + 'y').toString()).hasSize(64);
+    }
+
+    @Test
+    void dialect_without_advisory_locks_should_be_rejected() {
+        assertThatThrownBy(() -> new JdbcAdvisoryLockRepository(dataSource, SQLDialects.HSQLDB,
+                new SQLRuntimeExceptionTranslator()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void stubQueries(Connection... connections) throws SQLException {
+        for (Connection connection : connections) {
+            when(connection.prepareStatement(anyString())).thenReturn(statement);
+        }
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+    }
+
+}
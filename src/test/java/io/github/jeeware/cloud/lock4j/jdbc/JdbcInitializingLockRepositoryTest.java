@@ -60,6 +60,6 @@ class JdbcInitializingLockRepositoryTest {
 
         lockRepository.initialize();
 
-        assertThat(statementNumber).isEqualTo(5);
+        assertThat(statementNumber).isEqualTo(9);
     }
 }
\ No newline at end of file
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2020-2026 Hichem BOURADA and other authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jeeware.cloud.lock4j.jdbc;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JdbcLockRepositoryTest {
+
+    @Mock
+    DataSource dataSource;
+
+    @Mock
+    Connection connection;
+
+    @Mock
+    PreparedStatement statement;
+
+    @Mock
+    ResultSet resultSet;
+
+    JdbcLockRepository lockRepository;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.getUpdateCount()).thenReturn(1);
+        lockRepository = new JdbcLockRepository(dataSource, SQLDialects.POSTGRESQL, new SQLRuntimeExceptionTranslator(),
+                "locks", null);
+        lockRepository.setPinnedConnections(1);
+    }
+
+    @Test
+    void pinned_connection_should_reuse_connection_and_statements() throws SQLException {
+        assertThat(lockRepository.acquireLock("lock-1", "instance")).isTrue();
+        assertThat(lockRepository.acquireLock("lock-2", "instance")).isTrue();
+        lockRepository.releaseLock("lock-1", "instance");
+        lockRepository.releaseLock("lock-2", "instance");
+
+        verify(dataSource, times(1)).getConnection();
+        verify(connection, times(2)).prepareStatement(anyString());
+        verify(statement).setString(1, "lock-1");
+        verify(statement, times(4)).execute();
+
+        lockRepository.close();
+        verify(statement, times(2)).close();
+        verify(connection).close();
+    }
+
+    @Test
+    void pinned_connection_should_be_re_established_when_closed() throws SQLException {
+        assertThat(lockRepository.acquireLock("lock-1", "instance")).isTrue();
+        when(connection.isClosed()).thenReturn(true, false);
+
+        assertThat(lockRepository.acquireLock("lock-2", "instance")).isTrue();
+
+        verify(dataSource, times(2)).getConnection();
+        verify(connection, times(2)).prepareStatement(anyString());
+        verify(statement).close();
+    }
+
+    @Test
+    void acquire_lease_held_by_another_instance_should_not_upsert_lease() throws SQLException {
+        when(statement.getUpdateCount()).thenReturn(0);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getInt(1)).thenReturn(1);
+
+        assertThat(lockRepository.acquireLease("lease", "instance-2", 10_000)).isFalse();
+
+        verify(connection).prepareStatement(contains("where id = ? and (state = ? or locked_by = ?"));
+        verify(connection).prepareStatement(contains("select count(*)"));
+        verify(connection, never()).prepareStatement(contains("insert"));
+        verify(statement).execute();
+    }
+
+    @Test
+    void acquire_lease_should_insert_missing_lease() throws SQLException {
+        when(statement.getUpdateCount()).thenReturn(0, 1);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getInt(1)).thenReturn(0);
+
+        assertThat(lockRepository.acquireLease("lease", "instance-1", 10_000)).isTrue();
+
+        verify(connection).prepareStatement(contains("insert"));
+        verify(statement, times(2)).execute();
+    }
+
+    @Test
+    void acquire_permits_should_lock_free_permits_by_single_update() throws SQLException {
+        when(statement.getUpdateCount()).thenReturn(2);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getString(1)).thenReturn("semaphore#permit#1");
+
+        assertThat(lockRepository.acquirePermits("semaphore", "instance", 2, 3)).isTrue();
+
+        verify(connection).prepareStatement(contains("select id"));
+        verify(connection).prepareStatement(contains("where state = ? and id in (?, ?)"));
+        verify(connection, never()).prepareStatement(contains("insert"));
+        // the free permits are claimed from a random one
+        verify(statement).setString(anyInt(), eq("semaphore#permit#0"));
+        verify(statement).setString(anyInt(), eq("semaphore#permit#2"));
+        verify(connection).commit();
+    }
+
+    @Test
+    void acquire_permits_should_upsert_permits_when_rows_are_missing() throws SQLException {
+        when(statement.getUpdateCount()).thenReturn(0, 1);
+        when(statement.executeQuery()).thenReturn(resultSet);
+
+        assertThat(lockRepository.acquirePermits("semaphore", "instance", 1, 2)).isTrue();
+
+        verify(connection).rollback();
+        verify(connection).prepareStatement(contains("insert"));
+        verify(connection).commit();
+    }
+
+    @Test
+    void release_permits_should_unlock_permits_by_single_update() throws SQLException {
+        when(statement.getUpdateCount()).thenReturn(2);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, true, true, false);
+        when(resultSet.getString(1)).thenReturn("semaphore#permit#0", "semaphore#permit#1", "semaphore#permit#2");
+
+        lockRepository.releasePermits("semaphore", "instance", 2);
+
+        verify(connection).prepareStatement(contains("where id in (?, ?)"));
+        verify(statement).setString(3, "semaphore#permit#0");
+        verify(statement).setString(4, "semaphore#permit#1");
+        verify(statement).execute();
+    }
+
+    @Test
+    void refresh_permits_should_update_semaphores_by_single_update() throws SQLException {
+        lockRepository.refreshPermits(Arrays.asList("semaphore-1", "semaphore_2"), "instance");
+
+        verify(connection).prepareStatement(contains("and (id like ? escape '!' or id like ? escape '!')"));
+        verify(statement).setString(4, "semaphore-1#permit#%");
+        verify(statement).setString(5, "semaphore!_2#permit#%");
+        verify(statement).execute();
+    }
+}
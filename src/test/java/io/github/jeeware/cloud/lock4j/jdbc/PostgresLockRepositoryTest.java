@@ -0,0 +1,48 @@
+/*
+ * Copyright 2020-2026 Hichem BOURADA and other authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jeeware.cloud.lock4j.jdbc;
+
+import io.github.jeeware.cloud.lock4j.jdbc.PostgresLockRepository.NotifyDialect;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostgresLockRepositoryTest {
+
+    final NotifyDialect dialect = new NotifyDialect("lock's_unlocked");
+
+    @Test
+    void notify_dialect_should_notify_ids_released_by_unlock_statements() {
+        final String notify = " returning id) select pg_notify('lock''s_unlocked', id) from released";
+
+        assertThat(dialect.getUnlock())
+                .isEqualTo("with released as (" + SQLDialects.POSTGRESQL.getUnlock() + notify);
+        assertThat(dialect.getUnlockIn())
+                .isEqualTo("with released as (" + SQLDialects.POSTGRESQL.getUnlockIn() + notify);
+        assertThat(dialect.getUnlockDeadLocks())
+                .isEqualTo("with released as (" + SQLDialects.POSTGRESQL.getUnlockDeadLocks() + notify);
+        assertThat(dialect.getUnlockDeadLocksIn())
+                .isEqualTo("with released as (" + SQLDialects.POSTGRESQL.getUnlockDeadLocksIn() + notify);
+    }
+
+    @Test
+    void notify_dialect_should_not_notify_lock_statements() {
+        assertThat(dialect.getLock()).isEqualTo(SQLDialects.POSTGRESQL.getLock());
+        assertThat(dialect.getLockWithClockSkew()).isEqualTo(SQLDialects.POSTGRESQL.getLockWithClockSkew());
+        assertThat(dialect.upsertType()).isEqualTo(SQLDialects.POSTGRESQL.upsertType());
+        assertThat(dialect.getUpdateLockHeartbeat()).doesNotContain("pg_notify");
+        assertThat(dialect.getLockIn()).doesNotContain("pg_notify");
+    }
+
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2020-2026 Hichem BOURADA and other authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jeeware.cloud.lock4j.jdbc;
+
+import io.github.jeeware.cloud.lock4j.LockWaiter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PostgresWatchableTest {
+
+    @Mock
+    DataSource dataSource;
+
+    @Mock
+    Statement statement;
+
+    @Test
+    void connection_error_should_wake_up_waiters_and_listen_again() throws Exception {
+        final PGConnection lostConnection = mock(PGConnection.class);
+        final PGConnection newConnection = mock(PGConnection.class);
+        final Connection first = connection(lostConnection);
+        final Connection second = connection(newConnection);
+        when(dataSource.getConnection()).thenReturn(first, second);
+        when(lostConnection.getNotifications(anyInt())).thenAnswer(invocation -> {
+            TimeUnit.MILLISECONDS.sleep(200);
+            throw new SQLException("connection lost");
+        });
+        final AtomicBoolean listening = new AtomicBoolean();
+        when(newConnection.getNotifications(anyInt())).thenAnswer(invocation -> {
+            listening.set(true);
+            TimeUnit.MILLISECONDS.sleep(10);
+            return null;
+        });
+        final PostgresWatchable watchable = new PostgresWatchable(dataSource, "locks_unlocked");
+        final Thread watcher = new Thread(watchable);
+
+        try (LockWaiter waiter = watchable.register("lock-1")) {
+            watcher.start();
+            awaitUntil(watchable::isActive);
+
+            final long start = System.currentTimeMillis();
+            // lock-1 is never notified: woken up by the lost connection
+            waiter.await(10_000);
+            assertThat(System.currentTimeMillis() - start).isLessThan(5_000);
+        }
+
+        awaitUntil(() -> listening.get() && watchable.isActive());
+        verify(dataSource, times(2)).getConnection();
+        verify(statement, times(2)).execute("listen \"locks_unlocked\"");
+
+        watchable.close();
+        watcher.join(5_000);
+        assertThat(watcher.isAlive()).isFalse();
+        assertThat(watchable.isActive()).isFalse();
+    }
+
+    @Test
+    void reader_row_notification_should_wake_up_read_write_lock_and_row_id_waiters() throws Exception {
+        final PGConnection pgConnection = mock(PGConnection.class);
+        final Connection connection = connection(pgConnection);
+        when(dataSource.getConnection()).thenReturn(connection);
+        final PGNotification notification = mock(PGNotification.class);
+        when(notification.getParameter()).thenReturn("lock#reader#instance");
+        final AtomicBoolean notified = new AtomicBoolean();
+        when(pgConnection.getNotifications(anyInt())).thenAnswer(invocation -> {
+            TimeUnit.MILLISECONDS.sleep(10);
+            return notified.getAndSet(true) ? null : new PGNotification[]{notification};
+        });
+        final PostgresWatchable watchable = new PostgresWatchable(dataSource, "locks_unlocked");
+        final Thread watcher = new Thread(watchable);
+
+        try (LockWaiter readWriteLock = watchable.register("lock");
+             LockWaiter lock = watchable.register("lock#reader#instance")) {
+            watcher.start();
+
+            final long start = System.currentTimeMillis();
+            readWriteLock.await(10_000);
+            lock.await(10_000);
+            assertThat(System.currentTimeMillis() - start).isLessThan(5_000);
+        } finally {
+            watchable.close();
+            watcher.join(5_000);
+        }
+    }
+
+    private Connection connection(PGConnection pgConnection) throws SQLException {
+        final Connection connection = mock(Connection.class);
+        when(connection.createStatement()).thenReturn(statement);
+        when(connection.getAutoCommit()).thenReturn(true);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        return connection;
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        final long until = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("condition timeout").isLessThan(until);
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+    }
+
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2020-2026 Hichem BOURADA and other authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jeeware.cloud.lock4j.micrometer;
+
+import io.github.jeeware.cloud.lock4j.DistributedLock;
+import io.github.jeeware.cloud.lock4j.DistributedLockRegistry;
+import io.github.jeeware.cloud.lock4j.DistributedSemaphore;
+import io.github.jeeware.cloud.lock4j.LockRepository;
+import io.github.jeeware.cloud.lock4j.support.SimpleRetryer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Function;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MicrometerLockMetricsListenerTest {
+
+    final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    final LockRepository repository = mock(LockRepository.class);
+
+    final DistributedLockRegistry lockRegistry = DistributedLockRegistry.builder()
+            .repository(repository)
+            .retryer(SimpleRetryer.builder().maxRetry(1).retryableException(IllegalStateException.class).build())
+            .metricsListener(MicrometerLockMetricsListener.builder()
+                    .registry(meterRegistry)
+                    .backend("test")
+                    .build())
+            .build();
+
+    @AfterEach
+    void tearDown() {
+        lockRegistry.close();
+    }
+
+    @Test
+    void tryLockAndUnlockRecordsAcquireHoldAndRepositoryCalls() {
+        when(repository.acquireLock(anyString(), anyString())).thenReturn(true);
+        final DistributedLock lock = lockRegistry.getLock("orders:42");
+
+        assertThat(lock.tryLock()).isTrue();
+        lock.unlock();
+
+        assertThat(meterRegistry.get("lock4j.lock.acquire").tags("lock", "orders", "result", "acquired")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("lock4j.lock.held").tag("lock", "orders").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("lock4j.repository.calls")
+                .tags("backend", "test", "operation", "acquire_lock", "outcome", "success")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("lock4j.repository.calls")
+                .tags("backend", "test", "operation", "release_lock", "outcome", "success")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void tryLockWithTimeoutRecordsAwaitTimeoutWhenNotAcquired() throws InterruptedException {
+        when(repository.acquireLock(anyString(), anyString())).thenReturn(false);
+        doCallRealMethod().when(repository).awaitReleaseLock(anyString(), anyLong());
+        doCallRealMethod().when(repository).registerWaiter(anyString());
+        final DistributedLock lock = lockRegistry.getLock("orders:42");
+
+        assertThat(lock.tryLock(50, MILLISECONDS)).isFalse();
+
+        assertThat(meterRegistry.get("lock4j.lock.acquire").tags("lock", "orders", "result", "not_acquired")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("lock4j.lock.await").tags("lock", "orders", "result", "timeout")
+                .timer().count()).isPositive();
+        assertThat(meterRegistry.get("lock4j.lock.wait").tag("lock", "orders").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void semaphoreTryAcquireWithTimeoutRecordsAwaitTimeoutWhenNotAcquired() throws InterruptedException {
+        when(repository.acquirePermits(anyString(), anyString(), anyInt(), anyInt())).thenReturn(false);
+        doCallRealMethod().when(repository).awaitReleaseLock(anyString(), anyLong());
+        doCallRealMethod().when(repository).registerWaiter(anyString());
+        final DistributedSemaphore semaphore = lockRegistry.getSemaphore("orders:42", 2);
+
+        assertThat(semaphore.tryAcquire(50, MILLISECONDS)).isFalse();
+
+        assertThat(meterRegistry.get("lock4j.lock.await").tags("lock", "orders", "result", "timeout")
+                .timer().count()).isPositive();
+    }
+
+    @Test
+    void tryLockRecordsRetryAndRepositoryCallError() {
+        when(repository.acquireLock(anyString(), anyString()))
+                .thenThrow(new IllegalStateException("connection lost"))
+                .thenReturn(true);
+        final DistributedLock lock = lockRegistry.getLock("orders:42");
+
+        assertThat(lock.tryLock()).isTrue();
+
+        assertThat(meterRegistry.get("lock4j.lock.retries").tags("lock", "orders", "exception", "IllegalStateException")
+                .counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("lock4j.repository.calls")
+                .tags("operation", "acquire_lock", "outcome", "error", "exception", "IllegalStateException")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void lockIdPrefixReturnsIdUntilFirstSeparatorOrOther() {
+        final Function<String, String> lockIdPrefix = MicrometerLockMetricsListener.lockIdPrefix(":/");
+
+        assertThat(lockIdPrefix.apply("orders:42")).isEqualTo("orders");
+        assertThat(lockIdPrefix.apply("jobs/daily:1")).isEqualTo("jobs");
+        assertThat(lockIdPrefix.apply("com.acme.Service.run")).isEqualTo(MicrometerLockMetricsListener.OTHER);
+    }
+
+    @Test
+    void retriesOfTheSameExceptionIncrementTheSameCounter() {
+        final MicrometerLockMetricsListener listener = MicrometerLockMetricsListener.builder()
+                .registry(meterRegistry)
+                .build();
+
+        listener.onRetry("orders:1", new IllegalStateException());
+        listener.onRetry("orders:2", new IllegalStateException());
+        listener.onRetry("order-42", new IllegalStateException());
+
+        assertThat(meterRegistry.get("lock4j.lock.retries").tags("lock", "orders", "exception", "IllegalStateException")
+                .counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("lock4j.lock.retries").tags("lock", "other", "exception", "IllegalStateException")
+                .counter().count()).isEqualTo(1);
+    }
+
+}
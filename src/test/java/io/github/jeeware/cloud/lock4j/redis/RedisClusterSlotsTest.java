@@ -0,0 +1,52 @@
+/*
+ * Copyright 2020-2026 Hichem BOURADA and other authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jeeware.cloud.lock4j.redis;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RedisClusterSlotsTest {
+
+    @Test
+    void getSlotShouldReturnRedisClusterKeySlot() {
+        assertThat(RedisClusterSlots.getSlot("foo")).isEqualTo(12182);
+        assertThat(RedisClusterSlots.getSlot("123456789")).isEqualTo(0x31C3 % RedisClusterSlots.SLOT_COUNT);
+    }
+
+    @Test
+    void getSlotShouldHonorHashtag() {
+        assertThat(RedisClusterSlots.getSlot("{user1000}.following"))
+                .isEqualTo(RedisClusterSlots.getSlot("{user1000}.followers"))
+                .isEqualTo(RedisClusterSlots.getSlot("user1000"));
+    }
+
+    @Test
+    void getSlotOfLockKeysShouldBeSame() {
+        RedisLockKey lockKey = new RedisLockKey("lock", "my-lock", true);
+
+        assertThat(RedisClusterSlots.getSlot(lockKey.getClockSkew())).isEqualTo(RedisClusterSlots.getSlot(lockKey.getId()));
+    }
+
+    @Test
+    void getSlotOfHashtaggedLockKeysShouldBeSame() {
+        RedisLockKey lockKey = new RedisLockKey("lock", "{account}:1", true);
+        RedisLockKey otherLockKey = new RedisLockKey("lock", "{account}:2", true);
+
+        assertThat(RedisClusterSlots.getSlot(lockKey.getId()))
+                .isEqualTo(RedisClusterSlots.getSlot(lockKey.getClockSkew()))
+                .isEqualTo(RedisClusterSlots.getSlot(lockKey.getFencing()))
+                .isEqualTo(RedisClusterSlots.getSlot(otherLockKey.getId()));
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2020-2026 Hichem BOURADA and other authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.jeeware.cloud.lock4j.redis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.github.jeeware.cloud.lock4j.Watchable;
+import io.github.jeeware.cloud.lock4j.redis.connection.MessageListener;
+import io.github.jeeware.cloud.lock4j.redis.connection.RedisConnection;
+import io.github.jeeware.cloud.lock4j.redis.connection.RedisConnectionFactory;
+import io.github.jeeware.cloud.lock4j.redis.script.DefaultRedisLockScripts;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class RedisLockRepositoryTest {
+
+    @Mock
+    RedisConnectionFactory connectionFactory;
+
+    @Mock
+    RedisConnection connection;
+
+    @Test
+    void watchableShouldSubscribeChannelsWhenNotifyKeyspaceEventsCannotBeConfigured() throws Exception {
+        final RedisLockRepository repository = new RedisLockRepository(new DefaultRedisLockScripts(),
+                connectionFactory, Duration.ofSeconds(30), "lock*[test]");
+        final CountDownLatch subscribed = new CountDownLatch(1);
+        when(connectionFactory.getConnection()).thenReturn(connection);
+        when(connection.scriptLoad(anyString())).thenReturn("sha1");
+        when(connection.configGet("notify-keyspace-events"))
+                .thenReturn(Collections.singletonMap("notify-keyspace-events", ""));
+        when(connection.configSet("notify-keyspace-events", "Ex"))
+                .thenThrow(new IllegalStateException("ERR unknown command 'CONFIG'"));
+        when(connection.getDatabase()).thenReturn(0);
+        doAnswer(invocation -> {
+            final MessageListener listener = invocation.getArgument(0);
+            listener.onSubscribe(invocation.getArgument(1), 1);
+            listener.onSubscribe(invocation.getArgument(2), 2);
+            subscribed.countDown();
+            return null;
+        }).when(connection).subscribe(any(), any(), any());
+
+        final Watchable watchable = repository.createWatchable();
+        final Thread watcher = new Thread(watchable);
+        watcher.start();
+        try {
+            assertThat(subscribed.await(10, TimeUnit.SECONDS)).isTrue();
+            assertThat(watchable.isActive()).isTrue();
+            verify(connection).subscribe(any(), eq("__keyevent@0__:expired"), eq("__lock4j@lock*[test]__:released"));
+            verify(connection, never()).pSubscribe(any(), any());
+        } finally {
+            watchable.close();
+            watcher.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        assertThat(watcher.isAlive()).isFalse();
+        assertThat(watchable.isActive()).isFalse();
+    }
+
+}
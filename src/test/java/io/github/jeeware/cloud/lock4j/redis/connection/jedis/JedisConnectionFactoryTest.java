@@ -117,6 +117,23 @@ class JedisConnectionFactoryTest {
 
     }
 
+    @Test
+    void evalShaWithReturnTypeExecutesScriptOnce() {
+        final String key = randomAlphabetic(10);
+
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            final String sha1 = connection.scriptLoad("return redis.call('incr', KEYS[1])");
+            final Long result = connection.evalSha(sha1, Collections.singletonList(key), Collections.emptyList(),
+                    Long.class);
+
+            assertThat(result).isEqualTo(1L);
+        }
+
+        try (Jedis jedis = jedisPool.getResource()) {
+            assertThat(jedis.get(key)).isEqualTo("1");
+        }
+    }
+
     void deleteKeysAndUnsubscribe(RedisConnection connection) {
         sleep();
         try (Jedis jedis = jedisPool.getResource()) {
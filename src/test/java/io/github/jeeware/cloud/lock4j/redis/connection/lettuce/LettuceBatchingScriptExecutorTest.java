@@ -0,0 +1,135 @@
+/*
+ * Copyright 2020-2026 Hichem BOURADA and other authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.jeeware.cloud.lock4j.redis.connection.lettuce;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import io.github.jeeware.cloud.lock4j.redis.RedisLockRepository;
+import io.github.jeeware.cloud.lock4j.redis.script.DefaultRedisLockScripts;
+import io.github.jeeware.cloud.lock4j.redis.script.DefaultRedisScript;
+import io.github.jeeware.cloud.lock4j.redis.script.RedisScript;
+import io.github.jeeware.cloud.lock4j.redis.script.ScriptExecutor;
+import io.lettuce.core.RedisURI;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.util.SocketUtils;
+
+import redis.embedded.RedisServer;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class LettuceBatchingScriptExecutorTest {
+
+    static final String INCR_SCRIPT = "return redis.call('incr', KEYS[1])";
+
+    final int port = SocketUtils.findAvailableTcpPort();
+    final RedisServer redisServer = newRedisServer(port);
+
+    LettuceConnectionFactory connectionFactory;
+    ScriptExecutor scriptExecutor;
+
+    @SneakyThrows
+    private static RedisServer newRedisServer(int port) {
+        return new RedisServer(port);
+    }
+
+    @BeforeAll
+    void beforeAll() throws Exception {
+        redisServer.start();
+        connectionFactory = LettuceConnectionFactory.createStandalone(RedisURI.create("localhost", port));
+        connectionFactory.setScriptBatching(true);
+        scriptExecutor = connectionFactory.getScriptExecutor();
+    }
+
+    @AfterAll
+    void afterAll() throws Exception {
+        connectionFactory.close();
+        redisServer.stop();
+    }
+
+    @Test
+    void getScriptExecutorReturnsBatchingExecutor() {
+        assertThat(scriptExecutor).isInstanceOf(LettuceBatchingScriptExecutor.class)
+                .isSameAs(connectionFactory.getScriptExecutor());
+    }
+
+    @Test
+    void executeAsyncCompletesEachConcurrentInvocation() {
+        final RedisScript<Long> script = loadedScript();
+        final List<String> keys = Collections.singletonList("batching:async");
+
+        final List<CompletableFuture<Long>> futures = IntStream.range(0, 500)
+                .mapToObj(i -> scriptExecutor.executeAsync(script, keys, Collections.emptyList()))
+                .collect(Collectors.toList());
+
+        final List<Long> results = futures.stream().map(CompletableFuture::join).sorted().collect(Collectors.toList());
+        assertThat(results).containsExactlyElementsOf(
+                IntStream.rangeClosed(1, 500).mapToObj(Long::valueOf).collect(Collectors.toList()));
+    }
+
+    @Test
+    void executeFromConcurrentThreads() {
+        final RedisScript<Long> script = loadedScript();
+        final List<String> keys = Collections.singletonList("batching:sync");
+
+        final long distinctResults = IntStream.range(0, 200)
+                .parallel()
+                .mapToObj(i -> scriptExecutor.execute(script, keys, Collections.emptyList()))
+                .distinct()
+                .count();
+
+        assertThat(distinctResults).isEqualTo(200);
+    }
+
+    @Test
+    void executeFallsBackToEvalOnNoScript() {
+        final RedisScript<Long> script = new DefaultRedisScript<>("incr", INCR_SCRIPT, Long.class);
+        script.setSha1("0000000000000000000000000000000000000000");
+
+        final Long result = scriptExecutor.execute(script, Collections.singletonList("batching:noscript"),
+                Collections.emptyList());
+
+        assertThat(result).isEqualTo(1L);
+    }
+
+    @Test
+    void lockRepositoryAcquiresAndReleasesAsynchronously() throws Exception {
+        final RedisLockRepository repository = new RedisLockRepository(new DefaultRedisLockScripts(),
+                connectionFactory, Duration.ofSeconds(30), "lock");
+        final ForkJoinPool executor = ForkJoinPool.commonPool();
+
+        assertThat(repository.acquireLockAsync("async", "instance-1", executor).get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(repository.acquireLockAsync("async", "instance-2", executor).get(5, TimeUnit.SECONDS)).isFalse();
+        assertThat(repository.getFencingToken("async", "instance-1")).isPositive();
+
+        repository.releaseLockAsync("async", "instance-1", executor).get(5, TimeUnit.SECONDS);
+        assertThat(repository.acquireLockAsync("async", "instance-2", executor).get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private RedisScript<Long> loadedScript() {
+        final RedisScript<Long> script = new DefaultRedisScript<>("incr", INCR_SCRIPT, Long.class);
+        script.setSha1(connectionFactory.getConnection().scriptLoad(INCR_SCRIPT));
+        return script;
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2020-2026 Hichem BOURADA and other authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jeeware.cloud.lock4j.redis.script;
+
+import io.github.jeeware.cloud.lock4j.redis.connection.RedisConnection;
+import io.github.jeeware.cloud.lock4j.redis.connection.RedisConnectionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FunctionRedisLockScriptsTest {
+
+    @Mock
+    RedisConnectionFactory connectionFactory;
+
+    @Mock
+    RedisConnection connection;
+
+    final FunctionRedisLockScripts lockScripts = new FunctionRedisLockScripts();
+
+    final List<String> keys = asList("lock:id", "lock:fencing");
+
+    final List<Object> args = asList("instance", 1000L);
+
+    DefaultScriptExecutor scriptExecutor;
+
+    @BeforeEach
+    void setUp() {
+        scriptExecutor = new DefaultScriptExecutor(connectionFactory);
+    }
+
+    @Test
+    void libraryShouldRegisterAllFunctions() {
+        final RedisFunction<Long> acquireLock = (RedisFunction<Long>) lockScripts.acquireLock();
+        final RedisFunction<String> lockOwner = (RedisFunction<String>) lockScripts.lockOwner();
+        final String code = acquireLock.getLibrary().getCode();
+
+        assertThat(code).startsWith("#!lua name=lock4j\n")
+                .contains("function_name='lock4j_acquire_lock'", "function_name='lock4j_release_lock'",
+                        "function_name='lock4j_refresh_active_locks'", "function_name='lock4j_acquire_locks'",
+                        "function_name='lock4j_release_locks'", "function_name='lock4j_acquire_write_lock'",
+                        "function_name='lock4j_acquire_permits'",
+                        "function_name='lock4j_lock_owner', callback=lock4j_lock_owner, flags={'no-writes'}");
+        assertThat(acquireLock.getFunctionName()).isEqualTo("lock4j_acquire_lock");
+        assertThat(acquireLock.isReadOnly()).isFalse();
+        assertThat(lockOwner.isReadOnly()).isTrue();
+        assertThat(lockOwner.getLibrary()).isSameAs(acquireLock.getLibrary());
+    }
+
+    @Test
+    void executeShouldCallFunctionWhenLibraryLoaded() {
+        final RedisFunction<Long> acquireLock = (RedisFunction<Long>) lockScripts.acquireLock();
+        acquireLock.getLibrary().setLoaded(true);
+        when(connectionFactory.getConnection()).thenReturn(connection);
+        when(connection.fCall("lock4j_acquire_lock", keys, args, Long.class, false)).thenReturn(3L);
+
+        assertThat(scriptExecutor.execute(acquireLock, keys, args)).isEqualTo(3L);
+        verify(connection, never()).eval(anyString(), anyList(), anyList(), any());
+    }
+
+    @Test
+    void executeShouldCallReadOnlyFunction() {
+        final RedisFunction<String> lockOwner = (RedisFunction<String>) lockScripts.lockOwner();
+        lockOwner.getLibrary().setLoaded(true);
+        when(connectionFactory.getConnection()).thenReturn(connection);
+        when(connection.fCall("lock4j_lock_owner", singletonList("lock:id"), args, String.class, true))
+                .thenReturn("instance");
+
+        assertThat(scriptExecutor.execute(lockOwner, singletonList("lock:id"), args)).isEqualTo("instance");
+    }
+
+    @Test
+    void executeShouldLoadLibraryAgainWhenFunctionNotFound() {
+        final RedisFunction<Long> acquireLock = (RedisFunction<Long>) lockScripts.acquireLock();
+        acquireLock.getLibrary().setLoaded(true);
+        when(connectionFactory.getConnection()).thenReturn(connection);
+        when(connection.fCall("lock4j_acquire_lock", keys, args, Long.class, false))
+                .thenThrow(new IllegalStateException("ERR Function not found"))
+                .thenReturn(4L);
+
+        assertThat(scriptExecutor.execute(acquireLock, keys, args)).isEqualTo(4L);
+        verify(connection).functionLoad(acquireLock.getLibrary().getCode());
+    }
+
+    @Test
+    void executeShouldEvaluateScriptWhenLibraryNotLoaded() {
+        final RedisFunction<Long> acquireLock = (RedisFunction<Long>) lockScripts.acquireLock();
+        when(connectionFactory.getConnection()).thenReturn(connection);
+        when(connection.eval(acquireLock.getScriptAsString(), keys, args, Long.class)).thenReturn(5L);
+
+        assertThat(scriptExecutor.execute(acquireLock, keys, args)).isEqualTo(5L);
+        verify(connection, never()).fCall(anyString(), anyList(), anyList(), any(), anyBoolean());
+    }
+}
@@ -14,6 +14,7 @@
 package io.github.jeeware.cloud.lock4j.spring.annotation;
 
 import io.github.jeeware.cloud.lock4j.DistributedLockRegistry;
+import io.github.jeeware.cloud.lock4j.LockHandle;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -25,18 +26,31 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
-
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static io.github.jeeware.cloud.lock4j.spring.annotation.DistributedLock.Mode.LOCK;
 import static io.github.jeeware.cloud.lock4j.spring.annotation.DistributedLock.Mode.LOCK_INTERRUPTIBLE;
 import static io.github.jeeware.cloud.lock4j.spring.annotation.DistributedLock.Mode.TRY_LOCK;
 import static io.github.jeeware.cloud.lock4j.spring.annotation.DistributedLock.Mode.TRY_LOCK_WITH_CLOCK_SKEW;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 /**
@@ -61,9 +75,14 @@ class EnableDistributedLockTest {
     @MockBean
     io.github.jeeware.cloud.lock4j.DistributedLock lock;
 
+    @MockBean
+    LockHandle handle;
+
     @BeforeEach
     void setUp() {
         given(registry.getLock(anyString())).willReturn(lock);
+        given(handle.releaseAsync()).willReturn(CompletableFuture.completedFuture(null));
+        given(registry.getAsyncExecutor()).willReturn(Runnable::run);
     }
 
     @Test
@@ -201,6 +220,102 @@ class EnableDistributedLockTest {
         verify(lock).unlock();
     }
 
+    @Test
+    void testMonoHoldsLockUntilCompletion() {
+        given(registry.lockAsync("mono")).willReturn(CompletableFuture.completedFuture(handle));
+
+        final Mono<String> result = service.monoReservation();
+
+        verify(registry, never()).lockAsync(anyString());
+        assertThat(result.block()).isEqualTo("mono");
+        verify(repository).lockReservation("mono");
+        verify(handle).releaseAsync();
+        verify(lock, never()).lock();
+    }
+
+    @Test
+    void testMonoResubscriptionProceedsAgain() {
+        given(registry.lockAsync("mono")).willReturn(CompletableFuture.completedFuture(handle));
+
+        final Mono<String> result = service.monoReservation();
+
+        assertThat(result.block()).isEqualTo("mono");
+        assertThat(result.block()).isEqualTo("mono");
+        verify(repository, times(2)).lockReservation("mono");
+        verify(handle, times(2)).releaseAsync();
+    }
+
+    @Test
+    void testMonoErrorReleasesLock() {
+        given(registry.lockAsync("monoError")).willReturn(CompletableFuture.completedFuture(handle));
+
+        assertThatThrownBy(() -> service.monoErrorReservation().block()).hasMessage("monoError");
+
+        verify(handle).releaseAsync();
+    }
+
+    @Test
+    void testMonoCancelReleasesLock() {
+        given(registry.lockAsync("monoCancel")).willReturn(CompletableFuture.completedFuture(handle));
+
+        final Disposable subscription = service.monoCancelReservation().subscribe();
+        verify(repository).lockReservation("monoCancel");
+        verify(handle, never()).releaseAsync();
+        subscription.dispose();
+
+        verify(handle).releaseAsync();
+    }
+
+    @Test
+    void testFluxTryLockNotAcquiredSkipsMethod() {
+        given(registry.tryLockAsync("fluxTryLock", Duration.ZERO))
+                .willReturn(CompletableFuture.completedFuture(Optional.empty()));
+
+        assertThat(service.fluxTryLockReservation().collectList().block()).isEmpty();
+
+        verify(repository, never()).lockReservation("fluxTryLock");
+        verify(handle, never()).releaseAsync();
+    }
+
+    @Test
+    void testCompletableFutureWaitsForLock() {
+        final CompletableFuture<LockHandle> acquisition = new CompletableFuture<>();
+        given(registry.tryLockAsync("futureTryLock", Duration.ofMillis(2000)))
+                .willReturn(acquisition.thenApply(Optional::of));
+
+        final CompletableFuture<String> result = service.futureTryLockReservation();
+
+        verify(repository, never()).lockReservation("futureTryLock");
+        acquisition.complete(handle);
+        assertThat(result.join()).isEqualTo("futureTryLock");
+        verify(repository).lockReservation("futureTryLock");
+        verify(handle).releaseAsync();
+    }
+
+    @Test
+    void testCompletableFutureProceedsOnAsyncExecutor() {
+        final ExecutorService asyncExecutor = Executors.newSingleThreadExecutor(r -> new Thread(r, "lock4j-async"));
+        try {
+            final CompletableFuture<LockHandle> acquisition = new CompletableFuture<>();
+            final AtomicReference<String> threadName = new AtomicReference<>();
+            given(registry.getAsyncExecutor()).willReturn(asyncExecutor);
+            given(registry.tryLockAsync("futureTryLock", Duration.ofMillis(2000)))
+                    .willReturn(acquisition.thenApply(Optional::of));
+            willAnswer(invocation -> {
+                threadName.set(Thread.currentThread().getName());
+                return null;
+            }).given(repository).lockReservation("futureTryLock");
+
+            final CompletableFuture<String> result = service.futureTryLockReservation();
+            acquisition.complete(handle);
+
+            assertThat(result.join()).isEqualTo("futureTryLock");
+            assertThat(threadName.get()).isEqualTo("lock4j-async");
+        } finally {
+            asyncExecutor.shutdownNow();
+        }
+    }
+
     interface ReservationRepository {
 
         void lockReservation(String type);
@@ -285,5 +400,34 @@ class EnableDistributedLockTest {
             repository.lockReservation("defaultModeWithoutAnything");
         }
 
+        @DistributedLock("mono")
+        Mono<String> monoReservation() {
+            repository.lockReservation("mono");
+            return Mono.just("mono");
+        }
+
+        @DistributedLock("monoError")
+        Mono<String> monoErrorReservation() {
+            return Mono.error(new IllegalStateException("monoError"));
+        }
+
+        @DistributedLock("monoCancel")
+        Mono<String> monoCancelReservation() {
+            repository.lockReservation("monoCancel");
+            return Mono.never();
+        }
+
+        @DistributedLock(id = "fluxTryLock", mode = TRY_LOCK)
+        Flux<String> fluxTryLockReservation() {
+            repository.lockReservation("fluxTryLock");
+            return Flux.just("flux", "tryLock");
+        }
+
+        @DistributedLock(id = "futureTryLock", timeout = "2s")
+        CompletableFuture<String> futureTryLockReservation() {
+            repository.lockReservation("futureTryLock");
+            return CompletableFuture.completedFuture("futureTryLock");
+        }
+
     }
 }
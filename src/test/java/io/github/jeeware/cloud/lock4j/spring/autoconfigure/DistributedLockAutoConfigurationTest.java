@@ -21,10 +21,12 @@ import com.mongodb.MongoSocketException;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
 import io.github.jeeware.cloud.lock4j.DistributedLockRegistry;
+import io.github.jeeware.cloud.lock4j.LockMetricsListener;
 import io.github.jeeware.cloud.lock4j.LockRepository;
 import io.github.jeeware.cloud.lock4j.Retryer;
 import io.github.jeeware.cloud.lock4j.function.WatchableThreadFactory;
 import io.github.jeeware.cloud.lock4j.jdbc.JdbcLockRepository;
+import io.github.jeeware.cloud.lock4j.micrometer.MicrometerLockMetricsListener;
 import io.github.jeeware.cloud.lock4j.mongo.IdentityExceptionTranslator;
 import io.github.jeeware.cloud.lock4j.mongo.LockEntity;
 import io.github.jeeware.cloud.lock4j.mongo.MongoLockRepository;
@@ -40,6 +42,7 @@ import io.lettuce.core.RedisClient;
 import io.lettuce.core.RedisCommandTimeoutException;
 import io.lettuce.core.RedisConnectionException;
 import io.lettuce.core.RedisURI;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
@@ -113,6 +116,82 @@ class DistributedLockAutoConfigurationTest {
                 });
     }
 
+    @Test
+    void lockRepositoryCreationFailsWhenListenNotifyWithoutPostgres() {
+        contextRunner
+                .withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class))
+                .withUserConfiguration(BaseConfig.class)
+                .withPropertyValues("cloud.lock4j.type=jdbc", "cloud.lock4j.jdbc.listen-notify=true")
+                .run(context -> assertThat(context).hasFailed()
+                        .getFailure()
+                        .hasRootCauseInstanceOf(IllegalStateException.class)
+                        .hasStackTraceContaining("listen-notify is only supported by PostgreSQL"));
+    }
+
+    @Test
+    void lockRepositoryCreationFailsWhenAdvisoryLockNotSupported() {
+        contextRunner
+                .withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class))
+                .withUserConfiguration(BaseConfig.class)
+                .withPropertyValues("cloud.lock4j.type=jdbc", "cloud.lock4j.jdbc.advisory-lock=true")
+                .run(context -> assertThat(context).hasFailed()
+                        .getFailure()
+                        .hasRootCauseInstanceOf(IllegalArgumentException.class)
+                        .hasStackTraceContaining("Advisory locks not supported by SQLDialect [HSQLDB]"));
+    }
+
+    @Test
+    void lockRepositoryCreationFailsWhenAdvisoryLockWithListenNotify() {
+        contextRunner
+                .withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class))
+                .withUserConfiguration(BaseConfig.class)
+                .withPropertyValues("cloud.lock4j.type=jdbc", "cloud.lock4j.jdbc.advisory-lock=true",
+                        "cloud.lock4j.jdbc.listen-notify=true")
+                .run(context -> assertThat(context).hasFailed()
+                        .getFailure()
+                        .hasRootCauseInstanceOf(IllegalStateException.class)
+                        .hasStackTraceContaining("advisory-lock and cloud.lock4j.jdbc.listen-notify can not be both"));
+    }
+
+    @Test
+    void jdbcLockRepositoryInitializerNotCreatedWhenAdvisoryLock() {
+        contextRunner
+                .withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class))
+                .withUserConfiguration(BaseConfig.class)
+                .withBean(LockRepository.class, () -> mock(LockRepository.class))
+                .withPropertyValues("cloud.lock4j.type=jdbc", "cloud.lock4j.jdbc.advisory-lock=true")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(DistributedLockRegistry.class);
+                    assertThat(context).doesNotHaveBean(JdbcLockRepositoryInitializer.class);
+                });
+    }
+
+    @Test
+    void lockMetricsListenerCreatedWhenMeterRegistryExists() {
+        contextRunner
+                .withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class))
+                .withUserConfiguration(BaseConfig.class)
+                .withBean(SimpleMeterRegistry.class)
+                .withPropertyValues("cloud.lock4j.type=jdbc")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(DistributedLockRegistry.class);
+                    assertThat(context).hasSingleBean(MicrometerLockMetricsListener.class);
+                });
+    }
+
+    @Test
+    void lockMetricsListenerNotCreatedWhenMetricsDisabled() {
+        contextRunner
+                .withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class))
+                .withUserConfiguration(BaseConfig.class)
+                .withBean(SimpleMeterRegistry.class)
+                .withPropertyValues("cloud.lock4j.type=jdbc", "cloud.lock4j.metrics.enabled=false")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(DistributedLockRegistry.class);
+                    assertThat(context).doesNotHaveBean(LockMetricsListener.class);
+                });
+    }
+
     @Test
     void distributedLockRegistryCreatedWhenLockTypeIsMongoWithDataMongo() {
         contextRunner
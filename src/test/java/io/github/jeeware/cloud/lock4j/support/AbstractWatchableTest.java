@@ -0,0 +1,207 @@
+/*
+ * Copyright 2020-2026 Hichem BOURADA and other authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jeeware.cloud.lock4j.support;
+
+import io.github.jeeware.cloud.lock4j.LockWaiter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AbstractWatchableTest {
+
+    private final TestWatchable watchable = new TestWatchable();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void signalBeforeAwaitShouldNotBeLost() throws InterruptedException {
+        try (LockWaiter waiter = watchable.register("lock")) {
+            watchable.signal("lock");
+
+            final long start = System.nanoTime();
+            waiter.await(10_000);
+
+            assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(5));
+        }
+    }
+
+    @Test
+    void signalShouldHandOffToSingleWaiter() throws InterruptedException {
+        try (LockWaiter first = watchable.register("lock"); LockWaiter second = watchable.register("lock")) {
+            final CompletableFuture<Void> firstAwait = first.awaitAsync(10_000, scheduler);
+            final CompletableFuture<Void> secondAwait = second.awaitAsync(10_000, scheduler);
+
+            watchable.signal("lock");
+
+            assertThat(firstAwait).isDone();
+            assertThat(secondAwait).isNotDone();
+            watchable.signal("lock");
+            assertThat(secondAwait).isDone();
+        }
+    }
+
+    @Test
+    void signalAllShouldWakeUpEveryWaiter() throws InterruptedException {
+        try (LockWaiter first = watchable.register("lock-1"); LockWaiter second = watchable.register("lock-1");
+             LockWaiter third = watchable.register("lock-2")) {
+            final CompletableFuture<Void> firstAwait = first.awaitAsync(10_000, scheduler);
+
+            watchable.signalAll();
+
+            assertThat(firstAwait).isDone();
+            final long start = System.nanoTime();
+            second.await(10_000);
+            third.await(10_000);
+            assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(5));
+        }
+    }
+
+    @Test
+    void signalShouldNotParseLockId() throws InterruptedException {
+        try (LockWaiter lock = watchable.register("lock#reader#instance");
+             LockWaiter semaphore = watchable.register("semaphore")) {
+            final CompletableFuture<Void> lockAwait = lock.awaitAsync(10_000, scheduler);
+            final CompletableFuture<Void> semaphoreAwait = semaphore.awaitAsync(10_000, scheduler);
+
+            watchable.signal("lock");
+            watchable.signal("semaphore#permit#0");
+            assertThat(lockAwait).isNotDone();
+            assertThat(semaphoreAwait).isNotDone();
+
+            watchable.signal("lock#reader#instance");
+            assertThat(lockAwait).isDone();
+        }
+    }
+
+    @Test
+    void signalAllLockShouldWakeUpEveryWaiterOfTheLock() {
+        try (LockWaiter first = watchable.register("semaphore"); LockWaiter second = watchable.register("semaphore");
+             LockWaiter third = watchable.register("lock")) {
+            final CompletableFuture<Void> firstAwait = first.awaitAsync(10_000, scheduler);
+            final CompletableFuture<Void> secondAwait = second.awaitAsync(10_000, scheduler);
+            final CompletableFuture<Void> thirdAwait = third.awaitAsync(10_000, scheduler);
+
+            watchable.signalAll("semaphore");
+
+            assertThat(firstAwait).isDone();
+            assertThat(secondAwait).isDone();
+            assertThat(thirdAwait).isNotDone();
+        }
+    }
+
+    @Test
+    void signalAllPredicateShouldWakeUpEveryWaiterOfMatchingLocks() {
+        try (LockWaiter first = watchable.register("lock-1"); LockWaiter second = watchable.register("lock-1");
+             LockWaiter third = watchable.register("lock-2")) {
+            final CompletableFuture<Void> firstAwait = first.awaitAsync(10_000, scheduler);
+            final CompletableFuture<Void> secondAwait = second.awaitAsync(10_000, scheduler);
+            final CompletableFuture<Void> thirdAwait = third.awaitAsync(10_000, scheduler);
+
+            watchable.signalAll("lock-1"::equals);
+
+            assertThat(firstAwait).isDone();
+            assertThat(secondAwait).isDone();
+            assertThat(thirdAwait).isNotDone();
+        }
+    }
+
+    @Test
+    void signalWithoutWaiterShouldNotBeKept() throws InterruptedException {
+        watchable.signal("lock");
+
+        try (LockWaiter waiter = watchable.register("lock")) {
+            final long start = System.nanoTime();
+            waiter.await(50);
+
+            assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50));
+        }
+    }
+
+    @Test
+    void canceledAsyncWaiterShouldNotConsumeSignal() throws InterruptedException {
+        try (LockWaiter first = watchable.register("lock"); LockWaiter second = watchable.register("lock")) {
+            first.awaitAsync(10_000, scheduler).cancel(false);
+            watchable.signal("lock");
+
+            final long start = System.nanoTime();
+            second.await(10_000);
+
+            assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(5));
+        }
+    }
+
+    @Test
+    void waitQueueShouldBeRemovedWithLastWaiter() {
+        final LockWaiter first = watchable.register("lock");
+        final LockWaiter second = watchable.register("lock");
+        assertThat(waitQueues()).containsOnlyKeys("lock");
+
+        first.close();
+        first.close();
+        assertThat(waitQueues()).containsOnlyKeys("lock");
+        second.close();
+
+        assertThat(waitQueues()).isEmpty();
+    }
+
+    @Test
+    void signalWithoutWaiterShouldNotAllocateWaitQueue() {
+        watchable.signal("lock");
+
+        assertThat(waitQueues()).isEmpty();
+    }
+
+    @Test
+    void awaitShouldNotKeepWaitQueue() throws InterruptedException {
+        watchable.await("lock", 1);
+        watchable.awaitAsync("lock", 1, scheduler).join();
+
+        assertThat(waitQueues()).isEmpty();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, ?> waitQueues() {
+        return (Map<String, ?>) ReflectionTestUtils.getField(watchable, AbstractWatchable.class, "queues");
+    }
+
+    static class TestWatchable extends AbstractWatchable {
+
+        TestWatchable() {
+            active = true;
+        }
+
+        @Override
+        public void run() {
+            // signals are sent by tests
+        }
+
+        @Override
+        public void close() {
+            active = false;
+        }
+    }
+}
@@ -14,6 +14,7 @@
 package io.github.jeeware.cloud.lock4j.support;
 
 import com.mongodb.MongoException;
+import io.github.jeeware.cloud.lock4j.BackoffStrategy;
 import io.github.jeeware.cloud.lock4j.Retryer;
 import io.github.jeeware.cloud.lock4j.Retryer.Context;
 import org.junit.jupiter.api.Test;
@@ -27,6 +28,7 @@ import java.net.BindException;
 import java.net.ConnectException;
 import java.net.SocketTimeoutException;
 import java.sql.SQLTimeoutException;
+import java.time.Duration;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -117,6 +119,21 @@ class SimpleRetryerTest {
         assertThat(result).isEqualTo(5);
     }
 
+    @Test
+    void delayMillisShouldReturnBackoffStrategyDelay() {
+        Retryer retryer = SimpleRetryer.builder().maxRetry(1)
+                .backoffStrategy(RandomBackoffStrategy.builder()
+                        .minSleepDuration(Duration.ofMillis(50))
+                        .maxSleepDuration(Duration.ofMillis(50))
+                        .build())
+                .build();
+
+        assertThat(retryer.delayMillis(retryer.createContext())).isEqualTo(50);
+        assertThat(SimpleRetryer.builder().maxRetry(1).build().delayMillis(Context.EMPTY)).isZero();
+        assertThat(((BackoffStrategy) context -> {
+        }).delayMillis(Context.EMPTY)).isNegative();
+    }
+
     private static SimpleRetryer retryer(Class<? extends Exception> retryableException) {
         return SimpleRetryer.builder().maxRetry(1).retryableException(retryableException).build();
     }
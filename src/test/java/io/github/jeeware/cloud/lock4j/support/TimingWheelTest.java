@@ -0,0 +1,108 @@
+/*
+ * Copyright 2020-2026 Hichem BOURADA and other authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jeeware.cloud.lock4j.support;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TimingWheelTest {
+
+    private final TimingWheel timingWheel = new TimingWheel(Thread::new, 5, MILLISECONDS, 8);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        timingWheel.shutdown();
+        assertThat(timingWheel.awaitTermination(5, SECONDS)).isTrue();
+    }
+
+    @Test
+    void scheduleShouldRunTaskAfterDelay() throws Exception {
+        final long start = System.nanoTime();
+        final ScheduledFuture<Long> future = timingWheel.schedule(System::nanoTime, 50, MILLISECONDS);
+
+        assertThat(future.get(5, SECONDS) - start).isGreaterThanOrEqualTo(MILLISECONDS.toNanos(50));
+        assertThat(future.isDone()).isTrue();
+    }
+
+    @Test
+    void scheduleBeyondWheelTurnShouldWaitRemainingRounds() throws Exception {
+        // 8 buckets of 5ms => a turn is 40ms
+        final long start = System.nanoTime();
+        final ScheduledFuture<Long> future = timingWheel.schedule(System::nanoTime, 130, MILLISECONDS);
+
+        assertThat(future.get(5, SECONDS) - start).isGreaterThanOrEqualTo(MILLISECONDS.toNanos(130));
+    }
+
+    @Test
+    void tasksShouldRunInDeadlineOrder() throws Exception {
+        final List<Integer> order = new ArrayList<>();
+        final CountDownLatch latch = new CountDownLatch(3);
+        for (int delay : new int[]{60, 20, 100}) {
+            timingWheel.schedule(() -> {
+                order.add(delay);
+                latch.countDown();
+            }, delay, MILLISECONDS);
+        }
+
+        assertThat(latch.await(5, SECONDS)).isTrue();
+        assertThat(order).containsExactly(20, 60, 100);
+    }
+
+    @Test
+    void canceledTaskShouldNotRun() throws Exception {
+        final AtomicInteger runs = new AtomicInteger();
+        final ScheduledFuture<?> canceled = timingWheel.schedule(runs::incrementAndGet, 30, MILLISECONDS);
+        final ScheduledFuture<?> next = timingWheel.schedule(() -> null, 60, MILLISECONDS);
+
+        assertThat(canceled.cancel(false)).isTrue();
+        next.get(5, SECONDS);
+        assertThat(runs).hasValue(0);
+        assertThat(canceled.isCancelled()).isTrue();
+    }
+
+    @Test
+    void scheduleWithFixedDelayShouldRunUntilCanceled() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(3);
+        final ScheduledFuture<?> future = timingWheel.scheduleWithFixedDelay(latch::countDown, 0, 10, MILLISECONDS);
+
+        assertThat(latch.await(5, SECONDS)).isTrue();
+        assertThat(future.cancel(false)).isTrue();
+        assertThat(future.isDone()).isTrue();
+    }
+
+    @Test
+    void shutdownShouldCancelPendingTasksAndRejectNewOnes() throws InterruptedException {
+        final ScheduledFuture<?> pending = timingWheel.schedule(() -> null, 1, SECONDS);
+
+        timingWheel.shutdown();
+
+        assertThat(timingWheel.awaitTermination(5, SECONDS)).isTrue();
+        assertThat(pending.isCancelled()).isTrue();
+        assertThatThrownBy(() -> timingWheel.schedule(() -> null, 1, MILLISECONDS))
+                .isInstanceOf(RejectedExecutionException.class);
+    }
+
+}